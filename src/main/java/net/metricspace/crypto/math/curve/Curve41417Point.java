@@ -0,0 +1,1130 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+import net.metricspace.crypto.math.field.FieldTable;
+import net.metricspace.crypto.math.field.ModE414M17;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Points on Curve41417, the Edwards curve {@code x^2 + y^2 = 1 + 3617
+ * * x^2 * y^2} over {@link ModE414M17}.
+ * <p>
+ * Points are represented in extended coordinates {@code (X : Y : Z :
+ * T)}, where {@code x = X / Z}, {@code y = Y / Z}, and {@code x * y =
+ * T / Z}, using the formulas of Hisil, Wong, Carter, and Dawson for
+ * {@code a = 1}.  As {@code d} is not a square, the addition formula
+ * is complete, and no operation branches on the coordinates.  The
+ * curve constant is applied with {@link PrimeField#mul(int)}, so it
+ * costs a pass over the digits rather than a full multiplication.
+ * <p>
+ * Doublings that are followed by another doubling skip the {@code T}
+ * coordinate, which only additions read.  Multiples of the base point
+ * come from a comb of precomputed affine points, as with {@link
+ * Ed25519#mulBase}.
+ * <p>
+ * Points are encoded in the style of RFC 8032: the {@code y}
+ * coordinate in {@value #ENCODED_BYTES} little-endian bytes, with the
+ * sign of {@code x} in the top bit.
+ */
+public final class Curve41417Point
+    implements Cloneable, Destroyable, AutoCloseable {
+    /**
+     * Scratchpad objects for point arithmetic.
+     *
+     * @see Edwards25519Point.Scratchpad
+     */
+    public static final class Scratchpad
+        implements AutoCloseable, Destroyable {
+        final PrimeField.Scratchpad field;
+        final ModE414M17 t0;
+        final ModE414M17 t1;
+        final ModE414M17 t2;
+        final ModE414M17 t3;
+        final ModE414M17 t4;
+        final ModE414M17 t5;
+        final ModE414M17 t6;
+        final ModE414M17 t7;
+
+        /**
+         * Initialize a {@code Scratchpad} by creating the temporary
+         * field elements.
+         */
+        Scratchpad() {
+            this.t0 = ModE414M17.zero();
+            this.t1 = ModE414M17.zero();
+            this.t2 = ModE414M17.zero();
+            this.t3 = ModE414M17.zero();
+            this.t4 = ModE414M17.zero();
+            this.t5 = ModE414M17.zero();
+            this.t6 = ModE414M17.zero();
+            this.t7 = ModE414M17.zero();
+            this.field = t0.scratchpad();
+        }
+
+        /**
+         * Overwrite all sensitive information by calling {@link
+         * #destroy()}.
+         */
+        @Override
+        public void close() {
+            destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            t0.destroy();
+            t1.destroy();
+            t2.destroy();
+            t3.destroy();
+            t4.destroy();
+            t5.destroy();
+            t6.destroy();
+            t7.destroy();
+            field.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return t0.isDestroyed() && t1.isDestroyed() &&
+                t2.isDestroyed() && t3.isDestroyed() &&
+                t4.isDestroyed() && t5.isDestroyed() &&
+                t6.isDestroyed() && t7.isDestroyed() &&
+                field.isDestroyed();
+        }
+    }
+
+    /**
+     * A point in the affine form {@code (x, y, d * x * y)}, used for
+     * the comb.  Adding one of these costs 8 multiplications rather
+     * than 9 and a multiplication by {@code d}.
+     */
+    private static final class Precomputed implements Destroyable {
+        final ModE414M17 x;
+        final ModE414M17 y;
+        final ModE414M17 dxy;
+
+        /**
+         * Create a {@code Precomputed} initialized to the identity.
+         */
+        Precomputed() {
+            this.x = ModE414M17.zero();
+            this.y = ModE414M17.one();
+            this.dxy = ModE414M17.zero();
+        }
+
+        /**
+         * Replace this point with another if a bit is set, without
+         * branching on the bit.
+         *
+         * @param other The point to select if {@code bit} is {@code 1}.
+         * @param bit Either {@code 0} or {@code 1}.
+         */
+        void select(final Precomputed other,
+                    final long bit) {
+            x.cmov(other.x, bit);
+            y.cmov(other.y, bit);
+            dxy.cmov(other.dxy, bit);
+        }
+
+        /**
+         * Negate this point if a bit is set, without branching on the
+         * bit.
+         *
+         * @param bit Either {@code 0} or {@code 1}.
+         */
+        void cneg(final long bit) {
+            x.cneg(bit);
+            dxy.cneg(bit);
+        }
+
+        /**
+         * Overwrite this point with the identity.
+         */
+        void setIdentity() {
+            x.set(0);
+            y.set(1);
+            dxy.set(0);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            x.destroy();
+            y.destroy();
+            dxy.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return x.isDestroyed() && y.isDestroyed() && dxy.isDestroyed();
+        }
+    }
+
+    /**
+     * The comb of multiples of the base point, built on first use.
+     * Column {@code i} holds {@code j * 256^i * B} for {@code j} from
+     * {@code 1} to {@code 8}.
+     */
+    private static final class Comb {
+        static final Precomputed[][] COLUMNS;
+
+        static {
+            final Curve41417Point[] points =
+                new Curve41417Point[COMB_COLUMNS * COMB_ENTRIES];
+            final ModE414M17[] zinvs = new ModE414M17[points.length];
+            final Curve41417Point column = base();
+
+            for(int i = 0; i < COMB_COLUMNS; i++) {
+                final Curve41417Point multiple = column.clone();
+
+                for(int j = 0; j < COMB_ENTRIES; j++) {
+                    points[(i * COMB_ENTRIES) + j] = multiple.clone();
+                    zinvs[(i * COMB_ENTRIES) + j] = multiple.z.clone();
+                    multiple.add(column);
+                }
+
+                for(int j = 0; j < 8; j++) {
+                    column.dbl();
+                }
+            }
+
+            PrimeField.invBatch(zinvs);
+            COLUMNS = new Precomputed[COMB_COLUMNS][COMB_ENTRIES];
+
+            for(int i = 0; i < points.length; i++) {
+                final Precomputed p = new Precomputed();
+
+                p.x.set(points[i].x);
+                p.x.mul(zinvs[i]);
+                p.y.set(points[i].y);
+                p.y.mul(zinvs[i]);
+                p.dxy.set(p.x);
+                p.dxy.mul(p.y);
+                p.dxy.mul(D);
+                p.x.normalize();
+                p.y.normalize();
+                p.dxy.normalize();
+                COLUMNS[i / COMB_ENTRIES][i % COMB_ENTRIES] = p;
+            }
+        }
+    }
+
+    /**
+     * Number of bytes in an encoded point.
+     */
+    public static final int ENCODED_BYTES = ModE414M17.PACKED_BYTES;
+
+    /**
+     * Number of bytes in a scalar for {@link #mulBase}.
+     */
+    public static final int SCALAR_BYTES = 52;
+
+    /**
+     * The curve constant {@code d}.
+     */
+    static final int D = 3617;
+
+    /**
+     * Number of entries in the window table used by {@link #mul}.
+     */
+    private static final int WINDOW_ENTRIES = 16;
+
+    /**
+     * Number of signed 4-bit digits in a scalar for {@link #mulBase}.
+     */
+    private static final int COMB_DIGITS = SCALAR_BYTES * 2;
+
+    /**
+     * Number of columns in the comb.
+     */
+    private static final int COMB_COLUMNS = SCALAR_BYTES;
+
+    /**
+     * Number of multiples in each column of the comb.
+     */
+    private static final int COMB_ENTRIES = 8;
+
+    /**
+     * Encoding of the base point, {@code (x, 34)} with {@code x}
+     * negative.
+     */
+    private static final byte[] BASE_ENCODING;
+
+    private static final ThreadLocal<Scratchpad> scratchpads =
+        new ThreadLocal<Scratchpad>() {
+            @Override
+            public Scratchpad initialValue() {
+                return new Scratchpad();
+            }
+        };
+
+    static {
+        BASE_ENCODING = new byte[ENCODED_BYTES];
+        BASE_ENCODING[0] = 34;
+        BASE_ENCODING[ENCODED_BYTES - 1] = (byte)0x80;
+    }
+
+    /**
+     * The {@code X} coordinate.
+     */
+    final ModE414M17 x;
+
+    /**
+     * The {@code Y} coordinate.
+     */
+    final ModE414M17 y;
+
+    /**
+     * The {@code Z} coordinate.
+     */
+    final ModE414M17 z;
+
+    /**
+     * The {@code T} coordinate.
+     */
+    final ModE414M17 t;
+
+    /**
+     * Create a {@code Curve41417Point} initialized to the identity
+     * {@code (0, 1)}.
+     *
+     * @return A {@code Curve41417Point} initialized to the identity.
+     */
+    public static Curve41417Point identity() {
+        return new Curve41417Point(ModE414M17.zero(), ModE414M17.one(),
+                                   ModE414M17.one(), ModE414M17.zero());
+    }
+
+    /**
+     * Create a {@code Curve41417Point} initialized to the base point
+     * {@code (x, 34)}, which has prime order.
+     *
+     * @return A {@code Curve41417Point} initialized to the base point.
+     */
+    public static Curve41417Point base() {
+        final Curve41417Point out = identity();
+
+        out.decode(BASE_ENCODING, 0);
+
+        return out;
+    }
+
+    /**
+     * Create a {@code Curve41417Point} from affine coordinates.  The
+     * coordinates are copied.  This does <i>not</i> check that the
+     * point is on the curve.
+     *
+     * @param x The affine {@code x} coordinate.
+     * @param y The affine {@code y} coordinate.
+     * @return A {@code Curve41417Point} representing {@code (x, y)}.
+     */
+    public static Curve41417Point fromAffine(final ModE414M17 x,
+                                             final ModE414M17 y) {
+        final ModE414M17 t = x.clone();
+
+        t.mul(y);
+
+        return new Curve41417Point(x.clone(), y.clone(),
+                                   ModE414M17.one(), t);
+    }
+
+    /**
+     * Initialize a {@code Curve41417Point} with the given
+     * coordinates.  The coordinates are <i>not</i> copied.
+     *
+     * @param x The {@code X} coordinate.
+     * @param y The {@code Y} coordinate.
+     * @param z The {@code Z} coordinate.
+     * @param t The {@code T} coordinate.
+     */
+    Curve41417Point(final ModE414M17 x,
+                    final ModE414M17 y,
+                    final ModE414M17 z,
+                    final ModE414M17 t) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.t = t;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Curve41417Point clone() {
+        return new Curve41417Point(x.clone(), y.clone(),
+                                   z.clone(), t.clone());
+    }
+
+    /**
+     * Get a scratchpad.  Sequences of operations should obtain a
+     * scratchpad, pass it into all operations, then destroy it when
+     * through.
+     *
+     * @return A scratchpad.
+     */
+    public Scratchpad scratchpad() {
+        return scratchpads.get();
+    }
+
+    /**
+     * Overwrite this point with another.
+     *
+     * @param other The point to copy.
+     */
+    public void set(final Curve41417Point other) {
+        x.set(other.x);
+        y.set(other.y);
+        z.set(other.z);
+        t.set(other.t);
+    }
+
+    /**
+     * Overwrite this point with the identity.
+     */
+    public void setIdentity() {
+        x.set(0);
+        y.set(1);
+        z.set(1);
+        t.set(0);
+    }
+
+    /**
+     * Get the affine {@code x} coordinate.  This performs an
+     * inversion.
+     *
+     * @return The affine {@code x} coordinate.
+     */
+    public ModE414M17 affineX() {
+        final ModE414M17 out = x.clone();
+
+        out.div(z);
+
+        return out;
+    }
+
+    /**
+     * Get the affine {@code y} coordinate.  This performs an
+     * inversion.
+     *
+     * @return The affine {@code y} coordinate.
+     */
+    public ModE414M17 affineY() {
+        final ModE414M17 out = y.clone();
+
+        out.div(z);
+
+        return out;
+    }
+
+    /**
+     * Add another point to this one.
+     *
+     * @param other The point to add.
+     */
+    public void add(final Curve41417Point other) {
+        try(final Scratchpad scratch = scratchpad()) {
+            add(other, scratch);
+        }
+    }
+
+    /**
+     * Add another point to this one.  It <i>is</i> safe for {@code
+     * other} to be this point.
+     * <p>
+     * This uses the {@code add-2008-hwcd} formula for {@code a = 1},
+     * costing 9 multiplications and one multiplication by {@code d}.
+     *
+     * @param other The point to add.
+     * @param scratch The scratchpad to use.
+     */
+    public void add(final Curve41417Point other,
+                    final Scratchpad scratch) {
+        final ModE414M17 a = scratch.t0;
+        final ModE414M17 b = scratch.t1;
+        final ModE414M17 c = scratch.t2;
+        final ModE414M17 d = scratch.t3;
+        final ModE414M17 e = scratch.t4;
+        final ModE414M17 f = scratch.t5;
+
+        // A = X1 * X2, B = Y1 * Y2
+        a.set(x);
+        a.mul(other.x);
+        b.set(y);
+        b.mul(other.y);
+
+        // C = d * T1 * T2, D = Z1 * Z2
+        c.set(t);
+        c.mul(other.t);
+        c.mul(D);
+        d.set(z);
+        d.mul(other.z);
+
+        // E = (X1 + Y1) * (X2 + Y2) - A - B
+        e.set(x);
+        e.addLazy(y);
+        f.set(other.x);
+        f.addLazy(other.y);
+        e.mul(f);
+        e.sub(a);
+        e.subLazy(b);
+
+        finish(a, b, c, d, e, f, false);
+    }
+
+    /**
+     * Subtract another point from this one.
+     *
+     * @param other The point to subtract.
+     */
+    public void sub(final Curve41417Point other) {
+        try(final Scratchpad scratch = scratchpad()) {
+            sub(other, scratch);
+        }
+    }
+
+    /**
+     * Subtract another point from this one.  It <i>is</i> safe for
+     * {@code other} to be this point.
+     *
+     * @param other The point to subtract.
+     * @param scratch The scratchpad to use.
+     */
+    public void sub(final Curve41417Point other,
+                    final Scratchpad scratch) {
+        final ModE414M17 a = scratch.t0;
+        final ModE414M17 b = scratch.t1;
+        final ModE414M17 c = scratch.t2;
+        final ModE414M17 d = scratch.t3;
+        final ModE414M17 e = scratch.t4;
+        final ModE414M17 f = scratch.t5;
+
+        // As add, with (X2, T2) replaced by (-X2, -T2).  A and C are
+        // computed with their signs flipped.
+        a.set(x);
+        a.mul(other.x);
+        b.set(y);
+        b.mul(other.y);
+        c.set(t);
+        c.mul(other.t);
+        c.mul(D);
+        d.set(z);
+        d.mul(other.z);
+
+        // E = (X1 + Y1) * (Y2 - X2) + A - B
+        e.set(x);
+        e.addLazy(y);
+        f.set(other.y);
+        f.subLazy(other.x);
+        e.mul(f);
+        e.add(a);
+        e.subLazy(b);
+
+        finish(a, b, c, d, e, f, true);
+    }
+
+    /**
+     * Add a point in precomputed form to this one.  This is {@link
+     * #add(Curve41417Point, Scratchpad)} with {@code Z2 = 1} and
+     * {@code d * T2} already taken, costing 8 multiplications.
+     *
+     * @param other The point to add.
+     * @param scratch The scratchpad to use.
+     */
+    private void add(final Precomputed other,
+                     final Scratchpad scratch) {
+        final ModE414M17 a = scratch.t0;
+        final ModE414M17 b = scratch.t1;
+        final ModE414M17 c = scratch.t2;
+        final ModE414M17 d = scratch.t3;
+        final ModE414M17 e = scratch.t4;
+        final ModE414M17 f = scratch.t5;
+
+        a.set(x);
+        a.mul(other.x);
+        b.set(y);
+        b.mul(other.y);
+        c.set(t);
+        c.mul(other.dxy);
+        d.set(z);
+
+        e.set(x);
+        e.addLazy(y);
+        f.set(other.x);
+        f.addLazy(other.y);
+        e.mul(f);
+        e.sub(a);
+        e.subLazy(b);
+
+        finish(a, b, c, d, e, f, false);
+    }
+
+    /**
+     * Finish an addition, given its intermediate values.
+     *
+     * @param a The value {@code A}, with its sign flipped if {@code
+     *          negated}.
+     * @param b The value {@code B}.
+     * @param c The value {@code C}, with its sign flipped if {@code
+     *          negated}.
+     * @param d The value {@code D}.  This is overwritten.
+     * @param e The value {@code E}.
+     * @param f A temporary.
+     * @param negated Whether {@code A} and {@code C} have their signs
+     *                flipped.
+     */
+    private void finish(final ModE414M17 a,
+                        final ModE414M17 b,
+                        final ModE414M17 c,
+                        final ModE414M17 d,
+                        final ModE414M17 e,
+                        final ModE414M17 f,
+                        final boolean negated) {
+        // F = D - C, G = D + C, H = B - A
+        f.set(d);
+
+        if (negated) {
+            f.addLazy(c);
+            d.subLazy(c);
+            b.addLazy(a);
+        } else {
+            f.subLazy(c);
+            d.addLazy(c);
+            b.subLazy(a);
+        }
+
+        x.set(e);
+        x.mul(f);
+        y.set(d);
+        y.mul(b);
+        t.set(e);
+        t.mul(b);
+        z.set(f);
+        z.mul(d);
+    }
+
+    /**
+     * Double this point.
+     */
+    public void dbl() {
+        try(final Scratchpad scratch = scratchpad()) {
+            dbl(scratch);
+        }
+    }
+
+    /**
+     * Double this point.
+     * <p>
+     * This uses the {@code dbl-2008-hwcd} formula for {@code a = 1},
+     * costing 4 multiplications and 4 squarings.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    public void dbl(final Scratchpad scratch) {
+        dbl(scratch, true);
+    }
+
+    /**
+     * Double this point, optionally skipping the {@code T}
+     * coordinate.  Without {@code T}, the result may only be doubled
+     * again, and costs one multiplication less.
+     *
+     * @param scratch The scratchpad to use.
+     * @param extended Whether to compute {@code T}.
+     */
+    private void dbl(final Scratchpad scratch,
+                     final boolean extended) {
+        final ModE414M17 a = scratch.t0;
+        final ModE414M17 b = scratch.t1;
+        final ModE414M17 c = scratch.t2;
+        final ModE414M17 e = scratch.t3;
+        final ModE414M17 f = scratch.t4;
+        final ModE414M17 g = scratch.t5;
+
+        // A = X1^2, B = Y1^2, C = 2 * Z1^2
+        a.set(x);
+        a.square();
+        b.set(y);
+        b.square();
+        c.set(z);
+        c.square();
+        c.mul(2);
+
+        // E = (X1 + Y1)^2 - A - B
+        e.set(x);
+        e.addLazy(y);
+        e.square();
+        e.sub(a);
+        e.subLazy(b);
+
+        // G = A + B, F = G - C, H = A - B
+        g.set(a);
+        g.add(b);
+        f.set(g);
+        f.subLazy(c);
+        a.subLazy(b);
+
+        x.set(e);
+        x.mul(f);
+        y.set(g);
+        y.mul(a);
+        z.set(f);
+        z.mul(g);
+
+        if (extended) {
+            t.set(e);
+            t.mul(a);
+        }
+    }
+
+    /**
+     * Negate this point.
+     */
+    public void neg() {
+        x.neg();
+        t.neg();
+    }
+
+    /**
+     * Replace this point with another if a bit is set, without
+     * branching on the bit.
+     *
+     * @param other The point to select if {@code bit} is {@code 1}.
+     * @param bit Either {@code 0} or {@code 1}.
+     * @see PrimeField#cmov
+     */
+    public void select(final Curve41417Point other,
+                       final long bit) {
+        x.cmov(other.x, bit);
+        y.cmov(other.y, bit);
+        z.cmov(other.z, bit);
+        t.cmov(other.t, bit);
+    }
+
+    /**
+     * Multiply this point by a scalar.
+     *
+     * @param scalar The little-endian scalar.
+     */
+    public void mul(final byte[] scalar) {
+        try(final Scratchpad scratch = scratchpad()) {
+            mul(scalar, scratch);
+        }
+    }
+
+    /**
+     * Multiply this point by a scalar, in constant time.
+     * <p>
+     * This uses a fixed 4-bit window, as {@link
+     * Edwards25519Point#mul(byte[], Edwards25519Point.Scratchpad)}
+     * does.  The first three doublings of each window skip the {@code
+     * T} coordinate.
+     *
+     * @param scalar The little-endian scalar.
+     * @param scratch The scratchpad to use.
+     */
+    public void mul(final byte[] scalar,
+                    final Scratchpad scratch) {
+        final Curve41417Point multiple = identity();
+
+        try(final FieldTable<ModE414M17> table =
+            new FieldTable<>(x, WINDOW_ENTRIES, 4)) {
+            for(int i = 0; i < WINDOW_ENTRIES; i++) {
+                table.set(i, multiple.x, multiple.y, multiple.z, multiple.t);
+                multiple.add(this, scratch);
+            }
+
+            setIdentity();
+
+            for(int i = (scalar.length * 2) - 1; i >= 0; i--) {
+                final int nibble = (scalar[i / 2] >> ((i % 2) * 4)) & 0xf;
+
+                dbl(scratch, false);
+                dbl(scratch, false);
+                dbl(scratch, false);
+                dbl(scratch, true);
+                table.lookup(nibble, multiple.x, multiple.y,
+                             multiple.z, multiple.t);
+                add(multiple, scratch);
+            }
+        }
+
+        multiple.destroy();
+    }
+
+    /**
+     * Multiply the base point by a scalar, in constant time.
+     *
+     * @param scalar The little-endian scalar, which must be {@value
+     *               #SCALAR_BYTES} bytes and less than {@code 2^415}.
+     * @return The point {@code [scalar]B}.
+     * @throws IllegalArgumentException If the scalar is the wrong
+     *         length, or is too large.
+     */
+    public static Curve41417Point mulBase(final byte[] scalar) {
+        final Curve41417Point out = identity();
+
+        try(final Scratchpad scratch = out.scratchpad()) {
+            out.setMulBase(scalar, scratch);
+        }
+
+        return out;
+    }
+
+    /**
+     * Set this point to a multiple of the base point, in constant
+     * time.
+     * <p>
+     * The scalar is recoded into signed 4-bit digits, and each digit
+     * reads a signed multiple from one column of the comb with
+     * conditional moves.  The odd digits are summed first, the sum is
+     * multiplied by 16, and the even digits are added on top, for a
+     * total of {@value #SCALAR_BYTES} * 2 additions of precomputed
+     * points and 4 doublings.
+     *
+     * @param scalar The little-endian scalar, which must be {@value
+     *               #SCALAR_BYTES} bytes and less than {@code 2^415}.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the scalar is the wrong
+     *         length, or is too large.
+     */
+    public void setMulBase(final byte[] scalar,
+                           final Scratchpad scratch) {
+        if (scalar.length != SCALAR_BYTES ||
+            (scalar[SCALAR_BYTES - 1] & 0x80) != 0) {
+            throw new IllegalArgumentException("Scalar must be " +
+                                               SCALAR_BYTES +
+                                               " bytes, less than 2^415");
+        }
+
+        final int[] digits = new int[COMB_DIGITS];
+        final Precomputed entry = new Precomputed();
+
+        for(int i = 0; i < SCALAR_BYTES; i++) {
+            digits[2 * i] = scalar[i] & 0xf;
+            digits[(2 * i) + 1] = (scalar[i] >> 4) & 0xf;
+        }
+
+        // Recode into digits in [-8, 8].
+        int carry = 0;
+
+        for(int i = 0; i < COMB_DIGITS - 1; i++) {
+            digits[i] += carry;
+            carry = (digits[i] + 8) >> 4;
+            digits[i] -= carry << 4;
+        }
+
+        digits[COMB_DIGITS - 1] += carry;
+        setIdentity();
+
+        for(int i = 1; i < COMB_DIGITS; i += 2) {
+            lookup(i / 2, digits[i], entry);
+            add(entry, scratch);
+        }
+
+        dbl(scratch, false);
+        dbl(scratch, false);
+        dbl(scratch, false);
+        dbl(scratch, true);
+
+        for(int i = 0; i < COMB_DIGITS; i += 2) {
+            lookup(i / 2, digits[i], entry);
+            add(entry, scratch);
+        }
+
+        Arrays.fill(digits, 0);
+        entry.destroy();
+    }
+
+    /**
+     * Read a signed multiple from a column of the comb, in constant
+     * time.
+     *
+     * @param column The column.
+     * @param digit The multiple, in {@code [-8, 8]}.
+     * @param out The point in which to store the result.
+     */
+    private static void lookup(final int column,
+                               final int digit,
+                               final Precomputed out) {
+        final int negative = (digit >> 31) & 0x1;
+        final int abs = digit - ((-negative & digit) << 1);
+        final Precomputed[] entries = Comb.COLUMNS[column];
+
+        out.setIdentity();
+
+        for(int j = 0; j < COMB_ENTRIES; j++) {
+            final int match = ((abs ^ (j + 1)) - 1) >>> 31;
+
+            out.select(entries[j], match);
+        }
+
+        out.cneg(negative);
+    }
+
+    /**
+     * Set this point by decoding its encoding.
+     *
+     * @param bytes The array containing the encoding.
+     * @param idx The index at which the encoding starts.
+     * @return {@code 1} if the encoding was valid, {@code 0} if not.
+     */
+    public long decode(final byte[] bytes,
+                       final int idx) {
+        try(final Scratchpad scratch = scratchpad()) {
+            return decode(bytes, idx, scratch);
+        }
+    }
+
+    /**
+     * Set this point by decoding its encoding, in constant time.
+     * <p>
+     * If the encoding is invalid, this point is set to the identity.
+     * Invalid encodings are those in which {@code y} is not
+     * canonical, those for which there is no {@code x}, and those
+     * which give the sign bit for {@code x = 0}.
+     * <p>
+     * As {@code p = 3 mod 4}, {@code x = u * (u * v)^((p - 3) / 4)}
+     * is a square root of {@code u / v} whenever there is one, which
+     * takes a single exponentiation through {@link
+     * PrimeField#invSqrt}.
+     *
+     * @param bytes The array containing the encoding.
+     * @param idx The index at which the encoding starts.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if the encoding was valid, {@code 0} if not.
+     */
+    public long decode(final byte[] bytes,
+                       final int idx,
+                       final Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE414M17 u = scratch.t6;
+        final ModE414M17 v = scratch.t7;
+        final ModE414M17 check = scratch.t0;
+        final byte[] canonical = new byte[ENCODED_BYTES];
+        final long xsign = (bytes[idx + ENCODED_BYTES - 1] >> 7) & 0x1;
+
+        y.unpack(bytes, idx);
+        y.pack(canonical, 0, fscratch);
+
+        // The y coordinate must be canonical.
+        long diff = 0;
+
+        for(int i = 0; i < ENCODED_BYTES - 1; i++) {
+            diff |= (canonical[i] ^ bytes[idx + i]) & 0xff;
+        }
+
+        diff |= (canonical[ENCODED_BYTES - 1] ^
+                 bytes[idx + ENCODED_BYTES - 1]) & 0x7f;
+        Arrays.fill(canonical, (byte)0);
+
+        final long noncanonical = ((diff - 1) >>> 63) ^ 0x1;
+
+        // x^2 = (1 - y^2) / (1 - d * y^2)
+        u.set(y);
+        u.square();
+        v.set(u);
+        v.mul(D);
+        v.neg();
+        v.add(1);
+        u.neg();
+        u.add(1);
+
+        x.set(u);
+        x.mul(v);
+        x.invSqrt(fscratch);
+        x.mul(u);
+
+        // v * x^2 = u.  Note that eq gives 0 for equal values.
+        check.set(x);
+        check.square();
+        check.mul(v);
+
+        final long square = check.eq(u, fscratch) ^ 0x1;
+        final long xzero = x.isZero(fscratch);
+
+        x.normalize(fscratch);
+        x.cneg(x.bitNormalized(0) ^ xsign);
+        z.set(1);
+        t.set(x);
+        t.mul(y);
+
+        final long valid =
+            square & (noncanonical ^ 0x1) & ((xzero & xsign) ^ 0x1);
+
+        // Replace the result with the identity if anything failed.
+        x.mask(valid);
+        t.mask(valid);
+        u.set(1);
+        y.cmov(u, valid ^ 0x1);
+
+        return valid;
+    }
+
+    /**
+     * Write the encoding of this point into an array.
+     *
+     * @param bytes The array into which to write.
+     * @param idx The index at which to start.
+     */
+    public void encode(final byte[] bytes,
+                       final int idx) {
+        try(final Scratchpad scratch = scratchpad()) {
+            encode(bytes, idx, scratch);
+        }
+    }
+
+    /**
+     * Write the encoding of this point into an array, in constant
+     * time.  This performs an inversion.
+     *
+     * @param bytes The array into which to write.
+     * @param idx The index at which to start.
+     * @param scratch The scratchpad to use.
+     */
+    public void encode(final byte[] bytes,
+                       final int idx,
+                       final Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE414M17 zinv = scratch.t6;
+        final ModE414M17 ax = scratch.t7;
+        final ModE414M17 ay = scratch.t0;
+
+        zinv.set(z);
+        zinv.inv(fscratch);
+        ax.set(x);
+        ax.mul(zinv);
+        ay.set(y);
+        ay.mul(zinv);
+        ay.pack(bytes, idx, fscratch);
+        ax.normalize(fscratch);
+        bytes[idx + ENCODED_BYTES - 1] |= (byte)(ax.bitNormalized(0) << 7);
+    }
+
+    /**
+     * Get the encoding of this point.
+     *
+     * @return The encoding.
+     */
+    public byte[] encoded() {
+        final byte[] out = new byte[ENCODED_BYTES];
+
+        encode(out, 0);
+
+        return out;
+    }
+
+    /**
+     * Check whether this point lies on the curve.  This is not
+     * constant-time, and is intended for validation of public data.
+     *
+     * @return Whether this point satisfies the curve equation.
+     */
+    public boolean isOnCurve() {
+        try(final Scratchpad scratch = scratchpad()) {
+            final ModE414M17 xx = scratch.t0;
+            final ModE414M17 yy = scratch.t1;
+            final ModE414M17 zz = scratch.t2;
+            final ModE414M17 lhs = scratch.t3;
+            final ModE414M17 rhs = scratch.t4;
+
+            // (X^2 + Y^2) * Z^2 == Z^4 + d * X^2 * Y^2
+            xx.set(x);
+            xx.square();
+            yy.set(y);
+            yy.square();
+            zz.set(z);
+            zz.square();
+            lhs.set(xx);
+            lhs.add(yy);
+            lhs.mul(zz);
+            rhs.set(xx);
+            rhs.mul(yy);
+            rhs.mul(D);
+            zz.square();
+            rhs.add(zz);
+
+            // X * Y == Z * T
+            xx.set(x);
+            xx.mul(y);
+            yy.set(z);
+            yy.mul(t);
+
+            return lhs.equals(rhs, scratch.field) &&
+                xx.equals(yy, scratch.field);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        x.destroy();
+        y.destroy();
+        z.destroy();
+        t.destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return x.isDestroyed() && y.isDestroyed() &&
+            z.isDestroyed() && t.isDestroyed();
+    }
+}
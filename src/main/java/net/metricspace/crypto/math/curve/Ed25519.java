@@ -0,0 +1,641 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * The Ed25519 signature scheme, as specified in RFC 8032, over {@link
+ * Edwards25519Point}.
+ * <p>
+ * Private keys are 32-byte seeds.  Signing is constant-time with
+ * respect to the private key and the nonce; verification operates
+ * only on public data.  Verification uses the cofactorless equation
+ * {@code [S]B = R + [k]A}, checking the encoding of {@code [S]B -
+ * [k]A} against {@code R}, and rejects non-canonical {@code S} and
+ * points that do not decode.  {@link #verifyCofactored} checks the
+ * cofactored equation {@code [8][S]B = [8]R + [8][k]A} instead, which
+ * also accepts signatures whose {@code R} or {@code A} has a
+ * small-order component.
+ * <p>
+ * Multiples of the base point, for key generation and signing, come
+ * from a precomputed comb and cost no doublings beyond four.
+ * Verification computes {@code [S]B - [k]A} in variable time, with
+ * the NAF of {@code S} read against a precomputed table of the base
+ * point and sharing its doublings with {@code [k]A}.  {@link
+ * #verifyBatch} checks many signatures with a single multi-scalar
+ * multiplication.
+ */
+public final class Ed25519 {
+    /**
+     * Number of bytes in a private key.
+     */
+    public static final int PRIVATE_KEY_BYTES = 32;
+
+    /**
+     * Number of bytes in a public key.
+     */
+    public static final int PUBLIC_KEY_BYTES =
+        Edwards25519Point.ENCODED_BYTES;
+
+    /**
+     * Number of bytes in a signature.
+     */
+    public static final int SIGNATURE_BYTES =
+        Edwards25519Point.ENCODED_BYTES + Scalar25519.ENCODED_BYTES;
+
+    /**
+     * Encoding of the base point, {@code (x, 4/5)} with {@code x}
+     * positive.
+     */
+    private static final byte[] BASE_ENCODING = new byte[] {
+        (byte)0x58, (byte)0x66, (byte)0x66, (byte)0x66,
+        (byte)0x66, (byte)0x66, (byte)0x66, (byte)0x66,
+        (byte)0x66, (byte)0x66, (byte)0x66, (byte)0x66,
+        (byte)0x66, (byte)0x66, (byte)0x66, (byte)0x66,
+        (byte)0x66, (byte)0x66, (byte)0x66, (byte)0x66,
+        (byte)0x66, (byte)0x66, (byte)0x66, (byte)0x66,
+        (byte)0x66, (byte)0x66, (byte)0x66, (byte)0x66,
+        (byte)0x66, (byte)0x66, (byte)0x66, (byte)0x66
+    };
+
+    /**
+     * The base point.
+     */
+    private static final Edwards25519Point BASE;
+
+    static {
+        BASE = Edwards25519Point.identity();
+        BASE.decode(BASE_ENCODING, 0);
+    }
+
+    private Ed25519() {}
+
+    /**
+     * Get a copy of the base point.
+     *
+     * @return The base point.
+     */
+    public static Edwards25519Point base() {
+        return BASE.clone();
+    }
+
+    /**
+     * Multiply the base point by a scalar, in constant time.
+     *
+     * @param scalar The little-endian scalar, which must be 32 bytes
+     *               and less than {@code 2^255}.
+     * @return The point {@code [scalar]B}.
+     * @throws IllegalArgumentException If the scalar is the wrong
+     *         length, or is too large.
+     */
+    public static Edwards25519Point mulBase(final byte[] scalar) {
+        if (scalar.length != Scalar25519.ENCODED_BYTES ||
+            (scalar[Scalar25519.ENCODED_BYTES - 1] & 0x80) != 0) {
+            throw new IllegalArgumentException("Scalar must be " +
+                                               Scalar25519.ENCODED_BYTES +
+                                               " bytes, less than 2^255");
+        }
+
+        final Edwards25519Point out = Edwards25519Point.identity();
+
+        try(final Edwards25519Point.Scratchpad scratch = out.scratchpad()) {
+            Edwards25519BaseTable.mul(scalar, out, scratch);
+        }
+
+        return out;
+    }
+
+    /**
+     * Get a SHA-512 digest.
+     *
+     * @return A SHA-512 {@link MessageDigest}.
+     */
+    private static MessageDigest sha512() {
+        try {
+            return MessageDigest.getInstance("SHA-512");
+        } catch(final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-512 is not available", e);
+        }
+    }
+
+    /**
+     * Compute the public key for a private key.
+     *
+     * @param privateKey The private key.
+     * @return The public key.
+     * @throws IllegalArgumentException If the private key is the
+     *         wrong length.
+     */
+    public static byte[] publicKey(final byte[] privateKey) {
+        try(final SigningKey key = new SigningKey(privateKey)) {
+            return key.publicKey();
+        }
+    }
+
+    /**
+     * Sign a message.
+     *
+     * @param privateKey The private key.
+     * @param message The message.
+     * @return The signature.
+     * @throws IllegalArgumentException If the private key is the
+     *         wrong length.
+     */
+    public static byte[] sign(final byte[] privateKey,
+                              final byte[] message) {
+        try(final SigningKey key = new SigningKey(privateKey)) {
+            return key.sign(message, 0, message.length);
+        }
+    }
+
+    /**
+     * A private key, expanded into its secret scalar, nonce prefix,
+     * and public key.  Signing many messages with one {@code
+     * SigningKey} hashes the private key and computes the public key
+     * only once.
+     */
+    public static final class SigningKey
+        implements Destroyable, AutoCloseable {
+        /**
+         * The clamped secret scalar, as bytes.
+         */
+        private final byte[] secret;
+
+        /**
+         * The secret scalar, reduced.
+         */
+        private final Scalar25519 scalar;
+
+        /**
+         * The nonce prefix.
+         */
+        private final byte[] prefix;
+
+        /**
+         * The public key.
+         */
+        private final byte[] pub;
+
+        /**
+         * Expand a private key.
+         *
+         * @param privateKey The private key.
+         * @throws IllegalArgumentException If the private key is the
+         *         wrong length.
+         */
+        public SigningKey(final byte[] privateKey) {
+            if (privateKey.length != PRIVATE_KEY_BYTES) {
+                throw new IllegalArgumentException("Private key must be " +
+                                                   PRIVATE_KEY_BYTES +
+                                                   " bytes");
+            }
+
+            final byte[] h = sha512().digest(privateKey);
+
+            h[0] &= (byte)0xf8;
+            h[31] &= (byte)0x7f;
+            h[31] |= (byte)0x40;
+            secret = Arrays.copyOf(h, 32);
+            prefix = Arrays.copyOfRange(h, 32, 64);
+            scalar = Scalar25519.fromBytes(secret);
+            pub = new byte[PUBLIC_KEY_BYTES];
+            Arrays.fill(h, (byte)0);
+
+            try(final Edwards25519Point a = Edwards25519Point.identity();
+                final Edwards25519Point.Scratchpad scratch =
+                    a.scratchpad()) {
+                Edwards25519BaseTable.mul(secret, a, scratch);
+                a.encode(pub, 0, scratch);
+            }
+        }
+
+        /**
+         * Get the public key.
+         *
+         * @return The public key.
+         */
+        public byte[] publicKey() {
+            return pub.clone();
+        }
+
+        /**
+         * Sign part of an array.
+         *
+         * @param message The array containing the message.
+         * @param off The offset of the message.
+         * @param len The length of the message.
+         * @return The signature.
+         */
+        public byte[] sign(final byte[] message,
+                           final int off,
+                           final int len) {
+            final MessageDigest md = sha512();
+            final byte[] sig = new byte[SIGNATURE_BYTES];
+
+            // r = SHA-512(prefix || M)
+            md.update(prefix);
+            md.update(message, off, len);
+
+            try(final Scalar25519 r = Scalar25519.fromBytes(md.digest());
+                final Edwards25519Point p = Edwards25519Point.identity();
+                final Edwards25519Point.Scratchpad scratch =
+                    p.scratchpad()) {
+                final byte[] rbytes = r.encoded();
+
+                // R = [r]B
+                Edwards25519BaseTable.mul(rbytes, p, scratch);
+                p.encode(sig, 0, scratch);
+                Arrays.fill(rbytes, (byte)0);
+
+                // k = SHA-512(R || A || M), S = r + k * a
+                md.update(sig, 0, Edwards25519Point.ENCODED_BYTES);
+                md.update(pub);
+                md.update(message, off, len);
+
+                try(final Scalar25519 k = Scalar25519.fromBytes(md.digest())) {
+                    k.mul(scalar);
+                    k.add(r);
+                    k.encode(sig, Edwards25519Point.ENCODED_BYTES);
+                }
+            }
+
+            return sig;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            Arrays.fill(secret, (byte)0);
+            Arrays.fill(prefix, (byte)0);
+            scalar.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return scalar.isDestroyed();
+        }
+    }
+
+    /**
+     * Verify a signature.
+     *
+     * @param publicKey The public key.
+     * @param message The message.
+     * @param signature The signature.
+     * @return Whether the signature is valid.
+     */
+    public static boolean verify(final byte[] publicKey,
+                                 final byte[] message,
+                                 final byte[] signature) {
+        return verify(publicKey, message, 0, message.length, signature);
+    }
+
+    /**
+     * Verify a signature on part of an array.
+     *
+     * @param publicKey The public key.
+     * @param message The array containing the message.
+     * @param off The offset of the message.
+     * @param len The length of the message.
+     * @param signature The signature.
+     * @return Whether the signature is valid.
+     */
+    public static boolean verify(final byte[] publicKey,
+                                 final byte[] message,
+                                 final int off,
+                                 final int len,
+                                 final byte[] signature) {
+        if (publicKey.length != PUBLIC_KEY_BYTES ||
+            signature.length != SIGNATURE_BYTES ||
+            !Scalar25519.isCanonical(signature,
+                                     Edwards25519Point.ENCODED_BYTES)) {
+            return false;
+        }
+
+        final Edwards25519Point a = Edwards25519Point.identity();
+
+        try(final Edwards25519Point.Scratchpad scratch = a.scratchpad()) {
+            if (a.decode(publicKey, 0, scratch) == 0) {
+                return false;
+            }
+
+            final byte[] k = challenge(signature, publicKey, message,
+                                       off, len).encoded();
+            final byte[] s = Arrays.copyOfRange(signature,
+                                                Edwards25519Point
+                                                .ENCODED_BYTES,
+                                                SIGNATURE_BYTES);
+            final Edwards25519Point check = Edwards25519Point.identity();
+            final byte[] encoded = new byte[Edwards25519Point.ENCODED_BYTES];
+
+            // [S]B - [k]A must encode to R.
+            a.neg();
+            Edwards25519BaseTable.mulVartime(s, new byte[][] { k },
+                                             new Edwards25519Point[] { a },
+                                             check, scratch);
+            check.encode(encoded, 0, scratch);
+
+            return MessageDigest.isEqual(encoded,
+                                         Arrays.copyOf(signature,
+                                                       Edwards25519Point
+                                                       .ENCODED_BYTES));
+        }
+    }
+
+    /**
+     * Verify a signature with the cofactored equation.
+     *
+     * @param publicKey The public key.
+     * @param message The message.
+     * @param signature The signature.
+     * @return Whether the signature is valid.
+     * @see #verifyCofactored(byte[], byte[], int, int, byte[])
+     */
+    public static boolean verifyCofactored(final byte[] publicKey,
+                                           final byte[] message,
+                                           final byte[] signature) {
+        return verifyCofactored(publicKey, message, 0, message.length,
+                                signature);
+    }
+
+    /**
+     * Verify a signature on part of an array with the cofactored
+     * equation.  The signature is valid when {@code [8]([S]B - R -
+     * [k]A)} is the identity.  This accepts everything that {@link
+     * #verify} does, and also signatures where {@code R} or {@code A}
+     * has a small-order component.  It agrees with {@link
+     * #verifyBatch} on every signature.
+     *
+     * @param publicKey The public key.
+     * @param message The array containing the message.
+     * @param off The offset of the message.
+     * @param len The length of the message.
+     * @param signature The signature.
+     * @return Whether the signature is valid.
+     */
+    public static boolean verifyCofactored(final byte[] publicKey,
+                                           final byte[] message,
+                                           final int off,
+                                           final int len,
+                                           final byte[] signature) {
+        if (publicKey.length != PUBLIC_KEY_BYTES ||
+            signature.length != SIGNATURE_BYTES ||
+            !Scalar25519.isCanonical(signature,
+                                     Edwards25519Point.ENCODED_BYTES)) {
+            return false;
+        }
+
+        final Edwards25519Point a = Edwards25519Point.identity();
+        final Edwards25519Point r = Edwards25519Point.identity();
+
+        try(final Edwards25519Point.Scratchpad scratch = a.scratchpad()) {
+            if (a.decode(publicKey, 0, scratch) == 0 ||
+                r.decode(signature, 0, scratch) == 0) {
+                return false;
+            }
+
+            final byte[] k = challenge(signature, publicKey, message,
+                                       off, len).encoded();
+            final byte[] s = Arrays.copyOfRange(signature,
+                                                Edwards25519Point
+                                                .ENCODED_BYTES,
+                                                SIGNATURE_BYTES);
+            final byte[] one = new byte[Scalar25519.ENCODED_BYTES];
+            final Edwards25519Point check = Edwards25519Point.identity();
+
+            one[0] = 1;
+
+            // [8]([S]B - R - [k]A) must be the identity.
+            a.neg();
+            r.neg();
+            Edwards25519BaseTable.mulVartime(s, new byte[][] { k, one },
+                                             new Edwards25519Point[] {
+                                                 a, r
+                                             },
+                                             check, scratch);
+            check.dbl(scratch);
+            check.dbl(scratch);
+            check.dbl(scratch);
+
+            return check.isIdentity();
+        }
+    }
+
+    /**
+     * Compute the challenge {@code k = SHA-512(R || A || M)} for a
+     * signature.
+     *
+     * @param signature The signature, from which {@code R} is taken.
+     * @param publicKey The public key.
+     * @param message The array containing the message.
+     * @param off The offset of the message.
+     * @param len The length of the message.
+     * @return The challenge, reduced.
+     */
+    private static Scalar25519 challenge(final byte[] signature,
+                                         final byte[] publicKey,
+                                         final byte[] message,
+                                         final int off,
+                                         final int len) {
+        final MessageDigest md = sha512();
+
+        md.update(signature, 0, Edwards25519Point.ENCODED_BYTES);
+        md.update(publicKey);
+        md.update(message, off, len);
+
+        return Scalar25519.fromBytes(md.digest());
+    }
+
+    /**
+     * Verify many signatures at once.
+     *
+     * @param publicKeys The public keys.
+     * @param messages The messages.
+     * @param signatures The signatures.
+     * @return Whether each signature is valid.
+     * @throws IllegalArgumentException If the arrays are of different
+     *         lengths.
+     * @see #verifyBatch(byte[][], byte[][], byte[][], SecureRandom)
+     */
+    public static boolean[] verifyBatch(final byte[][] publicKeys,
+                                        final byte[][] messages,
+                                        final byte[][] signatures) {
+        return verifyBatch(publicKeys, messages, signatures,
+                           new SecureRandom());
+    }
+
+    /**
+     * Verify many signatures at once.
+     * <p>
+     * Signatures that are malformed, or whose {@code A} or {@code R}
+     * do not decode, are rejected individually.  The rest are
+     * checked together: with random 128-bit coefficients {@code
+     * z_i}, the batch is valid when {@code [8]([sum(z_i * S_i)]B -
+     * sum([z_i]R_i) - sum([z_i * k_i]A_i))} is the identity, which
+     * takes a single multi-scalar multiplication and no inversions.
+     * If it is not, each signature is verified with {@link
+     * #verifyCofactored}, to find the bad ones.
+     * <p>
+     * The batch equation is the cofactored one, so the result for
+     * each signature is that of {@link #verifyCofactored}, whether or
+     * not the batch passes.  This accepts signatures that {@link
+     * #verify} would reject, where {@code R} or {@code A} has been
+     * deliberately given a small-order component.  Signatures
+     * produced by {@link #sign} are accepted by both.
+     *
+     * @param publicKeys The public keys.
+     * @param messages The messages.
+     * @param signatures The signatures.
+     * @param random The source of the coefficients.
+     * @return Whether each signature is valid.
+     * @throws IllegalArgumentException If the arrays are of different
+     *         lengths.
+     */
+    public static boolean[] verifyBatch(final byte[][] publicKeys,
+                                        final byte[][] messages,
+                                        final byte[][] signatures,
+                                        final SecureRandom random) {
+        final int len = publicKeys.length;
+
+        if (messages.length != len || signatures.length != len) {
+            throw new IllegalArgumentException("Batch arrays must be " +
+                                               "the same length");
+        }
+
+        final boolean[] out = new boolean[len];
+        final int[] indexes = new int[len];
+        final Edwards25519Point[] points = new Edwards25519Point[2 * len];
+        final byte[][] scalars = new byte[2 * len][];
+        final byte[] coeff = new byte[Scalar25519.ENCODED_BYTES];
+        final Scalar25519 base = Scalar25519.zero();
+        final Scalar25519 z = Scalar25519.zero();
+        final Scalar25519 term = Scalar25519.zero();
+        final Edwards25519Point check = Edwards25519Point.identity();
+        int count = 0;
+
+        try(final Edwards25519Point.Scratchpad scratch =
+            check.scratchpad()) {
+            for(int i = 0; i < len; i++) {
+                final byte[] sig = signatures[i];
+
+                if (publicKeys[i].length != PUBLIC_KEY_BYTES ||
+                    sig.length != SIGNATURE_BYTES ||
+                    !Scalar25519.isCanonical(sig,
+                                             Edwards25519Point
+                                             .ENCODED_BYTES)) {
+                    continue;
+                }
+
+                final Edwards25519Point a = Edwards25519Point.identity();
+                final Edwards25519Point r = Edwards25519Point.identity();
+
+                if (a.decode(publicKeys[i], 0, scratch) == 0 ||
+                    r.decode(sig, 0, scratch) == 0) {
+                    continue;
+                }
+
+                random.nextBytes(coeff);
+                Arrays.fill(coeff, Scalar25519.ENCODED_BYTES / 2,
+                            Scalar25519.ENCODED_BYTES, (byte)0);
+                z.set(coeff, 0, coeff.length);
+
+                // -[z]R
+                r.neg();
+                points[2 * count] = r;
+                scalars[2 * count] = coeff.clone();
+
+                // -[z * k]A
+                try(final Scalar25519 k =
+                    challenge(sig, publicKeys[i], messages[i], 0,
+                              messages[i].length)) {
+                    k.mul(z);
+                    a.neg();
+                    points[(2 * count) + 1] = a;
+                    scalars[(2 * count) + 1] = k.encoded();
+                }
+
+                // [z * S]B
+                term.set(sig, Edwards25519Point.ENCODED_BYTES,
+                         Scalar25519.ENCODED_BYTES);
+                term.mul(z);
+                base.add(term);
+                indexes[count] = i;
+                count++;
+            }
+
+            if (count == 0) {
+                return out;
+            }
+
+            Edwards25519BaseTable.mulVartime(base.encoded(),
+                                             Arrays.copyOf(scalars,
+                                                           2 * count),
+                                             Arrays.copyOf(points,
+                                                           2 * count),
+                                             check, scratch);
+            check.dbl(scratch);
+            check.dbl(scratch);
+            check.dbl(scratch);
+
+            final boolean valid = check.isIdentity();
+
+            for(int i = 0; i < count; i++) {
+                final int idx = indexes[i];
+
+                out[idx] = valid ||
+                    verifyCofactored(publicKeys[idx], messages[idx],
+                                     signatures[idx]);
+            }
+
+            return out;
+        }
+    }
+}
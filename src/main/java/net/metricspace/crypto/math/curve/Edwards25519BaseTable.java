@@ -0,0 +1,354 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed multiples of the Ed25519 base point, and the scalar
+ * multiplications that use them.
+ * <p>
+ * Constant-time multiplication of the base point uses a comb over
+ * signed 4-bit digits.  The scalar is recoded into 64 digits in
+ * {@code [-8, 8]}, and the table holds {@code j * 256^i * B} for
+ * {@code j} from {@code 1} to {@code 8} and each of the 32 columns
+ * {@code i}.  The odd digits are accumulated first, the sum is
+ * multiplied by 16, and the even digits are accumulated on top, so
+ * that a multiplication costs 64 additions, 4 doublings, and no
+ * inversions.  Each digit reads its column with 8 conditional moves
+ * and a conditional negation, so nothing depends on the scalar.
+ * <p>
+ * Variable-time multiplication, for verification, uses the
+ * width-{@value #BASE_WIDTH} NAF of the base point's scalar against
+ * a table of its odd multiples, interleaved (Straus's method) with
+ * width-{@value #POINT_WIDTH} NAFs of any other scalars, so that all
+ * terms share one chain of doublings.
+ * <p>
+ * All entries are in {@link Edwards25519Precomputed} form, and are
+ * computed on first use with one batch inversion per table.
+ */
+final class Edwards25519BaseTable {
+    /**
+     * Number of signed 4-bit digits in a scalar.
+     */
+    private static final int DIGITS = 64;
+
+    /**
+     * Number of columns in the comb.
+     */
+    private static final int COLUMNS = DIGITS / 2;
+
+    /**
+     * Number of multiples in each column.
+     */
+    private static final int COLUMN_ENTRIES = 8;
+
+    /**
+     * NAF width used for the base point.
+     */
+    static final int BASE_WIDTH = 8;
+
+    /**
+     * NAF width used for other points.
+     */
+    static final int POINT_WIDTH = 5;
+
+    /**
+     * Number of bits in a NAF.
+     */
+    private static final int NAF_BITS = 256;
+
+    /**
+     * The comb, indexed by column, then by multiple minus one.
+     */
+    private static final Edwards25519Precomputed[][] COMB;
+
+    /**
+     * The odd multiples {@code B}, {@code 3B}, ... of the base point.
+     */
+    private static final Edwards25519Precomputed[] ODD;
+
+    static {
+        final Edwards25519Point[] points =
+            new Edwards25519Point[COLUMNS * COLUMN_ENTRIES];
+        final Edwards25519Point column = Ed25519.base();
+
+        for(int i = 0; i < COLUMNS; i++) {
+            final Edwards25519Point multiple = column.clone();
+
+            for(int j = 0; j < COLUMN_ENTRIES; j++) {
+                points[(i * COLUMN_ENTRIES) + j] = multiple.clone();
+                multiple.add(column);
+            }
+
+            for(int j = 0; j < 8; j++) {
+                column.dbl();
+            }
+        }
+
+        final Edwards25519Precomputed[] flat =
+            Edwards25519Precomputed.fromPoints(points);
+
+        COMB = new Edwards25519Precomputed[COLUMNS][];
+
+        for(int i = 0; i < COLUMNS; i++) {
+            COMB[i] = new Edwards25519Precomputed[COLUMN_ENTRIES];
+            System.arraycopy(flat, i * COLUMN_ENTRIES, COMB[i], 0,
+                             COLUMN_ENTRIES);
+        }
+
+        ODD = Edwards25519Precomputed.fromPoints(
+            oddMultiples(Ed25519.base(), BASE_WIDTH));
+    }
+
+    private Edwards25519BaseTable() {}
+
+    /**
+     * Compute the odd multiples {@code P}, {@code 3P}, ..., up to
+     * {@code (2^(width - 1) - 1) * P} of a point.
+     *
+     * @param point The point.
+     * @param width The NAF width.
+     * @return The odd multiples.
+     */
+    static Edwards25519Point[] oddMultiples(final Edwards25519Point point,
+                                            final int width) {
+        final Edwards25519Point[] out =
+            new Edwards25519Point[1 << (width - 2)];
+        final Edwards25519Point twice = point.clone();
+
+        twice.dbl();
+        out[0] = point.clone();
+
+        for(int i = 1; i < out.length; i++) {
+            out[i] = out[i - 1].clone();
+            out[i].add(twice);
+        }
+
+        return out;
+    }
+
+    /**
+     * Set a point to a multiple of the base point, in constant time.
+     *
+     * @param scalar The little-endian scalar, which must be 32 bytes
+     *               and less than {@code 2^255}.
+     * @param out The point in which to store the result.
+     * @param scratch The scratchpad to use.
+     */
+    static void mul(final byte[] scalar,
+                    final Edwards25519Point out,
+                    final Edwards25519Point.Scratchpad scratch) {
+        final int[] digits = new int[DIGITS];
+        final Edwards25519Precomputed entry = new Edwards25519Precomputed();
+
+        for(int i = 0; i < COLUMNS; i++) {
+            digits[2 * i] = scalar[i] & 0xf;
+            digits[(2 * i) + 1] = (scalar[i] >> 4) & 0xf;
+        }
+
+        // Recode into digits in [-8, 8].
+        int carry = 0;
+
+        for(int i = 0; i < DIGITS - 1; i++) {
+            digits[i] += carry;
+            carry = (digits[i] + 8) >> 4;
+            digits[i] -= carry << 4;
+        }
+
+        digits[DIGITS - 1] += carry;
+        out.setIdentity();
+
+        for(int i = 1; i < DIGITS; i += 2) {
+            lookup(i / 2, digits[i], entry);
+            out.add(entry, scratch);
+        }
+
+        out.dbl(scratch);
+        out.dbl(scratch);
+        out.dbl(scratch);
+        out.dbl(scratch);
+
+        for(int i = 0; i < DIGITS; i += 2) {
+            lookup(i / 2, digits[i], entry);
+            out.add(entry, scratch);
+        }
+
+        Arrays.fill(digits, 0);
+        entry.destroy();
+    }
+
+    /**
+     * Read a signed multiple from a column of the comb, in constant
+     * time.
+     *
+     * @param column The column.
+     * @param digit The multiple, in {@code [-8, 8]}.
+     * @param out The point in which to store the result.
+     */
+    private static void lookup(final int column,
+                               final int digit,
+                               final Edwards25519Precomputed out) {
+        final int negative = (digit >> 31) & 0x1;
+        final int abs = digit - ((-negative & digit) << 1);
+        final Edwards25519Precomputed[] entries = COMB[column];
+
+        out.setIdentity();
+
+        for(int j = 0; j < COLUMN_ENTRIES; j++) {
+            final int match = ((abs ^ (j + 1)) - 1) >>> 31;
+
+            out.select(entries[j], match);
+        }
+
+        out.cneg(negative);
+    }
+
+    /**
+     * Compute the width-{@code width} non-adjacent form of a scalar.
+     * Each digit is zero or odd, and less than {@code 2^(width - 1)}
+     * in absolute value.  This is not constant-time.
+     *
+     * @param scalar The little-endian scalar, which must be less than
+     *               {@code 2^255}.
+     * @param width The NAF width.
+     * @return The digits, least significant first.
+     */
+    static byte[] naf(final byte[] scalar,
+                      final int width) {
+        final int limit = (1 << (width - 1)) - 1;
+        final byte[] out = new byte[NAF_BITS];
+
+        for(int i = 0; i < scalar.length * 8 && i < NAF_BITS; i++) {
+            out[i] = (byte)((scalar[i >> 3] >> (i & 7)) & 1);
+        }
+
+        for(int i = 0; i < NAF_BITS; i++) {
+            if (out[i] == 0) {
+                continue;
+            }
+
+            for(int b = 1; b < width && i + b < NAF_BITS; b++) {
+                if (out[i + b] == 0) {
+                    continue;
+                }
+
+                final int shifted = out[i + b] << b;
+
+                if (out[i] + shifted <= limit) {
+                    out[i] += shifted;
+                    out[i + b] = 0;
+                } else if (out[i] - shifted >= -limit) {
+                    out[i] -= shifted;
+
+                    for(int k = i + b; k < NAF_BITS; k++) {
+                        if (out[k] == 0) {
+                            out[k] = 1;
+                            break;
+                        }
+
+                        out[k] = 0;
+                    }
+                } else {
+                    break;
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Compute {@code [base]B + sum([scalars[i]]points[i])}, in
+     * variable time.  This is intended for verification, where all
+     * inputs are public.
+     *
+     * @param base The little-endian scalar for the base point.
+     * @param scalars The little-endian scalars for the other points.
+     * @param points The other points.
+     * @param out The point in which to store the result.
+     * @param scratch The scratchpad to use.
+     */
+    static void mulVartime(final byte[] base,
+                           final byte[][] scalars,
+                           final Edwards25519Point[] points,
+                           final Edwards25519Point out,
+                           final Edwards25519Point.Scratchpad scratch) {
+        final byte[] baseNaf = naf(base, BASE_WIDTH);
+        final byte[][] nafs = new byte[points.length][];
+        final Edwards25519Point[][] tables =
+            new Edwards25519Point[points.length][];
+        int top = NAF_BITS - 1;
+
+        for(int i = 0; i < points.length; i++) {
+            nafs[i] = naf(scalars[i], POINT_WIDTH);
+            tables[i] = oddMultiples(points[i], POINT_WIDTH);
+        }
+
+        // Skip the leading zero digits of every NAF.
+        for(; top >= 0; top--) {
+            boolean nonzero = baseNaf[top] != 0;
+
+            for(int i = 0; i < nafs.length && !nonzero; i++) {
+                nonzero = nafs[i][top] != 0;
+            }
+
+            if (nonzero) {
+                break;
+            }
+        }
+
+        out.setIdentity();
+
+        for(int bit = top; bit >= 0; bit--) {
+            out.dbl(scratch);
+
+            final int digit = baseNaf[bit];
+
+            if (digit > 0) {
+                out.add(ODD[digit >> 1], scratch);
+            } else if (digit < 0) {
+                out.sub(ODD[-digit >> 1], scratch);
+            }
+
+            for(int i = 0; i < nafs.length; i++) {
+                final int d = nafs[i][bit];
+
+                if (d > 0) {
+                    out.add(tables[i][d >> 1], scratch);
+                } else if (d < 0) {
+                    out.sub(tables[i][-d >> 1], scratch);
+                }
+            }
+        }
+    }
+}
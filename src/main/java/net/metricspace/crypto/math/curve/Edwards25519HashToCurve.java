@@ -0,0 +1,321 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.nio.charset.StandardCharsets;
+
+import net.metricspace.crypto.math.field.HashToField;
+import net.metricspace.crypto.math.field.ModE255M19;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Hashing to the Edwards curve underlying Ed25519, using the {@code
+ * edwards25519_XMD:SHA-512_ELL2_RO_} and {@code
+ * edwards25519_XMD:SHA-512_ELL2_NU_} suites from RFC 9380.
+ * <p>
+ * Messages are hashed to field elements with {@link HashToField},
+ * and each field element is mapped to the Montgomery form of the
+ * curve, {@code v^2 = u^3 + 486662 * u^2 + u}, by Elligator 2, and
+ * then to the Edwards curve by the standard rational map.  The
+ * result is multiplied by the cofactor {@code 8}.
+ * <p>
+ * The map uses a single {@link ModE255M19#sqrtRatio} for both
+ * Elligator candidates, as {@code g(x2) = 2 * u^2 * g(x1)}, and
+ * produces the point in extended coordinates, so it performs no
+ * inversions at all, and runs in constant time.  Batches of messages
+ * thus need no shared inversion; {@link #hashToCurve(byte[][],
+ * byte[])} is provided for symmetry with {@link EdwardsHashToCurve}.
+ */
+public final class Edwards25519HashToCurve {
+    /**
+     * Suite identifier for hashing to the curve (random oracle).
+     */
+    public static final String HASH_SUITE =
+        "edwards25519_XMD:SHA-512_ELL2_RO_";
+
+    /**
+     * Suite identifier for encoding to the curve (nonuniform).
+     */
+    public static final String ENCODE_SUITE =
+        "edwards25519_XMD:SHA-512_ELL2_NU_";
+
+    /**
+     * Target security level of the suites, in bits.
+     */
+    private static final int SECURITY_BITS = 128;
+
+    /**
+     * The Montgomery curve coefficient {@code J = 486662}.
+     */
+    private static final int J = 486662;
+
+    /**
+     * The value {@code sqrt(-2 * sqrt(-1))}, which maps {@code
+     * sqrt(sqrt(-1) * g(x1))} to {@code sqrt(2 * g(x1))}.
+     */
+    private static final ModE255M19 SQRT_M2_SQRT_M1;
+
+    /**
+     * The value {@code sqrt(-486664)}, with its sign bit clear, which
+     * scales the rational map to the Edwards curve.
+     */
+    private static final ModE255M19 SQRT_M486664;
+
+    static {
+        try(final PrimeField.Scratchpad scratch =
+            ModE255M19.zero().scratchpad()) {
+            SQRT_M2_SQRT_M1 = ModE255M19.sqrtM1();
+            SQRT_M2_SQRT_M1.mul(-2);
+            SQRT_M2_SQRT_M1.sqrt(scratch);
+            SQRT_M2_SQRT_M1.normalize(scratch);
+
+            SQRT_M486664 = new ModE255M19(-486664);
+            SQRT_M486664.sqrt(scratch);
+            Edwards25519Point.condAbs(SQRT_M486664, scratch);
+        }
+    }
+
+    private Edwards25519HashToCurve() {}
+
+    /**
+     * Hash a message to a point, using the {@link #HASH_SUITE} suite.
+     *
+     * @param msg The message.
+     * @param dst The domain separation tag.
+     * @return The resulting point.
+     */
+    public static Edwards25519Point hashToCurve(final byte[] msg,
+                                                final byte[] dst) {
+        return hash(new HashToField("SHA-512", dst, SECURITY_BITS),
+                    msg, 2);
+    }
+
+    /**
+     * Hash many messages to points, using the {@link #HASH_SUITE}
+     * suite.
+     *
+     * @param msgs The messages.
+     * @param dst The domain separation tag.
+     * @return The resulting points.
+     */
+    public static Edwards25519Point[] hashToCurve(final byte[][] msgs,
+                                                  final byte[] dst) {
+        final HashToField hash =
+            new HashToField("SHA-512", dst, SECURITY_BITS);
+        final Edwards25519Point[] out = new Edwards25519Point[msgs.length];
+
+        for(int i = 0; i < msgs.length; i++) {
+            out[i] = hash(hash, msgs[i], 2);
+        }
+
+        return out;
+    }
+
+    /**
+     * Encode a message to a point, using the {@link #ENCODE_SUITE}
+     * suite.  The result is not uniformly distributed.
+     *
+     * @param msg The message.
+     * @param dst The domain separation tag.
+     * @return The resulting point.
+     */
+    public static Edwards25519Point encodeToCurve(final byte[] msg,
+                                                  final byte[] dst) {
+        return hash(new HashToField("SHA-512", dst, SECURITY_BITS),
+                    msg, 1);
+    }
+
+    /**
+     * Hash a message to field elements, map each to the curve, add
+     * the results, and clear the cofactor.
+     *
+     * @param hash The hash to field.
+     * @param msg The message.
+     * @param count The number of field elements.
+     * @return The resulting point.
+     */
+    private static Edwards25519Point hash(final HashToField hash,
+                                          final byte[] msg,
+                                          final int count) {
+        final ModE255M19[] u = new ModE255M19[count];
+        final Edwards25519Point out = Edwards25519Point.identity();
+
+        for(int i = 0; i < count; i++) {
+            u[i] = ModE255M19.zero();
+        }
+
+        hash.hash(msg, u);
+
+        try(final Edwards25519Point.Scratchpad scratch =
+            out.scratchpad()) {
+            final Edwards25519Point q = Edwards25519Point.identity();
+
+            for(int i = 0; i < count; i++) {
+                map(u[i], q, scratch);
+                out.add(q, scratch);
+                u[i].destroy();
+            }
+
+            q.destroy();
+            clearCofactor(out, scratch);
+        }
+
+        return out;
+    }
+
+    /**
+     * Map a field element to a point, without clearing the cofactor.
+     *
+     * @param u The field element.
+     * @return The resulting point.
+     */
+    public static Edwards25519Point mapToCurve(final ModE255M19 u) {
+        final Edwards25519Point out = Edwards25519Point.identity();
+
+        try(final Edwards25519Point.Scratchpad scratch =
+            out.scratchpad()) {
+            map(u, out, scratch);
+        }
+
+        return out;
+    }
+
+    /**
+     * Multiply a point by the cofactor {@code 8}.
+     *
+     * @param p The point.
+     * @param scratch The scratchpad to use.
+     */
+    static void clearCofactor(final Edwards25519Point p,
+                              final Edwards25519Point.Scratchpad scratch) {
+        p.dbl(scratch);
+        p.dbl(scratch);
+        p.dbl(scratch);
+    }
+
+    /**
+     * Elligator 2 followed by the rational map to the Edwards curve,
+     * after {@code map_to_curve_elligator2_edwards25519} in RFC 9380.
+     * <p>
+     * With {@code x1 = -J / (1 + 2 * u^2)}, one of {@code g(x1)} and
+     * {@code g(x2) = 2 * u^2 * g(x1)} is square.  {@link
+     * ModE255M19#sqrtRatio} gives either {@code sqrt(g(x1))}, or
+     * {@code sqrt(sqrt(-1) * g(x1))}, from which {@code sqrt(g(x2))}
+     * follows by multiplying by {@code u * sqrt(-2 * sqrt(-1))}.  The
+     * denominator {@code 1 + 2 * u^2} is never zero, as {@code -1 /
+     * 2} is not a square.
+     *
+     * @param u The field element.
+     * @param out The point into which to write the result.
+     * @param scratch The scratchpad to use.
+     */
+    private static void map(final ModE255M19 u,
+                            final Edwards25519Point out,
+                            final Edwards25519Point.Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE255M19 tv = scratch.t6;
+        final ModE255M19 xd = scratch.t7;
+        final ModE255M19 xn = scratch.t8;
+        final ModE255M19 gn = scratch.t9;
+        final ModE255M19 gd = scratch.t10;
+        final ModE255M19 y = scratch.t11;
+        final ModE255M19 y2 = scratch.t0;
+        final ModE255M19 x2n = scratch.t1;
+
+        // tv = 2 * u^2, xd = 1 + tv, xn = -J
+        tv.set(u);
+        tv.square();
+        tv.mul(2);
+        xd.set(tv);
+        xd.add(1);
+        xn.set(J);
+        xn.neg();
+
+        // g(x1) = xn * (xn^2 + J * xn * xd + xd^2) / xd^3
+        gn.set(xn);
+        gn.add(xd);
+        gn.square();
+        y.set(xn);
+        y.mul(xd);
+        y.mul(J - 2);
+        gn.add(y);
+        gn.mul(xn);
+        gd.set(xd);
+        gd.square();
+        gd.mul(xd);
+
+        final long square = y.sqrtRatio(gn, gd, fscratch);
+
+        // Second candidate: x2 = tv * x1, y2 = u * c * y
+        x2n.set(xn);
+        x2n.mul(tv);
+        y2.set(y);
+        y2.mul(u);
+        y2.mul(SQRT_M2_SQRT_M1);
+        xn.cmov(x2n, square ^ 0x1);
+        y.cmov(y2, square ^ 0x1);
+
+        // sgn0(y) must be 1 for the first candidate, 0 for the second.
+        y.cneg(Edwards25519Point.isNegative(y, fscratch) ^ square);
+
+        // Rational map: x = c * s / t, y = (s - 1) / (s + 1), with s =
+        // xn / xd and t = y.  In extended coordinates, with x = xe /
+        // ze1 and y = ye / ze2, (X : Y : Z : T) = (xe * ze2 : ye * ze1
+        // : ze1 * ze2 : xe * ye).
+        gn.set(xn);
+        gn.mul(SQRT_M486664);
+        gd.set(xd);
+        gd.mul(y);
+        x2n.set(xn);
+        x2n.sub(xd);
+        y2.set(xn);
+        y2.add(xd);
+
+        out.x.set(gn);
+        out.x.mul(y2);
+        out.y.set(x2n);
+        out.y.mul(gd);
+        out.z.set(gd);
+        out.z.mul(y2);
+        out.t.set(gn);
+        out.t.mul(x2n);
+
+        // If t = 0 or s = -1, the result is the identity.
+        final long exceptional = out.z.isZero(fscratch);
+
+        tv.set(1);
+        out.x.mask(exceptional ^ 0x1);
+        out.t.mask(exceptional ^ 0x1);
+        out.y.cmov(tv, exceptional);
+        out.z.cmov(tv, exceptional);
+    }
+}
@@ -0,0 +1,947 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+import net.metricspace.crypto.math.field.FieldTable;
+import net.metricspace.crypto.math.field.ModE255M19;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Points on the twisted Edwards curve {@code -x^2 + y^2 = 1 + d * x^2
+ * * y^2} over {@link ModE255M19}, where {@code d = -121665 / 121666}.
+ * This is the curve underlying Ed25519 and Ristretto255.
+ * <p>
+ * Points are represented in extended coordinates {@code (X : Y : Z :
+ * T)}, where {@code x = X / Z}, {@code y = Y / Z}, and {@code x * y =
+ * T / Z}.  This allows addition and doubling to be carried out
+ * without any inversions, using the formulas of Hisil, Wong, Carter,
+ * and Dawson.  The addition formula is complete on this curve, so
+ * there are no exceptional cases, and no operation branches on the
+ * coordinates.
+ */
+public final class Edwards25519Point
+    implements Cloneable, Destroyable, AutoCloseable {
+    /**
+     * Scratchpad objects for point arithmetic.  These serve the same
+     * purpose as {@link PrimeField.Scratchpad}: they hold the
+     * temporary field elements needed by point operations, so that
+     * sequences of operations do not allocate.
+     * <p>
+     * Scratchpads implement {@link AutoCloseable}, with {@link
+     * Scratchpad#close} overwriting all data.
+     */
+    public static final class Scratchpad
+        implements AutoCloseable, Destroyable {
+        final PrimeField.Scratchpad field;
+        final ModE255M19 t0;
+        final ModE255M19 t1;
+        final ModE255M19 t2;
+        final ModE255M19 t3;
+        final ModE255M19 t4;
+        final ModE255M19 t5;
+        final ModE255M19 t6;
+        final ModE255M19 t7;
+        final ModE255M19 t8;
+        final ModE255M19 t9;
+        final ModE255M19 t10;
+        final ModE255M19 t11;
+        final byte[] encoded;
+
+        /**
+         * Initialize a {@code Scratchpad} by creating the temporary
+         * field elements and encoding buffer.
+         */
+        Scratchpad() {
+            this.t0 = ModE255M19.zero();
+            this.t1 = ModE255M19.zero();
+            this.t2 = ModE255M19.zero();
+            this.t3 = ModE255M19.zero();
+            this.t4 = ModE255M19.zero();
+            this.t5 = ModE255M19.zero();
+            this.t6 = ModE255M19.zero();
+            this.t7 = ModE255M19.zero();
+            this.t8 = ModE255M19.zero();
+            this.t9 = ModE255M19.zero();
+            this.t10 = ModE255M19.zero();
+            this.t11 = ModE255M19.zero();
+            this.encoded = new byte[ENCODED_BYTES];
+            this.field = t0.scratchpad();
+        }
+
+        /**
+         * Overwrite all sensitive information by calling {@link
+         * #destroy()}.
+         */
+        @Override
+        public void close() {
+            destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void destroy() {
+            t0.destroy();
+            t1.destroy();
+            t2.destroy();
+            t3.destroy();
+            t4.destroy();
+            t5.destroy();
+            t6.destroy();
+            t7.destroy();
+            t8.destroy();
+            t9.destroy();
+            t10.destroy();
+            t11.destroy();
+            Arrays.fill(encoded, (byte)0);
+            field.destroy();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDestroyed() {
+            return t0.isDestroyed() && t1.isDestroyed() &&
+                t2.isDestroyed() && t3.isDestroyed() &&
+                t4.isDestroyed() && t5.isDestroyed() &&
+                t6.isDestroyed() && t7.isDestroyed() &&
+                t8.isDestroyed() && t9.isDestroyed() &&
+                t10.isDestroyed() && t11.isDestroyed() &&
+                field.isDestroyed();
+        }
+    }
+
+    /**
+     * Number of bytes in an encoded point.
+     */
+    public static final int ENCODED_BYTES = 32;
+
+    /**
+     * Number of entries in the window table used by {@link #mul}.
+     */
+    private static final int WINDOW_ENTRIES = 16;
+
+    private static final ThreadLocal<Scratchpad> scratchpads =
+        new ThreadLocal<Scratchpad>() {
+            @Override
+            public Scratchpad initialValue() {
+                return new Scratchpad();
+            }
+        };
+
+    /**
+     * The curve constant {@code d = -121665 / 121666}.
+     */
+    static final ModE255M19 D;
+
+    /**
+     * The value {@code 2 * d}, used in addition.
+     */
+    private static final ModE255M19 D2;
+
+    static {
+        D = new ModE255M19(-121665);
+        D.div(121666);
+        D.normalize();
+        D2 = D.clone();
+        D2.mul(2);
+        D2.normalize();
+    }
+
+    /**
+     * The {@code X} coordinate.
+     */
+    final ModE255M19 x;
+
+    /**
+     * The {@code Y} coordinate.
+     */
+    final ModE255M19 y;
+
+    /**
+     * The {@code Z} coordinate.
+     */
+    final ModE255M19 z;
+
+    /**
+     * The {@code T} coordinate.
+     */
+    final ModE255M19 t;
+
+    /**
+     * Create an {@code Edwards25519Point} initialized to the identity
+     * {@code (0, 1)}.
+     *
+     * @return An {@code Edwards25519Point} initialized to the
+     *         identity.
+     */
+    public static Edwards25519Point identity() {
+        return new Edwards25519Point(ModE255M19.zero(), ModE255M19.one(),
+                                     ModE255M19.one(), ModE255M19.zero());
+    }
+
+    /**
+     * Create an {@code Edwards25519Point} from affine coordinates.
+     * The coordinates are copied.  This does <i>not</i> check that
+     * the point is on the curve.
+     *
+     * @param x The affine {@code x} coordinate.
+     * @param y The affine {@code y} coordinate.
+     * @return An {@code Edwards25519Point} representing {@code (x,
+     *         y)}.
+     */
+    public static Edwards25519Point fromAffine(final ModE255M19 x,
+                                               final ModE255M19 y) {
+        final ModE255M19 t = x.clone();
+
+        t.mul(y);
+
+        return new Edwards25519Point(x.clone(), y.clone(),
+                                     ModE255M19.one(), t);
+    }
+
+    /**
+     * Initialize an {@code Edwards25519Point} with the given
+     * coordinates.  The coordinates are <i>not</i> copied.
+     *
+     * @param x The {@code X} coordinate.
+     * @param y The {@code Y} coordinate.
+     * @param z The {@code Z} coordinate.
+     * @param t The {@code T} coordinate.
+     */
+    Edwards25519Point(final ModE255M19 x,
+                      final ModE255M19 y,
+                      final ModE255M19 z,
+                      final ModE255M19 t) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.t = t;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Edwards25519Point clone() {
+        return new Edwards25519Point(x.clone(), y.clone(),
+                                     z.clone(), t.clone());
+    }
+
+    /**
+     * Get a scratchpad.  Sequences of operations should obtain a
+     * scratchpad, pass it into all operations, then destroy it when
+     * through.
+     *
+     * @return A scratchpad.
+     */
+    public Scratchpad scratchpad() {
+        return scratchpads.get();
+    }
+
+    /**
+     * Overwrite this point with another.
+     *
+     * @param other The point to copy.
+     */
+    public void set(final Edwards25519Point other) {
+        x.set(other.x);
+        y.set(other.y);
+        z.set(other.z);
+        t.set(other.t);
+    }
+
+    /**
+     * Overwrite this point with the identity.
+     */
+    public void setIdentity() {
+        x.set(0);
+        y.set(1);
+        z.set(1);
+        t.set(0);
+    }
+
+    /**
+     * Get the affine {@code x} coordinate.  This performs an
+     * inversion.
+     *
+     * @return The affine {@code x} coordinate.
+     */
+    public ModE255M19 affineX() {
+        final ModE255M19 out = x.clone();
+
+        out.div(z);
+
+        return out;
+    }
+
+    /**
+     * Get the affine {@code y} coordinate.  This performs an
+     * inversion.
+     *
+     * @return The affine {@code y} coordinate.
+     */
+    public ModE255M19 affineY() {
+        final ModE255M19 out = y.clone();
+
+        out.div(z);
+
+        return out;
+    }
+
+    /**
+     * Add another point to this one.
+     *
+     * @param other The point to add.
+     */
+    public void add(final Edwards25519Point other) {
+        try(final Scratchpad scratch = scratchpad()) {
+            add(other, scratch);
+        }
+    }
+
+    /**
+     * Add another point to this one.  It <i>is</i> safe for {@code
+     * other} to be this point.
+     * <p>
+     * This uses the {@code add-2008-hwcd-3} formula for {@code a =
+     * -1}, costing 8 multiplications and one multiplication by a
+     * constant.  The additions and subtractions that feed directly
+     * into multiplications skip carry propagation (see {@link
+     * ModE255M19#addLazy}).
+     *
+     * @param other The point to add.
+     * @param scratch The scratchpad to use.
+     */
+    public void add(final Edwards25519Point other,
+                    final Scratchpad scratch) {
+        final ModE255M19 a = scratch.t0;
+        final ModE255M19 b = scratch.t1;
+        final ModE255M19 c = scratch.t2;
+        final ModE255M19 d = scratch.t3;
+        final ModE255M19 e = scratch.t4;
+        final ModE255M19 f = scratch.t5;
+
+        // A = (Y1 - X1) * (Y2 - X2)
+        a.set(y);
+        a.subLazy(x);
+        b.set(other.y);
+        b.subLazy(other.x);
+        a.mul(b);
+
+        // B = (Y1 + X1) * (Y2 + X2)
+        b.set(y);
+        b.addLazy(x);
+        c.set(other.y);
+        c.addLazy(other.x);
+        b.mul(c);
+
+        // C = T1 * 2d * T2
+        c.set(t);
+        c.mul(other.t);
+        c.mul(D2);
+
+        // D = Z1 * 2 * Z2
+        d.set(z);
+        d.mul(other.z);
+        d.mul(2);
+
+        // E = B - A, H = B + A
+        e.set(b);
+        e.subLazy(a);
+        b.addLazy(a);
+
+        // F = D - C, G = D + C
+        f.set(d);
+        f.subLazy(c);
+        d.addLazy(c);
+
+        x.set(e);
+        x.mul(f);
+        y.set(d);
+        y.mul(b);
+        t.set(e);
+        t.mul(b);
+        z.set(f);
+        z.mul(d);
+    }
+
+    /**
+     * Subtract another point from this one.
+     *
+     * @param other The point to subtract.
+     */
+    public void sub(final Edwards25519Point other) {
+        try(final Scratchpad scratch = scratchpad()) {
+            sub(other, scratch);
+        }
+    }
+
+    /**
+     * Subtract another point from this one.  It <i>is</i> safe for
+     * {@code other} to be this point.
+     *
+     * @param other The point to subtract.
+     * @param scratch The scratchpad to use.
+     */
+    public void sub(final Edwards25519Point other,
+                    final Scratchpad scratch) {
+        final ModE255M19 a = scratch.t0;
+        final ModE255M19 b = scratch.t1;
+        final ModE255M19 c = scratch.t2;
+        final ModE255M19 d = scratch.t3;
+        final ModE255M19 e = scratch.t4;
+        final ModE255M19 f = scratch.t5;
+
+        // As add, with (X2, T2) replaced by (-X2, -T2).
+        a.set(y);
+        a.subLazy(x);
+        b.set(other.y);
+        b.addLazy(other.x);
+        a.mul(b);
+
+        b.set(y);
+        b.addLazy(x);
+        c.set(other.y);
+        c.subLazy(other.x);
+        b.mul(c);
+
+        c.set(t);
+        c.mul(other.t);
+        c.mul(D2);
+
+        d.set(z);
+        d.mul(other.z);
+        d.mul(2);
+
+        e.set(b);
+        e.subLazy(a);
+        b.addLazy(a);
+
+        // The sign of C is flipped, so F and G trade places.
+        f.set(d);
+        f.addLazy(c);
+        d.subLazy(c);
+
+        x.set(e);
+        x.mul(f);
+        y.set(d);
+        y.mul(b);
+        t.set(e);
+        t.mul(b);
+        z.set(f);
+        z.mul(d);
+    }
+
+    /**
+     * Add a point in precomputed form to this one.
+     * <p>
+     * This is {@link #add(Edwards25519Point, Scratchpad)} with {@code
+     * Z2 = 1} and the sums and products of the other point's
+     * coordinates already taken, costing 7 multiplications.
+     *
+     * @param other The point to add.
+     * @param scratch The scratchpad to use.
+     */
+    void add(final Edwards25519Precomputed other,
+             final Scratchpad scratch) {
+        final ModE255M19 a = scratch.t0;
+        final ModE255M19 b = scratch.t1;
+        final ModE255M19 c = scratch.t2;
+        final ModE255M19 d = scratch.t3;
+        final ModE255M19 e = scratch.t4;
+        final ModE255M19 f = scratch.t5;
+
+        // A = (Y1 - X1) * (y2 - x2), B = (Y1 + X1) * (y2 + x2)
+        a.set(y);
+        a.subLazy(x);
+        a.mul(other.ymx);
+        b.set(y);
+        b.addLazy(x);
+        b.mul(other.ypx);
+
+        // C = T1 * 2d * x2 * y2, D = 2 * Z1
+        c.set(t);
+        c.mul(other.xy2d);
+        d.set(z);
+        d.mul(2);
+
+        e.set(b);
+        e.subLazy(a);
+        b.addLazy(a);
+        f.set(d);
+        f.subLazy(c);
+        d.addLazy(c);
+
+        x.set(e);
+        x.mul(f);
+        y.set(d);
+        y.mul(b);
+        t.set(e);
+        t.mul(b);
+        z.set(f);
+        z.mul(d);
+    }
+
+    /**
+     * Subtract a point in precomputed form from this one.
+     *
+     * @param other The point to subtract.
+     * @param scratch The scratchpad to use.
+     */
+    void sub(final Edwards25519Precomputed other,
+             final Scratchpad scratch) {
+        final ModE255M19 a = scratch.t0;
+        final ModE255M19 b = scratch.t1;
+        final ModE255M19 c = scratch.t2;
+        final ModE255M19 d = scratch.t3;
+        final ModE255M19 e = scratch.t4;
+        final ModE255M19 f = scratch.t5;
+
+        // As above, with y + x and y - x trading places, and the
+        // sign of C flipped.
+        a.set(y);
+        a.subLazy(x);
+        a.mul(other.ypx);
+        b.set(y);
+        b.addLazy(x);
+        b.mul(other.ymx);
+
+        c.set(t);
+        c.mul(other.xy2d);
+        d.set(z);
+        d.mul(2);
+
+        e.set(b);
+        e.subLazy(a);
+        b.addLazy(a);
+        f.set(d);
+        f.addLazy(c);
+        d.subLazy(c);
+
+        x.set(e);
+        x.mul(f);
+        y.set(d);
+        y.mul(b);
+        t.set(e);
+        t.mul(b);
+        z.set(f);
+        z.mul(d);
+    }
+
+    /**
+     * Double this point.
+     */
+    public void dbl() {
+        try(final Scratchpad scratch = scratchpad()) {
+            dbl(scratch);
+        }
+    }
+
+    /**
+     * Double this point.
+     * <p>
+     * This uses the {@code dbl-2008-hwcd} formula for {@code a = -1},
+     * costing 4 multiplications and 4 squarings.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    public void dbl(final Scratchpad scratch) {
+        final ModE255M19 a = scratch.t0;
+        final ModE255M19 b = scratch.t1;
+        final ModE255M19 c = scratch.t2;
+        final ModE255M19 e = scratch.t3;
+        final ModE255M19 f = scratch.t4;
+        final ModE255M19 g = scratch.t5;
+
+        // A = X1^2, B = Y1^2, C = 2 * Z1^2
+        a.set(x);
+        a.square();
+        b.set(y);
+        b.square();
+        c.set(z);
+        c.square();
+        c.mul(2);
+
+        // E = (X1 + Y1)^2 - A - B
+        e.set(x);
+        e.addLazy(y);
+        e.square();
+        e.sub(a);
+        e.subLazy(b);
+
+        // G = B - A, F = G - C, H = -A - B
+        g.set(b);
+        g.sub(a);
+        f.set(g);
+        f.subLazy(c);
+        a.add(b);
+        a.neg();
+
+        x.set(e);
+        x.mul(f);
+        y.set(g);
+        y.mul(a);
+        t.set(e);
+        t.mul(a);
+        z.set(f);
+        z.mul(g);
+    }
+
+    /**
+     * Negate this point.
+     */
+    public void neg() {
+        x.neg();
+        t.neg();
+    }
+
+    /**
+     * Replace this point with another if a bit is set, without
+     * branching on the bit.
+     *
+     * @param other The point to select if {@code bit} is {@code 1}.
+     * @param bit Either {@code 0} or {@code 1}.
+     * @see PrimeField#cmov
+     */
+    public void select(final Edwards25519Point other,
+                       final long bit) {
+        x.cmov(other.x, bit);
+        y.cmov(other.y, bit);
+        z.cmov(other.z, bit);
+        t.cmov(other.t, bit);
+    }
+
+    /**
+     * Multiply this point by a scalar.
+     *
+     * @param scalar The little-endian scalar.
+     */
+    public void mul(final byte[] scalar) {
+        try(final Scratchpad scratch = scratchpad()) {
+            mul(scalar, scratch);
+        }
+    }
+
+    /**
+     * Multiply this point by a scalar, in constant time.
+     * <p>
+     * This uses a fixed 4-bit window over all {@code 2 *
+     * scalar.length} nibbles of the scalar.  The multiples {@code 0}
+     * through {@code 15} of this point are precomputed into a {@link
+     * FieldTable}, and each window reads its multiple with a
+     * constant-time {@link FieldTable#lookup}.
+     *
+     * @param scalar The little-endian scalar.
+     * @param scratch The scratchpad to use.
+     */
+    public void mul(final byte[] scalar,
+                    final Scratchpad scratch) {
+        final Edwards25519Point multiple = identity();
+
+        try(final FieldTable<ModE255M19> table =
+            new FieldTable<>(x, WINDOW_ENTRIES, 4)) {
+            for(int i = 0; i < WINDOW_ENTRIES; i++) {
+                table.set(i, multiple.x, multiple.y, multiple.z, multiple.t);
+                multiple.add(this, scratch);
+            }
+
+            setIdentity();
+
+            for(int i = (scalar.length * 2) - 1; i >= 0; i--) {
+                final int nibble = (scalar[i / 2] >> ((i % 2) * 4)) & 0xf;
+
+                dbl(scratch);
+                dbl(scratch);
+                dbl(scratch);
+                dbl(scratch);
+                table.lookup(nibble, multiple.x, multiple.y,
+                             multiple.z, multiple.t);
+                add(multiple, scratch);
+            }
+        }
+
+        multiple.destroy();
+    }
+
+    /**
+     * Set this point by decoding its RFC 8032 encoding.
+     *
+     * @param bytes The array containing the encoding.
+     * @param idx The index at which the encoding starts.
+     * @return {@code 1} if the encoding was valid, {@code 0} if not.
+     */
+    public long decode(final byte[] bytes,
+                       final int idx) {
+        try(final Scratchpad scratch = scratchpad()) {
+            return decode(bytes, idx, scratch);
+        }
+    }
+
+    /**
+     * Set this point by decoding its RFC 8032 encoding, in constant
+     * time.  The encoding is the little-endian {@code y} coordinate,
+     * with the sign of {@code x} in the top bit.
+     * <p>
+     * If the encoding is invalid, this point is set to the identity.
+     * Invalid encodings are those in which {@code y} is not
+     * canonical, those for which there is no {@code x}, and those
+     * which give the sign bit for {@code x = 0}.
+     *
+     * @param bytes The array containing the encoding.
+     * @param idx The index at which the encoding starts.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if the encoding was valid, {@code 0} if not.
+     */
+    public long decode(final byte[] bytes,
+                       final int idx,
+                       final Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE255M19 u = scratch.t6;
+        final ModE255M19 v = scratch.t7;
+        final byte[] canonical = scratch.encoded;
+        final long xsign = (bytes[idx + ENCODED_BYTES - 1] >> 7) & 0x1;
+
+        y.unpack(bytes, idx);
+        y.pack(canonical, 0, fscratch);
+
+        // The y coordinate must be canonical.
+        long diff = 0;
+
+        for(int i = 0; i < ENCODED_BYTES - 1; i++) {
+            diff |= (canonical[i] ^ bytes[idx + i]) & 0xff;
+        }
+
+        diff |= (canonical[ENCODED_BYTES - 1] ^
+                 bytes[idx + ENCODED_BYTES - 1]) & 0x7f;
+        Arrays.fill(canonical, (byte)0);
+
+        final long noncanonical = ((diff - 1) >>> 63) ^ 0x1;
+
+        // x^2 = (y^2 - 1) / (d * y^2 + 1)
+        u.set(y);
+        u.square();
+        v.set(u);
+        v.mul(D);
+        v.add(1);
+        u.sub(1);
+
+        final long square = x.sqrtRatio(u, v, fscratch);
+        final long xzero = x.isZero(fscratch);
+
+        x.cneg(xsign);
+        z.set(1);
+        t.set(x);
+        t.mul(y);
+
+        final long valid =
+            square & (noncanonical ^ 0x1) & ((xzero & xsign) ^ 0x1);
+
+        // Replace the result with the identity if anything failed.
+        x.mask(valid);
+        t.mask(valid);
+        u.set(1);
+        y.cmov(u, valid ^ 0x1);
+
+        return valid;
+    }
+
+    /**
+     * Write the RFC 8032 encoding of this point into an array.
+     *
+     * @param bytes The array into which to write.
+     * @param idx The index at which to start.
+     */
+    public void encode(final byte[] bytes,
+                       final int idx) {
+        try(final Scratchpad scratch = scratchpad()) {
+            encode(bytes, idx, scratch);
+        }
+    }
+
+    /**
+     * Write the RFC 8032 encoding of this point into an array, in
+     * constant time.  This performs an inversion.
+     *
+     * @param bytes The array into which to write.
+     * @param idx The index at which to start.
+     * @param scratch The scratchpad to use.
+     */
+    public void encode(final byte[] bytes,
+                       final int idx,
+                       final Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE255M19 zinv = scratch.t6;
+        final ModE255M19 ax = scratch.t7;
+        final ModE255M19 ay = scratch.t8;
+
+        zinv.set(z);
+        zinv.inv(fscratch);
+        ax.set(x);
+        ax.mul(zinv);
+        ay.set(y);
+        ay.mul(zinv);
+        ay.pack(bytes, idx, fscratch);
+        bytes[idx + ENCODED_BYTES - 1] |=
+            (byte)(isNegative(ax, fscratch) << 7);
+    }
+
+    /**
+     * Get the RFC 8032 encoding of this point.
+     *
+     * @return The encoding.
+     */
+    public byte[] encoded() {
+        final byte[] out = new byte[ENCODED_BYTES];
+
+        encode(out, 0);
+
+        return out;
+    }
+
+    /**
+     * Check whether a field element is negative in the sense used by
+     * Ed25519 and Ristretto255, meaning that the lowest bit of its
+     * canonical representation is set.  This normalizes the element.
+     *
+     * @param a The field element to check.
+     * @param scratch The field scratchpad to use.
+     * @return {@code 1} if {@code a} is negative, {@code 0} if not.
+     */
+    static long isNegative(final ModE255M19 a,
+                           final PrimeField.Scratchpad scratch) {
+        a.normalize(scratch);
+
+        return a.bitNormalized(0);
+    }
+
+    /**
+     * Replace a field element with its absolute value, in the sense
+     * used by Ed25519 and Ristretto255, without branching.
+     *
+     * @param a The field element.
+     * @param scratch The field scratchpad to use.
+     * @see #isNegative
+     */
+    static void condAbs(final ModE255M19 a,
+                        final PrimeField.Scratchpad scratch) {
+        a.cneg(isNegative(a, scratch));
+    }
+
+    /**
+     * Check whether this point is the identity.  This is not
+     * constant-time, and is intended for public data.
+     *
+     * @return Whether this point is the identity.
+     */
+    public boolean isIdentity() {
+        try(final Scratchpad scratch = scratchpad()) {
+            return x.isZero(scratch.field) == 1 &&
+                y.equals(z, scratch.field);
+        }
+    }
+
+    /**
+     * Check whether this point lies on the curve.  This is not
+     * constant-time, and is intended for validation of public data.
+     *
+     * @return Whether this point satisfies the curve equation.
+     */
+    public boolean isOnCurve() {
+        try(final Scratchpad scratch = scratchpad()) {
+            final ModE255M19 xx = scratch.t0;
+            final ModE255M19 yy = scratch.t1;
+            final ModE255M19 zz = scratch.t2;
+            final ModE255M19 lhs = scratch.t3;
+            final ModE255M19 rhs = scratch.t4;
+
+            // (Y^2 - X^2) * Z^2 == Z^4 + d * X^2 * Y^2
+            xx.set(x);
+            xx.square();
+            yy.set(y);
+            yy.square();
+            zz.set(z);
+            zz.square();
+            lhs.set(yy);
+            lhs.sub(xx);
+            lhs.mul(zz);
+            rhs.set(xx);
+            rhs.mul(yy);
+            rhs.mul(D);
+            zz.square();
+            rhs.add(zz);
+
+            // X * Y == Z * T
+            xx.set(x);
+            xx.mul(y);
+            yy.set(z);
+            yy.mul(t);
+
+            return lhs.equals(rhs, scratch.field) &&
+                xx.equals(yy, scratch.field);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        x.destroy();
+        y.destroy();
+        z.destroy();
+        t.destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return x.isDestroyed() && y.isDestroyed() &&
+            z.isDestroyed() && t.isDestroyed();
+    }
+}
@@ -0,0 +1,176 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import javax.security.auth.Destroyable;
+
+import net.metricspace.crypto.math.field.ModE255M19;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * A point on the curve of {@link Edwards25519Point}, in the affine
+ * precomputed form {@code (y + x, y - x, 2 * d * x * y)}.  Adding a
+ * point in this form to one in extended coordinates costs 7
+ * multiplications rather than 9, which is what makes tables of
+ * fixed points worthwhile.
+ * <p>
+ * The identity is {@code (1, 1, 0)}, and negation swaps the first
+ * two coordinates and negates the third; both are branch-free, so
+ * constant-time table lookups can produce any signed multiple.
+ */
+final class Edwards25519Precomputed implements Destroyable {
+    /**
+     * The value {@code y + x}.
+     */
+    final ModE255M19 ypx;
+
+    /**
+     * The value {@code y - x}.
+     */
+    final ModE255M19 ymx;
+
+    /**
+     * The value {@code 2 * d * x * y}.
+     */
+    final ModE255M19 xy2d;
+
+    /**
+     * Create an {@code Edwards25519Precomputed} initialized to the
+     * identity.
+     */
+    Edwards25519Precomputed() {
+        this.ypx = ModE255M19.one();
+        this.ymx = ModE255M19.one();
+        this.xy2d = ModE255M19.zero();
+    }
+
+    /**
+     * Convert points in extended coordinates to the precomputed
+     * form, sharing a single inversion across all of them.  This is
+     * not constant-time in the number of points, but is in their
+     * values.
+     *
+     * @param points The points to convert.
+     * @return The points in precomputed form.
+     */
+    static Edwards25519Precomputed[] fromPoints(
+        final Edwards25519Point[] points) {
+        final Edwards25519Precomputed[] out =
+            new Edwards25519Precomputed[points.length];
+        final ModE255M19[] zinvs = new ModE255M19[points.length];
+
+        for(int i = 0; i < points.length; i++) {
+            zinvs[i] = points[i].z.clone();
+        }
+
+        PrimeField.invBatch(zinvs);
+
+        for(int i = 0; i < points.length; i++) {
+            final Edwards25519Precomputed p = new Edwards25519Precomputed();
+            final ModE255M19 x = points[i].x.clone();
+            final ModE255M19 y = points[i].y.clone();
+
+            x.mul(zinvs[i]);
+            y.mul(zinvs[i]);
+            p.ypx.set(y);
+            p.ypx.add(x);
+            p.ymx.set(y);
+            p.ymx.sub(x);
+            p.xy2d.set(x);
+            p.xy2d.mul(y);
+            p.xy2d.mul(Edwards25519Point.D);
+            p.xy2d.mul(2);
+            p.ypx.normalize();
+            p.ymx.normalize();
+            p.xy2d.normalize();
+            x.destroy();
+            y.destroy();
+            zinvs[i].destroy();
+            out[i] = p;
+        }
+
+        return out;
+    }
+
+    /**
+     * Replace this point with another if a bit is set, without
+     * branching on the bit.
+     *
+     * @param other The point to select if {@code bit} is {@code 1}.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    void select(final Edwards25519Precomputed other,
+                final long bit) {
+        ypx.cmov(other.ypx, bit);
+        ymx.cmov(other.ymx, bit);
+        xy2d.cmov(other.xy2d, bit);
+    }
+
+    /**
+     * Negate this point if a bit is set, without branching on the
+     * bit.
+     *
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    void cneg(final long bit) {
+        ypx.cswap(ymx, bit);
+        xy2d.cneg(bit);
+    }
+
+    /**
+     * Overwrite this point with the identity.
+     */
+    void setIdentity() {
+        ypx.set(1);
+        ymx.set(1);
+        xy2d.set(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        ypx.destroy();
+        ymx.destroy();
+        xy2d.destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return ypx.isDestroyed() && ymx.isDestroyed() &&
+            xy2d.isDestroyed();
+    }
+}
@@ -0,0 +1,574 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+import net.metricspace.crypto.math.field.HashToField;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Hashing to Edwards curves {@code x^2 + y^2 = 1 + d * x^2 * y^2}
+ * with non-square {@code d}, over any of the fields, following the
+ * Elligator 2 construction of RFC 9380.
+ * <p>
+ * This covers the Edwards curves over the other primes, such as
+ * Curve1174 over {@code 2^251 - 9}, E-222, E-382, Curve41417, and
+ * E-521.  Each such curve is birationally equivalent to the
+ * Montgomery curve {@code K * t^2 = s^3 + J * s^2 + s}, with {@code J
+ * = 2 * (1 + d) / (1 - d)} and {@code K = 4 / (1 - d)}.  Field
+ * elements are mapped to the Montgomery curve by the generic
+ * Elligator 2 map of RFC 9380, using the non-square {@code Z} chosen
+ * as in that document, and then to the Edwards curve by {@code (x,
+ * y) = (s / t, (s - 1) / (s + 1))}.  As {@code d} is not a square,
+ * the affine addition law is complete, and is used both to add the
+ * two points of the random-oracle construction and to clear the
+ * cofactor.
+ * <p>
+ * Points are returned in affine coordinates, and every step needs
+ * inversions.  All operations work on batches: each step of the
+ * pipeline collects the denominators for every input, and inverts
+ * them together with {@link PrimeField#invBatch}.  Hashing {@code n}
+ * messages thus costs a handful of inversions, rather than several
+ * for each message.  The square roots cannot be shared, and each
+ * input needs its own.
+ * <p>
+ * All steps run in constant time for a given number of inputs.
+ *
+ * @param <F> The type of field elements.
+ */
+public final class EdwardsHashToCurve<F extends PrimeField<F>> {
+    /**
+     * The curve coefficient {@code d}.
+     */
+    private final F d;
+
+    /**
+     * The value {@code J / K}.
+     */
+    private final F jk;
+
+    /**
+     * The value {@code 1 / K^2}.
+     */
+    private final F kInvSq;
+
+    /**
+     * The value {@code K}.
+     */
+    private final F k;
+
+    /**
+     * The Elligator 2 non-square {@code Z}.
+     */
+    private final F z;
+
+    /**
+     * The base-2 logarithm of the cofactor.
+     */
+    private final int cofactorBits;
+
+    /**
+     * The hash to the field.
+     */
+    private final HashToField hash;
+
+    /**
+     * Create a {@code EdwardsHashToCurve} for a curve.
+     *
+     * @param d The curve coefficient {@code d}, which must not be a
+     *          square.  This is copied.
+     * @param cofactorBits The base-2 logarithm of the cofactor.
+     * @param hash The hash to the field.
+     * @throws IllegalArgumentException If {@code d} is a square.
+     */
+    public EdwardsHashToCurve(final F d,
+                              final int cofactorBits,
+                              final HashToField hash) {
+        this.d = d.clone();
+        this.cofactorBits = cofactorBits;
+        this.hash = hash;
+
+        try(final PrimeField.Scratchpad scratch = d.scratchpad()) {
+            if (d.legendre(scratch) != -1) {
+                throw new IllegalArgumentException("d must not be a " +
+                                                   "square");
+            }
+
+            // K = 4 / (1 - d), J / K = (1 + d) / 2
+            this.k = d.clone();
+            this.k.neg();
+            this.k.add(1);
+            this.k.inv(scratch);
+            this.k.mul(4);
+            this.jk = d.clone();
+            this.jk.add(1);
+            this.jk.halve(scratch);
+            this.kInvSq = k.clone();
+            this.kInvSq.square();
+            this.kInvSq.inv(scratch);
+            this.z = findZ(d, scratch);
+        }
+    }
+
+    /**
+     * Find the Elligator 2 non-square {@code Z} as in RFC 9380: the
+     * first of {@code 1, -1, 2, -2, ...} that is not a square.
+     *
+     * @param proto Any element of the field.
+     * @param scratch The scratchpad to use.
+     * @return The value of {@code Z}.
+     */
+    private static <F extends PrimeField<F>> F
+        findZ(final F proto,
+              final PrimeField.Scratchpad scratch) {
+        final F out = proto.clone();
+
+        for(int ctr = 1;; ctr++) {
+            out.set(ctr);
+
+            if (out.legendre(scratch) == -1) {
+                return out;
+            }
+
+            out.neg();
+
+            if (out.legendre(scratch) == -1) {
+                return out;
+            }
+        }
+    }
+
+    /**
+     * Hash a message to a point, using the random-oracle
+     * construction.
+     *
+     * @param msg The message.
+     * @param x The value into which to write the {@code x}
+     *          coordinate.
+     * @param y The value into which to write the {@code y}
+     *          coordinate.
+     */
+    public void hashToCurve(final byte[] msg,
+                            final F x,
+                            final F y) {
+        hashToCurve(new byte[][] { msg }, array(x), array(y));
+    }
+
+    /**
+     * Hash many messages to points, using the random-oracle
+     * construction, sharing inversions between them.
+     *
+     * @param msgs The messages.
+     * @param x The values into which to write the {@code x}
+     *          coordinates.
+     * @param y The values into which to write the {@code y}
+     *          coordinates.
+     * @throws IllegalArgumentException If the number of messages and
+     *                                  outputs differ.
+     */
+    public void hashToCurve(final byte[][] msgs,
+                            final F[] x,
+                            final F[] y) {
+        hash(msgs, x, y, 2);
+    }
+
+    /**
+     * Encode a message to a point, using the nonuniform
+     * construction.
+     *
+     * @param msg The message.
+     * @param x The value into which to write the {@code x}
+     *          coordinate.
+     * @param y The value into which to write the {@code y}
+     *          coordinate.
+     */
+    public void encodeToCurve(final byte[] msg,
+                              final F x,
+                              final F y) {
+        encodeToCurve(new byte[][] { msg }, array(x), array(y));
+    }
+
+    /**
+     * Encode many messages to points, using the nonuniform
+     * construction, sharing inversions between them.
+     *
+     * @param msgs The messages.
+     * @param x The values into which to write the {@code x}
+     *          coordinates.
+     * @param y The values into which to write the {@code y}
+     *          coordinates.
+     * @throws IllegalArgumentException If the number of messages and
+     *                                  outputs differ.
+     */
+    public void encodeToCurve(final byte[][] msgs,
+                              final F[] x,
+                              final F[] y) {
+        hash(msgs, x, y, 1);
+    }
+
+    /**
+     * Map a field element to a point, without clearing the cofactor.
+     *
+     * @param u The field element.
+     * @param x The value into which to write the {@code x}
+     *          coordinate.
+     * @param y The value into which to write the {@code y}
+     *          coordinate.
+     */
+    public void mapToCurve(final F u,
+                           final F x,
+                           final F y) {
+        mapToCurve(array(u), array(x), array(y));
+    }
+
+    /**
+     * Map many field elements to points, without clearing the
+     * cofactor, sharing inversions between them.
+     *
+     * @param u The field elements.
+     * @param x The values into which to write the {@code x}
+     *          coordinates.
+     * @param y The values into which to write the {@code y}
+     *          coordinates.
+     * @throws IllegalArgumentException If the number of inputs and
+     *                                  outputs differ.
+     */
+    public void mapToCurve(final F[] u,
+                           final F[] x,
+                           final F[] y) {
+        checkLengths(u.length, x, y);
+
+        try(final PrimeField.Scratchpad scratch = d.scratchpad()) {
+            map(u, x, y, scratch);
+        }
+    }
+
+    /**
+     * Hash messages to field elements, map them all to the curve,
+     * add the points for each message, and clear the cofactor.
+     *
+     * @param msgs The messages.
+     * @param x The {@code x} coordinates of the results.
+     * @param y The {@code y} coordinates of the results.
+     * @param count The number of field elements for each message.
+     */
+    private void hash(final byte[][] msgs,
+                      final F[] x,
+                      final F[] y,
+                      final int count) {
+        final int n = msgs.length;
+
+        checkLengths(n, x, y);
+
+        if (n == 0) {
+            return;
+        }
+
+        // Element j of message i is at j * n + i.
+        final F[] u = fresh(n * count);
+        final F[] ux = fresh(n * count);
+        final F[] uy = fresh(n * count);
+        final F[] single = fresh(count);
+
+        for(int i = 0; i < n; i++) {
+            hash.hash(msgs[i], single);
+
+            for(int j = 0; j < count; j++) {
+                u[(j * n) + i].set(single[j]);
+            }
+        }
+
+        try(final PrimeField.Scratchpad scratch = d.scratchpad()) {
+            map(u, ux, uy, scratch);
+
+            for(int i = 0; i < n; i++) {
+                x[i].set(ux[i]);
+                y[i].set(uy[i]);
+            }
+
+            if (count == 2) {
+                add(x, y, ux, uy, n, scratch);
+            }
+
+            for(int i = 0; i < cofactorBits; i++) {
+                add(x, y, x, y, 0, scratch);
+            }
+        }
+
+        destroy(u);
+        destroy(ux);
+        destroy(uy);
+        destroy(single);
+    }
+
+    /**
+     * Elligator 2 followed by the rational map, for a batch of field
+     * elements.
+     *
+     * @param u The field elements.
+     * @param x The {@code x} coordinates of the results.
+     * @param y The {@code y} coordinates of the results.
+     * @param scratch The scratchpad to use.
+     */
+    private void map(final F[] u,
+                     final F[] x,
+                     final F[] y,
+                     final PrimeField.Scratchpad scratch) {
+        final int n = u.length;
+        final F[] den = fresh(2 * n);
+        final F x1 = d.clone();
+        final F x2 = d.clone();
+        final F g1 = d.clone();
+        final F g2 = d.clone();
+        final F mjk = jk.clone();
+
+        mjk.neg();
+
+        // 1 / (1 + Z * u^2) for every input.
+        for(int i = 0; i < n; i++) {
+            den[i].set(u[i]);
+            den[i].square();
+            den[i].mul(z);
+            den[i].add(1);
+        }
+
+        PrimeField.invBatch(Arrays.copyOf(den, n), scratch);
+
+        for(int i = 0; i < n; i++) {
+            // x1 = -(J / K) * inv0(1 + Z * u^2), or -(J / K) if zero.
+            x1.set(den[i]);
+            x1.mul(mjk);
+            x1.cmov(mjk, x1.isZero(scratch));
+
+            // x2 = -x1 - J / K
+            x2.set(x1);
+            x2.add(jk);
+            x2.neg();
+
+            curve(x1, g1);
+            curve(x2, g2);
+
+            // Take x1 if g(x1) is square, otherwise x2.
+            final long square = ((g1.legendre(scratch) >> 7) & 0x1) ^ 0x1;
+
+            x1.cmov(x2, square ^ 0x1);
+            g1.cmov(g2, square ^ 0x1);
+            g1.sqrt(scratch);
+            g1.normalize(scratch);
+            g1.cneg(g1.bitNormalized(0) ^ square);
+
+            // (s, t) = (x * K, y * K)
+            x[i].set(x1);
+            x[i].mul(k);
+            y[i].set(g1);
+            y[i].mul(k);
+        }
+
+        // Denominators t and s + 1 of the rational map.
+        for(int i = 0; i < n; i++) {
+            den[i].set(y[i]);
+            den[n + i].set(x[i]);
+            den[n + i].add(1);
+        }
+
+        PrimeField.invBatch(den, scratch);
+
+        for(int i = 0; i < n; i++) {
+            // Zero denominators mean the identity.
+            final long exceptional = den[i].isZero(scratch) |
+                den[n + i].isZero(scratch);
+
+            x1.set(x[i]);
+            x1.sub(1);
+            x1.mul(den[n + i]);
+            x[i].mul(den[i]);
+            x[i].mask(exceptional ^ 0x1);
+            y[i].set(1);
+            y[i].cmov(x1, exceptional ^ 0x1);
+        }
+
+        destroy(den);
+        x1.destroy();
+        x2.destroy();
+        g1.destroy();
+        g2.destroy();
+        mjk.destroy();
+    }
+
+    /**
+     * Compute {@code g(x) = x^3 + (J / K) * x^2 + x / K^2}.
+     *
+     * @param x The value of {@code x}.
+     * @param out The value into which to write {@code g(x)}.
+     */
+    private void curve(final F x,
+                       final F out) {
+        out.set(x);
+        out.add(jk);
+        out.mul(x);
+        out.add(kInvSq);
+        out.mul(x);
+    }
+
+    /**
+     * Add points in place, for a batch, using the complete affine
+     * addition law.  Point {@code i} of {@code (x1, y1)} has point
+     * {@code off + i} of {@code (x2, y2)} added to it.  The arrays
+     * may be the same, for doubling.
+     *
+     * @param x1 The {@code x} coordinates of the first points.
+     * @param y1 The {@code y} coordinates of the first points.
+     * @param x2 The {@code x} coordinates of the second points.
+     * @param y2 The {@code y} coordinates of the second points.
+     * @param off The offset of the second points.
+     * @param scratch The scratchpad to use.
+     */
+    private void add(final F[] x1,
+                     final F[] y1,
+                     final F[] x2,
+                     final F[] y2,
+                     final int off,
+                     final PrimeField.Scratchpad scratch) {
+        final int n = x1.length;
+        final F[] den = fresh(2 * n);
+        final F[] xn = fresh(n);
+        final F[] yn = fresh(n);
+        final F a = d.clone();
+        final F b = d.clone();
+
+        for(int i = 0; i < n; i++) {
+            final F px = x2[off + i];
+            final F py = y2[off + i];
+
+            // xn = x1 * y2 + y1 * x2, yn = y1 * y2 - x1 * x2
+            xn[i].set(x1[i]);
+            xn[i].mul(py);
+            a.set(y1[i]);
+            a.mul(px);
+            xn[i].add(a);
+            a.set(x1[i]);
+            a.mul(px);
+            b.set(y1[i]);
+            b.mul(py);
+            yn[i].set(b);
+            yn[i].sub(a);
+
+            // 1 + d * x1 * x2 * y1 * y2, 1 - d * x1 * x2 * y1 * y2
+            a.mul(b);
+            a.mul(d);
+            den[i].set(1);
+            den[i].add(a);
+            den[n + i].set(1);
+            den[n + i].sub(a);
+        }
+
+        PrimeField.invBatch(den, scratch);
+
+        for(int i = 0; i < n; i++) {
+            x1[i].set(xn[i]);
+            x1[i].mul(den[i]);
+            y1[i].set(yn[i]);
+            y1[i].mul(den[n + i]);
+        }
+
+        destroy(den);
+        destroy(xn);
+        destroy(yn);
+        a.destroy();
+        b.destroy();
+    }
+
+    /**
+     * Create an array of new zero elements.
+     *
+     * @param len The length of the array.
+     * @return The array.
+     */
+    @SuppressWarnings("unchecked")
+    private F[] fresh(final int len) {
+        final F[] out = (F[])Array.newInstance(d.getClass(), len);
+
+        for(int i = 0; i < len; i++) {
+            out[i] = d.clone();
+            out[i].set(0);
+        }
+
+        return out;
+    }
+
+    /**
+     * Wrap a single element in an array.
+     *
+     * @param v The element.
+     * @return An array holding {@code v}.
+     */
+    @SuppressWarnings("unchecked")
+    private F[] array(final F v) {
+        final F[] out = (F[])Array.newInstance(d.getClass(), 1);
+
+        out[0] = v;
+
+        return out;
+    }
+
+    /**
+     * Destroy every element of an array.
+     *
+     * @param arr The array.
+     */
+    private static void destroy(final PrimeField<?>[] arr) {
+        for(int i = 0; i < arr.length; i++) {
+            arr[i].destroy();
+        }
+    }
+
+    /**
+     * Check that there is one output for each input.
+     *
+     * @param n The number of inputs.
+     * @param x The {@code x} coordinates of the outputs.
+     * @param y The {@code y} coordinates of the outputs.
+     * @throws IllegalArgumentException If the lengths differ.
+     */
+    private static void checkLengths(final int n,
+                                     final Object[] x,
+                                     final Object[] y) {
+        if (x.length != n || y.length != n) {
+            throw new IllegalArgumentException("Got " + n +
+                                               " inputs for " + x.length +
+                                               " and " + y.length +
+                                               " outputs");
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Arrays;
+
+import net.metricspace.crypto.math.field.ModE221M3;
+import net.metricspace.crypto.math.field.ModE255M19;
+import net.metricspace.crypto.math.field.ModE383M187;
+import net.metricspace.crypto.math.field.ModE511M187;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Diffie-Hellman over a Montgomery curve {@code y^2 = x^3 + A * x^2 +
+ * x}, using only {@code x} coordinates, in the style of X25519 from
+ * RFC 7748.
+ * <p>
+ * Scalar multiplication is the Montgomery ladder, in projective
+ * {@code (X : Z)} coordinates.  Each step costs five multiplications,
+ * four squarings, and one multiplication by the small constant {@code
+ * a24 = (A - 2) / 4}, which is done with {@link PrimeField#mul(int)}.
+ * The ladder swaps its two points with {@link PrimeField#cswap}, and
+ * performs a single inversion at the end, so it is constant-time.
+ * <p>
+ * Scalars and {@code u} coordinates are encoded little-endian, in as
+ * many bytes as the field needs.  Scalars are clamped as in RFC 7748:
+ * the low three bits (the cofactor) are cleared, and the highest bit
+ * below the field size is set, with all bits above it cleared.
+ * Unused high bits of {@code u} coordinates are ignored.
+ * <p>
+ * The ladder is shared by all curves.  A program that uses curves
+ * over several fields in one JVM makes the field calls in it
+ * polymorphic, which costs the JIT its inlining; code that needs the
+ * best speed from several fields at once should use the static
+ * {@code Ops} classes for each field instead.
+ *
+ * @param <V> The field over which the curve is defined.
+ */
+public final class MontgomeryCurve<V extends PrimeField<V>> {
+    /**
+     * Curve25519, over {@link ModE255M19}, with {@code A = 486662}
+     * and base point {@code u = 9}.  This is X25519 from RFC 7748.
+     */
+    public static final MontgomeryCurve<ModE255M19> X25519 =
+        new MontgomeryCurve<>("X25519", ModE255M19.zero(), 121665, 9);
+
+    /**
+     * M-221, over {@link ModE221M3}, with {@code A = 117050} and base
+     * point {@code u = 4}.
+     */
+    public static final MontgomeryCurve<ModE221M3> M221 =
+        new MontgomeryCurve<>("M-221", ModE221M3.zero(), 29262, 4);
+
+    /**
+     * M-383, over {@link ModE383M187}, with {@code A = 2065150} and
+     * base point {@code u = 12}.
+     */
+    public static final MontgomeryCurve<ModE383M187> M383 =
+        new MontgomeryCurve<>("M-383", ModE383M187.zero(), 516287, 12);
+
+    /**
+     * M-511, over {@link ModE511M187}, with {@code A = 530438} and
+     * base point {@code u = 5}.
+     */
+    public static final MontgomeryCurve<ModE511M187> M511 =
+        new MontgomeryCurve<>("M-511", ModE511M187.zero(), 132609, 5);
+
+    /**
+     * The name of the curve.
+     */
+    private final String name;
+
+    /**
+     * A zero element, from which all others are cloned.
+     */
+    private final V zero;
+
+    /**
+     * The constant {@code (A - 2) / 4}.
+     */
+    private final int a24;
+
+    /**
+     * The {@code u} coordinate of the base point.
+     */
+    private final int base;
+
+    /**
+     * The number of bits in the field, and in clamped scalars.
+     */
+    private final int bits;
+
+    /**
+     * The number of bytes in encoded scalars and coordinates.
+     */
+    private final int bytes;
+
+    /**
+     * Initialize a {@code MontgomeryCurve}.
+     *
+     * @param name The name of the curve.
+     * @param zero A zero element of the field.
+     * @param a24 The constant {@code (A - 2) / 4}, which must be
+     *            within the range of {@link PrimeField#mul(int)}.
+     * @param base The {@code u} coordinate of the base point.
+     * @throws IllegalArgumentException If {@code a24} is out of range.
+     */
+    public MontgomeryCurve(final String name,
+                           final V zero,
+                           final int a24,
+                           final int base) {
+        if (a24 < zero.mulMin() || a24 > zero.mulMax()) {
+            throw new IllegalArgumentException("a24 out of range: " + a24);
+        }
+
+        this.name = name;
+        this.zero = zero.clone();
+        this.a24 = a24;
+        this.base = base;
+        this.bits = zero.numBits();
+        this.bytes = (bits + 7) / 8;
+    }
+
+    /**
+     * Get the name of the curve.
+     *
+     * @return The name of the curve.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Get the number of bytes in a scalar, a public key, or a shared
+     * secret.
+     *
+     * @return The number of bytes in an encoding.
+     */
+    public int encodedBytes() {
+        return bytes;
+    }
+
+    /**
+     * Clamp a scalar in place.
+     *
+     * @param scalar The scalar to clamp.
+     */
+    private void clamp(final byte[] scalar) {
+        final int top = bits - 1;
+
+        scalar[0] &= (byte)0xf8;
+        scalar[top / 8] &= (byte)((1 << (top % 8)) - 1);
+        scalar[top / 8] |= (byte)(1 << (top % 8));
+
+        for(int i = (top / 8) + 1; i < bytes; i++) {
+            scalar[i] = 0;
+        }
+    }
+
+    /**
+     * Multiply a point, given by its {@code u} coordinate, by a
+     * scalar.  The scalar is clamped first.  This is the {@code
+     * X25519} function from RFC 7748, generalized to this curve.
+     *
+     * @param scalar The scalar.
+     * @param u The {@code u} coordinate of the point.
+     * @return The {@code u} coordinate of the product.
+     * @throws IllegalArgumentException If either argument is the wrong
+     *         length.
+     */
+    public byte[] scalarMult(final byte[] scalar,
+                             final byte[] u) {
+        if (scalar.length != bytes || u.length != bytes) {
+            throw new IllegalArgumentException("Scalars and coordinates" +
+                                               " must be " + bytes +
+                                               " bytes");
+        }
+
+        final byte[] out = new byte[bytes];
+        final byte[] k = scalar.clone();
+        final V x1 = zero.clone();
+
+        clamp(k);
+        x1.unpack(u, 0);
+
+        try {
+            ladder(k, x1, out);
+        } finally {
+            Arrays.fill(k, (byte)0);
+            x1.destroy();
+        }
+
+        return out;
+    }
+
+    /**
+     * Compute the public key for a private key.
+     *
+     * @param privateKey The private key.
+     * @return The public key.
+     * @throws IllegalArgumentException If the private key is the
+     *         wrong length.
+     */
+    public byte[] publicKey(final byte[] privateKey) {
+        final byte[] u = new byte[bytes];
+
+        u[0] = (byte)base;
+
+        return scalarMult(privateKey, u);
+    }
+
+    /**
+     * Compute a shared secret.  This does <i>not</i> reject the
+     * all-zero result that low-order public keys produce; callers
+     * which need that check should perform it.
+     *
+     * @param privateKey This party's private key.
+     * @param publicKey The other party's public key.
+     * @return The shared secret.
+     * @throws IllegalArgumentException If either key is the wrong
+     *         length.
+     */
+    public byte[] agree(final byte[] privateKey,
+                        final byte[] publicKey) {
+        return scalarMult(privateKey, publicKey);
+    }
+
+    /**
+     * The Montgomery ladder.
+     *
+     * @param k The clamped scalar.
+     * @param x1 The {@code u} coordinate of the input point.
+     * @param out The array into which to pack the result.
+     */
+    private void ladder(final byte[] k,
+                        final V x1,
+                        final byte[] out) {
+        final V x2 = zero.clone();
+        final V z2 = zero.clone();
+        final V x3 = x1.clone();
+        final V z3 = zero.clone();
+        final V a = zero.clone();
+        final V aa = zero.clone();
+        final V b = zero.clone();
+        final V bb = zero.clone();
+        final V c = zero.clone();
+        final V d = zero.clone();
+        final V e = zero.clone();
+        long swap = 0;
+
+        x2.set(1);
+        z3.set(1);
+
+        try(final PrimeField.Scratchpad scratch = zero.scratchpad()) {
+            for(int i = bits - 1; i >= 0; i--) {
+                final long bit = (k[i / 8] >> (i % 8)) & 0x1;
+
+                swap ^= bit;
+                x2.cswap(x3, swap);
+                z2.cswap(z3, swap);
+                swap = bit;
+
+                // A = x2 + z2, AA = A^2, B = x2 - z2, BB = B^2
+                a.set(x2);
+                a.add(z2);
+                aa.set(a);
+                aa.square();
+                b.set(x2);
+                b.sub(z2);
+                bb.set(b);
+                bb.square();
+
+                // E = AA - BB, C = x3 + z3, D = x3 - z3
+                e.set(aa);
+                e.sub(bb);
+                c.set(x3);
+                c.add(z3);
+                d.set(x3);
+                d.sub(z3);
+
+                // DA = D * A, CB = C * B
+                d.mul(a);
+                c.mul(b);
+
+                // x3 = (DA + CB)^2, z3 = x1 * (DA - CB)^2
+                x3.set(d);
+                x3.add(c);
+                x3.square();
+                z3.set(d);
+                z3.sub(c);
+                z3.square();
+                z3.mul(x1);
+
+                // x2 = AA * BB, z2 = E * (AA + a24 * E)
+                x2.set(aa);
+                x2.mul(bb);
+                z2.set(e);
+                z2.mul(a24);
+                z2.add(aa);
+                z2.mul(e);
+            }
+
+            x2.cswap(x3, swap);
+            z2.cswap(z3, swap);
+            z2.inv(scratch);
+            x2.mul(z2);
+            x2.pack(out, 0, scratch);
+        } finally {
+            x2.destroy();
+            z2.destroy();
+            x3.destroy();
+            z3.destroy();
+            a.destroy();
+            aa.destroy();
+            b.destroy();
+            bb.destroy();
+            c.destroy();
+            d.destroy();
+            e.destroy();
+        }
+    }
+}
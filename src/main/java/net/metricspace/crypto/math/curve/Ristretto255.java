@@ -0,0 +1,937 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+import net.metricspace.crypto.math.field.ModE255M19;
+import net.metricspace.crypto.math.field.PrimeField;
+
+/**
+ * Elements of the Ristretto255 prime-order group, as specified in RFC
+ * 9496.
+ * <p>
+ * Ristretto255 is constructed as a quotient of the Edwards curve
+ * underlying Ed25519 (see {@link Edwards25519Point}), which has
+ * cofactor 8.  Each group element is represented internally by one of
+ * its representatives on the curve in extended coordinates;
+ * different representatives of the same element produce the same
+ * encoding and compare equal.
+ * <p>
+ * Encoding, decoding, equality, and the one-way map from uniform
+ * bytes are all implemented in constant time, using {@link
+ * ModE255M19#sqrtRatio} for all square roots and inversions, and
+ * {@link PrimeField#cmov} and {@link PrimeField#cneg} for all
+ * conditional selection and negation.
+ */
+public final class Ristretto255
+    implements Cloneable, Destroyable, AutoCloseable {
+    /**
+     * Number of bytes in an encoded element.
+     */
+    public static final int ENCODED_BYTES = 32;
+
+    /**
+     * Number of bytes consumed by {@link #fromUniformBytes}.
+     */
+    public static final int UNIFORM_BYTES = 64;
+
+    /**
+     * Number of bits in a scalar.
+     */
+    public static final int SCALAR_BITS = 253;
+
+    /**
+     * The value {@code sqrt(-1)}.
+     */
+    private static final ModE255M19 SQRT_M1 = ModE255M19.sqrtM1();
+
+    /**
+     * The value {@code sqrt(a * d - 1)}.
+     */
+    private static final ModE255M19 SQRT_AD_MINUS_ONE =
+        new ModE255M19(new byte[] {
+                (byte)0x1b, (byte)0x2e, (byte)0x7b, (byte)0x49,
+                (byte)0xa0, (byte)0xf6, (byte)0x97, (byte)0x7e,
+                (byte)0xbd, (byte)0x54, (byte)0x78, (byte)0x1b,
+                (byte)0x0c, (byte)0x8e, (byte)0x9d, (byte)0xaf,
+                (byte)0xfd, (byte)0xd1, (byte)0xf5, (byte)0x31,
+                (byte)0xc9, (byte)0xfc, (byte)0x3c, (byte)0x0f,
+                (byte)0xac, (byte)0x48, (byte)0x83, (byte)0x2b,
+                (byte)0xbf, (byte)0x31, (byte)0x69, (byte)0x37
+            });
+
+    /**
+     * The value {@code 1 / sqrt(a - d)}.
+     */
+    private static final ModE255M19 INVSQRT_A_MINUS_D =
+        new ModE255M19(new byte[] {
+                (byte)0xea, (byte)0x40, (byte)0x5d, (byte)0x80,
+                (byte)0xaa, (byte)0xfd, (byte)0xc8, (byte)0x99,
+                (byte)0xbe, (byte)0x72, (byte)0x41, (byte)0x5a,
+                (byte)0x17, (byte)0x16, (byte)0x2f, (byte)0x9d,
+                (byte)0x40, (byte)0xd8, (byte)0x01, (byte)0xfe,
+                (byte)0x91, (byte)0x7b, (byte)0xc2, (byte)0x16,
+                (byte)0xa2, (byte)0xfc, (byte)0xaf, (byte)0xcf,
+                (byte)0x05, (byte)0x89, (byte)0x6c, (byte)0x78
+            });
+
+    /**
+     * The value {@code 1 - d^2}.
+     */
+    private static final ModE255M19 ONE_MINUS_D_SQ;
+
+    /**
+     * The value {@code (d - 1)^2}.
+     */
+    private static final ModE255M19 D_MINUS_ONE_SQ;
+
+    static {
+        ONE_MINUS_D_SQ = Edwards25519Point.D.clone();
+        ONE_MINUS_D_SQ.square();
+        ONE_MINUS_D_SQ.neg();
+        ONE_MINUS_D_SQ.add(1);
+        ONE_MINUS_D_SQ.normalize();
+
+        D_MINUS_ONE_SQ = Edwards25519Point.D.clone();
+        D_MINUS_ONE_SQ.sub(1);
+        D_MINUS_ONE_SQ.square();
+        D_MINUS_ONE_SQ.normalize();
+    }
+
+    /**
+     * Encoding of the generator, which is the image of the Ed25519
+     * base point.
+     */
+    private static final byte[] GENERATOR_ENCODING = new byte[] {
+        (byte)0xe2, (byte)0xf2, (byte)0xae, (byte)0x0a,
+        (byte)0x6a, (byte)0xbc, (byte)0x4e, (byte)0x71,
+        (byte)0xa8, (byte)0x84, (byte)0xa9, (byte)0x61,
+        (byte)0xc5, (byte)0x00, (byte)0x51, (byte)0x5f,
+        (byte)0x58, (byte)0xe3, (byte)0x0b, (byte)0x6a,
+        (byte)0xa5, (byte)0x82, (byte)0xdd, (byte)0x8d,
+        (byte)0xb6, (byte)0xa6, (byte)0x59, (byte)0x45,
+        (byte)0xe0, (byte)0x8d, (byte)0x2d, (byte)0x76
+    };
+
+    /**
+     * The representative of this element on the curve.
+     */
+    final Edwards25519Point point;
+
+    /**
+     * Create a {@code Ristretto255} initialized to the identity.
+     *
+     * @return A {@code Ristretto255} initialized to the identity.
+     */
+    public static Ristretto255 identity() {
+        return new Ristretto255(Edwards25519Point.identity());
+    }
+
+    /**
+     * Create a {@code Ristretto255} initialized to the standard
+     * generator.
+     *
+     * @return A {@code Ristretto255} initialized to the generator.
+     */
+    public static Ristretto255 generator() {
+        return new Ristretto255(GENERATOR_ENCODING);
+    }
+
+    /**
+     * Create a {@code Ristretto255} from {@link #UNIFORM_BYTES}
+     * uniformly random bytes, using the one-way map from RFC 9496.
+     * This is the final step of hashing to the group: the input is
+     * normally the 64-byte output of a hash function.
+     *
+     * @param bytes The array containing the uniform bytes.
+     * @param idx The index at which the bytes start.
+     * @return The resulting element.
+     */
+    public static Ristretto255 fromUniformBytes(final byte[] bytes,
+                                                final int idx) {
+        final Ristretto255 out = identity();
+
+        try(final Edwards25519Point.Scratchpad scratch =
+            out.scratchpad()) {
+            out.setFromUniformBytes(bytes, idx, scratch);
+        }
+
+        return out;
+    }
+
+    /**
+     * Create a {@code Ristretto255} from {@link #UNIFORM_BYTES}
+     * uniformly random bytes.
+     *
+     * @param bytes The uniform bytes.
+     * @return The resulting element.
+     * @see #fromUniformBytes(byte[], int)
+     */
+    public static Ristretto255 fromUniformBytes(final byte[] bytes) {
+        return fromUniformBytes(bytes, 0);
+    }
+
+    /**
+     * Initialize a {@code Ristretto255} with a representative point.
+     * The point is <i>not</i> copied.
+     *
+     * @param point The representative point.
+     */
+    Ristretto255(final Edwards25519Point point) {
+        this.point = point;
+    }
+
+    /**
+     * Initialize a {@code Ristretto255} from an encoding.
+     *
+     * @param encoded The encoding, which must be exactly {@link
+     *                #ENCODED_BYTES} long.
+     * @throws IllegalArgumentException If the encoding is not a valid
+     *                                  Ristretto255 encoding.
+     */
+    public Ristretto255(final byte[] encoded) {
+        this(Edwards25519Point.identity());
+
+        if (encoded.length != ENCODED_BYTES || decode(encoded, 0) == 0) {
+            throw new IllegalArgumentException("Invalid encoding");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Ristretto255 clone() {
+        return new Ristretto255(point.clone());
+    }
+
+    /**
+     * Get a scratchpad.
+     *
+     * @return A scratchpad.
+     * @see Edwards25519Point#scratchpad
+     */
+    public Edwards25519Point.Scratchpad scratchpad() {
+        return point.scratchpad();
+    }
+
+    /**
+     * Overwrite this element with another.
+     *
+     * @param other The element to copy.
+     */
+    public void set(final Ristretto255 other) {
+        point.set(other.point);
+    }
+
+    /**
+     * Get the representative of this element on the Edwards curve.
+     * Any point in the coset of this representative by the 4-torsion
+     * subgroup represents the same element.
+     *
+     * @return A copy of the representative point.
+     */
+    public Edwards25519Point representative() {
+        return point.clone();
+    }
+
+    /**
+     * Add another element to this one.
+     *
+     * @param other The element to add.
+     */
+    public void add(final Ristretto255 other) {
+        point.add(other.point);
+    }
+
+    /**
+     * Add another element to this one.
+     *
+     * @param other The element to add.
+     * @param scratch The scratchpad to use.
+     */
+    public void add(final Ristretto255 other,
+                    final Edwards25519Point.Scratchpad scratch) {
+        point.add(other.point, scratch);
+    }
+
+    /**
+     * Subtract another element from this one.
+     *
+     * @param other The element to subtract.
+     */
+    public void sub(final Ristretto255 other) {
+        point.sub(other.point);
+    }
+
+    /**
+     * Subtract another element from this one.
+     *
+     * @param other The element to subtract.
+     * @param scratch The scratchpad to use.
+     */
+    public void sub(final Ristretto255 other,
+                    final Edwards25519Point.Scratchpad scratch) {
+        point.sub(other.point, scratch);
+    }
+
+    /**
+     * Double this element.
+     */
+    public void dbl() {
+        point.dbl();
+    }
+
+    /**
+     * Double this element.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    public void dbl(final Edwards25519Point.Scratchpad scratch) {
+        point.dbl(scratch);
+    }
+
+    /**
+     * Negate this element.
+     */
+    public void neg() {
+        point.neg();
+    }
+
+    /**
+     * Multiply this element by a scalar.
+     *
+     * @param scalar The little-endian scalar.
+     */
+    public void mul(final byte[] scalar) {
+        try(final Edwards25519Point.Scratchpad scratch = scratchpad()) {
+            mul(scalar, scratch);
+        }
+    }
+
+    /**
+     * Multiply this element by a scalar, in constant time.
+     *
+     * @param scalar The little-endian scalar.
+     * @param scratch The scratchpad to use.
+     * @see Edwards25519Point#mul(byte[], Edwards25519Point.Scratchpad)
+     */
+    public void mul(final byte[] scalar,
+                    final Edwards25519Point.Scratchpad scratch) {
+        point.mul(scalar, scratch);
+    }
+
+    /**
+     * Compare two elements for equality.
+     *
+     * @param other The element against which to compare.
+     * @return {@code 1} if the elements are equal, {@code 0} if not.
+     */
+    public long eq(final Ristretto255 other) {
+        try(final Edwards25519Point.Scratchpad scratch = scratchpad()) {
+            return eq(other, scratch);
+        }
+    }
+
+    /**
+     * Compare two elements for equality, in constant time.
+     * <p>
+     * Two representatives {@code (X1 : Y1)} and {@code (X2 : Y2)}
+     * denote the same element if {@code X1 * Y2 == Y1 * X2} or {@code
+     * X1 * X2 == Y1 * Y2}.
+     *
+     * @param other The element against which to compare.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if the elements are equal, {@code 0} if not.
+     */
+    public long eq(final Ristretto255 other,
+                   final Edwards25519Point.Scratchpad scratch) {
+        final ModE255M19 a = scratch.t0;
+        final ModE255M19 b = scratch.t1;
+
+        a.set(point.x);
+        a.mul(other.point.y);
+        b.set(point.y);
+        b.mul(other.point.x);
+        a.sub(b);
+
+        final long first = a.isZero(scratch.field);
+
+        a.set(point.x);
+        a.mul(other.point.x);
+        b.set(point.y);
+        b.mul(other.point.y);
+        a.sub(b);
+
+        final long second = a.isZero(scratch.field);
+
+        return first | second;
+    }
+
+    /**
+     * Compare two elements for equality.
+     *
+     * @param other The element against which to compare.
+     * @return Whether or not the elements are equal.
+     * @see #eq
+     */
+    public boolean equals(final Ristretto255 other) {
+        return eq(other) == 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof Ristretto255) {
+            return equals((Ristretto255)other);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is computed from the canonical encoding, so all
+     * representatives of the same element have the same hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(encoded());
+    }
+
+    /**
+     * Set this element by decoding a representation.
+     *
+     * @param bytes The array containing the encoding.
+     * @param idx The index at which the encoding starts.
+     * @return {@code 1} if the encoding was valid, {@code 0} if not.
+     */
+    public long decode(final byte[] bytes,
+                       final int idx) {
+        try(final Edwards25519Point.Scratchpad scratch = scratchpad()) {
+            return decode(bytes, idx, scratch);
+        }
+    }
+
+    /**
+     * Set this element by decoding a representation, in constant
+     * time.
+     * <p>
+     * If the encoding is invalid, this element is set to the
+     * identity.  Invalid encodings are those which are not the
+     * canonical encoding of a field element, those which encode a
+     * negative field element, and those which do not correspond to a
+     * point.
+     *
+     * @param bytes The array containing the encoding.
+     * @param idx The index at which the encoding starts.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if the encoding was valid, {@code 0} if not.
+     */
+    public long decode(final byte[] bytes,
+                       final int idx,
+                       final Edwards25519Point.Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE255M19 s = scratch.t6;
+        final ModE255M19 u1 = scratch.t7;
+        final ModE255M19 u2 = scratch.t8;
+        final ModE255M19 u2sq = scratch.t9;
+        final ModE255M19 v = scratch.t10;
+        final ModE255M19 invsqrt = scratch.t11;
+        final ModE255M19 tmp = scratch.t0;
+        final byte[] canonical = scratch.encoded;
+
+        s.unpack(bytes, idx);
+        s.pack(canonical, 0, fscratch);
+
+        // The encoding must be canonical, and s must be non-negative.
+        long diff = 0;
+
+        for(int i = 0; i < ENCODED_BYTES; i++) {
+            diff |= (canonical[i] ^ bytes[idx + i]) & 0xff;
+        }
+
+        Arrays.fill(canonical, (byte)0);
+
+        final long noncanonical = ((diff - 1) >>> 63) ^ 0x1;
+        final long sneg = s.bitNormalized(0);
+
+        // u1 = 1 - s^2, u2 = 1 + s^2
+        u2.set(s);
+        u2.square();
+        u1.set(u2);
+        u1.neg();
+        u1.add(1);
+        u2.add(1);
+        u2sq.set(u2);
+        u2sq.square();
+
+        // v = -(d * u1^2) - u2^2
+        v.set(u1);
+        v.square();
+        v.mul(Edwards25519Point.D);
+        v.neg();
+        v.sub(u2sq);
+
+        // invsqrt = 1 / sqrt(v * u2^2)
+        tmp.set(v);
+        tmp.mul(u2sq);
+        u2sq.set(1);
+
+        final long square = invsqrt.sqrtRatio(u2sq, tmp, fscratch);
+        final ModE255M19 x = point.x;
+        final ModE255M19 y = point.y;
+
+        // den_x = invsqrt * u2, den_y = invsqrt * den_x * v
+        u2.mul(invsqrt);
+        invsqrt.mul(u2);
+        invsqrt.mul(v);
+
+        // x = |2 * s * den_x|, y = u1 * den_y, t = x * y
+        x.set(s);
+        x.mul(2);
+        x.mul(u2);
+        Edwards25519Point.condAbs(x, fscratch);
+        y.set(u1);
+        y.mul(invsqrt);
+        point.z.set(1);
+        point.t.set(x);
+        point.t.mul(y);
+
+        final long tneg = Edwards25519Point.isNegative(point.t, fscratch);
+        final long yzero = y.isZero(fscratch);
+        final long valid =
+            square & (noncanonical ^ 0x1) & (sneg ^ 0x1) &
+            (tneg ^ 0x1) & (yzero ^ 0x1);
+
+        // Replace the result with the identity if anything failed.
+        x.mask(valid);
+        point.t.mask(valid);
+        u1.set(1);
+        y.cmov(u1, valid ^ 0x1);
+
+        return valid;
+    }
+
+    /**
+     * Write the encoding of this element into an array.
+     *
+     * @param bytes The array into which to write.
+     * @param idx The index at which to start.
+     */
+    public void encode(final byte[] bytes,
+                       final int idx) {
+        try(final Edwards25519Point.Scratchpad scratch = scratchpad()) {
+            encode(bytes, idx, scratch);
+        }
+    }
+
+    /**
+     * Write the encoding of this element into an array, in constant
+     * time.  The encoding is canonical: all representatives of the
+     * same element produce the same encoding.
+     *
+     * @param bytes The array into which to write.
+     * @param idx The index at which to start.
+     * @param scratch The scratchpad to use.
+     */
+    public void encode(final byte[] bytes,
+                       final int idx,
+                       final Edwards25519Point.Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE255M19 u1 = scratch.t6;
+        final ModE255M19 u2 = scratch.t7;
+        final ModE255M19 invsqrt = scratch.t8;
+        final ModE255M19 zinv = scratch.t9;
+        final ModE255M19 x = scratch.t10;
+        final ModE255M19 y = scratch.t11;
+        final ModE255M19 tmp = scratch.t0;
+        final ModE255M19 iy = scratch.t1;
+
+        // u1 = (Z + Y) * (Z - Y), u2 = X * Y
+        u1.set(point.z);
+        u1.add(point.y);
+        tmp.set(point.z);
+        tmp.sub(point.y);
+        u1.mul(tmp);
+        u2.set(point.x);
+        u2.mul(point.y);
+
+        // invsqrt = 1 / sqrt(u1 * u2^2)
+        tmp.set(u2);
+        tmp.square();
+        tmp.mul(u1);
+        zinv.set(1);
+        invsqrt.sqrtRatio(zinv, tmp, fscratch);
+
+        // den1 = invsqrt * u1, den2 = invsqrt * u2
+        u1.mul(invsqrt);
+        u2.mul(invsqrt);
+
+        // z_inv = den1 * den2 * T
+        zinv.set(u1);
+        zinv.mul(u2);
+        zinv.mul(point.t);
+
+        // rotate = IS_NEGATIVE(T * z_inv)
+        tmp.set(point.t);
+        tmp.mul(zinv);
+
+        final long rotate = Edwards25519Point.isNegative(tmp, fscratch);
+
+        // x = rotate ? Y * sqrt(-1) : X
+        x.set(point.x);
+        iy.set(point.y);
+        iy.mul(SQRT_M1);
+        x.cmov(iy, rotate);
+
+        // y = rotate ? X * sqrt(-1) : Y
+        y.set(point.y);
+        iy.set(point.x);
+        iy.mul(SQRT_M1);
+        y.cmov(iy, rotate);
+
+        // den_inv = rotate ? den1 * INVSQRT_A_MINUS_D : den2
+        u1.mul(INVSQRT_A_MINUS_D);
+        u2.cmov(u1, rotate);
+
+        // y = IS_NEGATIVE(x * z_inv) ? -y : y
+        x.mul(zinv);
+        final long negate = Edwards25519Point.isNegative(x, fscratch);
+
+        y.cneg(negate);
+
+        // s = |den_inv * (Z - y)|
+        x.set(point.z);
+        x.sub(y);
+        x.mul(u2);
+        Edwards25519Point.condAbs(x, fscratch);
+        x.pack(bytes, idx, fscratch);
+    }
+
+    /**
+     * Generate the encoding of this element.
+     *
+     * @return The encoding, which is {@link #ENCODED_BYTES} long.
+     */
+    public byte[] encoded() {
+        final byte[] out = new byte[ENCODED_BYTES];
+
+        encode(out, 0);
+
+        return out;
+    }
+
+    /**
+     * Write the encodings of twice each of a batch of elements into an
+     * array, using a single field inversion for the whole batch.
+     * <p>
+     * Encoding an arbitrary element requires an inverse square root
+     * of a value specific to that element, which cannot be shared
+     * between elements.  However, the encoding of {@code 2 * P} is a
+     * rational function of the coordinates of {@code P}, so the
+     * encodings of the doubles of {@code n} elements can be computed
+     * with one shared inversion (using {@link PrimeField#invBatch})
+     * and a few multiplications per element.  To encode a batch of
+     * elements {@code k * P_i} this way, compute {@code (k / 2) *
+     * P_i} instead, halving the scalar modulo the group order.
+     * <p>
+     * The encoding of {@code 2 * points[i]} is written at {@code idx
+     * + (i * ENCODED_BYTES)}.  All steps are constant-time.
+     *
+     * @param points The elements to double and encode.
+     * @param bytes The array into which to write.
+     * @param idx The index at which to start.
+     */
+    public static void doubleAndEncodeBatch(final Ristretto255[] points,
+                                            final byte[] bytes,
+                                            final int idx) {
+        final int len = points.length;
+        final ModE255M19[] e = new ModE255M19[len];
+        final ModE255M19[] f = new ModE255M19[len];
+        final ModE255M19[] g = new ModE255M19[len];
+        final ModE255M19[] h = new ModE255M19[len];
+        final ModE255M19[] invs = new ModE255M19[len];
+
+        for(int i = 0; i < len; i++) {
+            final Edwards25519Point p = points[i].point;
+            final ModE255M19 xx = p.x.clone();
+            final ModE255M19 yy = p.y.clone();
+            final ModE255M19 dtt = p.t.clone();
+
+            xx.square();
+            yy.square();
+            dtt.square();
+            dtt.mul(Edwards25519Point.D);
+
+            // e = 2 * X * Y
+            e[i] = p.x.clone();
+            e[i].mul(p.y);
+            e[i].mul(2);
+
+            // f = Z^2 + d * T^2, h = Z^2 - d * T^2
+            f[i] = p.z.clone();
+            f[i].square();
+            h[i] = f[i].clone();
+            f[i].add(dtt);
+            h[i].sub(dtt);
+
+            // g = Y^2 + X^2
+            g[i] = yy;
+            g[i].add(xx);
+
+            // Invert e * g * f * h.
+            invs[i] = e[i].clone();
+            invs[i].mul(g[i]);
+            dtt.set(f[i]);
+            dtt.mul(h[i]);
+            invs[i].mul(dtt);
+            xx.destroy();
+            dtt.destroy();
+        }
+
+        PrimeField.invBatch(invs);
+
+        try(final Edwards25519Point.Scratchpad scratch =
+            Edwards25519Point.identity().scratchpad()) {
+            final PrimeField.Scratchpad fscratch = scratch.field;
+            final ModE255M19 zinv = scratch.t6;
+            final ModE255M19 tinv = scratch.t7;
+            final ModE255M19 magic = scratch.t8;
+            final ModE255M19 alt = scratch.t1;
+
+            for(int i = 0; i < len; i++) {
+                final ModE255M19 ei = e[i];
+                final ModE255M19 fi = f[i];
+                final ModE255M19 gi = g[i];
+                final ModE255M19 hi = h[i];
+
+                // zinv = 1 / (f * h), tinv = 1 / (e * g)
+                zinv.set(ei);
+                zinv.mul(gi);
+                zinv.mul(invs[i]);
+                tinv.set(fi);
+                tinv.mul(hi);
+                tinv.mul(invs[i]);
+
+                // Rotate if e * g * zinv is negative.
+                alt.set(ei);
+                alt.mul(gi);
+                alt.mul(zinv);
+
+                final long rotate =
+                    Edwards25519Point.isNegative(alt, fscratch);
+
+                magic.set(INVSQRT_A_MINUS_D);
+                magic.cmov(SQRT_M1, rotate);
+
+                // (e, g, h) = rotate ? (g, -e, f * sqrt(-1)) : (e, g, h)
+                alt.set(ei);
+                alt.neg();
+                ei.cmov(gi, rotate);
+                gi.cmov(alt, rotate);
+                alt.set(fi);
+                alt.mul(SQRT_M1);
+                hi.cmov(alt, rotate);
+
+                // g = IS_NEGATIVE(h * e * zinv) ? -g : g
+                alt.set(hi);
+                alt.mul(ei);
+                alt.mul(zinv);
+
+                final long negate =
+                    Edwards25519Point.isNegative(alt, fscratch);
+
+                gi.cneg(negate);
+
+                // s = |(h - g) * magic * g * tinv|
+                alt.set(hi);
+                alt.sub(gi);
+                alt.mul(magic);
+                alt.mul(gi);
+                alt.mul(tinv);
+                Edwards25519Point.condAbs(alt, fscratch);
+                alt.pack(bytes, idx + (i * ENCODED_BYTES), fscratch);
+
+                ei.destroy();
+                fi.destroy();
+                gi.destroy();
+                hi.destroy();
+                invs[i].destroy();
+            }
+        }
+    }
+
+    /**
+     * Set this element from {@link #UNIFORM_BYTES} uniformly random
+     * bytes.
+     * <p>
+     * Each half of the input is interpreted as a little-endian
+     * integer with the high bit cleared, reduced to a field element,
+     * and mapped to the group using the Elligator-based map from RFC
+     * 9496.  The two results are added.  This runs in constant time.
+     *
+     * @param bytes The array containing the uniform bytes.
+     * @param idx The index at which the bytes start.
+     * @param scratch The scratchpad to use.
+     */
+    public void setFromUniformBytes(final byte[] bytes,
+                                    final int idx,
+                                    final Edwards25519Point.Scratchpad
+                                        scratch) {
+        final Edwards25519Point other = Edwards25519Point.identity();
+
+        map(bytes, idx, point, scratch);
+        map(bytes, idx + ENCODED_BYTES, other, scratch);
+        point.add(other, scratch);
+        other.destroy();
+    }
+
+    /**
+     * The Elligator-based map from a field element to a point, as
+     * described in RFC 9496.
+     *
+     * @param bytes The array containing the field element.
+     * @param idx The index at which the field element starts.
+     * @param out The point into which to write the result.
+     * @param scratch The scratchpad to use.
+     */
+    private static void map(final byte[] bytes,
+                            final int idx,
+                            final Edwards25519Point out,
+                            final Edwards25519Point.Scratchpad scratch) {
+        final PrimeField.Scratchpad fscratch = scratch.field;
+        final ModE255M19 t = scratch.t6;
+        final ModE255M19 r = scratch.t7;
+        final ModE255M19 u = scratch.t8;
+        final ModE255M19 v = scratch.t9;
+        final ModE255M19 s = scratch.t10;
+        final ModE255M19 c = scratch.t11;
+        final ModE255M19 tmp = scratch.t0;
+        final ModE255M19 sprime = scratch.t1;
+
+        // The high bit is cleared by unpack.
+        t.unpack(bytes, idx);
+
+        // r = sqrt(-1) * t^2
+        r.set(t);
+        r.square();
+        r.mul(SQRT_M1);
+
+        // u = (r + 1) * ONE_MINUS_D_SQ
+        u.set(r);
+        u.add(1);
+        u.mul(ONE_MINUS_D_SQ);
+
+        // v = (-1 - r * d) * (r + d)
+        v.set(r);
+        v.mul(Edwards25519Point.D);
+        v.neg();
+        v.sub(1);
+        tmp.set(r);
+        tmp.add(Edwards25519Point.D);
+        v.mul(tmp);
+
+        final long square = s.sqrtRatio(u, v, fscratch);
+
+        // s' = -|s * t|
+        sprime.set(s);
+        sprime.mul(t);
+        Edwards25519Point.condAbs(sprime, fscratch);
+        sprime.neg();
+
+        // s = square ? s : s', c = square ? -1 : r
+        s.cmov(sprime, square ^ 0x1);
+        c.set(r);
+        sprime.set(1);
+        sprime.neg();
+        c.cmov(sprime, square);
+
+        // N = c * (r - 1) * D_MINUS_ONE_SQ - v, stored in c
+        r.sub(1);
+        c.mul(r);
+        c.mul(D_MINUS_ONE_SQ);
+        c.sub(v);
+
+        // w0 = 2 * s * v (in v), w1 = N * SQRT_AD_MINUS_ONE (in c)
+        v.mul(s);
+        v.mul(2);
+        c.mul(SQRT_AD_MINUS_ONE);
+
+        // w2 = 1 - s^2 (in t), w3 = 1 + s^2 (in s)
+        s.square();
+        t.set(s);
+        t.neg();
+        t.add(1);
+        s.add(1);
+
+        // (w0 * w3, w2 * w1, w1 * w3, w0 * w2)
+        out.x.set(v);
+        out.x.mul(s);
+        out.y.set(t);
+        out.y.mul(c);
+        out.z.set(c);
+        out.z.mul(s);
+        out.t.set(v);
+        out.t.mul(t);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        point.destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return point.isDestroyed();
+    }
+}
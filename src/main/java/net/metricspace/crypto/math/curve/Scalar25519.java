@@ -0,0 +1,558 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * Scalars modulo the order {@code l = 2^252 +
+ * 27742317777372353535851937790883648493} of the prime-order subgroup
+ * of {@link Edwards25519Point}.
+ * <p>
+ * Scalars are held in Montgomery form, as {@code x * R mod l} for
+ * {@code R = 2^261}, in nine 29-bit limbs.  Products of two limbs fit
+ * comfortably in a {@code long}, so multiplication needs no
+ * double-width arithmetic.  Reducing a 512-bit hash output, as
+ * Ed25519 does, costs two Montgomery multiplications and an addition.
+ * <p>
+ * All operations other than {@link #isCanonical} are constant-time.
+ */
+public final class Scalar25519
+    implements Cloneable, Destroyable, AutoCloseable {
+    /**
+     * Number of bytes in an encoded scalar.
+     */
+    public static final int ENCODED_BYTES = 32;
+
+    /**
+     * Maximum number of bytes accepted by {@link #fromBytes}.
+     */
+    public static final int WIDE_BYTES = 64;
+
+    /**
+     * Number of limbs.
+     */
+    static final int LIMBS = 9;
+
+    /**
+     * Number of bits in a limb.
+     */
+    static final int LIMB_BITS = 29;
+
+    /**
+     * Mask for a limb.
+     */
+    static final long LIMB_MASK = (1L << LIMB_BITS) - 1;
+
+    /**
+     * The group order {@code l}.
+     */
+    private static final long[] L = new long[] {
+        0x1cf5d3edL, 0x009318d2L, 0x1de73596L, 0x1df3bd45L, 0x0000014dL,
+        0x00000000L, 0x00000000L, 0x00000000L, 0x00100000L
+    };
+
+    /**
+     * {@code -l^-1 mod 2^29}.
+     */
+    private static final long N0 = 0x12547e1bL;
+
+    /**
+     * {@code R^2 mod l}, to convert into Montgomery form.
+     */
+    private static final long[] R2 = new long[] {
+        0x0b5f9d12L, 0x1e141b17L, 0x158d7f3dL, 0x143f3757L, 0x1972d781L,
+        0x042feb7cL, 0x1ceec73dL, 0x1e184d1eL, 0x0005046dL
+    };
+
+    /**
+     * {@code R^3 mod l}, to convert the high half of a wide value
+     * into Montgomery form.
+     */
+    private static final long[] R3 = new long[] {
+        0x07182148L, 0x0d3d45a9L, 0x0660b4aaL, 0x13ad71e6L, 0x08a69e2cL,
+        0x013b16d9L, 0x00cbb8d8L, 0x199cec78L, 0x0005bb9aL
+    };
+
+    /**
+     * The integer {@code 0}.
+     */
+    private static final long[] ZERO = new long[LIMBS];
+
+    /**
+     * The integer {@code 1}, to convert out of Montgomery form.
+     */
+    private static final long[] ONE = new long[] {
+        1, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    /**
+     * The limbs, in Montgomery form.
+     */
+    final long[] limbs;
+
+    /**
+     * Initialize a {@code Scalar25519} with the given limbs.  The
+     * array is <i>not</i> copied.
+     *
+     * @param limbs The limbs, in Montgomery form.
+     */
+    private Scalar25519(final long[] limbs) {
+        this.limbs = limbs;
+    }
+
+    /**
+     * Create a {@code Scalar25519} initialized to zero.
+     *
+     * @return A {@code Scalar25519} initialized to zero.
+     */
+    public static Scalar25519 zero() {
+        return new Scalar25519(new long[LIMBS]);
+    }
+
+    /**
+     * Create a {@code Scalar25519} from a little-endian integer of
+     * up to {@link #WIDE_BYTES} bytes, reducing it modulo {@code l}.
+     *
+     * @param bytes The little-endian integer.
+     * @return The integer modulo {@code l}.
+     */
+    public static Scalar25519 fromBytes(final byte[] bytes) {
+        return fromBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Create a {@code Scalar25519} from a little-endian integer of
+     * up to {@link #WIDE_BYTES} bytes, reducing it modulo {@code l}.
+     *
+     * @param bytes The array containing the integer.
+     * @param off The offset of the integer.
+     * @param len The length of the integer.
+     * @return The integer modulo {@code l}.
+     * @throws IllegalArgumentException If {@code len} is more than
+     *         {@link #WIDE_BYTES}.
+     */
+    public static Scalar25519 fromBytes(final byte[] bytes,
+                                        final int off,
+                                        final int len) {
+        final Scalar25519 out = zero();
+
+        out.set(bytes, off, len);
+
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Scalar25519 clone() {
+        return new Scalar25519(limbs.clone());
+    }
+
+    /**
+     * Overwrite this scalar with another.
+     *
+     * @param other The scalar to copy.
+     */
+    public void set(final Scalar25519 other) {
+        System.arraycopy(other.limbs, 0, limbs, 0, LIMBS);
+    }
+
+    /**
+     * Set this scalar from a little-endian integer of up to {@link
+     * #WIDE_BYTES} bytes, reducing it modulo {@code l}.
+     * <p>
+     * The integer is split as {@code x0 + x1 * R}, with {@code x0 <
+     * R}, and brought into Montgomery form as {@code x0 * R^2 / R +
+     * x1 * R^3 / R}.
+     *
+     * @param bytes The array containing the integer.
+     * @param off The offset of the integer.
+     * @param len The length of the integer.
+     * @throws IllegalArgumentException If {@code len} is more than
+     *         {@link #WIDE_BYTES}.
+     */
+    public void set(final byte[] bytes,
+                    final int off,
+                    final int len) {
+        if (len > WIDE_BYTES) {
+            throw new IllegalArgumentException("Scalar of " + len +
+                                               " bytes is too long");
+        }
+
+        final long[] wide = new long[2 * LIMBS];
+        final long[] hi = new long[LIMBS];
+
+        for(int i = 0; i < len; i++) {
+            final int bit = i * 8;
+            final int limb = bit / LIMB_BITS;
+            final int shift = bit % LIMB_BITS;
+            final long b = bytes[off + i] & 0xffL;
+
+            wide[limb] |= (b << shift) & LIMB_MASK;
+
+            if (shift > LIMB_BITS - 8) {
+                wide[limb + 1] |= b >>> (LIMB_BITS - shift);
+            }
+        }
+
+        System.arraycopy(wide, LIMBS, hi, 0, LIMBS);
+        montMul(wide, R2, limbs);
+        montMul(hi, R3, hi);
+        addLimbs(limbs, hi, limbs);
+        Arrays.fill(wide, 0);
+        Arrays.fill(hi, 0);
+    }
+
+    /**
+     * Add another scalar to this one.
+     *
+     * @param other The scalar to add.
+     */
+    public void add(final Scalar25519 other) {
+        addLimbs(limbs, other.limbs, limbs);
+    }
+
+    /**
+     * Subtract another scalar from this one.
+     *
+     * @param other The scalar to subtract.
+     */
+    public void sub(final Scalar25519 other) {
+        subLimbs(limbs, other.limbs, limbs);
+    }
+
+    /**
+     * Negate this scalar.
+     */
+    public void neg() {
+        subLimbs(ZERO, limbs, limbs);
+    }
+
+    /**
+     * Multiply this scalar by another.
+     *
+     * @param other The scalar by which to multiply.
+     */
+    public void mul(final Scalar25519 other) {
+        montMul(limbs, other.limbs, limbs);
+    }
+
+    /**
+     * Square this scalar.
+     */
+    public void square() {
+        montMul(limbs, limbs, limbs);
+    }
+
+    /**
+     * Compare two scalars for equality.
+     *
+     * @param other The scalar against which to compare.
+     * @return {@code 1} if the scalars are equal, {@code 0} if not.
+     */
+    public long eq(final Scalar25519 other) {
+        long diff = 0;
+
+        for(int i = 0; i < LIMBS; i++) {
+            diff |= limbs[i] ^ other.limbs[i];
+        }
+
+        return ((diff - 1) >>> 63);
+    }
+
+    /**
+     * Check whether this scalar is zero.
+     *
+     * @return {@code 1} if this scalar is zero, {@code 0} if not.
+     */
+    public long isZero() {
+        long diff = 0;
+
+        for(int i = 0; i < LIMBS; i++) {
+            diff |= limbs[i];
+        }
+
+        return ((diff - 1) >>> 63);
+    }
+
+    /**
+     * Write the canonical little-endian encoding of this scalar.
+     *
+     * @param bytes The array into which to write.
+     * @param off The offset at which to write.
+     */
+    public void encode(final byte[] bytes,
+                       final int off) {
+        final long[] plain = new long[LIMBS];
+
+        montMul(limbs, ONE, plain);
+        Arrays.fill(bytes, off, off + ENCODED_BYTES, (byte)0);
+
+        for(int i = 0; i < ENCODED_BYTES * 8; i += 8) {
+            final int limb = i / LIMB_BITS;
+            final int shift = i % LIMB_BITS;
+            long b = plain[limb] >>> shift;
+
+            if (shift > LIMB_BITS - 8) {
+                b |= plain[limb + 1] << (LIMB_BITS - shift);
+            }
+
+            bytes[off + (i / 8)] = (byte)b;
+        }
+
+        Arrays.fill(plain, 0);
+    }
+
+    /**
+     * Get the canonical little-endian encoding of this scalar.
+     *
+     * @return The encoding.
+     */
+    public byte[] encoded() {
+        final byte[] out = new byte[ENCODED_BYTES];
+
+        encode(out, 0);
+
+        return out;
+    }
+
+    /**
+     * Check whether an encoded scalar is canonical, meaning it is
+     * less than {@code l}.  This is <i>not</i> constant-time, and is
+     * intended for public values, such as the {@code S} half of a
+     * signature.
+     *
+     * @param bytes The array containing the scalar.
+     * @param off The offset of the scalar.
+     * @return Whether the scalar is less than {@code l}.
+     */
+    public static boolean isCanonical(final byte[] bytes,
+                                      final int off) {
+        // l = 0x10000000...14def9dea2f79cd65812631a5cf5d3ed
+        if ((bytes[off + 31] & 0xff) != 0x10) {
+            return (bytes[off + 31] & 0xff) < 0x10;
+        }
+
+        for(int i = 30; i >= 16; i--) {
+            if (bytes[off + i] != 0) {
+                return false;
+            }
+        }
+
+        final byte[] low = new byte[] {
+            (byte)0xed, (byte)0xd3, (byte)0xf5, (byte)0x5c,
+            (byte)0x1a, (byte)0x63, (byte)0x12, (byte)0x58,
+            (byte)0xd6, (byte)0x9c, (byte)0xf7, (byte)0xa2,
+            (byte)0xde, (byte)0xf9, (byte)0xde, (byte)0x14
+        };
+
+        for(int i = 15; i >= 0; i--) {
+            final int a = bytes[off + i] & 0xff;
+            final int b = low[i] & 0xff;
+
+            if (a != b) {
+                return a < b;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Add two values less than {@code l}, reducing the result.  It
+     * <i>is</i> safe for the output to be an input.
+     *
+     * @param a The first operand.
+     * @param b The second operand.
+     * @param out The result.
+     */
+    private static void addLimbs(final long[] a,
+                                 final long[] b,
+                                 final long[] out) {
+        long carry = 0;
+
+        for(int i = 0; i < LIMBS; i++) {
+            final long s = a[i] + b[i] + carry;
+
+            out[i] = s & LIMB_MASK;
+            carry = s >> LIMB_BITS;
+        }
+
+        condSubL(out, carry);
+    }
+
+    /**
+     * Subtract two values less than {@code l}, reducing the result.
+     * It <i>is</i> safe for the output to be an input.
+     *
+     * @param a The first operand.
+     * @param b The second operand.
+     * @param out The result.
+     */
+    private static void subLimbs(final long[] a,
+                                 final long[] b,
+                                 final long[] out) {
+        long borrow = 0;
+
+        for(int i = 0; i < LIMBS; i++) {
+            final long d = a[i] - b[i] + borrow;
+
+            out[i] = d & LIMB_MASK;
+            borrow = d >> LIMB_BITS;
+        }
+
+        // Add l back if the subtraction went negative.
+        long carry = 0;
+
+        for(int i = 0; i < LIMBS; i++) {
+            final long s = out[i] + (L[i] & borrow) + carry;
+
+            out[i] = s & LIMB_MASK;
+            carry = s >> LIMB_BITS;
+        }
+    }
+
+    /**
+     * Montgomery multiplication, computing {@code a * b / R mod l},
+     * by the coarsely integrated operand scanning method.  This
+     * requires {@code a * b < l * R}, which holds whenever either
+     * operand is less than {@code l} and the other less than {@code
+     * R}.  It <i>is</i> safe for the output to be an input.
+     *
+     * @param a The first operand.
+     * @param b The second operand.
+     * @param out The result, less than {@code l}.
+     */
+    static void montMul(final long[] a,
+                        final long[] b,
+                        final long[] out) {
+        final long[] t = new long[LIMBS + 1];
+
+        for(int i = 0; i < LIMBS; i++) {
+            final long ai = a[i];
+
+            for(int j = 0; j < LIMBS; j++) {
+                t[j] += ai * b[j];
+            }
+
+            final long m = ((t[0] & LIMB_MASK) * N0) & LIMB_MASK;
+
+            for(int j = 0; j < LIMBS; j++) {
+                t[j] += m * L[j];
+            }
+
+            // t[0] is now divisible by 2^29; shift down one limb.
+            long carry = t[0] >> LIMB_BITS;
+
+            for(int j = 1; j < LIMBS; j++) {
+                final long v = t[j] + carry;
+
+                t[j - 1] = v & LIMB_MASK;
+                carry = v >> LIMB_BITS;
+            }
+
+            t[LIMBS - 1] = t[LIMBS] + carry;
+            t[LIMBS] = 0;
+        }
+
+        // The result is less than 2 * l; its top limb may exceed 29
+        // bits only in that it carries into a (zero) tenth limb.
+        final long top = t[LIMBS - 1];
+
+        t[LIMBS - 1] = top & LIMB_MASK;
+        System.arraycopy(t, 0, out, 0, LIMBS);
+        condSubL(out, top >> LIMB_BITS);
+        Arrays.fill(t, 0);
+    }
+
+    /**
+     * Subtract {@code l} from a value less than {@code 2 * l} if it
+     * is at least {@code l}, without branching.
+     *
+     * @param x The value, in normalized limbs.
+     * @param hi Any bits of the value above the top limb.
+     */
+    private static void condSubL(final long[] x,
+                                 final long hi) {
+        final long[] d = new long[LIMBS];
+        long borrow = 0;
+
+        for(int i = 0; i < LIMBS; i++) {
+            final long v = x[i] - L[i] + borrow;
+
+            d[i] = v & LIMB_MASK;
+            borrow = v >> LIMB_BITS;
+        }
+
+        // Keep x if x - l went negative, otherwise take the
+        // difference.
+        final long keep = borrow + hi;
+
+        for(int i = 0; i < LIMBS; i++) {
+            x[i] = (x[i] & keep) | (d[i] & ~keep);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        Arrays.fill(limbs, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        for(final long limb : limbs) {
+            if (limb != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,952 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import java.lang.AutoCloseable;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * Dense matrices over a prime field.
+ * <p>
+ * As with {@link Polynomial}, the entries are stored as in {@link
+ * FieldTable}: the digits of all entries are held contiguously in a
+ * single {@code long[]}, in row-major order, in the internal
+ * representation of the field.  A {@code 512 x 512} matrix is thus
+ * one array, rather than a quarter of a million field element
+ * objects.
+ * <p>
+ * Multiplication is tiled into {@link #BLOCK}-square blocks, and
+ * within a tile runs along the rows of both operands, so that all
+ * accesses are contiguous.  The dot products for the tile are
+ * accumulated with {@link PrimeField#addLazy}, and carried once when
+ * the tile is complete.  Linear systems are solved by blocked LU
+ * decomposition with partial pivoting: each panel of {@link #BLOCK}
+ * columns is factored, and the rest of the matrix is then updated
+ * with one lazy dot product per entry.  The {@code Parallel}
+ * variants of each operation split the blocks of rows between tasks
+ * in the common {@link java.util.concurrent.ForkJoinPool}.
+ * <p>
+ * The entries are mutable through {@link #set}, but all arithmetic
+ * creates a new matrix.  Nothing here is designed to be
+ * constant-time; in particular, the choice of pivots depends on the
+ * entries.
+ *
+ * @param <F> The type of the entries.
+ */
+public final class FieldMatrix<F extends PrimeField<F>>
+    implements Destroyable, AutoCloseable {
+    /**
+     * The size of the square tiles used for multiplication, of the
+     * panels used for elimination, and of the blocks of rows given to
+     * each task.
+     */
+    static final int BLOCK = 32;
+
+    /**
+     * A zero element of the field, used to create temporaries.
+     */
+    private final F prototype;
+
+    /**
+     * Digits of all entries, in row-major order.
+     */
+    private final long[] data;
+
+    /**
+     * Number of rows.
+     */
+    private final int rows;
+
+    /**
+     * Number of columns.
+     */
+    private final int cols;
+
+    /**
+     * Number of digits in each entry.
+     */
+    private final int numDigits;
+
+    /**
+     * Initialize from a prototype and a digits array.  The created
+     * object takes possession of the array.
+     *
+     * @param prototype A zero element of the field.
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param data The digits of the entries.
+     */
+    private FieldMatrix(final F prototype,
+                        final int rows,
+                        final int cols,
+                        final long[] data) {
+        this.prototype = prototype;
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+        this.numDigits = prototype.digits.length;
+    }
+
+    /**
+     * Create a matrix from its entries.
+     *
+     * @param values The entries, as an array of rows.  These are
+     *               copied.
+     * @throws IllegalArgumentException If there are no entries, or if
+     *                                  the rows differ in length.
+     */
+    public FieldMatrix(final F[][] values) {
+        if (values.length == 0 || values[0].length == 0) {
+            throw new IllegalArgumentException("No entries");
+        }
+
+        this.rows = values.length;
+        this.cols = values[0].length;
+        this.prototype = values[0][0].clone();
+        this.prototype.set(0);
+        this.numDigits = prototype.digits.length;
+        this.data = new long[rows * cols * numDigits];
+
+        for(int i = 0; i < rows; i++) {
+            if (values[i].length != cols) {
+                throw new IllegalArgumentException("Row " + i + " has " +
+                                                   values[i].length +
+                                                   " entries, expected " +
+                                                   cols);
+            }
+
+            for(int j = 0; j < cols; j++) {
+                set(i, j, values[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Create a matrix of zeros.
+     *
+     * @param <F> The type of the entries.
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param prototype Any element of the field.
+     * @return A matrix of zeros.
+     * @throws IllegalArgumentException If either dimension is not
+     *                                  positive.
+     */
+    public static <F extends PrimeField<F>> FieldMatrix<F>
+        zero(final int rows,
+             final int cols,
+             final F prototype) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Bad dimensions " + rows +
+                                               " x " + cols);
+        }
+
+        final F zero = prototype.clone();
+
+        zero.set(0);
+
+        return new FieldMatrix<>(zero, rows, cols,
+                                 new long[rows * cols *
+                                          zero.digits.length]);
+    }
+
+    /**
+     * Create an identity matrix.
+     *
+     * @param <F> The type of the entries.
+     * @param n The number of rows and columns.
+     * @param prototype Any element of the field.
+     * @return The {@code n x n} identity matrix.
+     * @throws IllegalArgumentException If {@code n} is not positive.
+     */
+    public static <F extends PrimeField<F>> FieldMatrix<F>
+        identity(final int n,
+                 final F prototype) {
+        final FieldMatrix<F> out = zero(n, n, prototype);
+        final F one = out.prototype.clone();
+
+        one.set(1);
+
+        for(int i = 0; i < n; i++) {
+            out.set(i, i, one);
+        }
+
+        one.destroy();
+
+        return out;
+    }
+
+    /**
+     * Get the number of rows.
+     *
+     * @return The number of rows.
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Get the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Get an entry.
+     *
+     * @param row The row of the entry.
+     * @param col The column of the entry.
+     * @param out The value into which to write the entry.
+     */
+    public void get(final int row,
+                    final int col,
+                    final F out) {
+        checkIndex(row, col);
+        out.set(data, ((row * cols) + col) * numDigits);
+    }
+
+    /**
+     * Set an entry.
+     *
+     * @param row The row of the entry.
+     * @param col The column of the entry.
+     * @param value The new value of the entry.
+     */
+    public void set(final int row,
+                    final int col,
+                    final F value) {
+        checkIndex(row, col);
+
+        final F entry = value.clone();
+
+        entry.carry();
+        System.arraycopy(entry.digits, 0, data,
+                         ((row * cols) + col) * numDigits, numDigits);
+        entry.destroy();
+    }
+
+    /**
+     * Add another matrix to this one.
+     *
+     * @param b The matrix to add.
+     * @return The sum.
+     * @throws IllegalArgumentException If the dimensions differ.
+     */
+    public FieldMatrix<F> add(final FieldMatrix<F> b) {
+        checkSameShape(b);
+
+        final Work<F> work = new Work<>(prototype);
+        final long[] out = data.clone();
+
+        for(int i = 0; i < rows * cols; i++) {
+            work.load(work.t, out, i);
+            work.load(work.u, b.data, i);
+            work.t.add(work.u);
+            work.store(work.t, out, i);
+        }
+
+        work.destroy();
+
+        return new FieldMatrix<>(prototype, rows, cols, out);
+    }
+
+    /**
+     * Subtract another matrix from this one.
+     *
+     * @param b The matrix to subtract.
+     * @return The difference.
+     * @throws IllegalArgumentException If the dimensions differ.
+     */
+    public FieldMatrix<F> sub(final FieldMatrix<F> b) {
+        checkSameShape(b);
+
+        final Work<F> work = new Work<>(prototype);
+        final long[] out = data.clone();
+
+        for(int i = 0; i < rows * cols; i++) {
+            work.load(work.t, out, i);
+            work.load(work.u, b.data, i);
+            work.t.sub(work.u);
+            work.store(work.t, out, i);
+        }
+
+        work.destroy();
+
+        return new FieldMatrix<>(prototype, rows, cols, out);
+    }
+
+    /**
+     * Get the transpose of this matrix.
+     *
+     * @return The transpose.
+     */
+    public FieldMatrix<F> transpose() {
+        return new FieldMatrix<>(prototype, cols, rows, transposeData());
+    }
+
+    /**
+     * Multiply this matrix by another.
+     *
+     * @param b The matrix by which to multiply, on the right.
+     * @return The product.
+     * @throws IllegalArgumentException If the number of columns of
+     *                                  this matrix is not the number of
+     *                                  rows of {@code b}.
+     */
+    public FieldMatrix<F> mul(final FieldMatrix<F> b) {
+        return mul(b, false);
+    }
+
+    /**
+     * Multiply this matrix by another, with blocks of rows of the
+     * product computed in parallel.
+     *
+     * @param b The matrix by which to multiply, on the right.
+     * @return The product.
+     * @throws IllegalArgumentException If the number of columns of
+     *                                  this matrix is not the number of
+     *                                  rows of {@code b}.
+     */
+    public FieldMatrix<F> mulParallel(final FieldMatrix<F> b) {
+        return mul(b, true);
+    }
+
+    /**
+     * Solve the linear system {@code this * x = b}.
+     *
+     * @param b The right-hand side.  Each column is a separate
+     *          system.
+     * @return The solution {@code x}.
+     * @throws IllegalArgumentException If this matrix is not square or
+     *                                  is singular, or if {@code b}
+     *                                  does not have one row for each
+     *                                  of its rows.
+     */
+    public FieldMatrix<F> solve(final FieldMatrix<F> b) {
+        return solve(b, false);
+    }
+
+    /**
+     * Solve the linear system {@code this * x = b}, with the updates
+     * to blocks of rows done in parallel.
+     *
+     * @param b The right-hand side.  Each column is a separate
+     *          system.
+     * @return The solution {@code x}.
+     * @throws IllegalArgumentException If this matrix is not square or
+     *                                  is singular, or if {@code b}
+     *                                  does not have one row for each
+     *                                  of its rows.
+     */
+    public FieldMatrix<F> solveParallel(final FieldMatrix<F> b) {
+        return solve(b, true);
+    }
+
+    /**
+     * Get the inverse of this matrix.
+     *
+     * @return The inverse.
+     * @throws IllegalArgumentException If this matrix is not square or
+     *                                  is singular.
+     */
+    public FieldMatrix<F> inverse() {
+        return solve(identity(rows, prototype), false);
+    }
+
+    /**
+     * Multiply this matrix by another.
+     *
+     * @param b The matrix by which to multiply, on the right.
+     * @param parallel Whether to compute blocks in parallel.
+     * @return The product.
+     */
+    private FieldMatrix<F> mul(final FieldMatrix<F> b,
+                               final boolean parallel) {
+        if (cols != b.rows) {
+            throw new IllegalArgumentException("Cannot multiply " +
+                                               rows + " x " + cols +
+                                               " by " + b.rows + " x " +
+                                               b.cols);
+        }
+
+        final long[] out = new long[rows * b.cols * numDigits];
+
+        forBlocks(0, rows, parallel, (lo, hi, work) -> {
+                work.mulRows(data, b.data, out, lo, hi, cols, b.cols);
+            });
+
+        return new FieldMatrix<>(prototype, rows, b.cols, out);
+    }
+
+    /**
+     * Solve a linear system by blocked LU decomposition.
+     * <p>
+     * This works on the augmented matrix {@code [this | b]}.  For
+     * each panel of {@link #BLOCK} columns, the pivot for each column
+     * is found, its row is swapped into place and normalized, and the
+     * panel columns of the rows below are eliminated, keeping the
+     * multipliers in place.  The rows of the panel are then completed
+     * to the right by forward substitution, and the remaining rows are
+     * updated with one dot product per entry.  Once all panels are
+     * done, the left part is unit upper triangular, and back
+     * substitution gives the solution.
+     *
+     * @param b The right-hand side.
+     * @param parallel Whether to update blocks of rows in parallel.
+     * @return The solution.
+     */
+    private FieldMatrix<F> solve(final FieldMatrix<F> b,
+                                 final boolean parallel) {
+        if (rows != cols) {
+            throw new IllegalArgumentException("Matrix is " + rows +
+                                               " x " + cols +
+                                               ", not square");
+        }
+
+        if (b.rows != rows) {
+            throw new IllegalArgumentException("Got " + b.rows +
+                                               " rows on the right for " +
+                                               rows + " unknowns");
+        }
+
+        final int n = rows;
+        final int width = n + b.cols;
+        final long[] a = new long[n * width * numDigits];
+        final long[] pivots = new long[BLOCK * numDigits];
+        final Work<F> work = new Work<>(prototype);
+
+        for(int i = 0; i < n; i++) {
+            System.arraycopy(data, i * n * numDigits,
+                             a, i * width * numDigits, n * numDigits);
+            System.arraycopy(b.data, i * b.cols * numDigits,
+                             a, ((i * width) + n) * numDigits,
+                             b.cols * numDigits);
+        }
+
+        try(final PrimeField.Scratchpad scratch = prototype.scratchpad()) {
+            for(int k0 = 0; k0 < n; k0 += BLOCK) {
+                final int k1 = Math.min(n, k0 + BLOCK);
+
+                // Factor the panel.
+                for(int k = k0; k < k1; k++) {
+                    final int pivot = k;
+
+                    work.pivot(a, pivots, width, n, k, k0, k1, scratch);
+                    forBlocks(k + 1, n, parallel, (lo, hi, w) -> {
+                            w.eliminate(a, width, pivot, k1, lo, hi);
+                        });
+                }
+
+                // Complete the rows of the panel to the right.
+                final int panel = k0;
+
+                forBlocks(k1, width, parallel, (lo, hi, w) -> {
+                        w.forward(a, pivots, width, panel, k1, lo, hi);
+                    });
+
+                // Update the rest of the matrix.
+                forBlocks(k1, n, parallel, (lo, hi, w) -> {
+                        w.update(a, width, panel, k1, lo, hi);
+                    });
+            }
+
+            forBlocks(n, width, parallel, (lo, hi, w) -> {
+                    w.backward(a, width, n, lo, hi);
+                });
+        } finally {
+            work.destroy();
+        }
+
+        final long[] out = new long[n * b.cols * numDigits];
+
+        for(int i = 0; i < n; i++) {
+            System.arraycopy(a, ((i * width) + n) * numDigits,
+                             out, i * b.cols * numDigits,
+                             b.cols * numDigits);
+        }
+
+        return new FieldMatrix<>(prototype, n, b.cols, out);
+    }
+
+    /**
+     * Get the digits of the transpose of this matrix.
+     *
+     * @return The digits of the transpose.
+     */
+    private long[] transposeData() {
+        final long[] out = new long[data.length];
+
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                System.arraycopy(data, ((i * cols) + j) * numDigits,
+                                 out, ((j * rows) + i) * numDigits,
+                                 numDigits);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Run a task over blocks of {@link #BLOCK} indices, each with its
+     * own temporaries.
+     *
+     * @param lo The first index.
+     * @param hi One past the last index.
+     * @param parallel Whether to run the blocks in parallel.
+     * @param task The task to run on each block.
+     */
+    private void forBlocks(final int lo,
+                           final int hi,
+                           final boolean parallel,
+                           final BlockTask<F> task) {
+        final int blocks = (hi - lo + BLOCK - 1) / BLOCK;
+
+        if (blocks <= 0) {
+            return;
+        }
+
+        final IntStream range = IntStream.range(0, blocks);
+
+        (parallel ? range.parallel() : range).forEach((blk) -> {
+                final Work<F> work = new Work<>(prototype);
+
+                try {
+                    task.run(lo + (blk * BLOCK),
+                             Math.min(hi, lo + ((blk + 1) * BLOCK)),
+                             work);
+                } finally {
+                    work.destroy();
+                }
+            });
+    }
+
+    /**
+     * Check that an entry is in range.
+     *
+     * @param row The row of the entry.
+     * @param col The column of the entry.
+     * @throws IndexOutOfBoundsException If the entry is out of range.
+     */
+    private void checkIndex(final int row,
+                            final int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Entry (" + row + ", " +
+                                                col + ") outside " +
+                                                rows + " x " + cols);
+        }
+    }
+
+    /**
+     * Check that another matrix has the same dimensions.
+     *
+     * @param b The other matrix.
+     * @throws IllegalArgumentException If the dimensions differ.
+     */
+    private void checkSameShape(final FieldMatrix<F> b) {
+        if (rows != b.rows || cols != b.cols) {
+            throw new IllegalArgumentException("Got " + rows + " x " +
+                                               cols + " and " + b.rows +
+                                               " x " + b.cols);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        final F entry = prototype.clone();
+
+        sb.append('[');
+
+        for(int i = 0; i < rows; i++) {
+            sb.append(i == 0 ? "[" : ", [");
+
+            for(int j = 0; j < cols; j++) {
+                if (j != 0) {
+                    sb.append(", ");
+                }
+
+                get(i, j, entry);
+                sb.append(entry);
+            }
+
+            sb.append(']');
+        }
+
+        entry.destroy();
+
+        return sb.append(']').toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        Arrays.fill(data, 0xffffffffffffffffL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        // Not constant-time, but this shouldn't matter.
+        for(int i = 0; i < data.length; i++) {
+            if (data[i] != 0xffffffffffffffffL) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A task run over a block of indices.
+     *
+     * @param <F> The type of the entries.
+     */
+    @FunctionalInterface
+    private interface BlockTask<F extends PrimeField<F>> {
+        /**
+         * Run the task.
+         *
+         * @param lo The first index of the block.
+         * @param hi One past the last index of the block.
+         * @param work The temporaries to use.
+         */
+        void run(final int lo,
+                 final int hi,
+                 final Work<F> work);
+    }
+
+    /**
+     * Temporaries and low-level operations on entries held as digits.
+     * Entry {@code i} of an array {@code a} is at {@code a[i *
+     * numDigits]}.  All stored entries are carried.
+     *
+     * @param <F> The type of the entries.
+     */
+    private static final class Work<F extends PrimeField<F>> {
+        final F t;
+        final F u;
+        final F acc;
+        final int numDigits;
+
+        /**
+         * Accumulators for a tile of a product, created on first use.
+         */
+        F[] tile;
+
+        Work(final F prototype) {
+            this.t = prototype.clone();
+            this.u = prototype.clone();
+            this.acc = prototype.clone();
+            this.numDigits = prototype.digits.length;
+        }
+
+        void load(final F v,
+                  final long[] a,
+                  final int idx) {
+            v.set(a, idx * numDigits);
+        }
+
+        void store(final F v,
+                   final long[] a,
+                   final int idx) {
+            System.arraycopy(v.digits, 0, a, idx * numDigits, numDigits);
+        }
+
+        /**
+         * Accumulate {@code sum(a[ao + i] * b[bo + i * bstride])} for
+         * {@code i} below {@code len} into {@code acc}, without
+         * carrying.
+         */
+        void dot(final long[] a,
+                 final int ao,
+                 final long[] b,
+                 final int bo,
+                 final int bstride,
+                 final int len) {
+            for(int i = 0; i < len; i++) {
+                load(t, a, ao + i);
+                load(u, b, bo + (i * bstride));
+                t.mul(u);
+                acc.addLazy(t);
+            }
+        }
+
+        /**
+         * Subtract {@code acc} from entry {@code idx} of {@code a}.
+         */
+        void subAcc(final long[] a,
+                    final int idx) {
+            acc.carry();
+            load(t, a, idx);
+            t.sub(acc);
+            store(t, a, idx);
+        }
+
+        /**
+         * Compute rows {@code lo} to {@code hi} of the product of
+         * {@code a} ({@code n} columns) and {@code b} ({@code m}
+         * columns), tile by tile.  Each entry of {@code a} is loaded
+         * once per tile, and multiplied along a contiguous run of a
+         * row of {@code b}.
+         */
+        void mulRows(final long[] a,
+                     final long[] b,
+                     final long[] out,
+                     final int lo,
+                     final int hi,
+                     final int n,
+                     final int m) {
+            if (tile == null) {
+                @SuppressWarnings("unchecked")
+                final F[] created =
+                    (F[])Array.newInstance(acc.getClass(), BLOCK * BLOCK);
+
+                for(int i = 0; i < created.length; i++) {
+                    created[i] = acc.clone();
+                }
+
+                tile = created;
+            }
+
+            for(int j0 = 0; j0 < m; j0 += BLOCK) {
+                final int j1 = Math.min(m, j0 + BLOCK);
+
+                for(int i = 0; i < tile.length; i++) {
+                    tile[i].set(0);
+                }
+
+                for(int k0 = 0; k0 < n; k0 += BLOCK) {
+                    final int k1 = Math.min(n, k0 + BLOCK);
+
+                    for(int i = lo; i < hi; i++) {
+                        final int row = (i - lo) * BLOCK;
+
+                        for(int k = k0; k < k1; k++) {
+                            load(u, a, (i * n) + k);
+
+                            for(int j = j0; j < j1; j++) {
+                                load(t, b, (k * m) + j);
+                                t.mul(u);
+                                tile[row + j - j0].addLazy(t);
+                            }
+                        }
+                    }
+                }
+
+                for(int i = lo; i < hi; i++) {
+                    for(int j = j0; j < j1; j++) {
+                        final F sum = tile[((i - lo) * BLOCK) + j - j0];
+
+                        sum.carry();
+                        store(sum, out, (i * m) + j);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Find the pivot for column {@code k}, swap its row into
+         * place, and normalize the panel part of that row.  The
+         * inverse of the pivot is kept in {@code pivots}.
+         *
+         * @throws IllegalArgumentException If the matrix is singular.
+         */
+        void pivot(final long[] a,
+                   final long[] pivots,
+                   final int width,
+                   final int n,
+                   final int k,
+                   final int k0,
+                   final int k1,
+                   final PrimeField.Scratchpad scratch) {
+            int row = k;
+
+            load(t, a, (row * width) + k);
+
+            while(t.isZero(scratch) != 0) {
+                row++;
+
+                if (row == n) {
+                    throw new IllegalArgumentException("Matrix is " +
+                                                       "singular");
+                }
+
+                load(t, a, (row * width) + k);
+            }
+
+            if (row != k) {
+                for(int c = 0; c < width; c++) {
+                    load(u, a, (row * width) + c);
+                    load(acc, a, (k * width) + c);
+                    store(u, a, (k * width) + c);
+                    store(acc, a, (row * width) + c);
+                }
+            }
+
+            t.inv(scratch);
+            store(t, pivots, k - k0);
+
+            for(int c = k; c < k1; c++) {
+                load(u, a, (k * width) + c);
+                u.mul(t);
+                store(u, a, (k * width) + c);
+            }
+        }
+
+        /**
+         * Eliminate column {@code k} from the panel part of rows
+         * {@code lo} to {@code hi}, leaving the multipliers in
+         * column {@code k}.
+         */
+        void eliminate(final long[] a,
+                       final int width,
+                       final int k,
+                       final int k1,
+                       final int lo,
+                       final int hi) {
+            for(int j = lo; j < hi; j++) {
+                load(acc, a, (j * width) + k);
+
+                for(int c = k + 1; c < k1; c++) {
+                    load(t, a, (k * width) + c);
+                    t.mul(acc);
+                    load(u, a, (j * width) + c);
+                    u.sub(t);
+                    store(u, a, (j * width) + c);
+                }
+            }
+        }
+
+        /**
+         * Complete columns {@code lo} to {@code hi} of the rows of
+         * the panel from {@code k0} to {@code k1}, by forward
+         * substitution with the multipliers below its diagonal, and
+         * normalize them by the inverted pivots.
+         */
+        void forward(final long[] a,
+                     final long[] pivots,
+                     final int width,
+                     final int k0,
+                     final int k1,
+                     final int lo,
+                     final int hi) {
+            for(int r = k0; r < k1; r++) {
+                for(int c = lo; c < hi; c++) {
+                    acc.set(0);
+                    dot(a, (r * width) + k0, a, (k0 * width) + c, width,
+                        r - k0);
+                    subAcc(a, (r * width) + c);
+                    load(t, a, (r * width) + c);
+                    load(u, pivots, r - k0);
+                    t.mul(u);
+                    store(t, a, (r * width) + c);
+                }
+            }
+        }
+
+        /**
+         * Update columns past {@code k1} of rows {@code lo} to {@code
+         * hi} with the panel from {@code k0} to {@code k1}.
+         */
+        void update(final long[] a,
+                    final int width,
+                    final int k0,
+                    final int k1,
+                    final int lo,
+                    final int hi) {
+            for(int j = lo; j < hi; j++) {
+                for(int c = k1; c < width; c++) {
+                    acc.set(0);
+                    dot(a, (j * width) + k0, a, (k0 * width) + c, width,
+                        k1 - k0);
+                    subAcc(a, (j * width) + c);
+                }
+            }
+        }
+
+        /**
+         * Back substitution for columns {@code lo} to {@code hi} of
+         * the right-hand side, once the left {@code n} columns are
+         * unit upper triangular.
+         */
+        void backward(final long[] a,
+                      final int width,
+                      final int n,
+                      final int lo,
+                      final int hi) {
+            for(int r = n - 2; r >= 0; r--) {
+                for(int c = lo; c < hi; c++) {
+                    acc.set(0);
+                    dot(a, (r * width) + r + 1, a,
+                        ((r + 1) * width) + c, width, n - r - 1);
+                    subAcc(a, (r * width) + c);
+                }
+            }
+        }
+
+        void destroy() {
+            t.destroy();
+            u.destroy();
+            acc.destroy();
+
+            if (tile != null) {
+                for(int i = 0; i < tile.length; i++) {
+                    tile[i].destroy();
+                }
+            }
+        }
+    }
+}
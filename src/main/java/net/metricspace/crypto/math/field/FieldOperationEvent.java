@@ -0,0 +1,97 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for an expensive field operation.  This class is only
+ * loaded when {@link Instrumentation} is enabled and JFR is present.
+ * <p>
+ * This is the only class that uses {@code jdk.jfr}, which is present
+ * from JDK 8u262 and JDK 11.  Building needs one of those, though the
+ * rest of the library runs on any Java 8.
+ *
+ * @see Instrumentation
+ */
+@Name("net.metricspace.crypto.math.field.FieldOperation")
+@Label("Field Operation")
+@Category({ "Cryptography", "Prime Fields" })
+@Description("An inversion, division, square root, Legendre symbol, " +
+             "or encoding of a prime field element")
+@StackTrace(false)
+final class FieldOperationEvent extends Event {
+    /**
+     * The simple name of the field class.
+     */
+    @Label("Field")
+    String field;
+
+    /**
+     * The name of the operation.
+     */
+    @Label("Operation")
+    String operation;
+
+    /**
+     * The time taken by the operation.
+     */
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    /**
+     * Emit an event, if the event type is enabled in the recording.
+     *
+     * @param field The field class.
+     * @param op The operation.
+     * @param elapsed The time taken, in nanoseconds.
+     */
+    static void emit(final Class<?> field,
+                     final Instrumentation.Operation op,
+                     final long elapsed) {
+        final FieldOperationEvent event = new FieldOperationEvent();
+
+        if (event.shouldCommit()) {
+            event.field = field.getSimpleName();
+            event.operation = op.name();
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+}
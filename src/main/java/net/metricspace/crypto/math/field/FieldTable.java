@@ -0,0 +1,289 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * A table of precomputed field elements, with constant-time lookup.
+ * <p>
+ * Fixed-window exponentiation, fixed-window scalar multiplication,
+ * and comb methods all need to read entry {@code i} of a table
+ * without revealing {@code i}.  The only way to do this is to read
+ * every entry and select the one that is needed with a mask.
+ * <p>
+ * A {@code FieldTable} holds {@code entries} entries, each of which
+ * is a tuple of {@code width} field elements (for example, the
+ * coordinates of a point).  All digits are stored contiguously in a
+ * single {@code long[]}, in the internal representation of the
+ * field, so a lookup is a single linear scan over one array with no
+ * per-entry object overhead.
+ *
+ * @param <V> The type of field element held in the table.
+ */
+public final class FieldTable<V extends PrimeField<V>>
+    implements Destroyable, AutoCloseable {
+    /**
+     * Digits of all entries, stored entry-by-entry, and then
+     * element-by-element within each entry.
+     */
+    private final long[] data;
+
+    /**
+     * Number of entries in the table.
+     */
+    private final int entries;
+
+    /**
+     * Number of field elements in each entry.
+     */
+    private final int width;
+
+    /**
+     * Number of digits in each field element.
+     */
+    private final int numDigits;
+
+    /**
+     * Create a {@code FieldTable} with space for a given number of
+     * entries.  All entries are initially zero.
+     *
+     * @param prototype Any element of the field, used only to
+     *                  determine the size of the internal
+     *                  representation.
+     * @param entries The number of entries.
+     * @param width The number of field elements in each entry.
+     */
+    public FieldTable(final V prototype,
+                      final int entries,
+                      final int width) {
+        this(prototype.digits.length, entries, width);
+    }
+
+    /**
+     * Create a {@code FieldTable} for elements with a given number of
+     * digits.  All entries are initially zero.
+     *
+     * @param numDigits The number of digits in each field element.
+     * @param entries The number of entries.
+     * @param width The number of field elements in each entry.
+     */
+    FieldTable(final int numDigits,
+               final int entries,
+               final int width) {
+        this.numDigits = numDigits;
+        this.entries = entries;
+        this.width = width;
+        this.data = new long[entries * width * numDigits];
+    }
+
+    /**
+     * Create a {@code FieldTable} with space for a given number of
+     * single-element entries.  All entries are initially zero.
+     *
+     * @param prototype Any element of the field, used only to
+     *                  determine the size of the internal
+     *                  representation.
+     * @param entries The number of entries.
+     */
+    public FieldTable(final V prototype,
+                      final int entries) {
+        this(prototype, entries, 1);
+    }
+
+    /**
+     * Get the number of entries in the table.
+     *
+     * @return The number of entries in the table.
+     */
+    public int entries() {
+        return entries;
+    }
+
+    /**
+     * Get the number of field elements in each entry.
+     *
+     * @return The number of field elements in each entry.
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Store an entry in the table.  This is <i>not</i> constant-time
+     * with respect to {@code idx}; table construction is expected to
+     * follow a fixed, public sequence of indexes.
+     *
+     * @param idx The index of the entry.
+     * @param values The field elements of the entry; there must be
+     *               exactly {@link #width()} of them.
+     * @throws IllegalArgumentException If the number of values is
+     *                                  not the width of the table.
+     */
+    @SafeVarargs
+    public final void set(final int idx,
+                          final V... values) {
+        if (values.length != width) {
+            throw new IllegalArgumentException("Expected " + width +
+                                               " values, got " +
+                                               values.length);
+        }
+
+        int off = idx * width * numDigits;
+
+        for(int i = 0; i < width; i++) {
+            System.arraycopy(values[i].digits, 0, data, off, numDigits);
+            off += numDigits;
+        }
+    }
+
+    /**
+     * Store the digits of a single-element entry.  This is used by
+     * field implementations that work on digit arrays directly.
+     *
+     * @param idx The index of the entry.
+     * @param digits The digits to store.
+     * @see #set(int, PrimeField...)
+     */
+    void setDigits(final int idx,
+                   final long[] digits) {
+        System.arraycopy(digits, 0, data, idx * numDigits, numDigits);
+    }
+
+    /**
+     * Read the digits of a single-element entry, in constant time
+     * with respect to {@code idx}.  This is used by field
+     * implementations that work on digit arrays directly.
+     *
+     * @param idx The index of the entry to read.
+     * @param out The array into which to write the digits.
+     * @see #lookup(int, PrimeField...)
+     */
+    void lookupDigits(final int idx,
+                      final long[] out) {
+        Arrays.fill(out, 0, numDigits, 0);
+
+        int off = 0;
+
+        for(int i = 0; i < entries; i++) {
+            final long diff = (i ^ idx) & 0xffffffffL;
+            final long mask = (diff - 1) >> 63;
+
+            for(int k = 0; k < numDigits; k++) {
+                out[k] |= data[off + k] & mask;
+            }
+
+            off += numDigits;
+        }
+    }
+
+    /**
+     * Read an entry from the table, in constant time with respect to
+     * {@code idx}.
+     * <p>
+     * Every entry is read, and each is combined into the outputs
+     * under a mask which is all {@code 1}s for the requested entry
+     * and all {@code 0}s for the others.  Neither the memory access
+     * pattern nor the control flow depend on {@code idx}.  If {@code
+     * idx} is out of range, the outputs are set to zero.
+     *
+     * @param idx The index of the entry to read.
+     * @param out The field elements into which to write the entry;
+     *            there must be exactly {@link #width()} of them.
+     * @throws IllegalArgumentException If the number of outputs is
+     *                                  not the width of the table.
+     */
+    @SafeVarargs
+    public final void lookup(final int idx,
+                             final V... out) {
+        if (out.length != width) {
+            throw new IllegalArgumentException("Expected " + width +
+                                               " outputs, got " +
+                                               out.length);
+        }
+
+        for(int i = 0; i < width; i++) {
+            Arrays.fill(out[i].digits, 0);
+        }
+
+        int off = 0;
+
+        for(int i = 0; i < entries; i++) {
+            // All 1s if i == idx, all 0s otherwise.
+            final long diff = (i ^ idx) & 0xffffffffL;
+            final long mask = (diff - 1) >> 63;
+
+            for(int j = 0; j < width; j++) {
+                final long[] digits = out[j].digits;
+
+                for(int k = 0; k < numDigits; k++) {
+                    digits[k] |= data[off + k] & mask;
+                }
+
+                off += numDigits;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        Arrays.fill(data, 0xffffffffffffffffL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        // Not constant-time, but this shouldn't matter.
+        for(int i = 0; i < data.length; i++) {
+            if (data[i] != 0xffffffffffffffffL) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,327 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Hashing of byte strings to field elements, as specified in RFC
+ * 9380.
+ * <p>
+ * This implements {@code expand_message_xmd} over a Merkle-Damgard
+ * hash function from the standard security providers, and {@code
+ * hash_to_field}, which cuts the expanded bytes into strings of
+ * {@code L = ceil((ceil(log2(p)) + k) / 8)} bytes, for a target
+ * security level of {@code k} bits, and reduces each one modulo the
+ * field's prime.  The extra {@code k} bits make the result
+ * statistically close to uniform.
+ * <p>
+ * The reduction is done with field arithmetic, not {@code
+ * BigInteger}: the big-endian string is cut into chunks of fewer
+ * bits than the modulus, which are combined by Horner's method in
+ * the field.  This runs in constant time for any given length.
+ * <p>
+ * A {@code HashToField} holds no mutable state, and may be shared
+ * between threads.
+ */
+public final class HashToField {
+    /**
+     * Longest domain separation tag used as is.  Longer tags are
+     * hashed first, as described in RFC 9380.
+     */
+    public static final int MAX_DST_BYTES = 255;
+
+    /**
+     * Prefix used when hashing an oversized domain separation tag.
+     */
+    private static final byte[] OVERSIZE_DST_PREFIX =
+        "H2C-OVERSIZE-DST-".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The name of the hash function.
+     */
+    private final String algorithm;
+
+    /**
+     * The input block size of the hash function, in bytes.
+     */
+    private final int blockBytes;
+
+    /**
+     * The output size of the hash function, in bytes.
+     */
+    private final int digestBytes;
+
+    /**
+     * The domain separation tag, followed by its length in one byte
+     * ({@code DST_prime} in RFC 9380).
+     */
+    private final byte[] dstPrime;
+
+    /**
+     * The target security level, in bits.
+     */
+    private final int securityBits;
+
+    /**
+     * Create a {@code HashToField}.
+     *
+     * @param algorithm The name of the hash function: one of {@code
+     *                  SHA-224}, {@code SHA-256}, {@code SHA-384},
+     *                  {@code SHA-512}, {@code SHA-512/224}, or {@code
+     *                  SHA-512/256}.
+     * @param dst The domain separation tag.
+     * @param securityBits The target security level {@code k}, in
+     *                     bits.
+     * @throws IllegalArgumentException If the hash function is not
+     *                                  supported, or the security
+     *                                  level is not positive.
+     */
+    public HashToField(final String algorithm,
+                       final byte[] dst,
+                       final int securityBits) {
+        if (securityBits <= 0) {
+            throw new IllegalArgumentException("Bad security level " +
+                                               securityBits);
+        }
+
+        this.algorithm = algorithm;
+        this.blockBytes = blockBytes(algorithm);
+        this.digestBytes = digest().getDigestLength();
+        this.securityBits = securityBits;
+
+        final byte[] tag;
+
+        if (dst.length > MAX_DST_BYTES) {
+            final MessageDigest md = digest();
+
+            md.update(OVERSIZE_DST_PREFIX);
+            md.update(dst);
+            tag = md.digest();
+        } else {
+            tag = dst;
+        }
+
+        this.dstPrime = Arrays.copyOf(tag, tag.length + 1);
+        this.dstPrime[tag.length] = (byte)tag.length;
+    }
+
+    /**
+     * Get the input block size of a supported hash function.
+     *
+     * @param algorithm The name of the hash function.
+     * @return The block size in bytes.
+     * @throws IllegalArgumentException If the hash function is not
+     *                                  supported.
+     */
+    private static int blockBytes(final String algorithm) {
+        switch(algorithm) {
+        case "SHA-224":
+        case "SHA-256":
+            return 64;
+        case "SHA-384":
+        case "SHA-512":
+        case "SHA-512/224":
+        case "SHA-512/256":
+            return 128;
+        default:
+            throw new IllegalArgumentException("Unsupported hash " +
+                                               algorithm);
+        }
+    }
+
+    /**
+     * Get a fresh instance of the hash function.
+     *
+     * @return A {@link MessageDigest}.
+     */
+    private MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch(final NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported hash " +
+                                               algorithm, e);
+        }
+    }
+
+    /**
+     * Expand a message into uniformly random bytes, using {@code
+     * expand_message_xmd}.
+     *
+     * @param msg The message.
+     * @param len The number of bytes to produce.
+     * @return The expanded bytes.
+     * @throws IllegalArgumentException If {@code len} is more than
+     *                                  {@code 255} hash outputs, or
+     *                                  more than {@code 65535}.
+     */
+    public byte[] expand(final byte[] msg,
+                         final int len) {
+        final int ell = (len + digestBytes - 1) / digestBytes;
+
+        if (ell > 255 || len > 65535 || len < 0) {
+            throw new IllegalArgumentException("Cannot expand to " + len +
+                                               " bytes");
+        }
+
+        final MessageDigest md = digest();
+        final byte[] out = new byte[ell * digestBytes];
+        final byte[] b0;
+        final byte[] bi = new byte[digestBytes];
+
+        // b_0 = H(Z_pad || msg || I2OSP(len, 2) || I2OSP(0, 1) || DST')
+        md.update(new byte[blockBytes]);
+        md.update(msg);
+        md.update((byte)(len >> 8));
+        md.update((byte)len);
+        md.update((byte)0);
+        md.update(dstPrime);
+        b0 = md.digest();
+
+        // b_i = H((b_0 XOR b_(i-1)) || I2OSP(i, 1) || DST')
+        for(int i = 1; i <= ell; i++) {
+            for(int j = 0; j < digestBytes; j++) {
+                bi[j] ^= b0[j];
+            }
+
+            md.update(bi);
+            md.update((byte)i);
+            md.update(dstPrime);
+            System.arraycopy(md.digest(), 0, bi, 0, digestBytes);
+            System.arraycopy(bi, 0, out, (i - 1) * digestBytes,
+                             digestBytes);
+        }
+
+        Arrays.fill(b0, (byte)0);
+        Arrays.fill(bi, (byte)0);
+
+        if (out.length == len) {
+            return out;
+        } else {
+            final byte[] trimmed = Arrays.copyOf(out, len);
+
+            Arrays.fill(out, (byte)0);
+
+            return trimmed;
+        }
+    }
+
+    /**
+     * Get the number of expanded bytes used for each element of a
+     * field, {@code L = ceil((ceil(log2(p)) + k) / 8)}.
+     *
+     * @param field Any element of the field.
+     * @return The number of bytes for each element.
+     */
+    public int elementBytes(final PrimeField<?> field) {
+        return (field.numBits() + securityBits + 7) / 8;
+    }
+
+    /**
+     * Hash a message to one or more field elements.
+     *
+     * @param <F> The type of field elements.
+     * @param msg The message.
+     * @param out The values into which to write the field elements.
+     *            All of them are derived from a single expansion of
+     *            the message.
+     */
+    public <F extends PrimeField<F>> void hash(final byte[] msg,
+                                               final F[] out) {
+        if (out.length == 0) {
+            return;
+        }
+
+        final int len = elementBytes(out[0]);
+        final byte[] bytes = expand(msg, len * out.length);
+
+        for(int i = 0; i < out.length; i++) {
+            reduce(bytes, i * len, len, out[i]);
+        }
+
+        Arrays.fill(bytes, (byte)0);
+    }
+
+    /**
+     * Reduce a big-endian byte string of any length modulo the
+     * field's prime.
+     * <p>
+     * The string is cut into chunks of {@code (numBits - 1) / 8}
+     * bytes, each of which is less than the modulus, starting from
+     * the low end.  These are combined as {@code out = out * 2^(8 *
+     * chunk) + next}, highest first.
+     *
+     * @param <F> The type of field element.
+     * @param bytes The array holding the string.
+     * @param idx The index at which the string starts.
+     * @param len The length of the string.
+     * @param out The value into which to write the result.
+     */
+    public static <F extends PrimeField<F>> void reduce(final byte[] bytes,
+                                                        final int idx,
+                                                        final int len,
+                                                        final F out) {
+        final int chunkBytes = (out.numBits() - 1) / 8;
+        final byte[] buf = new byte[(out.numBits() + 7) / 8];
+        final F shift = out.clone();
+        final F chunk = out.clone();
+        int pos = idx;
+
+        // 2^(8 * chunkBytes), which is less than the modulus.
+        buf[chunkBytes] = 1;
+        shift.set(0);
+        shift.unpack(buf);
+        buf[chunkBytes] = 0;
+        out.set(0);
+
+        for(int size = ((len - 1) % chunkBytes) + 1; pos < idx + len;
+            size = chunkBytes) {
+            // Reverse the chunk into the little-endian buffer.
+            for(int i = 0; i < size; i++) {
+                buf[i] = bytes[pos + size - 1 - i];
+            }
+
+            chunk.set(0);
+            chunk.unpack(buf);
+            out.mul(shift);
+            out.add(chunk);
+            pos += size;
+        }
+
+        Arrays.fill(buf, (byte)0);
+        shift.destroy();
+        chunk.destroy();
+    }
+}
@@ -0,0 +1,411 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Opt-in instrumentation of the expensive field operations:
+ * inversion, division, square roots, Legendre symbols, and packing
+ * and unpacking.
+ * <p>
+ * Instrumentation is enabled by setting the system property {@link
+ * #PROPERTY} to {@code true}.  It is read once, into the constant
+ * {@link #ENABLED}, so when it is disabled the JIT folds the hooks
+ * away entirely.
+ * <p>
+ * When enabled, every operation increments a {@link LongAdder}
+ * counter for its field class.  The counters for each field class
+ * are registered with the platform MBean server under {@code
+ * net.metricspace.crypto.math.field:type=FieldOperations,name=}
+ * followed by the simple class name.  If JFR is available, each
+ * operation also emits a {@code
+ * net.metricspace.crypto.math.field.FieldOperation} event, carrying
+ * the field, the operation, and the time it took.
+ * <p>
+ * Only the operation counts and timings are recorded, never values.
+ * The timings do depend on the operation and field, but never on the
+ * values, as the operations are constant-time.
+ */
+public final class Instrumentation {
+    /**
+     * The instrumented operations.
+     */
+    public enum Operation {
+        /**
+         * {@link PrimeField#inv}.
+         */
+        INV,
+        /**
+         * {@link PrimeField#div(PrimeField)} and {@link
+         * PrimeField#div(int)}.
+         */
+        DIV,
+        /**
+         * {@link PrimeField#sqrt}.
+         */
+        SQRT,
+        /**
+         * {@link PrimeField#invSqrt}.
+         */
+        INV_SQRT,
+        /**
+         * {@link PrimeField#legendre}.
+         */
+        LEGENDRE,
+        /**
+         * {@code legendreQuartic}, on fields that provide it.
+         */
+        LEGENDRE_QUARTIC,
+        /**
+         * {@link PrimeField#pack} and {@link PrimeField#packed}.
+         */
+        PACK,
+        /**
+         * {@link PrimeField#unpack}.
+         */
+        UNPACK
+    }
+
+    /**
+     * Management interface for the counters of one field class.
+     */
+    public interface FieldOperationsMBean {
+        /**
+         * Get the number of inversions.
+         *
+         * @return The number of inversions.
+         */
+        public long getInversions();
+
+        /**
+         * Get the number of divisions.
+         *
+         * @return The number of divisions.
+         */
+        public long getDivisions();
+
+        /**
+         * Get the number of square roots.
+         *
+         * @return The number of square roots.
+         */
+        public long getSquareRoots();
+
+        /**
+         * Get the number of inverse square roots.
+         *
+         * @return The number of inverse square roots.
+         */
+        public long getInverseSquareRoots();
+
+        /**
+         * Get the number of Legendre symbols.
+         *
+         * @return The number of Legendre symbols.
+         */
+        public long getLegendreSymbols();
+
+        /**
+         * Get the number of quartic Legendre symbols.
+         *
+         * @return The number of quartic Legendre symbols.
+         */
+        public long getQuarticLegendreSymbols();
+
+        /**
+         * Get the number of packing operations.
+         *
+         * @return The number of packing operations.
+         */
+        public long getPacks();
+
+        /**
+         * Get the number of unpacking operations.
+         *
+         * @return The number of unpacking operations.
+         */
+        public long getUnpacks();
+
+        /**
+         * Reset all counters to zero.
+         */
+        public void reset();
+    }
+
+    /**
+     * Counters for one field class.
+     */
+    private static final class FieldOperations
+        implements FieldOperationsMBean {
+        /**
+         * One counter per operation, indexed by ordinal.
+         */
+        private final LongAdder[] counters =
+            new LongAdder[Operation.values().length];
+
+        FieldOperations() {
+            for(int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+
+        long get(final Operation op) {
+            return counters[op.ordinal()].sum();
+        }
+
+        void increment(final Operation op) {
+            counters[op.ordinal()].increment();
+        }
+
+        @Override
+        public long getInversions() {
+            return get(Operation.INV);
+        }
+
+        @Override
+        public long getDivisions() {
+            return get(Operation.DIV);
+        }
+
+        @Override
+        public long getSquareRoots() {
+            return get(Operation.SQRT);
+        }
+
+        @Override
+        public long getInverseSquareRoots() {
+            return get(Operation.INV_SQRT);
+        }
+
+        @Override
+        public long getLegendreSymbols() {
+            return get(Operation.LEGENDRE);
+        }
+
+        @Override
+        public long getQuarticLegendreSymbols() {
+            return get(Operation.LEGENDRE_QUARTIC);
+        }
+
+        @Override
+        public long getPacks() {
+            return get(Operation.PACK);
+        }
+
+        @Override
+        public long getUnpacks() {
+            return get(Operation.UNPACK);
+        }
+
+        @Override
+        public void reset() {
+            for(final LongAdder counter : counters) {
+                counter.reset();
+            }
+        }
+    }
+
+    /**
+     * System property enabling instrumentation.
+     */
+    public static final String PROPERTY =
+        "net.metricspace.crypto.math.field.instrumentation";
+
+    /**
+     * Whether instrumentation is enabled.  Read once, when the class
+     * is initialized.
+     *
+     * @see #PROPERTY
+     */
+    public static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty(PROPERTY, "false"));
+
+    /**
+     * Domain of the registered MBeans.
+     */
+    static final String DOMAIN = "net.metricspace.crypto.math.field";
+
+    /**
+     * Whether to emit JFR events.  JFR is only touched if
+     * instrumentation is enabled, so runtimes without it are
+     * unaffected otherwise.
+     */
+    private static final boolean JFR = ENABLED && jfrAvailable();
+
+    /**
+     * Counters for each field class.
+     */
+    private static final ConcurrentMap<Class<?>, FieldOperations>
+        COUNTERS = new ConcurrentHashMap<>();
+
+    private Instrumentation() {}
+
+    /**
+     * Check whether the JFR event API is present.
+     *
+     * @return Whether JFR events can be emitted.
+     */
+    private static boolean jfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+
+            return true;
+        } catch(final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Start timing an operation.
+     *
+     * @return The start time, or {@code 0} if instrumentation is
+     *         disabled.
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record an operation, if instrumentation is enabled.
+     *
+     * @param value The value on which the operation was performed.
+     * @param op The operation.
+     * @param start The time returned by {@link #start()}.
+     */
+    static void record(final PrimeField<?> value,
+                       final Operation op,
+                       final long start) {
+        if (ENABLED) {
+            increment(value.getClass(), op, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Count an operation, and emit a JFR event for it.
+     *
+     * @param field The field class.
+     * @param op The operation.
+     * @param elapsed The time taken, in nanoseconds.
+     */
+    static void increment(final Class<?> field,
+                          final Operation op,
+                          final long elapsed) {
+        counters(field).increment(op);
+
+        if (JFR) {
+            FieldOperationEvent.emit(field, op, elapsed);
+        }
+    }
+
+    /**
+     * Get the number of times an operation has been performed on a
+     * field class since the last reset.  This is always {@code 0} if
+     * instrumentation is disabled.
+     *
+     * @param field The field class.
+     * @param op The operation.
+     * @return The number of times the operation has been performed.
+     */
+    public static long count(final Class<? extends PrimeField<?>> field,
+                             final Operation op) {
+        final FieldOperations counters = COUNTERS.get(field);
+
+        return counters == null ? 0 : counters.get(op);
+    }
+
+    /**
+     * Reset all counters for all field classes.
+     */
+    public static void reset() {
+        for(final FieldOperations counters : COUNTERS.values()) {
+            counters.reset();
+        }
+    }
+
+    /**
+     * Get the name under which the counters for a field class are
+     * registered.
+     *
+     * @param field The field class.
+     * @return The name of the MBean.
+     * @throws JMException If the name is malformed.
+     */
+    static ObjectName objectName(final Class<?> field)
+        throws JMException {
+        return new ObjectName(DOMAIN + ":type=FieldOperations,name=" +
+                              field.getSimpleName());
+    }
+
+    /**
+     * Get the counters for a field class, creating and registering
+     * them on first use.
+     *
+     * @param field The field class.
+     * @return The counters.
+     */
+    private static FieldOperations counters(final Class<?> field) {
+        final FieldOperations existing = COUNTERS.get(field);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        final FieldOperations created = new FieldOperations();
+        final FieldOperations prev = COUNTERS.putIfAbsent(field, created);
+
+        if (prev != null) {
+            return prev;
+        }
+
+        try {
+            final MBeanServer server =
+                ManagementFactory.getPlatformMBeanServer();
+
+            server.registerMBean(new StandardMBean(created,
+                                                   FieldOperationsMBean.class),
+                                 objectName(field));
+        } catch(final JMException | SecurityException e) {
+            // The counters still work without JMX.
+        }
+
+        return created;
+    }
+}
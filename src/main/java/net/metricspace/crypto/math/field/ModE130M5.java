@@ -44,7 +44,7 @@ import java.util.Arrays;
  * This field is the foundation of the Poly1305 MAC.
  */
 public final class ModE130M5 extends PrimeField<ModE130M5> {
-    private static final ThreadLocal<Scratchpad> scratchpads =
+    static final ThreadLocal<Scratchpad> scratchpads =
         new ThreadLocal<Scratchpad>() {
             @Override
             public Scratchpad initialValue() {
@@ -136,6 +136,20 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      */
     static final byte C_VAL = 5;
 
+    /**
+     * Largest bound for lazy operations.  This is the largest multiple
+     * of carried digits for which the worst-case inputs to {@code
+     * mulDigits} and {@code squareDigits} do not overflow, as derived
+     * in {@code PrimeField.maxLazyBound}.  The middle column needs
+     * {@code 2 * k^2 + 9 < 2^(63 - 58) = 32}, so {@code k <= 3}.  The
+     * reduction needs {@code 5 * k^2 < 2^(61 - 14)}, so {@code
+     * k <= 5305421}.
+     *
+     * @see #lazyBound()
+     */
+    static final int LAZY_BOUND =
+        maxLazyBound(NUM_DIGITS, DIGIT_BITS, C_VAL, 61 - HIGH_DIGIT_BITS);
+
     /**
      * Data for the value {@code 0}.
      */
@@ -209,13 +223,18 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
 
     /**
      * Initialize a {@code ModE130M5} with the given digits array.
-     * The array is <i>not</i> copied.
+     * The array is <i>not</i> copied, but its digits are carried, as
+     * every new value has bound {@code 1}.  The digits may be larger
+     * than those of a carried value, as long as the carry out of the
+     * high digit fits in a {@code short}.
      *
      * @param data The data to initialize the {@code ModE130M5}.
      * @see #digits
+     * @see #bound()
      */
     ModE130M5(final long[] data) {
         super(data);
+        addDigits(data, 0, data);
     }
 
     /**
@@ -287,7 +306,11 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      */
     @Override
     public ModE130M5 clone() {
-        return create(digits);
+        final ModE130M5 out = new ModE130M5();
+
+        out.set(this);
+
+        return out;
     }
 
     /**
@@ -306,6 +329,14 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
         return NUM_BITS;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int digitBits() {
+        return DIGIT_BITS;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -338,6 +369,22 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
         return MUL_DIGIT_MASK;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lazyBound() {
+        return LAZY_BOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long[] modulusDigits() {
+        return MODULUS_DATA;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -373,6 +420,7 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
     @Override
     public void add(final long b) {
         addDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -381,6 +429,36 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
     @Override
     public void neg() {
         subDigits(ZERO_DATA, digits, digits);
+        bound = 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cmov(final ModE130M5 src,
+                     final long bit) {
+        cmovDigits(digits, src.digits, bit);
+        bound = Math.max(bound, src.bound);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cswap(final ModE130M5 other,
+                      final long bit) {
+        cswapDigits(digits, other.digits, bit);
+        bound = Math.max(bound, other.bound);
+        other.bound = bound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cneg(final long bit) {
+        cnegDigits(digits, bit);
     }
 
     /**
@@ -397,6 +475,7 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
     @Override
     public void sub(final long b) {
         subDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -412,6 +491,10 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      */
     @Override
     public void mul(final int b) {
+        if (bound > 1) {
+            carry();
+        }
+
         mulDigits(digits, b, digits);
     }
 
@@ -421,6 +504,7 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
     @Override
     public void square() {
         squareDigits(digits);
+        bound = 1;
     }
 
     /**
@@ -433,7 +517,10 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      */
     @Override
     public void inv(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV, start);
     }
 
     /**
@@ -459,8 +546,8 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * {@inheritDoc}
      */
     @Override
-    public void div(final int b,
-                    final Scratchpad scratch) {
+    protected void divInverse(final int b,
+                              final Scratchpad scratch) {
         initDigits(scratch.d2, b);
         invDigits(scratch.d2, scratch);
         mul(scratch.d2);
@@ -501,25 +588,10 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
     @Override
     public void unpack(final byte[] bytes,
                        final int idx) {
-        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L) |
-                    (((long)bytes[7 + idx] << 56) & 0x0300000000000000L);
-        digits[1] = (((long)bytes[7 + idx] >> 2) & 0x000000000000003fL) |
-                    (((long)bytes[8 + idx] << 6) & 0x0000000000003fc0L) |
-                    (((long)bytes[9 + idx] << 14) & 0x00000000003fc000L) |
-                    (((long)bytes[10 + idx] << 22) & 0x000000003fc00000L) |
-                    (((long)bytes[11 + idx] << 30) & 0x0000003fc0000000L) |
-                    (((long)bytes[12 + idx] << 38) & 0x00003fc000000000L) |
-                    (((long)bytes[13 + idx] << 46) & 0x003fc00000000000L) |
-                    (((long)bytes[14 + idx] << 54) & 0x03c0000000000000L);
-        digits[2] = (((long)bytes[14 + idx] >> 4) & 0x000000000000000fL) |
-                    (((long)bytes[15 + idx] << 4) & 0x0000000000000ff0L) |
-                    (((long)bytes[16 + idx] << 12) & 0x0000000000003000L);
+        final long start = Instrumentation.start();
+
+        unpackDigits(bytes, idx, digits);
+        Instrumentation.record(this, Instrumentation.Operation.UNPACK, start);
     }
 
     /**
@@ -563,7 +635,10 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      */
     @Override
     public void sqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         sqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.SQRT, start);
     }
 
     /**
@@ -585,7 +660,10 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      */
     @Override
     public void invSqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invSqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV_SQRT, start);
     }
 
     /**
@@ -608,6 +686,8 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      */
     @Override
     public byte legendre(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         System.arraycopy(digits, 0, scratch.d2, 0, NUM_DIGITS);
 
         legendrePowerDigits(scratch.d2, scratch);
@@ -618,6 +698,7 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
         final byte offset = (byte)(C_VAL * sign);
         final byte result = (byte)(low + offset);
 
+        Instrumentation.record(this, Instrumentation.Operation.LEGENDRE, start);
         return result;
     }
 
@@ -634,26 +715,113 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
 
     /**
      * Perform normalization on low-level representations.
+     * <p>
+     * The carry-out of the high digit is first folded into the low
+     * digit as a multiple of {@code C_VAL}.  That can carry or borrow
+     * out of the high digit once more, by at most one, so the fold is
+     * repeated, which leaves a value between {@code 0} and {@code
+     * 2^NUM_BITS}.  The modulus is then subtracted if the value plus
+     * {@code C_VAL} carries out of the high digit, which is selected
+     * in constant time.
      *
      * @param digits The low-level representation.
      * @param scratch The scratchpad to use.
      * @see #normalize
      */
-    private static void normalizeDigits(final long[] digits,
-                                        final Scratchpad scratch) {
-        final long[] offset = scratch.d0;
+    static void normalizeDigits(final long[] digits,
+                                final Scratchpad scratch) {
         final long[] plusc = scratch.d1;
 
-        System.arraycopy(MODULUS_DATA, 0, offset, 0, NUM_DIGITS);
-        System.arraycopy(digits, 0, plusc, 0, NUM_DIGITS);
-        addDigits(plusc, C_VAL, plusc);
-        mulDigits(offset, carryOut(plusc), offset);
-        subDigits(digits, offset, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, C_VAL, plusc);
+
+        final long bit = carryOut(plusc);
+
+        plusc[NUM_DIGITS - 1] &= HIGH_DIGIT_MASK;
+        cmovDigits(digits, plusc, bit);
+    }
+
+    /**
+     * Low-level constant-time conditional move.  Overwrites {@code a}
+     * with {@code b} if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The digit array to overwrite.
+     * @param b The digit array to select.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cmovDigits(final long[] a,
+                           final long[] b,
+                           final long bit) {
+        final long mask = -bit;
+
+        a[0] ^= (a[0] ^ b[0]) & mask;
+        a[1] ^= (a[1] ^ b[1]) & mask;
+        a[2] ^= (a[2] ^ b[2]) & mask;
     }
 
-    private static void packDigits(final long[] digits,
-                                   final byte[] bytes,
-                                   final int idx) {
+    /**
+     * Low-level constant-time conditional swap.  Exchanges the
+     * contents of {@code a} and {@code b} if {@code bit} is {@code
+     * 1}, and leaves both unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The first digit array.
+     * @param b The second digit array.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cswapDigits(final long[] a,
+                            final long[] b,
+                            final long bit) {
+        final long mask = -bit;
+        final long x0 = (a[0] ^ b[0]) & mask;
+        final long x1 = (a[1] ^ b[1]) & mask;
+        final long x2 = (a[2] ^ b[2]) & mask;
+
+        a[0] ^= x0;
+        b[0] ^= x0;
+        a[1] ^= x1;
+        b[1] ^= x1;
+        a[2] ^= x2;
+        b[2] ^= x2;
+    }
+
+    /**
+     * Low-level constant-time conditional negation.  Negates {@code
+     * digits} in place if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     * <p>
+     * This is the same carry chain as {@link #subDigits(long[],
+     * long[], long[])} with a zero LHS, except that each digit (and
+     * the carry-in) is passed through {@code (x ^ mask) - mask}, which
+     * is {@code -x} when the mask is all {@code 1}s and {@code x} when
+     * it is all {@code 0}s.
+     *
+     * @param digits The digit array to conditionally negate.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cnegDigits(final long[] digits,
+                           final long bit) {
+        final long mask = -bit;
+        final long a0 = digits[0] ^ mask;
+        final long a1 = digits[1] ^ mask;
+        final long a2 = (digits[2] & HIGH_DIGIT_MASK) ^ mask;
+
+        final long cin = (carryOut(digits) ^ mask) - mask;
+        final long s0 = a0 + bit + (cin * C_VAL);
+        final long c0 = s0 >> DIGIT_BITS;
+        final long s1 = a1 + bit + c0;
+        final long c1 = s1 >> DIGIT_BITS;
+        final long s2 = a2 + bit + c1;
+
+        digits[0] = s0 & DIGIT_MASK;
+        digits[1] = s1 & DIGIT_MASK;
+        digits[2] = s2;
+    }
+
+    static void packDigits(final long[] digits,
+                           final byte[] bytes,
+                           final int idx) {
         bytes[0 + idx] = (byte)(digits[0] & 0xff);
         bytes[1 + idx] = (byte)((digits[0] >> 8) & 0xff);
         bytes[2 + idx] = (byte)((digits[0] >> 16) & 0xff);
@@ -675,6 +843,37 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
         bytes[16 + idx] = (byte)((digits[2] >> 12) & 0x03);
     }
 
+    /**
+     * Low-level unpacking from a little-endian byte representation.
+     *
+     * @param bytes The array from which to read.
+     * @param idx Index at which to start.
+     * @param digits The digits array into which to write.
+     */
+    static void unpackDigits(final byte[] bytes,
+                             final int idx,
+                             final long[] digits) {
+        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L) |
+                    (((long)bytes[7 + idx] << 56) & 0x0300000000000000L);
+        digits[1] = (((long)bytes[7 + idx] >> 2) & 0x000000000000003fL) |
+                    (((long)bytes[8 + idx] << 6) & 0x0000000000003fc0L) |
+                    (((long)bytes[9 + idx] << 14) & 0x00000000003fc000L) |
+                    (((long)bytes[10 + idx] << 22) & 0x000000003fc00000L) |
+                    (((long)bytes[11 + idx] << 30) & 0x0000003fc0000000L) |
+                    (((long)bytes[12 + idx] << 38) & 0x00003fc000000000L) |
+                    (((long)bytes[13 + idx] << 46) & 0x003fc00000000000L) |
+                    (((long)bytes[14 + idx] << 54) & 0x03c0000000000000L);
+        digits[2] = (((long)bytes[14 + idx] >> 4) & 0x000000000000000fL) |
+                    (((long)bytes[15 + idx] << 4) & 0x0000000000000ff0L) |
+                    (((long)bytes[16 + idx] << 12) & 0x0000000000003000L);
+    }
+
     /**
      * Low-level digits addition.  It <i>is</i> safe to specify the same
      * array as both an input and an output.
@@ -683,9 +882,9 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2] & HIGH_DIGIT_MASK;
@@ -714,9 +913,9 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2] & HIGH_DIGIT_MASK;
@@ -741,9 +940,9 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2] & HIGH_DIGIT_MASK;
@@ -772,9 +971,9 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2] & HIGH_DIGIT_MASK;
@@ -799,9 +998,9 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -912,6 +1111,179 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
         out[2] = s2_0;
     }
 
+    /**
+     * Low-level digits addition over interleaved lanes.  Digit {@code
+     * i} of lane {@code l} is stored at index {@code i * lanes + l},
+     * so that each digit position of all the lanes is contiguous.  It
+     * <i>is</i> safe to specify the same array as both an input and an
+     * output.
+     *
+     * @param a The LHS lane array.
+     * @param b The RHS lane array.
+     * @param out The lane array into which to write the result.
+     * @param lanes The number of lanes.
+     */
+    static void addLanes(final long[] a,
+                         final long[] b,
+                         final long[] out,
+                         final int lanes) {
+        for(int l = 0; l < lanes; l++) {
+            final int i0 = l;
+            final int i1 = l + lanes;
+            final int i2 = l + (2 * lanes);
+            final long a0 = a[i0];
+            final long a1 = a[i1];
+            final long a2 = a[i2] & HIGH_DIGIT_MASK;
+
+            final long b0 = b[i0];
+            final long b1 = b[i1];
+            final long b2 = b[i2] & HIGH_DIGIT_MASK;
+
+            final long cin = (a[i2] >> HIGH_DIGIT_BITS) +
+                             (b[i2] >> HIGH_DIGIT_BITS);
+            final long s0 = a0 + b0 + (cin * C_VAL);
+            final long c0 = s0 >> DIGIT_BITS;
+            final long s1 = a1 + b1 + c0;
+            final long c1 = s1 >> DIGIT_BITS;
+            final long s2 = a2 + b2 + c1;
+
+            out[i0] = s0 & DIGIT_MASK;
+            out[i1] = s1 & DIGIT_MASK;
+            out[i2] = s2;
+        }
+    }
+
+    /**
+     * Low-level digits multiplication over interleaved lanes, laid
+     * out as for {@link #addLanes}.  The lanes are independent, so
+     * the processor can overlap the multiplications of one lane with
+     * those of the next.  It <i>is</i> safe to specify the same array
+     * as both an input and an output.
+     *
+     * @param a The LHS lane array.
+     * @param b The RHS lane array.
+     * @param out The lane array into which to write the result.
+     * @param lanes The number of lanes.
+     */
+    static void mulLanes(final long[] a,
+                         final long[] b,
+                         final long[] out,
+                         final int lanes) {
+        for(int l = 0; l < lanes; l++) {
+            final int i0 = l;
+            final int i1 = l + lanes;
+            final int i2 = l + (2 * lanes);
+            final long a0 = a[i0] & MUL_DIGIT_MASK;
+            final long a1 = a[i0] >> MUL_DIGIT_BITS;
+            final long a2 = a[i1] & MUL_DIGIT_MASK;
+            final long a3 = a[i1] >> MUL_DIGIT_BITS;
+            final long a4 = a[i2];
+
+            final long b0 = b[i0] & MUL_DIGIT_MASK;
+            final long b1 = b[i0] >> MUL_DIGIT_BITS;
+            final long b2 = b[i1] & MUL_DIGIT_MASK;
+            final long b3 = b[i1] >> MUL_DIGIT_BITS;
+            final long b4 = b[i2];
+
+            // Combined multiples
+            final long m_0_0 = a0 * b0;
+            final long m_0_1 = a0 * b1;
+            final long m_0_2 = a0 * b2;
+            final long m_0_3 = a0 * b3;
+            final long m_0_4 = a0 * b4;
+            final long m_1_0 = a1 * b0;
+            final long m_1_1 = a1 * b1;
+            final long m_1_2 = a1 * b2;
+            final long m_1_3 = a1 * b3;
+            final long m_1_4 = a1 * b4;
+            final long m_2_0 = a2 * b0;
+            final long m_2_1 = a2 * b1;
+            final long m_2_2 = a2 * b2;
+            final long m_2_3 = a2 * b3;
+            final long m_2_4 = a2 * b4;
+            final long m_3_0 = a3 * b0;
+            final long m_3_1 = a3 * b1;
+            final long m_3_2 = a3 * b2;
+            final long m_3_3 = a3 * b3;
+            final long m_3_4 = a3 * b4;
+            final long m_4_0 = a4 * b0;
+            final long m_4_1 = a4 * b1;
+            final long m_4_2 = a4 * b2;
+            final long m_4_3 = a4 * b3;
+            final long m_4_4 = a4 * b4;
+
+            // Compute the combined product using 64-bit operations.
+            final long d0 =
+                m_0_0 + ((m_0_1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                ((m_1_0 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+            final long c0 = d0 >> DIGIT_BITS;
+            final long d1 =
+                (m_0_1 >> MUL_DIGIT_BITS) + m_0_2 +
+                ((m_0_3 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                (m_1_0 >> MUL_DIGIT_BITS) + m_1_1 +
+                ((m_1_2 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                m_2_0 + ((m_2_1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                ((m_3_0 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                c0;
+            final long c1 = d1 >> DIGIT_BITS;
+            final long d2 =
+                (m_0_3 >> MUL_DIGIT_BITS) + m_0_4 +
+                (m_1_2 >> MUL_DIGIT_BITS) + m_1_3 +
+                ((m_1_4 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                (m_2_1 >> MUL_DIGIT_BITS) + m_2_2 +
+                ((m_2_3 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                (m_3_0 >> MUL_DIGIT_BITS) + m_3_1 +
+                ((m_3_2 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                m_4_0 + ((m_4_1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                c1;
+            final long c2 = d2 >> DIGIT_BITS;
+            final long d3 =
+                (m_1_4 >> MUL_DIGIT_BITS) +
+                (m_2_3 >> MUL_DIGIT_BITS) + m_2_4 +
+                (m_3_2 >> MUL_DIGIT_BITS) + m_3_3 +
+                ((m_3_4 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                (m_4_1 >> MUL_DIGIT_BITS) + m_4_2 +
+                ((m_4_3 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
+                c2;
+            final long c3 = d3 >> DIGIT_BITS;
+            final long d4 =
+                (m_3_4 >> MUL_DIGIT_BITS) +
+                (m_4_3 >> MUL_DIGIT_BITS) + m_4_4 +
+                c3;
+
+            // Modular reduction by a pseudo-mersenne prime of the form 2^n - c.
+
+            // These are the n low-order
+            final long l0_0 = d0 & DIGIT_MASK;
+            final long l1_0 = d1 & DIGIT_MASK;
+            final long l2_0 = d2 & HIGH_DIGIT_MASK;
+
+            // Shift the high bits down into another n-bit number.
+            final long h0_0 = ((d2 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                              ((d3 & HIGH_DIGIT_MASK) << 44);
+            final long h1_0 = ((d3 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                              ((d4 & HIGH_DIGIT_MASK) << 44);
+            final long h2_0 = d4 >> HIGH_DIGIT_BITS;
+
+            // Multiply by C
+            final long hc0_0 = h0_0 * C_VAL;
+            final long hc1_0 = h1_0 * C_VAL;
+            final long hc2_0 = h2_0 * C_VAL;
+
+            // Add h and l.
+            final long kin_0 = hc2_0 >> HIGH_DIGIT_BITS;
+            final long s0_0 = l0_0 + hc0_0 + (kin_0 * C_VAL);
+            final long k0_0 = s0_0 >> DIGIT_BITS;
+            final long s1_0 = l1_0 + hc1_0 + k0_0;
+            final long k1_0 = s1_0 >> DIGIT_BITS;
+            final long s2_0 = l2_0 + (hc2_0 & HIGH_DIGIT_MASK) + k1_0;
+
+            out[i0] = s0_0 & DIGIT_MASK;
+            out[i1] = s1_0 & DIGIT_MASK;
+            out[i2] = s2_0;
+        }
+    }
+
     /**
      * Low-level digit-small value multiplication.  It <i>is</i> safe
      * to specify the same array as both an input and an output.
@@ -920,9 +1292,9 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final int b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final int b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -966,7 +1338,7 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      *
      * @param digits The digits array to square.
      */
-    private static void squareDigits(final long[] digits) {
+    static void squareDigits(final long[] digits) {
         final long a0 = digits[0] & MUL_DIGIT_MASK;
         final long a1 = digits[0] >> MUL_DIGIT_BITS;
         final long a2 = digits[1] & MUL_DIGIT_MASK;
@@ -1077,8 +1449,8 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param digits The digits array to invert.
      * @param scratch The scratchpad to use.
      */
-    private static void invDigits(final long[] digits,
-                                  final Scratchpad scratch) {
+    static void invDigits(final long[] digits,
+                          final Scratchpad scratch) {
         // First digit is 1.
         final long[] sqval = scratch.d0;
 
@@ -1101,8 +1473,8 @@ public final class ModE130M5 extends PrimeField<ModE130M5> {
      * @param digits The digits array to initalize.
      * @param val The {@code int} from which to initialize.
      */
-    private static void initDigits(final long[] digits,
-                                   final int val) {
+    static void initDigits(final long[] digits,
+                           final int val) {
         Arrays.fill(digits, 0);
         addDigits(digits, val, digits);
     }
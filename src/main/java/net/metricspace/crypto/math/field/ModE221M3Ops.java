@@ -0,0 +1,480 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+/**
+ * Static, allocation-free arithmetic on {@link ModE221M3} values held in
+ * caller-owned {@code long[]} arrays.
+ * <p>
+ * Each value occupies {@link #DIGITS} consecutive elements, starting
+ * at a caller-chosen offset, in the same representation as {@link
+ * ModE221M3}.  These methods call the field's own kernels directly, so
+ * code over flat arrays of one field stays monomorphic, however many
+ * fields are in use elsewhere.
+ * <p>
+ * Every method is constant-time: control flow and memory access
+ * depend only on the offsets and {@code int} arguments, never on the
+ * values.  Operands and results may overlap.  Operands are copied
+ * into the {@code Scratchpad}, which must come from {@link
+ * #scratchpad()} or {@link ModE221M3#scratchpad()}, so nothing is
+ * allocated.
+ */
+public final class ModE221M3Ops {
+    /**
+     * Number of {@code long}s in a value.
+     */
+    public static final int DIGITS = ModE221M3.NUM_DIGITS;
+
+    /**
+     * Number of bytes in a packed value.
+     */
+    public static final int PACKED_BYTES = ModE221M3.PACKED_BYTES;
+
+    private ModE221M3Ops() {}
+
+    /**
+     * Get the current thread's scratchpad for this field.
+     *
+     * @return A scratchpad.
+     */
+    public static PrimeField.Scratchpad scratchpad() {
+        return ModE221M3.scratchpads.get();
+    }
+
+    /**
+     * Copy a value.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     */
+    public static void set(final long[] out,
+                           final int outOff,
+                           final long[] a,
+                           final int aOff) {
+        System.arraycopy(a, aOff, out, outOff, DIGITS);
+    }
+
+    /**
+     * Set a value from an {@code int}.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param val The {@code int}.
+     * @param scratch The scratchpad to use.
+     */
+    public static void set(final long[] out,
+                           final int outOff,
+                           final int val,
+                           final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        ModE221M3.initDigits(x, val);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Add two values.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the first value.
+     * @param aOff The offset of the first value.
+     * @param b The array holding the second value.
+     * @param bOff The offset of the second value.
+     * @param scratch The scratchpad to use.
+     */
+    public static void add(final long[] out,
+                           final int outOff,
+                           final long[] a,
+                           final int aOff,
+                           final long[] b,
+                           final int bOff,
+                           final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        final long[] y = scratch.d4;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        System.arraycopy(b, bOff, y, 0, DIGITS);
+        ModE221M3.addDigits(x, y, x);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Subtract one value from another.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the value from which to subtract.
+     * @param aOff The offset of the value from which to subtract.
+     * @param b The array holding the value to subtract.
+     * @param bOff The offset of the value to subtract.
+     * @param scratch The scratchpad to use.
+     */
+    public static void sub(final long[] out,
+                           final int outOff,
+                           final long[] a,
+                           final int aOff,
+                           final long[] b,
+                           final int bOff,
+                           final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        final long[] y = scratch.d4;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        System.arraycopy(b, bOff, y, 0, DIGITS);
+        ModE221M3.subDigits(x, y, x);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Negate a value.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param scratch The scratchpad to use.
+     */
+    public static void neg(final long[] out,
+                           final int outOff,
+                           final long[] a,
+                           final int aOff,
+                           final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        final long[] y = scratch.d4;
+
+        System.arraycopy(a, aOff, y, 0, DIGITS);
+        ModE221M3.initDigits(x, 0);
+        ModE221M3.subDigits(x, y, x);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Multiply two values.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the first value.
+     * @param aOff The offset of the first value.
+     * @param b The array holding the second value.
+     * @param bOff The offset of the second value.
+     * @param scratch The scratchpad to use.
+     */
+    public static void mul(final long[] out,
+                           final int outOff,
+                           final long[] a,
+                           final int aOff,
+                           final long[] b,
+                           final int bOff,
+                           final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        final long[] y = scratch.d4;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        System.arraycopy(b, bOff, y, 0, DIGITS);
+        ModE221M3.mulDigits(x, y, x);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Multiply a value by a small {@code int}, in the range accepted
+     * by {@link ModE221M3#mul(int)}.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param b The {@code int} by which to multiply.
+     * @param scratch The scratchpad to use.
+     */
+    public static void mul(final long[] out,
+                           final int outOff,
+                           final long[] a,
+                           final int aOff,
+                           final int b,
+                           final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        ModE221M3.mulDigits(x, b, x);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Square a value.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param scratch The scratchpad to use.
+     */
+    public static void square(final long[] out,
+                              final int outOff,
+                              final long[] a,
+                              final int aOff,
+                              final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        ModE221M3.squareDigits(x);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Invert a value.  Zero is mapped to zero.
+     *
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param scratch The scratchpad to use.
+     */
+    public static void inv(final long[] out,
+                           final int outOff,
+                           final long[] a,
+                           final int aOff,
+                           final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        ModE221M3.invDigits(x, scratch);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Normalize a value in place.
+     *
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param scratch The scratchpad to use.
+     */
+    public static void normalize(final long[] a,
+                                 final int aOff,
+                                 final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        ModE221M3.normalizeDigits(x, scratch);
+        System.arraycopy(x, 0, a, aOff, DIGITS);
+    }
+
+    /**
+     * Replace a value with another if {@code bit} is {@code 1}.
+     *
+     * @param a The array holding the value to overwrite.
+     * @param aOff The offset of the value to overwrite.
+     * @param b The array holding the value to select.
+     * @param bOff The offset of the value to select.
+     * @param bit Either {@code 0} or {@code 1}.
+     * @param scratch The scratchpad to use.
+     */
+    public static void cmov(final long[] a,
+                            final int aOff,
+                            final long[] b,
+                            final int bOff,
+                            final long bit,
+                            final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        final long[] y = scratch.d4;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        System.arraycopy(b, bOff, y, 0, DIGITS);
+        ModE221M3.cmovDigits(x, y, bit);
+        System.arraycopy(x, 0, a, aOff, DIGITS);
+    }
+
+    /**
+     * Exchange two values if {@code bit} is {@code 1}.  The values
+     * must not partially overlap.
+     *
+     * @param a The array holding the first value.
+     * @param aOff The offset of the first value.
+     * @param b The array holding the second value.
+     * @param bOff The offset of the second value.
+     * @param bit Either {@code 0} or {@code 1}.
+     * @param scratch The scratchpad to use.
+     */
+    public static void cswap(final long[] a,
+                             final int aOff,
+                             final long[] b,
+                             final int bOff,
+                             final long bit,
+                             final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        final long[] y = scratch.d4;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        System.arraycopy(b, bOff, y, 0, DIGITS);
+        ModE221M3.cswapDigits(x, y, bit);
+        System.arraycopy(x, 0, a, aOff, DIGITS);
+        System.arraycopy(y, 0, b, bOff, DIGITS);
+    }
+
+    /**
+     * Negate a value in place if {@code bit} is {@code 1}.
+     *
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param bit Either {@code 0} or {@code 1}.
+     * @param scratch The scratchpad to use.
+     */
+    public static void cneg(final long[] a,
+                            final int aOff,
+                            final long bit,
+                            final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        ModE221M3.cnegDigits(x, bit);
+        System.arraycopy(x, 0, a, aOff, DIGITS);
+    }
+
+    /**
+     * Check whether a value is zero.
+     *
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if the value is zero, {@code 0} if not.
+     */
+    public static long isZero(final long[] a,
+                              final int aOff,
+                              final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        long out = 0;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        ModE221M3.normalizeDigits(x, scratch);
+
+        for(int i = 0; i < DIGITS; i++) {
+            out |= x[i];
+        }
+
+        return fold(out) ^ 0x1;
+    }
+
+    /**
+     * Compare two values, with the same convention as {@link
+     * PrimeField#eq}.
+     *
+     * @param a The array holding the first value.
+     * @param aOff The offset of the first value.
+     * @param b The array holding the second value.
+     * @param bOff The offset of the second value.
+     * @param scratch The scratchpad to use.
+     * @return {@code 0} if the values are equal, {@code 1} if not.
+     */
+    public static long eq(final long[] a,
+                          final int aOff,
+                          final long[] b,
+                          final int bOff,
+                          final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+        final long[] y = scratch.d4;
+        long out = 0;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        System.arraycopy(b, bOff, y, 0, DIGITS);
+        ModE221M3.normalizeDigits(x, scratch);
+        ModE221M3.normalizeDigits(y, scratch);
+
+        for(int i = 0; i < DIGITS; i++) {
+            out |= x[i] ^ y[i];
+        }
+
+        return fold(out);
+    }
+
+    /**
+     * Write the little-endian encoding of a value.
+     *
+     * @param a The array holding the value.
+     * @param aOff The offset of the value.
+     * @param bytes The array into which to write.
+     * @param idx Index at which to start.
+     * @param scratch The scratchpad to use.
+     */
+    public static void pack(final long[] a,
+                            final int aOff,
+                            final byte[] bytes,
+                            final int idx,
+                            final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        System.arraycopy(a, aOff, x, 0, DIGITS);
+        ModE221M3.normalizeDigits(x, scratch);
+        ModE221M3.packDigits(x, bytes, idx);
+    }
+
+    /**
+     * Read a value from its little-endian encoding.
+     *
+     * @param bytes The array from which to read.
+     * @param idx Index at which to start.
+     * @param out The array into which to write.
+     * @param outOff The offset of the result.
+     * @param scratch The scratchpad to use.
+     */
+    public static void unpack(final byte[] bytes,
+                              final int idx,
+                              final long[] out,
+                              final int outOff,
+                              final PrimeField.Scratchpad scratch) {
+        final long[] x = scratch.d3;
+
+        ModE221M3.unpackDigits(bytes, idx, x);
+        System.arraycopy(x, 0, out, outOff, DIGITS);
+    }
+
+    /**
+     * Fold the bits of a {@code long} into its lowest bit.
+     *
+     * @param v The value.
+     * @return {@code 1} if any bit of {@code v} is set, {@code 0}
+     *         otherwise.
+     */
+    private static long fold(final long v) {
+        long out = v;
+
+        out |= out >> 32;
+        out |= out >> 16;
+        out |= out >> 8;
+        out |= out >> 4;
+        out |= out >> 2;
+        out |= out >> 1;
+
+        return out & 0x1;
+    }
+}
@@ -44,7 +44,7 @@ import java.util.Arrays;
  * This field is the foundation of the E-222 curve.
  */
 public final class ModE222M117 extends PrimeField<ModE222M117> {
-    private static final ThreadLocal<Scratchpad> scratchpads =
+    static final ThreadLocal<Scratchpad> scratchpads =
         new ThreadLocal<Scratchpad>() {
             @Override
             public Scratchpad initialValue() {
@@ -136,6 +136,25 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      */
     static final byte C_VAL = 117;
 
+    /**
+     * Largest bound for lazy operations.  This is the largest multiple
+     * of carried digits for which the worst-case inputs to {@code
+     * mulDigits} and {@code squareDigits} do not overflow, as derived
+     * in {@code PrimeField.maxLazyBound}.  Here {@code squareDigits}
+     * keeps only {@code MUL_DIGIT_BITS} bits of the top digit of the
+     * high half times {@code C_VAL}, so the reduction limit is {@code
+     * 2^(DIGIT_BITS - HIGH_DIGIT_BITS - 2)} rather than {@code
+     * 2^(61 - HIGH_DIGIT_BITS)}.  The middle column needs {@code 3 *
+     * k^2 + 12 < 2^(63 - 58) = 32}, so {@code k <= 2}.  The reduction
+     * needs {@code 117 * k^2 < 2^(58 - 48 - 2) = 256}, so {@code
+     * k <= 1}.
+     *
+     * @see #lazyBound()
+     */
+    static final int LAZY_BOUND =
+        maxLazyBound(NUM_DIGITS, DIGIT_BITS, C_VAL,
+                     DIGIT_BITS - HIGH_DIGIT_BITS - 2);
+
     /**
      * Data for the value {@code 0}.
      */
@@ -209,13 +228,18 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
 
     /**
      * Initialize a {@code ModE222M117} with the given digits array.
-     * The array is <i>not</i> copied.
+     * The array is <i>not</i> copied, but its digits are carried, as
+     * every new value has bound {@code 1}.  The digits may be larger
+     * than those of a carried value, as long as the carry out of the
+     * high digit fits in a {@code short}.
      *
      * @param data The data to initialize the {@code ModE222M117}.
      * @see #digits
+     * @see #bound()
      */
     ModE222M117(final long[] data) {
         super(data);
+        addDigits(data, 0, data);
     }
 
     /**
@@ -287,7 +311,11 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      */
     @Override
     public ModE222M117 clone() {
-        return create(digits);
+        final ModE222M117 out = new ModE222M117();
+
+        out.set(this);
+
+        return out;
     }
 
     /**
@@ -306,6 +334,14 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
         return NUM_BITS;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int digitBits() {
+        return DIGIT_BITS;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -338,6 +374,22 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
         return MUL_DIGIT_MASK;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lazyBound() {
+        return LAZY_BOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long[] modulusDigits() {
+        return MODULUS_DATA;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -373,6 +425,7 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
     @Override
     public void add(final long b) {
         addDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -381,6 +434,36 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
     @Override
     public void neg() {
         subDigits(ZERO_DATA, digits, digits);
+        bound = 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cmov(final ModE222M117 src,
+                     final long bit) {
+        cmovDigits(digits, src.digits, bit);
+        bound = Math.max(bound, src.bound);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cswap(final ModE222M117 other,
+                      final long bit) {
+        cswapDigits(digits, other.digits, bit);
+        bound = Math.max(bound, other.bound);
+        other.bound = bound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cneg(final long bit) {
+        cnegDigits(digits, bit);
     }
 
     /**
@@ -397,6 +480,7 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
     @Override
     public void sub(final long b) {
         subDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -412,6 +496,10 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      */
     @Override
     public void mul(final int b) {
+        if (bound > 1) {
+            carry();
+        }
+
         mulDigits(digits, b, digits);
     }
 
@@ -421,6 +509,7 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
     @Override
     public void square() {
         squareDigits(digits);
+        bound = 1;
     }
 
     /**
@@ -433,7 +522,10 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      */
     @Override
     public void inv(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV, start);
     }
 
     /**
@@ -461,8 +553,8 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * {@inheritDoc}
      */
     @Override
-    public void div(final int b,
-                    final Scratchpad scratch) {
+    protected void divInverse(final int b,
+                              final Scratchpad scratch) {
         final long[] divisor = scratch.d2;
 
         initDigits(divisor, b);
@@ -505,37 +597,10 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
     @Override
     public void unpack(final byte[] bytes,
                        final int idx) {
-        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L) |
-                    (((long)bytes[7 + idx] << 56) & 0x0300000000000000L);
-        digits[1] = (((long)bytes[7 + idx] >> 2) & 0x000000000000003fL) |
-                    (((long)bytes[8 + idx] << 6) & 0x0000000000003fc0L) |
-                    (((long)bytes[9 + idx] << 14) & 0x00000000003fc000L) |
-                    (((long)bytes[10 + idx] << 22) & 0x000000003fc00000L) |
-                    (((long)bytes[11 + idx] << 30) & 0x0000003fc0000000L) |
-                    (((long)bytes[12 + idx] << 38) & 0x00003fc000000000L) |
-                    (((long)bytes[13 + idx] << 46) & 0x003fc00000000000L) |
-                    (((long)bytes[14 + idx] << 54) & 0x03c0000000000000L);
-        digits[2] = (((long)bytes[14 + idx] >> 4) & 0x000000000000000fL) |
-                    (((long)bytes[15 + idx] << 4) & 0x0000000000000ff0L) |
-                    (((long)bytes[16 + idx] << 12) & 0x00000000000ff000L) |
-                    (((long)bytes[17 + idx] << 20) & 0x000000000ff00000L) |
-                    (((long)bytes[18 + idx] << 28) & 0x0000000ff0000000L) |
-                    (((long)bytes[19 + idx] << 36) & 0x00000ff000000000L) |
-                    (((long)bytes[20 + idx] << 44) & 0x000ff00000000000L) |
-                    (((long)bytes[21 + idx] << 52) & 0x03f0000000000000L);
-        digits[3] = (((long)bytes[21 + idx] >> 6) & 0x0000000000000003L) |
-                    (((long)bytes[22 + idx] << 2) & 0x00000000000003fcL) |
-                    (((long)bytes[23 + idx] << 10) & 0x000000000003fc00L) |
-                    (((long)bytes[24 + idx] << 18) & 0x0000000003fc0000L) |
-                    (((long)bytes[25 + idx] << 26) & 0x00000003fc000000L) |
-                    (((long)bytes[26 + idx] << 34) & 0x000003fc00000000L) |
-                    (((long)bytes[27 + idx] << 42) & 0x0000fc0000000000L);
+        final long start = Instrumentation.start();
+
+        unpackDigits(bytes, idx, digits);
+        Instrumentation.record(this, Instrumentation.Operation.UNPACK, start);
     }
 
     /**
@@ -579,7 +644,10 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      */
     @Override
     public void sqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         sqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.SQRT, start);
     }
 
     /**
@@ -601,7 +669,10 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      */
     @Override
     public void invSqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invSqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV_SQRT, start);
     }
 
     /**
@@ -624,6 +695,8 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      */
     @Override
     public byte legendre(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         System.arraycopy(digits, 0, scratch.d2, 0, NUM_DIGITS);
 
         legendrePowerDigits(scratch.d2, scratch);
@@ -634,6 +707,7 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
         final byte offset = (byte)(C_VAL * sign);
         final byte result = (byte)(low + offset);
 
+        Instrumentation.record(this, Instrumentation.Operation.LEGENDRE, start);
         return result;
     }
 
@@ -650,26 +724,121 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
 
     /**
      * Perform normalization on low-level representations.
+     * <p>
+     * The carry-out of the high digit is first folded into the low
+     * digit as a multiple of {@code C_VAL}.  That can carry or borrow
+     * out of the high digit once more, by at most one, so the fold is
+     * repeated, which leaves a value between {@code 0} and {@code
+     * 2^NUM_BITS}.  The modulus is then subtracted if the value plus
+     * {@code C_VAL} carries out of the high digit, which is selected
+     * in constant time.
      *
      * @param digits The low-level representation.
      * @param scratch The scratchpad to use.
      * @see #normalize
      */
-    private static void normalizeDigits(final long[] digits,
-                                        final Scratchpad scratch) {
-        final long[] offset = scratch.d0;
+    static void normalizeDigits(final long[] digits,
+                                final Scratchpad scratch) {
         final long[] plusc = scratch.d1;
 
-        System.arraycopy(MODULUS_DATA, 0, offset, 0, NUM_DIGITS);
-        System.arraycopy(digits, 0, plusc, 0, NUM_DIGITS);
-        addDigits(plusc, C_VAL, plusc);
-        mulDigits(offset, carryOut(plusc), offset);
-        subDigits(digits, offset, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, C_VAL, plusc);
+
+        final long bit = carryOut(plusc);
+
+        plusc[NUM_DIGITS - 1] &= HIGH_DIGIT_MASK;
+        cmovDigits(digits, plusc, bit);
     }
 
-    private static void packDigits(final long[] digits,
-                                   final byte[] bytes,
-                                   final int idx) {
+    /**
+     * Low-level constant-time conditional move.  Overwrites {@code a}
+     * with {@code b} if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The digit array to overwrite.
+     * @param b The digit array to select.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cmovDigits(final long[] a,
+                           final long[] b,
+                           final long bit) {
+        final long mask = -bit;
+
+        a[0] ^= (a[0] ^ b[0]) & mask;
+        a[1] ^= (a[1] ^ b[1]) & mask;
+        a[2] ^= (a[2] ^ b[2]) & mask;
+        a[3] ^= (a[3] ^ b[3]) & mask;
+    }
+
+    /**
+     * Low-level constant-time conditional swap.  Exchanges the
+     * contents of {@code a} and {@code b} if {@code bit} is {@code
+     * 1}, and leaves both unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The first digit array.
+     * @param b The second digit array.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cswapDigits(final long[] a,
+                            final long[] b,
+                            final long bit) {
+        final long mask = -bit;
+        final long x0 = (a[0] ^ b[0]) & mask;
+        final long x1 = (a[1] ^ b[1]) & mask;
+        final long x2 = (a[2] ^ b[2]) & mask;
+        final long x3 = (a[3] ^ b[3]) & mask;
+
+        a[0] ^= x0;
+        b[0] ^= x0;
+        a[1] ^= x1;
+        b[1] ^= x1;
+        a[2] ^= x2;
+        b[2] ^= x2;
+        a[3] ^= x3;
+        b[3] ^= x3;
+    }
+
+    /**
+     * Low-level constant-time conditional negation.  Negates {@code
+     * digits} in place if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     * <p>
+     * This is the same carry chain as {@link #subDigits(long[],
+     * long[], long[])} with a zero LHS, except that each digit (and
+     * the carry-in) is passed through {@code (x ^ mask) - mask}, which
+     * is {@code -x} when the mask is all {@code 1}s and {@code x} when
+     * it is all {@code 0}s.
+     *
+     * @param digits The digit array to conditionally negate.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cnegDigits(final long[] digits,
+                           final long bit) {
+        final long mask = -bit;
+        final long a0 = digits[0] ^ mask;
+        final long a1 = digits[1] ^ mask;
+        final long a2 = digits[2] ^ mask;
+        final long a3 = (digits[3] & HIGH_DIGIT_MASK) ^ mask;
+
+        final long cin = (carryOut(digits) ^ mask) - mask;
+        final long s0 = a0 + bit + (cin * C_VAL);
+        final long c0 = s0 >> DIGIT_BITS;
+        final long s1 = a1 + bit + c0;
+        final long c1 = s1 >> DIGIT_BITS;
+        final long s2 = a2 + bit + c1;
+        final long c2 = s2 >> DIGIT_BITS;
+        final long s3 = a3 + bit + c2;
+
+        digits[0] = s0 & DIGIT_MASK;
+        digits[1] = s1 & DIGIT_MASK;
+        digits[2] = s2 & DIGIT_MASK;
+        digits[3] = s3;
+    }
+
+    static void packDigits(final long[] digits,
+                           final byte[] bytes,
+                           final int idx) {
         bytes[0 + idx] = (byte)(digits[0] & 0xff);
         bytes[1 + idx] = (byte)((digits[0] >> 8) & 0xff);
         bytes[2 + idx] = (byte)((digits[0] >> 16) & 0xff);
@@ -703,6 +872,49 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
         bytes[27 + idx] = (byte)((digits[3] >> 42) & 0x3f);
     }
 
+    /**
+     * Low-level unpacking from a little-endian byte representation.
+     *
+     * @param bytes The array from which to read.
+     * @param idx Index at which to start.
+     * @param digits The digits array into which to write.
+     */
+    static void unpackDigits(final byte[] bytes,
+                             final int idx,
+                             final long[] digits) {
+        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L) |
+                    (((long)bytes[7 + idx] << 56) & 0x0300000000000000L);
+        digits[1] = (((long)bytes[7 + idx] >> 2) & 0x000000000000003fL) |
+                    (((long)bytes[8 + idx] << 6) & 0x0000000000003fc0L) |
+                    (((long)bytes[9 + idx] << 14) & 0x00000000003fc000L) |
+                    (((long)bytes[10 + idx] << 22) & 0x000000003fc00000L) |
+                    (((long)bytes[11 + idx] << 30) & 0x0000003fc0000000L) |
+                    (((long)bytes[12 + idx] << 38) & 0x00003fc000000000L) |
+                    (((long)bytes[13 + idx] << 46) & 0x003fc00000000000L) |
+                    (((long)bytes[14 + idx] << 54) & 0x03c0000000000000L);
+        digits[2] = (((long)bytes[14 + idx] >> 4) & 0x000000000000000fL) |
+                    (((long)bytes[15 + idx] << 4) & 0x0000000000000ff0L) |
+                    (((long)bytes[16 + idx] << 12) & 0x00000000000ff000L) |
+                    (((long)bytes[17 + idx] << 20) & 0x000000000ff00000L) |
+                    (((long)bytes[18 + idx] << 28) & 0x0000000ff0000000L) |
+                    (((long)bytes[19 + idx] << 36) & 0x00000ff000000000L) |
+                    (((long)bytes[20 + idx] << 44) & 0x000ff00000000000L) |
+                    (((long)bytes[21 + idx] << 52) & 0x03f0000000000000L);
+        digits[3] = (((long)bytes[21 + idx] >> 6) & 0x0000000000000003L) |
+                    (((long)bytes[22 + idx] << 2) & 0x00000000000003fcL) |
+                    (((long)bytes[23 + idx] << 10) & 0x000000000003fc00L) |
+                    (((long)bytes[24 + idx] << 18) & 0x0000000003fc0000L) |
+                    (((long)bytes[25 + idx] << 26) & 0x00000003fc000000L) |
+                    (((long)bytes[26 + idx] << 34) & 0x000003fc00000000L) |
+                    (((long)bytes[27 + idx] << 42) & 0x0000fc0000000000L);
+    }
+
     /**
      * Low-level digits addition.  It <i>is</i> safe to specify the same
      * array as both an input and an output.
@@ -711,9 +923,9 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -747,9 +959,9 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -778,9 +990,9 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -814,9 +1026,9 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -845,9 +1057,9 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -1087,9 +1299,9 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final int b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final int b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -1146,7 +1358,7 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      *
      * @param digits The digits array to square.
      */
-    private static void squareDigits(final long[] digits) {
+    static void squareDigits(final long[] digits) {
         final long a0 = digits[0] & MUL_DIGIT_MASK;
         final long a1 = digits[0] >> MUL_DIGIT_BITS;
         final long a2 = digits[1] & MUL_DIGIT_MASK;
@@ -1375,8 +1587,8 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param digits The digits array to invert.
      * @param scratch The scratchpad to use.
      */
-    private static void invDigits(final long[] digits,
-                                  final Scratchpad scratch) {
+    static void invDigits(final long[] digits,
+                          final Scratchpad scratch) {
         // First digit is 1.
         final long[] sqval = scratch.d0;
 
@@ -1408,8 +1620,8 @@ public final class ModE222M117 extends PrimeField<ModE222M117> {
      * @param digits The digits array to initalize.
      * @param val The {@code int} from which to initialize.
      */
-    private static void initDigits(final long[] digits,
-                                   final int val) {
+    static void initDigits(final long[] digits,
+                           final int val) {
         Arrays.fill(digits, 0);
         addDigits(digits, val, digits);
     }
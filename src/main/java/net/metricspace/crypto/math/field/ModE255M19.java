@@ -44,7 +44,7 @@ import java.util.Arrays;
  * This field is the foundation of the Curve25519 curve.
  */
 public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
-    private static final ThreadLocal<Scratchpad> scratchpads =
+    static final ThreadLocal<Scratchpad> scratchpads =
         new ThreadLocal<Scratchpad>() {
             @Override
             public Scratchpad initialValue() {
@@ -136,6 +136,20 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     static final byte C_VAL = 19;
 
+    /**
+     * Largest bound for lazy operations.  This is the largest multiple
+     * of carried digits for which the worst-case inputs to {@code
+     * mulDigits} and {@code squareDigits} do not overflow, as derived
+     * in {@code PrimeField.maxLazyBound}.  The middle column needs
+     * {@code 4 * k^2 + 15 < 2^(63 - 56) = 128}, so {@code k <= 5}.  The
+     * reduction needs {@code 19 * k^2 < 2^(61 - 31)}, so {@code
+     * k <= 7517}.
+     *
+     * @see #lazyBound()
+     */
+    static final int LAZY_BOUND =
+        maxLazyBound(NUM_DIGITS, DIGIT_BITS, C_VAL, 61 - HIGH_DIGIT_BITS);
+
     /**
      * Data for the value {@code 0}.
      */
@@ -215,6 +229,23 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         }
     }
 
+    /**
+     * The value {@code 2 ^ ((MODULUS - 1) / 4)}, which is a square
+     * root of {@code -1}.  Used in the computation of square roots of
+     * ratios.  The value of this is {@code
+     * 0x2b8324804fc1df0b2b4d00993dfbd7a72f431806ad2fe478c4ee1b274a0ea0b0}.
+     */
+    private static final long[] SQRT_M1_DATA;
+
+    static {
+        SQRT_M1_DATA = Arrays.copyOf(SQRT_COEFF_M1, NUM_DIGITS);
+
+        try(final Scratchpad scratch = scratchpads.get()) {
+            addDigits(SQRT_M1_DATA, 1, SQRT_M1_DATA);
+            normalizeDigits(SQRT_M1_DATA, scratch);
+        }
+    }
+
     /**
      * Create a {@code ModE255M19} initialized to {@code 0}.
      *
@@ -251,6 +282,16 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         return create(M_ONE_DATA);
     }
 
+    /**
+     * Create a {@code ModE255M19} initialized to {@code sqrt(-1)}.
+     * This is the value {@code 2 ^ ((MODULUS - 1) / 4)}.
+     *
+     * @return A {@code ModE255M19} initialized to {@code sqrt(-1)}.
+     */
+    public static ModE255M19 sqrtM1() {
+        return create(SQRT_M1_DATA);
+    }
+
     /**
      * Create a {@code ModE255M19} initialized to a copy of a given
      * digits array.
@@ -266,13 +307,18 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
 
     /**
      * Initialize a {@code ModE255M19} with the given digits array.
-     * The array is <i>not</i> copied.
+     * The array is <i>not</i> copied, but its digits are carried, as
+     * every new value has bound {@code 1}.  The digits may be larger
+     * than those of a carried value, as long as the carry out of the
+     * high digit fits in a {@code short}.
      *
      * @param data The data to initialize the {@code ModE255M19}.
      * @see #digits
+     * @see #bound()
      */
     ModE255M19(final long[] data) {
         super(data);
+        addDigits(data, 0, data);
     }
 
     /**
@@ -344,7 +390,11 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     @Override
     public ModE255M19 clone() {
-        return create(digits);
+        final ModE255M19 out = new ModE255M19();
+
+        out.set(this);
+
+        return out;
     }
 
     /**
@@ -363,6 +413,14 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         return NUM_BITS;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int digitBits() {
+        return DIGIT_BITS;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -395,6 +453,22 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         return MUL_DIGIT_MASK;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lazyBound() {
+        return LAZY_BOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long[] modulusDigits() {
+        return MODULUS_DATA;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -430,6 +504,7 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
     @Override
     public void add(final long b) {
         addDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -438,6 +513,36 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
     @Override
     public void neg() {
         subDigits(ZERO_DATA, digits, digits);
+        bound = 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cmov(final ModE255M19 src,
+                     final long bit) {
+        cmovDigits(digits, src.digits, bit);
+        bound = Math.max(bound, src.bound);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cswap(final ModE255M19 other,
+                      final long bit) {
+        cswapDigits(digits, other.digits, bit);
+        bound = Math.max(bound, other.bound);
+        other.bound = bound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cneg(final long bit) {
+        cnegDigits(digits, bit);
     }
 
     /**
@@ -454,6 +559,7 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
     @Override
     public void sub(final long b) {
         subDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -469,6 +575,10 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     @Override
     public void mul(final int b) {
+        if (bound > 1) {
+            carry();
+        }
+
         mulDigits(digits, b, digits);
     }
 
@@ -478,6 +588,7 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
     @Override
     public void square() {
         squareDigits(digits);
+        bound = 1;
     }
 
     /**
@@ -490,7 +601,10 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     @Override
     public void inv(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV, start);
     }
 
     /**
@@ -518,8 +632,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * {@inheritDoc}
      */
     @Override
-    public void div(final int b,
-                    final Scratchpad scratch) {
+    protected void divInverse(final int b,
+                              final Scratchpad scratch) {
         final long[] divisor = scratch.d2;
 
         initDigits(divisor, b);
@@ -562,38 +676,10 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
     @Override
     public void unpack(final byte[] bytes,
                        final int idx) {
-        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L);
-        digits[1] = ((long)bytes[7 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[8 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[9 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[10 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[11 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[12 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[13 + idx] << 48) & 0x00ff000000000000L);
-        digits[2] = ((long)bytes[14 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[15 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[16 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[17 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[18 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[19 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[20 + idx] << 48) & 0x00ff000000000000L);
-        digits[3] = ((long)bytes[21 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[22 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[23 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[24 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[25 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[26 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[27 + idx] << 48) & 0x00ff000000000000L);
-        digits[4] = ((long)bytes[28 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[29 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[30 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[31 + idx] << 24) & 0x000000007f000000L);
+        final long start = Instrumentation.start();
+
+        unpackDigits(bytes, idx, digits);
+        Instrumentation.record(this, Instrumentation.Operation.UNPACK, start);
     }
 
     /**
@@ -641,6 +727,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     @Override
     public void sqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         // Legendre's formula for 5 mod 8 primes.
         final byte leg = legendreQuartic(scratch);
 
@@ -657,6 +745,7 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         // Add 1, now 1 for quartic residue, 2 ^ (3 * (P - 1) / 4) otherwise.
         addDigits(coeff, 1, coeff);
         mul(coeff);
+        Instrumentation.record(this, Instrumentation.Operation.SQRT, start);
     }
 
     /**
@@ -680,6 +769,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     @Override
     public void invSqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         // Legendre's formula for 5 mod 8 primes.
         final byte leg = legendreQuartic(scratch);
 
@@ -696,6 +787,111 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         // Add 1, now 1 for quartic residue, 2 ^ ((P - 1) / 4) otherwise.
         addDigits(coeff, 1, coeff);
         mul(coeff);
+        Instrumentation.record(this, Instrumentation.Operation.INV_SQRT, start);
+    }
+
+    /**
+     * Set this number to the square root of the ratio {@code u / v},
+     * without performing an inversion.
+     *
+     * @param u The numerator.
+     * @param v The denominator.
+     * @return {@code 1} if {@code u / v} is a square, {@code 0} if
+     *         not.
+     * @see #sqrtRatio(ModE255M19, ModE255M19, PrimeField.Scratchpad)
+     */
+    public long sqrtRatio(final ModE255M19 u,
+                          final ModE255M19 v) {
+        try(final Scratchpad scratch = scratchpad()) {
+            return sqrtRatio(u, v, scratch);
+        }
+    }
+
+    /**
+     * Set this number to the square root of the ratio {@code u / v},
+     * without performing an inversion.
+     * <p>
+     * This is the {@code SQRT_RATIO_M1} function from the Ristretto
+     * specification.  The candidate root is computed as {@code (u *
+     * v^3) * (u * v^7) ^ ((MODULUS - 5) / 8)}, and is then corrected
+     * by a factor of {@code sqrt(-1)} if necessary.  If {@code u / v}
+     * is not a square, this number is set to {@code sqrt(sqrt(-1) *
+     * u / v)} instead.  If {@code u} is zero, the result is zero and
+     * the ratio is considered to be a square; if {@code v} is zero
+     * and {@code u} is not, the result is zero and the ratio is not
+     * a square.
+     * <p>
+     * The result is always non-negative in the sense used by the
+     * Ristretto encoding, meaning its lowest bit is {@code 0}.  All
+     * steps are performed in constant time.  It <i>is</i> safe for
+     * {@code u} and {@code v} to be the same object as this number.
+     * <p>
+     * On this field, the exponent value is {@code
+     * 0x0ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffd}.
+     *
+     * @param u The numerator.
+     * @param v The denominator.
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if {@code u / v} is a square, {@code 0} if
+     *         not.
+     */
+    public long sqrtRatio(final ModE255M19 u,
+                          final ModE255M19 v,
+                          final Scratchpad scratch) {
+        final long[] r = scratch.d2;
+        final long[] check = scratch.d3;
+        final long[] tmp = scratch.d4;
+
+        // check = v^3
+        System.arraycopy(v.digits, 0, check, 0, NUM_DIGITS);
+        squareDigits(check);
+        mulDigits(check, v.digits, check);
+
+        // r = u * v^7
+        System.arraycopy(check, 0, r, 0, NUM_DIGITS);
+        squareDigits(r);
+        mulDigits(r, v.digits, r);
+        mulDigits(r, u.digits, r);
+
+        // r = (u * v^3) * (u * v^7) ^ ((P - 5) / 8)
+        sqrtRatioPowerDigits(r, scratch);
+        mulDigits(r, check, r);
+        mulDigits(r, u.digits, r);
+
+        // check = v * r^2
+        System.arraycopy(r, 0, check, 0, NUM_DIGITS);
+        squareDigits(check);
+        mulDigits(check, v.digits, check);
+        normalizeDigits(check, scratch);
+
+        System.arraycopy(u.digits, 0, tmp, 0, NUM_DIGITS);
+        normalizeDigits(tmp, scratch);
+
+        final long correct = eqDigits(check, tmp);
+
+        subDigits(ZERO_DATA, tmp, tmp);
+        normalizeDigits(tmp, scratch);
+
+        final long flipped = eqDigits(check, tmp);
+
+        mulDigits(tmp, SQRT_M1_DATA, tmp);
+        normalizeDigits(tmp, scratch);
+
+        final long flippedI = eqDigits(check, tmp);
+
+        // Multiply by sqrt(-1) if the sign was flipped.
+        System.arraycopy(r, 0, tmp, 0, NUM_DIGITS);
+        mulDigits(tmp, SQRT_M1_DATA, tmp);
+        cmovDigits(r, tmp, flipped | flippedI);
+
+        // Take the non-negative root.
+        normalizeDigits(r, scratch);
+        cnegDigits(r, r[0] & 0x1);
+        normalizeDigits(r, scratch);
+
+        System.arraycopy(r, 0, digits, 0, NUM_DIGITS);
+
+        return correct | flipped;
     }
 
     /**
@@ -718,6 +914,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     @Override
     public byte legendre(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         System.arraycopy(digits, 0, scratch.d2, 0, NUM_DIGITS);
 
         legendrePowerDigits(scratch.d2, scratch);
@@ -728,6 +926,7 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         final byte offset = (byte)(C_VAL * sign);
         final byte result = (byte)(low + offset);
 
+        Instrumentation.record(this, Instrumentation.Operation.LEGENDRE, start);
         return result;
     }
 
@@ -757,6 +956,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      */
     @Override
     public byte legendreQuartic(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         System.arraycopy(digits, 0, scratch.d2, 0, NUM_DIGITS);
 
         legendreQuarticPowerDigits(scratch.d2, scratch);
@@ -767,6 +968,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         final byte offset = (byte)(C_VAL * sign);
         final byte result = (byte)(low + offset);
 
+        Instrumentation.record(this, Instrumentation.Operation.LEGENDRE_QUARTIC,
+                               start);
         return result;
     }
 
@@ -783,26 +986,155 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
 
     /**
      * Perform normalization on low-level representations.
+     * <p>
+     * The carry-out of the high digit is first folded into the low
+     * digit as a multiple of {@code C_VAL}.  That can carry or borrow
+     * out of the high digit once more, by at most one, so the fold is
+     * repeated, which leaves a value between {@code 0} and {@code
+     * 2^NUM_BITS}.  The modulus is then subtracted if the value plus
+     * {@code C_VAL} carries out of the high digit, which is selected
+     * in constant time.
      *
      * @param digits The low-level representation.
      * @param scratch The scratchpad to use.
      * @see #normalize
      */
-    private static void normalizeDigits(final long[] digits,
-                                        final Scratchpad scratch) {
-        final long[] offset = scratch.d0;
+    static void normalizeDigits(final long[] digits,
+                                final Scratchpad scratch) {
         final long[] plusc = scratch.d1;
 
-        System.arraycopy(MODULUS_DATA, 0, offset, 0, NUM_DIGITS);
-        System.arraycopy(digits, 0, plusc, 0, NUM_DIGITS);
-        addDigits(plusc, C_VAL, plusc);
-        mulDigits(offset, carryOut(plusc), offset);
-        subDigits(digits, offset, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, C_VAL, plusc);
+
+        final long bit = carryOut(plusc);
+
+        plusc[NUM_DIGITS - 1] &= HIGH_DIGIT_MASK;
+        cmovDigits(digits, plusc, bit);
     }
 
-    private static void packDigits(final long[] digits,
-                                   final byte[] bytes,
-                                   final int idx) {
+    /**
+     * Low-level equality check on normalized representations.
+     *
+     * @param a The LHS digit array.
+     * @param b The RHS digit array.
+     * @return {@code 1} if the representations are equal, {@code 0}
+     *         otherwise.
+     */
+    private static long eqDigits(final long[] a,
+                                 final long[] b) {
+        long out = 0;
+
+        for(int i = 0; i < NUM_DIGITS; i++) {
+            out |= a[i] ^ b[i];
+        }
+
+        out |= out >> 32;
+        out |= out >> 16;
+        out |= out >> 8;
+        out |= out >> 4;
+        out |= out >> 2;
+        out |= out >> 1;
+
+        return (out & 0x1) ^ 0x1;
+    }
+
+    /**
+     * Low-level constant-time conditional move.  Overwrites {@code a}
+     * with {@code b} if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The digit array to overwrite.
+     * @param b The digit array to select.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cmovDigits(final long[] a,
+                           final long[] b,
+                           final long bit) {
+        final long mask = -bit;
+
+        a[0] ^= (a[0] ^ b[0]) & mask;
+        a[1] ^= (a[1] ^ b[1]) & mask;
+        a[2] ^= (a[2] ^ b[2]) & mask;
+        a[3] ^= (a[3] ^ b[3]) & mask;
+        a[4] ^= (a[4] ^ b[4]) & mask;
+    }
+
+    /**
+     * Low-level constant-time conditional swap.  Exchanges the
+     * contents of {@code a} and {@code b} if {@code bit} is {@code
+     * 1}, and leaves both unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The first digit array.
+     * @param b The second digit array.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cswapDigits(final long[] a,
+                            final long[] b,
+                            final long bit) {
+        final long mask = -bit;
+        final long x0 = (a[0] ^ b[0]) & mask;
+        final long x1 = (a[1] ^ b[1]) & mask;
+        final long x2 = (a[2] ^ b[2]) & mask;
+        final long x3 = (a[3] ^ b[3]) & mask;
+        final long x4 = (a[4] ^ b[4]) & mask;
+
+        a[0] ^= x0;
+        b[0] ^= x0;
+        a[1] ^= x1;
+        b[1] ^= x1;
+        a[2] ^= x2;
+        b[2] ^= x2;
+        a[3] ^= x3;
+        b[3] ^= x3;
+        a[4] ^= x4;
+        b[4] ^= x4;
+    }
+
+    /**
+     * Low-level constant-time conditional negation.  Negates {@code
+     * digits} in place if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     * <p>
+     * This is the same carry chain as {@link #subDigits(long[],
+     * long[], long[])} with a zero LHS, except that each digit (and
+     * the carry-in) is passed through {@code (x ^ mask) - mask}, which
+     * is {@code -x} when the mask is all {@code 1}s and {@code x} when
+     * it is all {@code 0}s.
+     *
+     * @param digits The digit array to conditionally negate.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cnegDigits(final long[] digits,
+                           final long bit) {
+        final long mask = -bit;
+        final long a0 = digits[0] ^ mask;
+        final long a1 = digits[1] ^ mask;
+        final long a2 = digits[2] ^ mask;
+        final long a3 = digits[3] ^ mask;
+        final long a4 = (digits[4] & HIGH_DIGIT_MASK) ^ mask;
+
+        final long cin = (carryOut(digits) ^ mask) - mask;
+        final long s0 = a0 + bit + (cin * C_VAL);
+        final long c0 = s0 >> DIGIT_BITS;
+        final long s1 = a1 + bit + c0;
+        final long c1 = s1 >> DIGIT_BITS;
+        final long s2 = a2 + bit + c1;
+        final long c2 = s2 >> DIGIT_BITS;
+        final long s3 = a3 + bit + c2;
+        final long c3 = s3 >> DIGIT_BITS;
+        final long s4 = a4 + bit + c3;
+
+        digits[0] = s0 & DIGIT_MASK;
+        digits[1] = s1 & DIGIT_MASK;
+        digits[2] = s2 & DIGIT_MASK;
+        digits[3] = s3 & DIGIT_MASK;
+        digits[4] = s4;
+    }
+
+    static void packDigits(final long[] digits,
+                           final byte[] bytes,
+                           final int idx) {
         bytes[0 + idx] = (byte)(digits[0] & 0xff);
         bytes[1 + idx] = (byte)((digits[0] >> 8) & 0xff);
         bytes[2 + idx] = (byte)((digits[0] >> 16) & 0xff);
@@ -837,6 +1169,50 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
         bytes[31 + idx] = (byte)((digits[4] >> 24) & 0x7f);
     }
 
+    /**
+     * Low-level unpacking from a little-endian byte representation.
+     *
+     * @param bytes The array from which to read.
+     * @param idx Index at which to start.
+     * @param digits The digits array into which to write.
+     */
+    static void unpackDigits(final byte[] bytes,
+                             final int idx,
+                             final long[] digits) {
+        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L);
+        digits[1] = ((long)bytes[7 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[8 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[9 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[10 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[11 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[12 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[13 + idx] << 48) & 0x00ff000000000000L);
+        digits[2] = ((long)bytes[14 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[15 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[16 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[17 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[18 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[19 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[20 + idx] << 48) & 0x00ff000000000000L);
+        digits[3] = ((long)bytes[21 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[22 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[23 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[24 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[25 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[26 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[27 + idx] << 48) & 0x00ff000000000000L);
+        digits[4] = ((long)bytes[28 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[29 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[30 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[31 + idx] << 24) & 0x000000007f000000L);
+    }
+
     /**
      * Low-level digits addition.  It <i>is</i> safe to specify the same
      * array as both an input and an output.
@@ -845,9 +1221,9 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -886,9 +1262,9 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -921,9 +1297,9 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -962,9 +1338,9 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -997,9 +1373,9 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -1306,9 +1682,9 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final int b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final int b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -1376,7 +1752,7 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      *
      * @param digits The digits array to square.
      */
-    private static void squareDigits(final long[] digits) {
+    static void squareDigits(final long[] digits) {
         final long a0 = digits[0] & MUL_DIGIT_MASK;
         final long a1 = digits[0] >> MUL_DIGIT_BITS;
         final long a2 = digits[1] & MUL_DIGIT_MASK;
@@ -1665,8 +2041,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param digits The digits array to invert.
      * @param scratch The scratchpad to use.
      */
-    private static void invDigits(final long[] digits,
-                                  final Scratchpad scratch) {
+    static void invDigits(final long[] digits,
+                          final Scratchpad scratch) {
         // First digit is 1.
         final long[] sqval = scratch.d0;
 
@@ -1699,8 +2075,8 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
      * @param digits The digits array to initalize.
      * @param val The {@code int} from which to initialize.
      */
-    private static void initDigits(final long[] digits,
-                                   final int val) {
+    static void initDigits(final long[] digits,
+                           final int val) {
         Arrays.fill(digits, 0);
         addDigits(digits, val, digits);
     }
@@ -1757,6 +2133,23 @@ public final class ModE255M19 extends PrimeField1Mod4<ModE255M19> {
     }
 
 
+    private static void sqrtRatioPowerDigits(final long[] digits,
+                                             final Scratchpad scratch) {
+        // First digit is 1.
+        final long[] sqval = scratch.d0;
+
+        System.arraycopy(digits, 0, sqval, 0, NUM_DIGITS);
+
+        // Second digit is 0.
+        squareDigits(sqval);
+
+        // All the remaining digits are 1.
+        for(int i = 2; i < 252; i++) {
+            squareDigits(sqval);
+            mulDigits(digits, sqval, digits);
+        }
+    }
+
     private static void legendrePowerDigits(final long[] digits,
                                             final Scratchpad scratch) {
         // First digit is 0.
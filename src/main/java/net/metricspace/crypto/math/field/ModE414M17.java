@@ -44,7 +44,7 @@ import java.util.Arrays;
  * This field is the foundation of the Curve41417 curve.
  */
 public final class ModE414M17 extends PrimeField<ModE414M17> {
-    private static final ThreadLocal<Scratchpad> scratchpads =
+    static final ThreadLocal<Scratchpad> scratchpads =
         new ThreadLocal<Scratchpad>() {
             @Override
             public Scratchpad initialValue() {
@@ -136,6 +136,39 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      */
     static final byte C_VAL = 17;
 
+    /**
+     * Largest bound for lazy operations.  This is the largest multiple
+     * of carried digits for which the worst-case inputs to {@code
+     * mulDigits} and {@code squareDigits} do not overflow, as derived
+     * in {@code PrimeField.maxLazyBound}.  The middle column needs
+     * {@code 7 * k^2 + 24 < 2^(63 - 56) = 128}, so {@code k <= 3}.  The
+     * reduction needs {@code 17 * k^2 < 2^(61 - 22)}, so {@code
+     * k <= 179829}.  The Karatsuba kernels add up the same columns, so
+     * the same conditions apply.
+     *
+     * @see #lazyBound()
+     */
+    static final int LAZY_BOUND =
+        maxLazyBound(NUM_DIGITS, DIGIT_BITS, C_VAL, 61 - HIGH_DIGIT_BITS);
+
+    /**
+     * System property selecting the multiplication kernel.  If
+     * {@code true}, {@link #mul} and {@link #square} use one level
+     * of Karatsuba; if {@code false}, schoolbook multiplication.
+     * Read once, when the class is initialized.
+     */
+    static final String KARATSUBA_PROPERTY =
+        "net.metricspace.crypto.math.field.ModE414M17.karatsuba";
+
+    /**
+     * Whether to use the Karatsuba multiplication kernels.
+     *
+     * @see #KARATSUBA_PROPERTY
+     */
+    static final boolean KARATSUBA =
+        Boolean.parseBoolean(System.getProperty(KARATSUBA_PROPERTY,
+                                                "true"));
+
     /**
      * Data for the value {@code 0}.
      */
@@ -217,13 +250,18 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
 
     /**
      * Initialize a {@code ModE414M17} with the given digits array.
-     * The array is <i>not</i> copied.
+     * The array is <i>not</i> copied, but its digits are carried, as
+     * every new value has bound {@code 1}.  The digits may be larger
+     * than those of a carried value, as long as the carry out of the
+     * high digit fits in a {@code short}.
      *
      * @param data The data to initialize the {@code ModE414M17}.
      * @see #digits
+     * @see #bound()
      */
     ModE414M17(final long[] data) {
         super(data);
+        addDigits(data, 0, data);
     }
 
     /**
@@ -295,7 +333,11 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      */
     @Override
     public ModE414M17 clone() {
-        return create(digits);
+        final ModE414M17 out = new ModE414M17();
+
+        out.set(this);
+
+        return out;
     }
 
     /**
@@ -314,6 +356,14 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
         return NUM_BITS;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int digitBits() {
+        return DIGIT_BITS;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -346,6 +396,22 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
         return MUL_DIGIT_MASK;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lazyBound() {
+        return LAZY_BOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long[] modulusDigits() {
+        return MODULUS_DATA;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -381,6 +447,7 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
     @Override
     public void add(final long b) {
         addDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -389,6 +456,36 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
     @Override
     public void neg() {
         subDigits(ZERO_DATA, digits, digits);
+        bound = 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cmov(final ModE414M17 src,
+                     final long bit) {
+        cmovDigits(digits, src.digits, bit);
+        bound = Math.max(bound, src.bound);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cswap(final ModE414M17 other,
+                      final long bit) {
+        cswapDigits(digits, other.digits, bit);
+        bound = Math.max(bound, other.bound);
+        other.bound = bound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cneg(final long bit) {
+        cnegDigits(digits, bit);
     }
 
     /**
@@ -405,6 +502,7 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
     @Override
     public void sub(final long b) {
         subDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -420,6 +518,10 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      */
     @Override
     public void mul(final int b) {
+        if (bound > 1) {
+            carry();
+        }
+
         mulDigits(digits, b, digits);
     }
 
@@ -429,6 +531,7 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
     @Override
     public void square() {
         squareDigits(digits);
+        bound = 1;
     }
 
     /**
@@ -441,7 +544,10 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      */
     @Override
     public void inv(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV, start);
     }
 
     /**
@@ -469,8 +575,8 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * {@inheritDoc}
      */
     @Override
-    public void div(final int b,
-                    final Scratchpad scratch) {
+    protected void divInverse(final int b,
+                              final Scratchpad scratch) {
         final long[] divisor = scratch.d2;
 
         initDigits(divisor, b);
@@ -513,58 +619,10 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
     @Override
     public void unpack(final byte[] bytes,
                        final int idx) {
-        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L);
-        digits[1] = ((long)bytes[7 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[8 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[9 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[10 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[11 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[12 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[13 + idx] << 48) & 0x00ff000000000000L);
-        digits[2] = ((long)bytes[14 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[15 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[16 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[17 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[18 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[19 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[20 + idx] << 48) & 0x00ff000000000000L);
-        digits[3] = ((long)bytes[21 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[22 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[23 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[24 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[25 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[26 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[27 + idx] << 48) & 0x00ff000000000000L);
-        digits[4] = ((long)bytes[28 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[29 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[30 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[31 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[32 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[33 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[34 + idx] << 48) & 0x00ff000000000000L);
-        digits[5] = ((long)bytes[35 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[36 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[37 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[38 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[39 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[40 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[41 + idx] << 48) & 0x00ff000000000000L);
-        digits[6] = ((long)bytes[42 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[43 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[44 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[45 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[46 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[47 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[48 + idx] << 48) & 0x00ff000000000000L);
-        digits[7] = ((long)bytes[49 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[50 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[51 + idx] << 16) & 0x00000000003f0000L);
+        final long start = Instrumentation.start();
+
+        unpackDigits(bytes, idx, digits);
+        Instrumentation.record(this, Instrumentation.Operation.UNPACK, start);
     }
 
     /**
@@ -608,7 +666,10 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      */
     @Override
     public void sqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         sqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.SQRT, start);
     }
 
     /**
@@ -630,7 +691,10 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      */
     @Override
     public void invSqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invSqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV_SQRT, start);
     }
 
     /**
@@ -653,6 +717,8 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      */
     @Override
     public byte legendre(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         System.arraycopy(digits, 0, scratch.d2, 0, NUM_DIGITS);
 
         legendrePowerDigits(scratch.d2, scratch);
@@ -663,6 +729,7 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
         final byte offset = (byte)(C_VAL * sign);
         final byte result = (byte)(low + offset);
 
+        Instrumentation.record(this, Instrumentation.Operation.LEGENDRE, start);
         return result;
     }
 
@@ -679,26 +746,153 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
 
     /**
      * Perform normalization on low-level representations.
+     * <p>
+     * The carry-out of the high digit is first folded into the low
+     * digit as a multiple of {@code C_VAL}.  That can carry or borrow
+     * out of the high digit once more, by at most one, so the fold is
+     * repeated, which leaves a value between {@code 0} and {@code
+     * 2^NUM_BITS}.  The modulus is then subtracted if the value plus
+     * {@code C_VAL} carries out of the high digit, which is selected
+     * in constant time.
      *
      * @param digits The low-level representation.
      * @param scratch The scratchpad to use.
      * @see #normalize
      */
-    private static void normalizeDigits(final long[] digits,
-                                        final Scratchpad scratch) {
-        final long[] offset = scratch.d0;
+    static void normalizeDigits(final long[] digits,
+                                final Scratchpad scratch) {
         final long[] plusc = scratch.d1;
 
-        System.arraycopy(MODULUS_DATA, 0, offset, 0, NUM_DIGITS);
-        System.arraycopy(digits, 0, plusc, 0, NUM_DIGITS);
-        addDigits(plusc, C_VAL, plusc);
-        mulDigits(offset, carryOut(plusc), offset);
-        subDigits(digits, offset, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, 0, digits);
+        addDigits(digits, C_VAL, plusc);
+
+        final long bit = carryOut(plusc);
+
+        plusc[NUM_DIGITS - 1] &= HIGH_DIGIT_MASK;
+        cmovDigits(digits, plusc, bit);
+    }
+
+    /**
+     * Low-level constant-time conditional move.  Overwrites {@code a}
+     * with {@code b} if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The digit array to overwrite.
+     * @param b The digit array to select.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cmovDigits(final long[] a,
+                           final long[] b,
+                           final long bit) {
+        final long mask = -bit;
+
+        a[0] ^= (a[0] ^ b[0]) & mask;
+        a[1] ^= (a[1] ^ b[1]) & mask;
+        a[2] ^= (a[2] ^ b[2]) & mask;
+        a[3] ^= (a[3] ^ b[3]) & mask;
+        a[4] ^= (a[4] ^ b[4]) & mask;
+        a[5] ^= (a[5] ^ b[5]) & mask;
+        a[6] ^= (a[6] ^ b[6]) & mask;
+        a[7] ^= (a[7] ^ b[7]) & mask;
+    }
+
+    /**
+     * Low-level constant-time conditional swap.  Exchanges the
+     * contents of {@code a} and {@code b} if {@code bit} is {@code
+     * 1}, and leaves both unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The first digit array.
+     * @param b The second digit array.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cswapDigits(final long[] a,
+                            final long[] b,
+                            final long bit) {
+        final long mask = -bit;
+        final long x0 = (a[0] ^ b[0]) & mask;
+        final long x1 = (a[1] ^ b[1]) & mask;
+        final long x2 = (a[2] ^ b[2]) & mask;
+        final long x3 = (a[3] ^ b[3]) & mask;
+        final long x4 = (a[4] ^ b[4]) & mask;
+        final long x5 = (a[5] ^ b[5]) & mask;
+        final long x6 = (a[6] ^ b[6]) & mask;
+        final long x7 = (a[7] ^ b[7]) & mask;
+
+        a[0] ^= x0;
+        b[0] ^= x0;
+        a[1] ^= x1;
+        b[1] ^= x1;
+        a[2] ^= x2;
+        b[2] ^= x2;
+        a[3] ^= x3;
+        b[3] ^= x3;
+        a[4] ^= x4;
+        b[4] ^= x4;
+        a[5] ^= x5;
+        b[5] ^= x5;
+        a[6] ^= x6;
+        b[6] ^= x6;
+        a[7] ^= x7;
+        b[7] ^= x7;
+    }
+
+    /**
+     * Low-level constant-time conditional negation.  Negates {@code
+     * digits} in place if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     * <p>
+     * This is the same carry chain as {@link #subDigits(long[],
+     * long[], long[])} with a zero LHS, except that each digit (and
+     * the carry-in) is passed through {@code (x ^ mask) - mask}, which
+     * is {@code -x} when the mask is all {@code 1}s and {@code x} when
+     * it is all {@code 0}s.
+     *
+     * @param digits The digit array to conditionally negate.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cnegDigits(final long[] digits,
+                           final long bit) {
+        final long mask = -bit;
+        final long a0 = digits[0] ^ mask;
+        final long a1 = digits[1] ^ mask;
+        final long a2 = digits[2] ^ mask;
+        final long a3 = digits[3] ^ mask;
+        final long a4 = digits[4] ^ mask;
+        final long a5 = digits[5] ^ mask;
+        final long a6 = digits[6] ^ mask;
+        final long a7 = (digits[7] & HIGH_DIGIT_MASK) ^ mask;
+
+        final long cin = (carryOut(digits) ^ mask) - mask;
+        final long s0 = a0 + bit + (cin * C_VAL);
+        final long c0 = s0 >> DIGIT_BITS;
+        final long s1 = a1 + bit + c0;
+        final long c1 = s1 >> DIGIT_BITS;
+        final long s2 = a2 + bit + c1;
+        final long c2 = s2 >> DIGIT_BITS;
+        final long s3 = a3 + bit + c2;
+        final long c3 = s3 >> DIGIT_BITS;
+        final long s4 = a4 + bit + c3;
+        final long c4 = s4 >> DIGIT_BITS;
+        final long s5 = a5 + bit + c4;
+        final long c5 = s5 >> DIGIT_BITS;
+        final long s6 = a6 + bit + c5;
+        final long c6 = s6 >> DIGIT_BITS;
+        final long s7 = a7 + bit + c6;
+
+        digits[0] = s0 & DIGIT_MASK;
+        digits[1] = s1 & DIGIT_MASK;
+        digits[2] = s2 & DIGIT_MASK;
+        digits[3] = s3 & DIGIT_MASK;
+        digits[4] = s4 & DIGIT_MASK;
+        digits[5] = s5 & DIGIT_MASK;
+        digits[6] = s6 & DIGIT_MASK;
+        digits[7] = s7;
     }
 
-    private static void packDigits(final long[] digits,
-                                   final byte[] bytes,
-                                   final int idx) {
+    static void packDigits(final long[] digits,
+                           final byte[] bytes,
+                           final int idx) {
         bytes[0 + idx] = (byte)(digits[0] & 0xff);
         bytes[1 + idx] = (byte)((digits[0] >> 8) & 0xff);
         bytes[2 + idx] = (byte)((digits[0] >> 16) & 0xff);
@@ -753,6 +947,70 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
         bytes[51 + idx] = (byte)((digits[7] >> 16) & 0x3f);
     }
 
+    /**
+     * Low-level unpacking from a little-endian byte representation.
+     *
+     * @param bytes The array from which to read.
+     * @param idx Index at which to start.
+     * @param digits The digits array into which to write.
+     */
+    static void unpackDigits(final byte[] bytes,
+                             final int idx,
+                             final long[] digits) {
+        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[6 + idx] << 48) & 0x00ff000000000000L);
+        digits[1] = ((long)bytes[7 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[8 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[9 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[10 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[11 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[12 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[13 + idx] << 48) & 0x00ff000000000000L);
+        digits[2] = ((long)bytes[14 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[15 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[16 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[17 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[18 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[19 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[20 + idx] << 48) & 0x00ff000000000000L);
+        digits[3] = ((long)bytes[21 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[22 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[23 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[24 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[25 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[26 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[27 + idx] << 48) & 0x00ff000000000000L);
+        digits[4] = ((long)bytes[28 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[29 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[30 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[31 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[32 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[33 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[34 + idx] << 48) & 0x00ff000000000000L);
+        digits[5] = ((long)bytes[35 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[36 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[37 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[38 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[39 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[40 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[41 + idx] << 48) & 0x00ff000000000000L);
+        digits[6] = ((long)bytes[42 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[43 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[44 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[45 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[46 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[47 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[48 + idx] << 48) & 0x00ff000000000000L);
+        digits[7] = ((long)bytes[49 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[50 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[51 + idx] << 16) & 0x00000000003f0000L);
+    }
+
     /**
      * Low-level digits addition.  It <i>is</i> safe to specify the same
      * array as both an input and an output.
@@ -761,9 +1019,9 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -817,9 +1075,9 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -864,9 +1122,9 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -920,9 +1178,9 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -967,9 +1225,29 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
+        if (KARATSUBA) {
+            mulDigitsKaratsuba(a, b, out);
+        } else {
+            mulDigitsSchoolbook(a, b, out);
+        }
+    }
+
+    /**
+     * Low-level digits multiplication, using schoolbook
+     * multiplication over the multiplication digits.  It <i>is</i>
+     * safe to specify the same array as both an input and an
+     * output.
+     *
+     * @param a The LHS digit array.
+     * @param b The RHS digit array.
+     * @param out The digit array into which to write the result.
+     */
+    static void mulDigitsSchoolbook(final long[] a,
+                                    final long[] b,
+                                    final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -1564,6 +1842,280 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
         out[7] = s7_0;
     }
 
+    /**
+     * Low-level digits multiplication, using one level of
+     * Karatsuba over the multiplication digits.  It <i>is</i>
+     * safe to specify the same array as both an input and an
+     * output.
+     *
+     * @param a The LHS digit array.
+     * @param b The RHS digit array.
+     * @param out The digit array into which to write the result.
+     */
+    static void mulDigitsKaratsuba(final long[] a,
+                                   final long[] b,
+                                   final long[] out) {
+        final long a0 = a[0] & MUL_DIGIT_MASK;
+        final long a1 = a[0] >> MUL_DIGIT_BITS;
+        final long a2 = a[1] & MUL_DIGIT_MASK;
+        final long a3 = a[1] >> MUL_DIGIT_BITS;
+        final long a4 = a[2] & MUL_DIGIT_MASK;
+        final long a5 = a[2] >> MUL_DIGIT_BITS;
+        final long a6 = a[3] & MUL_DIGIT_MASK;
+        final long a7 = a[3] >> MUL_DIGIT_BITS;
+        final long a8 = a[4] & MUL_DIGIT_MASK;
+        final long a9 = a[4] >> MUL_DIGIT_BITS;
+        final long a10 = a[5] & MUL_DIGIT_MASK;
+        final long a11 = a[5] >> MUL_DIGIT_BITS;
+        final long a12 = a[6] & MUL_DIGIT_MASK;
+        final long a13 = a[6] >> MUL_DIGIT_BITS;
+        final long a14 = a[7];
+
+        final long b0 = b[0] & MUL_DIGIT_MASK;
+        final long b1 = b[0] >> MUL_DIGIT_BITS;
+        final long b2 = b[1] & MUL_DIGIT_MASK;
+        final long b3 = b[1] >> MUL_DIGIT_BITS;
+        final long b4 = b[2] & MUL_DIGIT_MASK;
+        final long b5 = b[2] >> MUL_DIGIT_BITS;
+        final long b6 = b[3] & MUL_DIGIT_MASK;
+        final long b7 = b[3] >> MUL_DIGIT_BITS;
+        final long b8 = b[4] & MUL_DIGIT_MASK;
+        final long b9 = b[4] >> MUL_DIGIT_BITS;
+        final long b10 = b[5] & MUL_DIGIT_MASK;
+        final long b11 = b[5] >> MUL_DIGIT_BITS;
+        final long b12 = b[6] & MUL_DIGIT_MASK;
+        final long b13 = b[6] >> MUL_DIGIT_BITS;
+        final long b14 = b[7];
+
+        // Sums of the low and high halves.
+        final long as0 = a0 + a8;
+        final long as1 = a1 + a9;
+        final long as2 = a2 + a10;
+        final long as3 = a3 + a11;
+        final long as4 = a4 + a12;
+        final long as5 = a5 + a13;
+        final long as6 = a6 + a14;
+        final long as7 = a7;
+        final long bs0 = b0 + b8;
+        final long bs1 = b1 + b9;
+        final long bs2 = b2 + b10;
+        final long bs3 = b3 + b11;
+        final long bs4 = b4 + b12;
+        final long bs5 = b5 + b13;
+        final long bs6 = b6 + b14;
+        final long bs7 = b7;
+
+        // Low half product.
+        final long p0_0 = a0 * b0;
+        final long p0_1 = a0 * b1 + a1 * b0;
+        final long p0_2 = a0 * b2 + a1 * b1 + a2 * b0;
+        final long p0_3 = a0 * b3 + a1 * b2 + a2 * b1 + a3 * b0;
+        final long p0_4 = a0 * b4 + a1 * b3 + a2 * b2 + a3 * b1 + a4 * b0;
+        final long p0_5 = a0 * b5 + a1 * b4 + a2 * b3 + a3 * b2 + a4 * b1 +
+            a5 * b0;
+        final long p0_6 = a0 * b6 + a1 * b5 + a2 * b4 + a3 * b3 + a4 * b2 +
+            a5 * b1 + a6 * b0;
+        final long p0_7 = a0 * b7 + a1 * b6 + a2 * b5 + a3 * b4 + a4 * b3 +
+            a5 * b2 + a6 * b1 + a7 * b0;
+        final long p0_8 = a1 * b7 + a2 * b6 + a3 * b5 + a4 * b4 + a5 * b3 +
+            a6 * b2 + a7 * b1;
+        final long p0_9 = a2 * b7 + a3 * b6 + a4 * b5 + a5 * b4 + a6 * b3 +
+            a7 * b2;
+        final long p0_10 = a3 * b7 + a4 * b6 + a5 * b5 + a6 * b4 + a7 * b3;
+        final long p0_11 = a4 * b7 + a5 * b6 + a6 * b5 + a7 * b4;
+        final long p0_12 = a5 * b7 + a6 * b6 + a7 * b5;
+        final long p0_13 = a6 * b7 + a7 * b6;
+        final long p0_14 = a7 * b7;
+
+        // High half product.
+        final long p2_0 = a8 * b8;
+        final long p2_1 = a8 * b9 + a9 * b8;
+        final long p2_2 = a8 * b10 + a9 * b9 + a10 * b8;
+        final long p2_3 = a8 * b11 + a9 * b10 + a10 * b9 + a11 * b8;
+        final long p2_4 = a8 * b12 + a9 * b11 + a10 * b10 + a11 * b9 +
+            a12 * b8;
+        final long p2_5 = a8 * b13 + a9 * b12 + a10 * b11 + a11 * b10 +
+            a12 * b9 + a13 * b8;
+        final long p2_6 = a8 * b14 + a9 * b13 + a10 * b12 + a11 * b11 +
+            a12 * b10 + a13 * b9 + a14 * b8;
+        final long p2_7 = a9 * b14 + a10 * b13 + a11 * b12 + a12 * b11 +
+            a13 * b10 + a14 * b9;
+        final long p2_8 = a10 * b14 + a11 * b13 + a12 * b12 + a13 * b11 +
+            a14 * b10;
+        final long p2_9 = a11 * b14 + a12 * b13 + a13 * b12 + a14 * b11;
+        final long p2_10 = a12 * b14 + a13 * b13 + a14 * b12;
+        final long p2_11 = a13 * b14 + a14 * b13;
+        final long p2_12 = a14 * b14;
+
+        // Product of the half sums.
+        final long p1_0 = as0 * bs0;
+        final long p1_1 = as0 * bs1 + as1 * bs0;
+        final long p1_2 = as0 * bs2 + as1 * bs1 + as2 * bs0;
+        final long p1_3 = as0 * bs3 + as1 * bs2 + as2 * bs1 + as3 * bs0;
+        final long p1_4 = as0 * bs4 + as1 * bs3 + as2 * bs2 + as3 * bs1 +
+            as4 * bs0;
+        final long p1_5 = as0 * bs5 + as1 * bs4 + as2 * bs3 + as3 * bs2 +
+            as4 * bs1 + as5 * bs0;
+        final long p1_6 = as0 * bs6 + as1 * bs5 + as2 * bs4 + as3 * bs3 +
+            as4 * bs2 + as5 * bs1 + as6 * bs0;
+        final long p1_7 = as0 * bs7 + as1 * bs6 + as2 * bs5 + as3 * bs4 +
+            as4 * bs3 + as5 * bs2 + as6 * bs1 + as7 * bs0;
+        final long p1_8 = as1 * bs7 + as2 * bs6 + as3 * bs5 + as4 * bs4 +
+            as5 * bs3 + as6 * bs2 + as7 * bs1;
+        final long p1_9 = as2 * bs7 + as3 * bs6 + as4 * bs5 + as5 * bs4 +
+            as6 * bs3 + as7 * bs2;
+        final long p1_10 = as3 * bs7 + as4 * bs6 + as5 * bs5 + as6 * bs4 +
+            as7 * bs3;
+        final long p1_11 = as4 * bs7 + as5 * bs6 + as6 * bs5 + as7 * bs4;
+        final long p1_12 = as5 * bs7 + as6 * bs6 + as7 * bs5;
+        final long p1_13 = as6 * bs7 + as7 * bs6;
+        final long p1_14 = as7 * bs7;
+
+        // Middle terms.
+        final long q0 = p1_0 - p0_0 - p2_0;
+        final long q1 = p1_1 - p0_1 - p2_1;
+        final long q2 = p1_2 - p0_2 - p2_2;
+        final long q3 = p1_3 - p0_3 - p2_3;
+        final long q4 = p1_4 - p0_4 - p2_4;
+        final long q5 = p1_5 - p0_5 - p2_5;
+        final long q6 = p1_6 - p0_6 - p2_6;
+        final long q7 = p1_7 - p0_7 - p2_7;
+        final long q8 = p1_8 - p0_8 - p2_8;
+        final long q9 = p1_9 - p0_9 - p2_9;
+        final long q10 = p1_10 - p0_10 - p2_10;
+        final long q11 = p1_11 - p0_11 - p2_11;
+        final long q12 = p1_12 - p0_12 - p2_12;
+        final long q13 = p1_13 - p0_13;
+        final long q14 = p1_14 - p0_14;
+
+        // Recombine into columns and propagate carries.
+        final long t0 = p0_0;
+        final long t1 = p0_1 + (t0 >> MUL_DIGIT_BITS);
+        final long t2 = p0_2 + (t1 >> MUL_DIGIT_BITS);
+        final long t3 = p0_3 + (t2 >> MUL_DIGIT_BITS);
+        final long t4 = p0_4 + (t3 >> MUL_DIGIT_BITS);
+        final long t5 = p0_5 + (t4 >> MUL_DIGIT_BITS);
+        final long t6 = p0_6 + (t5 >> MUL_DIGIT_BITS);
+        final long t7 = p0_7 + (t6 >> MUL_DIGIT_BITS);
+        final long t8 = p0_8 + q0 + (t7 >> MUL_DIGIT_BITS);
+        final long t9 = p0_9 + q1 + (t8 >> MUL_DIGIT_BITS);
+        final long t10 = p0_10 + q2 + (t9 >> MUL_DIGIT_BITS);
+        final long t11 = p0_11 + q3 + (t10 >> MUL_DIGIT_BITS);
+        final long t12 = p0_12 + q4 + (t11 >> MUL_DIGIT_BITS);
+        final long t13 = p0_13 + q5 + (t12 >> MUL_DIGIT_BITS);
+        final long t14 = p0_14 + q6 + (t13 >> MUL_DIGIT_BITS);
+        final long t15 = q7 + (t14 >> MUL_DIGIT_BITS);
+        final long t16 = q8 + p2_0 + (t15 >> MUL_DIGIT_BITS);
+        final long t17 = q9 + p2_1 + (t16 >> MUL_DIGIT_BITS);
+        final long t18 = q10 + p2_2 + (t17 >> MUL_DIGIT_BITS);
+        final long t19 = q11 + p2_3 + (t18 >> MUL_DIGIT_BITS);
+        final long t20 = q12 + p2_4 + (t19 >> MUL_DIGIT_BITS);
+        final long t21 = q13 + p2_5 + (t20 >> MUL_DIGIT_BITS);
+        final long t22 = q14 + p2_6 + (t21 >> MUL_DIGIT_BITS);
+        final long t23 = p2_7 + (t22 >> MUL_DIGIT_BITS);
+        final long t24 = p2_8 + (t23 >> MUL_DIGIT_BITS);
+        final long t25 = p2_9 + (t24 >> MUL_DIGIT_BITS);
+        final long t26 = p2_10 + (t25 >> MUL_DIGIT_BITS);
+        final long t27 = p2_11 + (t26 >> MUL_DIGIT_BITS);
+        final long t28 = p2_12 + (t27 >> MUL_DIGIT_BITS);
+
+        final long d0 = (t0 & MUL_DIGIT_MASK) |
+                         ((t1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d1 = (t2 & MUL_DIGIT_MASK) |
+                         ((t3 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d2 = (t4 & MUL_DIGIT_MASK) |
+                         ((t5 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d3 = (t6 & MUL_DIGIT_MASK) |
+                         ((t7 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d4 = (t8 & MUL_DIGIT_MASK) |
+                         ((t9 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d5 = (t10 & MUL_DIGIT_MASK) |
+                         ((t11 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d6 = (t12 & MUL_DIGIT_MASK) |
+                         ((t13 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d7 = (t14 & MUL_DIGIT_MASK) |
+                         ((t15 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d8 = (t16 & MUL_DIGIT_MASK) |
+                         ((t17 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d9 = (t18 & MUL_DIGIT_MASK) |
+                         ((t19 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d10 = (t20 & MUL_DIGIT_MASK) |
+                         ((t21 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d11 = (t22 & MUL_DIGIT_MASK) |
+                         ((t23 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d12 = (t24 & MUL_DIGIT_MASK) |
+                         ((t25 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d13 = (t26 & MUL_DIGIT_MASK) |
+                         ((t27 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d14 = t28;
+
+        // Modular reduction by a pseudo-mersenne prime of the form 2^n - c.
+
+        // These are the n low-order
+        final long l0_0 = d0 & DIGIT_MASK;
+        final long l1_0 = d1 & DIGIT_MASK;
+        final long l2_0 = d2 & DIGIT_MASK;
+        final long l3_0 = d3 & DIGIT_MASK;
+        final long l4_0 = d4 & DIGIT_MASK;
+        final long l5_0 = d5 & DIGIT_MASK;
+        final long l6_0 = d6 & DIGIT_MASK;
+        final long l7_0 = d7 & HIGH_DIGIT_MASK;
+
+        // Shift the high bits down into another n-bit number.
+        final long h0_0 = ((d7 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d8 & HIGH_DIGIT_MASK) << 34);
+        final long h1_0 = ((d8 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d9 & HIGH_DIGIT_MASK) << 34);
+        final long h2_0 = ((d9 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d10 & HIGH_DIGIT_MASK) << 34);
+        final long h3_0 = ((d10 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d11 & HIGH_DIGIT_MASK) << 34);
+        final long h4_0 = ((d11 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d12 & HIGH_DIGIT_MASK) << 34);
+        final long h5_0 = ((d12 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d13 & HIGH_DIGIT_MASK) << 34);
+        final long h6_0 = ((d13 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d14 & HIGH_DIGIT_MASK) << 34);
+        final long h7_0 = d14 >> HIGH_DIGIT_BITS;
+
+        // Multiply by C
+        final long hc0_0 = h0_0 * C_VAL;
+        final long hc1_0 = h1_0 * C_VAL;
+        final long hc2_0 = h2_0 * C_VAL;
+        final long hc3_0 = h3_0 * C_VAL;
+        final long hc4_0 = h4_0 * C_VAL;
+        final long hc5_0 = h5_0 * C_VAL;
+        final long hc6_0 = h6_0 * C_VAL;
+        final long hc7_0 = h7_0 * C_VAL;
+
+        // Add h and l.
+        final long kin_0 = hc7_0 >> HIGH_DIGIT_BITS;
+        final long s0_0 = l0_0 + hc0_0 + (kin_0 * C_VAL);
+        final long k0_0 = s0_0 >> DIGIT_BITS;
+        final long s1_0 = l1_0 + hc1_0 + k0_0;
+        final long k1_0 = s1_0 >> DIGIT_BITS;
+        final long s2_0 = l2_0 + hc2_0 + k1_0;
+        final long k2_0 = s2_0 >> DIGIT_BITS;
+        final long s3_0 = l3_0 + hc3_0 + k2_0;
+        final long k3_0 = s3_0 >> DIGIT_BITS;
+        final long s4_0 = l4_0 + hc4_0 + k3_0;
+        final long k4_0 = s4_0 >> DIGIT_BITS;
+        final long s5_0 = l5_0 + hc5_0 + k4_0;
+        final long k5_0 = s5_0 >> DIGIT_BITS;
+        final long s6_0 = l6_0 + hc6_0 + k5_0;
+        final long k6_0 = s6_0 >> DIGIT_BITS;
+        final long s7_0 = l7_0 + (hc7_0 & HIGH_DIGIT_MASK) + k6_0;
+
+        out[0] = s0_0 & DIGIT_MASK;
+        out[1] = s1_0 & DIGIT_MASK;
+        out[2] = s2_0 & DIGIT_MASK;
+        out[3] = s3_0 & DIGIT_MASK;
+        out[4] = s4_0 & DIGIT_MASK;
+        out[5] = s5_0 & DIGIT_MASK;
+        out[6] = s6_0 & DIGIT_MASK;
+        out[7] = s7_0;
+    }
+
     /**
      * Low-level digit-small value multiplication.  It <i>is</i> safe
      * to specify the same array as both an input and an output.
@@ -1572,9 +2124,9 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final int b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final int b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -1671,7 +2223,21 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      *
      * @param digits The digits array to square.
      */
-    private static void squareDigits(final long[] digits) {
+    static void squareDigits(final long[] digits) {
+        if (KARATSUBA) {
+            squareDigitsKaratsuba(digits);
+        } else {
+            squareDigitsSchoolbook(digits);
+        }
+    }
+
+    /**
+     * Low-level digits squaring, using schoolbook multiplication
+     * over the multiplication digits.
+     *
+     * @param digits The digits array to square.
+     */
+    static void squareDigitsSchoolbook(final long[] digits) {
         final long a0 = digits[0] & MUL_DIGIT_MASK;
         final long a1 = digits[0] >> MUL_DIGIT_BITS;
         final long a2 = digits[1] & MUL_DIGIT_MASK;
@@ -2239,14 +2805,245 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
         digits[7] = s7_0;
     }
 
+    /**
+     * Low-level digits squaring, using one level of Karatsuba
+     * over the multiplication digits.
+     *
+     * @param digits The digits array to square.
+     */
+    static void squareDigitsKaratsuba(final long[] digits) {
+        final long a0 = digits[0] & MUL_DIGIT_MASK;
+        final long a1 = digits[0] >> MUL_DIGIT_BITS;
+        final long a2 = digits[1] & MUL_DIGIT_MASK;
+        final long a3 = digits[1] >> MUL_DIGIT_BITS;
+        final long a4 = digits[2] & MUL_DIGIT_MASK;
+        final long a5 = digits[2] >> MUL_DIGIT_BITS;
+        final long a6 = digits[3] & MUL_DIGIT_MASK;
+        final long a7 = digits[3] >> MUL_DIGIT_BITS;
+        final long a8 = digits[4] & MUL_DIGIT_MASK;
+        final long a9 = digits[4] >> MUL_DIGIT_BITS;
+        final long a10 = digits[5] & MUL_DIGIT_MASK;
+        final long a11 = digits[5] >> MUL_DIGIT_BITS;
+        final long a12 = digits[6] & MUL_DIGIT_MASK;
+        final long a13 = digits[6] >> MUL_DIGIT_BITS;
+        final long a14 = digits[7];
+
+        // Sums of the low and high halves.
+        final long as0 = a0 + a8;
+        final long as1 = a1 + a9;
+        final long as2 = a2 + a10;
+        final long as3 = a3 + a11;
+        final long as4 = a4 + a12;
+        final long as5 = a5 + a13;
+        final long as6 = a6 + a14;
+        final long as7 = a7;
+
+        // Low half product.
+        final long p0_0 = a0 * a0;
+        final long p0_1 = ((a0 * a1) << 1);
+        final long p0_2 = ((a0 * a2) << 1) + a1 * a1;
+        final long p0_3 = ((a0 * a3 + a1 * a2) << 1);
+        final long p0_4 = ((a0 * a4 + a1 * a3) << 1) + a2 * a2;
+        final long p0_5 = ((a0 * a5 + a1 * a4 + a2 * a3) << 1);
+        final long p0_6 = ((a0 * a6 + a1 * a5 + a2 * a4) << 1) + a3 * a3;
+        final long p0_7 = ((a0 * a7 + a1 * a6 + a2 * a5 + a3 * a4) << 1);
+        final long p0_8 = ((a1 * a7 + a2 * a6 + a3 * a5) << 1) + a4 * a4;
+        final long p0_9 = ((a2 * a7 + a3 * a6 + a4 * a5) << 1);
+        final long p0_10 = ((a3 * a7 + a4 * a6) << 1) + a5 * a5;
+        final long p0_11 = ((a4 * a7 + a5 * a6) << 1);
+        final long p0_12 = ((a5 * a7) << 1) + a6 * a6;
+        final long p0_13 = ((a6 * a7) << 1);
+        final long p0_14 = a7 * a7;
+
+        // High half product.
+        final long p2_0 = a8 * a8;
+        final long p2_1 = ((a8 * a9) << 1);
+        final long p2_2 = ((a8 * a10) << 1) + a9 * a9;
+        final long p2_3 = ((a8 * a11 + a9 * a10) << 1);
+        final long p2_4 = ((a8 * a12 + a9 * a11) << 1) + a10 * a10;
+        final long p2_5 = ((a8 * a13 + a9 * a12 + a10 * a11) << 1);
+        final long p2_6 = ((a8 * a14 + a9 * a13 + a10 * a12) << 1) +
+            a11 * a11;
+        final long p2_7 = ((a9 * a14 + a10 * a13 + a11 * a12) << 1);
+        final long p2_8 = ((a10 * a14 + a11 * a13) << 1) + a12 * a12;
+        final long p2_9 = ((a11 * a14 + a12 * a13) << 1);
+        final long p2_10 = ((a12 * a14) << 1) + a13 * a13;
+        final long p2_11 = ((a13 * a14) << 1);
+        final long p2_12 = a14 * a14;
+
+        // Product of the half sums.
+        final long p1_0 = as0 * as0;
+        final long p1_1 = ((as0 * as1) << 1);
+        final long p1_2 = ((as0 * as2) << 1) + as1 * as1;
+        final long p1_3 = ((as0 * as3 + as1 * as2) << 1);
+        final long p1_4 = ((as0 * as4 + as1 * as3) << 1) + as2 * as2;
+        final long p1_5 = ((as0 * as5 + as1 * as4 + as2 * as3) << 1);
+        final long p1_6 = ((as0 * as6 + as1 * as5 + as2 * as4) << 1) +
+            as3 * as3;
+        final long p1_7 =
+            ((as0 * as7 + as1 * as6 + as2 * as5 + as3 * as4) << 1);
+        final long p1_8 = ((as1 * as7 + as2 * as6 + as3 * as5) << 1) +
+            as4 * as4;
+        final long p1_9 = ((as2 * as7 + as3 * as6 + as4 * as5) << 1);
+        final long p1_10 = ((as3 * as7 + as4 * as6) << 1) + as5 * as5;
+        final long p1_11 = ((as4 * as7 + as5 * as6) << 1);
+        final long p1_12 = ((as5 * as7) << 1) + as6 * as6;
+        final long p1_13 = ((as6 * as7) << 1);
+        final long p1_14 = as7 * as7;
+
+        // Middle terms.
+        final long q0 = p1_0 - p0_0 - p2_0;
+        final long q1 = p1_1 - p0_1 - p2_1;
+        final long q2 = p1_2 - p0_2 - p2_2;
+        final long q3 = p1_3 - p0_3 - p2_3;
+        final long q4 = p1_4 - p0_4 - p2_4;
+        final long q5 = p1_5 - p0_5 - p2_5;
+        final long q6 = p1_6 - p0_6 - p2_6;
+        final long q7 = p1_7 - p0_7 - p2_7;
+        final long q8 = p1_8 - p0_8 - p2_8;
+        final long q9 = p1_9 - p0_9 - p2_9;
+        final long q10 = p1_10 - p0_10 - p2_10;
+        final long q11 = p1_11 - p0_11 - p2_11;
+        final long q12 = p1_12 - p0_12 - p2_12;
+        final long q13 = p1_13 - p0_13;
+        final long q14 = p1_14 - p0_14;
+
+        // Recombine into columns and propagate carries.
+        final long t0 = p0_0;
+        final long t1 = p0_1 + (t0 >> MUL_DIGIT_BITS);
+        final long t2 = p0_2 + (t1 >> MUL_DIGIT_BITS);
+        final long t3 = p0_3 + (t2 >> MUL_DIGIT_BITS);
+        final long t4 = p0_4 + (t3 >> MUL_DIGIT_BITS);
+        final long t5 = p0_5 + (t4 >> MUL_DIGIT_BITS);
+        final long t6 = p0_6 + (t5 >> MUL_DIGIT_BITS);
+        final long t7 = p0_7 + (t6 >> MUL_DIGIT_BITS);
+        final long t8 = p0_8 + q0 + (t7 >> MUL_DIGIT_BITS);
+        final long t9 = p0_9 + q1 + (t8 >> MUL_DIGIT_BITS);
+        final long t10 = p0_10 + q2 + (t9 >> MUL_DIGIT_BITS);
+        final long t11 = p0_11 + q3 + (t10 >> MUL_DIGIT_BITS);
+        final long t12 = p0_12 + q4 + (t11 >> MUL_DIGIT_BITS);
+        final long t13 = p0_13 + q5 + (t12 >> MUL_DIGIT_BITS);
+        final long t14 = p0_14 + q6 + (t13 >> MUL_DIGIT_BITS);
+        final long t15 = q7 + (t14 >> MUL_DIGIT_BITS);
+        final long t16 = q8 + p2_0 + (t15 >> MUL_DIGIT_BITS);
+        final long t17 = q9 + p2_1 + (t16 >> MUL_DIGIT_BITS);
+        final long t18 = q10 + p2_2 + (t17 >> MUL_DIGIT_BITS);
+        final long t19 = q11 + p2_3 + (t18 >> MUL_DIGIT_BITS);
+        final long t20 = q12 + p2_4 + (t19 >> MUL_DIGIT_BITS);
+        final long t21 = q13 + p2_5 + (t20 >> MUL_DIGIT_BITS);
+        final long t22 = q14 + p2_6 + (t21 >> MUL_DIGIT_BITS);
+        final long t23 = p2_7 + (t22 >> MUL_DIGIT_BITS);
+        final long t24 = p2_8 + (t23 >> MUL_DIGIT_BITS);
+        final long t25 = p2_9 + (t24 >> MUL_DIGIT_BITS);
+        final long t26 = p2_10 + (t25 >> MUL_DIGIT_BITS);
+        final long t27 = p2_11 + (t26 >> MUL_DIGIT_BITS);
+        final long t28 = p2_12 + (t27 >> MUL_DIGIT_BITS);
+
+        final long d0 = (t0 & MUL_DIGIT_MASK) |
+                         ((t1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d1 = (t2 & MUL_DIGIT_MASK) |
+                         ((t3 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d2 = (t4 & MUL_DIGIT_MASK) |
+                         ((t5 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d3 = (t6 & MUL_DIGIT_MASK) |
+                         ((t7 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d4 = (t8 & MUL_DIGIT_MASK) |
+                         ((t9 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d5 = (t10 & MUL_DIGIT_MASK) |
+                         ((t11 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d6 = (t12 & MUL_DIGIT_MASK) |
+                         ((t13 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d7 = (t14 & MUL_DIGIT_MASK) |
+                         ((t15 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d8 = (t16 & MUL_DIGIT_MASK) |
+                         ((t17 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d9 = (t18 & MUL_DIGIT_MASK) |
+                         ((t19 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d10 = (t20 & MUL_DIGIT_MASK) |
+                         ((t21 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d11 = (t22 & MUL_DIGIT_MASK) |
+                         ((t23 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d12 = (t24 & MUL_DIGIT_MASK) |
+                         ((t25 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d13 = (t26 & MUL_DIGIT_MASK) |
+                         ((t27 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d14 = t28;
+
+        // Modular reduction by a pseudo-mersenne prime of the form 2^n - c.
+
+        // These are the n low-order
+        final long l0_0 = d0 & DIGIT_MASK;
+        final long l1_0 = d1 & DIGIT_MASK;
+        final long l2_0 = d2 & DIGIT_MASK;
+        final long l3_0 = d3 & DIGIT_MASK;
+        final long l4_0 = d4 & DIGIT_MASK;
+        final long l5_0 = d5 & DIGIT_MASK;
+        final long l6_0 = d6 & DIGIT_MASK;
+        final long l7_0 = d7 & HIGH_DIGIT_MASK;
+
+        // Shift the high bits down into another n-bit number.
+        final long h0_0 = ((d7 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d8 & HIGH_DIGIT_MASK) << 34);
+        final long h1_0 = ((d8 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d9 & HIGH_DIGIT_MASK) << 34);
+        final long h2_0 = ((d9 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d10 & HIGH_DIGIT_MASK) << 34);
+        final long h3_0 = ((d10 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d11 & HIGH_DIGIT_MASK) << 34);
+        final long h4_0 = ((d11 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d12 & HIGH_DIGIT_MASK) << 34);
+        final long h5_0 = ((d12 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d13 & HIGH_DIGIT_MASK) << 34);
+        final long h6_0 = ((d13 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d14 & HIGH_DIGIT_MASK) << 34);
+        final long h7_0 = d14 >> HIGH_DIGIT_BITS;
+
+        // Multiply by C
+        final long hc0_0 = h0_0 * C_VAL;
+        final long hc1_0 = h1_0 * C_VAL;
+        final long hc2_0 = h2_0 * C_VAL;
+        final long hc3_0 = h3_0 * C_VAL;
+        final long hc4_0 = h4_0 * C_VAL;
+        final long hc5_0 = h5_0 * C_VAL;
+        final long hc6_0 = h6_0 * C_VAL;
+        final long hc7_0 = h7_0 * C_VAL;
+
+        // Add h and l.
+        final long kin_0 = hc7_0 >> HIGH_DIGIT_BITS;
+        final long s0_0 = l0_0 + hc0_0 + (kin_0 * C_VAL);
+        final long k0_0 = s0_0 >> DIGIT_BITS;
+        final long s1_0 = l1_0 + hc1_0 + k0_0;
+        final long k1_0 = s1_0 >> DIGIT_BITS;
+        final long s2_0 = l2_0 + hc2_0 + k1_0;
+        final long k2_0 = s2_0 >> DIGIT_BITS;
+        final long s3_0 = l3_0 + hc3_0 + k2_0;
+        final long k3_0 = s3_0 >> DIGIT_BITS;
+        final long s4_0 = l4_0 + hc4_0 + k3_0;
+        final long k4_0 = s4_0 >> DIGIT_BITS;
+        final long s5_0 = l5_0 + hc5_0 + k4_0;
+        final long k5_0 = s5_0 >> DIGIT_BITS;
+        final long s6_0 = l6_0 + hc6_0 + k5_0;
+        final long k6_0 = s6_0 >> DIGIT_BITS;
+        final long s7_0 = l7_0 + (hc7_0 & HIGH_DIGIT_MASK) + k6_0;
+
+        digits[0] = s0_0 & DIGIT_MASK;
+        digits[1] = s1_0 & DIGIT_MASK;
+        digits[2] = s2_0 & DIGIT_MASK;
+        digits[3] = s3_0 & DIGIT_MASK;
+        digits[4] = s4_0 & DIGIT_MASK;
+        digits[5] = s5_0 & DIGIT_MASK;
+        digits[6] = s6_0 & DIGIT_MASK;
+        digits[7] = s7_0;
+    }
+
     /**
      * Low-level digits multiplicative inverse (reciprocal).
      *
      * @param digits The digits array to invert.
      * @param scratch The scratchpad to use.
      */
-    private static void invDigits(final long[] digits,
-                                  final Scratchpad scratch) {
+    static void invDigits(final long[] digits,
+                          final Scratchpad scratch) {
         // First digit is 1.
         final long[] sqval = scratch.d0;
 
@@ -2278,8 +3075,8 @@ public final class ModE414M17 extends PrimeField<ModE414M17> {
      * @param digits The digits array to initalize.
      * @param val The {@code int} from which to initialize.
      */
-    private static void initDigits(final long[] digits,
-                                   final int val) {
+    static void initDigits(final long[] digits,
+                           final int val) {
         Arrays.fill(digits, 0);
         addDigits(digits, val, digits);
     }
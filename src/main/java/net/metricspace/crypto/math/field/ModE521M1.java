@@ -44,7 +44,7 @@ import java.util.Arrays;
  * This field is the foundation of the E-521 curve.
  */
 public final class ModE521M1 extends PrimeField<ModE521M1> {
-    private static final ThreadLocal<Scratchpad> scratchpads =
+    static final ThreadLocal<Scratchpad> scratchpads =
         new ThreadLocal<Scratchpad>() {
             @Override
             public Scratchpad initialValue() {
@@ -133,9 +133,46 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
 
     /**
      * The value {@code c}, in the pseudo-Mersenne prime form {@code 2^n - c}.
+     * <p>
+     * Here {@code c = 1}, so the modulus is a true Mersenne prime, and
+     * the digit routines add carries out of the high digit back into
+     * the low digit without scaling them.
      */
     static final byte C_VAL = 1;
 
+    /**
+     * Largest bound for lazy operations.  This is the largest multiple
+     * of carried digits for which the worst-case inputs to {@code
+     * mulDigits} and {@code squareDigits} do not overflow, as derived
+     * in {@code PrimeField.maxLazyBound}.  The middle column needs
+     * {@code 9 * k^2 + 30 < 2^(63 - 54) = 512}, so {@code k <= 7}.  The
+     * reduction needs {@code 1 * k^2 < 2^(61 - 35)}, so {@code
+     * k <= 8191}.  The Karatsuba kernels add up the same columns, so
+     * the same conditions apply.
+     *
+     * @see #lazyBound()
+     */
+    static final int LAZY_BOUND =
+        maxLazyBound(NUM_DIGITS, DIGIT_BITS, C_VAL, 61 - HIGH_DIGIT_BITS);
+
+    /**
+     * System property selecting the multiplication kernel.  If
+     * {@code true}, {@link #mul} and {@link #square} use one level
+     * of Karatsuba; if {@code false}, schoolbook multiplication.
+     * Read once, when the class is initialized.
+     */
+    static final String KARATSUBA_PROPERTY =
+        "net.metricspace.crypto.math.field.ModE521M1.karatsuba";
+
+    /**
+     * Whether to use the Karatsuba multiplication kernels.
+     *
+     * @see #KARATSUBA_PROPERTY
+     */
+    static final boolean KARATSUBA =
+        Boolean.parseBoolean(System.getProperty(KARATSUBA_PROPERTY,
+                                                "true"));
+
     /**
      * Data for the value {@code 0}.
      */
@@ -220,13 +257,18 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
 
     /**
      * Initialize a {@code ModE521M1} with the given digits array.
-     * The array is <i>not</i> copied.
+     * The array is <i>not</i> copied, but its digits are carried, as
+     * every new value has bound {@code 1}.  The digits may be larger
+     * than those of a carried value, as long as the carry out of the
+     * high digit fits in a {@code short}.
      *
      * @param data The data to initialize the {@code ModE521M1}.
      * @see #digits
+     * @see #bound()
      */
     ModE521M1(final long[] data) {
         super(data);
+        addDigits(data, 0, data);
     }
 
     /**
@@ -298,7 +340,11 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      */
     @Override
     public ModE521M1 clone() {
-        return create(digits);
+        final ModE521M1 out = new ModE521M1();
+
+        out.set(this);
+
+        return out;
     }
 
     /**
@@ -317,6 +363,14 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         return NUM_BITS;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int digitBits() {
+        return DIGIT_BITS;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -349,6 +403,22 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         return MUL_DIGIT_MASK;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lazyBound() {
+        return LAZY_BOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long[] modulusDigits() {
+        return MODULUS_DATA;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -384,6 +454,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
     @Override
     public void add(final long b) {
         addDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -392,6 +463,36 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
     @Override
     public void neg() {
         subDigits(ZERO_DATA, digits, digits);
+        bound = 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cmov(final ModE521M1 src,
+                     final long bit) {
+        cmovDigits(digits, src.digits, bit);
+        bound = Math.max(bound, src.bound);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cswap(final ModE521M1 other,
+                      final long bit) {
+        cswapDigits(digits, other.digits, bit);
+        bound = Math.max(bound, other.bound);
+        other.bound = bound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cneg(final long bit) {
+        cnegDigits(digits, bit);
     }
 
     /**
@@ -408,6 +509,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
     @Override
     public void sub(final long b) {
         subDigits(digits, b, digits);
+        bound = 1;
     }
 
     /**
@@ -423,6 +525,10 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      */
     @Override
     public void mul(final int b) {
+        if (bound > 1) {
+            carry();
+        }
+
         mulDigits(digits, b, digits);
     }
 
@@ -432,6 +538,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
     @Override
     public void square() {
         squareDigits(digits);
+        bound = 1;
     }
 
     /**
@@ -444,7 +551,10 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      */
     @Override
     public void inv(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV, start);
     }
 
     /**
@@ -472,8 +582,8 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * {@inheritDoc}
      */
     @Override
-    public void div(final int b,
-                    final Scratchpad scratch) {
+    protected void divInverse(final int b,
+                              final Scratchpad scratch) {
         final long[] divisor = scratch.d2;
 
         initDigits(divisor, b);
@@ -516,79 +626,10 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
     @Override
     public void unpack(final byte[] bytes,
                        final int idx) {
-        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[6 + idx] << 48) & 0x003f000000000000L);
-        digits[1] = (((long)bytes[6 + idx] >> 6) & 0x0000000000000003L) |
-                    (((long)bytes[7 + idx] << 2) & 0x00000000000003fcL) |
-                    (((long)bytes[8 + idx] << 10) & 0x000000000003fc00L) |
-                    (((long)bytes[9 + idx] << 18) & 0x0000000003fc0000L) |
-                    (((long)bytes[10 + idx] << 26) & 0x00000003fc000000L) |
-                    (((long)bytes[11 + idx] << 34) & 0x000003fc00000000L) |
-                    (((long)bytes[12 + idx] << 42) & 0x0003fc0000000000L) |
-                    (((long)bytes[13 + idx] << 50) & 0x003c000000000000L);
-        digits[2] = (((long)bytes[13 + idx] >> 4) & 0x000000000000000fL) |
-                    (((long)bytes[14 + idx] << 4) & 0x0000000000000ff0L) |
-                    (((long)bytes[15 + idx] << 12) & 0x00000000000ff000L) |
-                    (((long)bytes[16 + idx] << 20) & 0x000000000ff00000L) |
-                    (((long)bytes[17 + idx] << 28) & 0x0000000ff0000000L) |
-                    (((long)bytes[18 + idx] << 36) & 0x00000ff000000000L) |
-                    (((long)bytes[19 + idx] << 44) & 0x000ff00000000000L) |
-                    (((long)bytes[20 + idx] << 52) & 0x0030000000000000L);
-        digits[3] = (((long)bytes[20 + idx] >> 2) & 0x000000000000003fL) |
-                    (((long)bytes[21 + idx] << 6) & 0x0000000000003fc0L) |
-                    (((long)bytes[22 + idx] << 14) & 0x00000000003fc000L) |
-                    (((long)bytes[23 + idx] << 22) & 0x000000003fc00000L) |
-                    (((long)bytes[24 + idx] << 30) & 0x0000003fc0000000L) |
-                    (((long)bytes[25 + idx] << 38) & 0x00003fc000000000L) |
-                    (((long)bytes[26 + idx] << 46) & 0x003fc00000000000L);
-        digits[4] = ((long)bytes[27 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[28 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[29 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[30 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[31 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[32 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[33 + idx] << 48) & 0x003f000000000000L);
-        digits[5] = (((long)bytes[33 + idx] >> 6) & 0x0000000000000003L) |
-                    (((long)bytes[34 + idx] << 2) & 0x00000000000003fcL) |
-                    (((long)bytes[35 + idx] << 10) & 0x000000000003fc00L) |
-                    (((long)bytes[36 + idx] << 18) & 0x0000000003fc0000L) |
-                    (((long)bytes[37 + idx] << 26) & 0x00000003fc000000L) |
-                    (((long)bytes[38 + idx] << 34) & 0x000003fc00000000L) |
-                    (((long)bytes[39 + idx] << 42) & 0x0003fc0000000000L) |
-                    (((long)bytes[40 + idx] << 50) & 0x003c000000000000L);
-        digits[6] = (((long)bytes[40 + idx] >> 4) & 0x000000000000000fL) |
-                    (((long)bytes[41 + idx] << 4) & 0x0000000000000ff0L) |
-                    (((long)bytes[42 + idx] << 12) & 0x00000000000ff000L) |
-                    (((long)bytes[43 + idx] << 20) & 0x000000000ff00000L) |
-                    (((long)bytes[44 + idx] << 28) & 0x0000000ff0000000L) |
-                    (((long)bytes[45 + idx] << 36) & 0x00000ff000000000L) |
-                    (((long)bytes[46 + idx] << 44) & 0x000ff00000000000L) |
-                    (((long)bytes[47 + idx] << 52) & 0x0030000000000000L);
-        digits[7] = (((long)bytes[47 + idx] >> 2) & 0x000000000000003fL) |
-                    (((long)bytes[48 + idx] << 6) & 0x0000000000003fc0L) |
-                    (((long)bytes[49 + idx] << 14) & 0x00000000003fc000L) |
-                    (((long)bytes[50 + idx] << 22) & 0x000000003fc00000L) |
-                    (((long)bytes[51 + idx] << 30) & 0x0000003fc0000000L) |
-                    (((long)bytes[52 + idx] << 38) & 0x00003fc000000000L) |
-                    (((long)bytes[53 + idx] << 46) & 0x003fc00000000000L);
-        digits[8] = ((long)bytes[54 + idx] & 0x00000000000000ffL) |
-                    (((long)bytes[55 + idx] << 8) & 0x000000000000ff00L) |
-                    (((long)bytes[56 + idx] << 16) & 0x0000000000ff0000L) |
-                    (((long)bytes[57 + idx] << 24) & 0x00000000ff000000L) |
-                    (((long)bytes[58 + idx] << 32) & 0x000000ff00000000L) |
-                    (((long)bytes[59 + idx] << 40) & 0x0000ff0000000000L) |
-                    (((long)bytes[60 + idx] << 48) & 0x003f000000000000L);
-        digits[9] = (((long)bytes[60 + idx] >> 6) & 0x0000000000000003L) |
-                    (((long)bytes[61 + idx] << 2) & 0x00000000000003fcL) |
-                    (((long)bytes[62 + idx] << 10) & 0x000000000003fc00L) |
-                    (((long)bytes[63 + idx] << 18) & 0x0000000003fc0000L) |
-                    (((long)bytes[64 + idx] << 26) & 0x00000003fc000000L) |
-                    (((long)bytes[65 + idx] << 34) & 0x0000000400000000L);
+        final long start = Instrumentation.start();
+
+        unpackDigits(bytes, idx, digits);
+        Instrumentation.record(this, Instrumentation.Operation.UNPACK, start);
     }
 
     /**
@@ -632,7 +673,10 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      */
     @Override
     public void sqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         sqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.SQRT, start);
     }
 
     /**
@@ -654,7 +698,10 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      */
     @Override
     public void invSqrt(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         invSqrtPowerDigits(digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.INV_SQRT, start);
     }
 
     /**
@@ -677,6 +724,8 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      */
     @Override
     public byte legendre(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         System.arraycopy(digits, 0, scratch.d2, 0, NUM_DIGITS);
 
         legendrePowerDigits(scratch.d2, scratch);
@@ -687,26 +736,97 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         final byte offset = (byte)(C_VAL * sign);
         final byte result = (byte)(low + offset);
 
+        Instrumentation.record(this, Instrumentation.Operation.LEGENDRE, start);
         return result;
     }
 
     /**
      * Perform normalization on low-level representations.
+     * <p>
+     * Since the modulus is the Mersenne prime {@code 2^521 - 1}, this
+     * is done in place with three carry chains.  The first folds the
+     * carry-out into the low digit, adding the modulus so that the
+     * sum cannot go negative, and folds its own carry-out into the
+     * next.  The second determines whether the result is at least the
+     * modulus, by checking whether adding {@code 1} carries out of the
+     * high digit.  The third adds that carry back in and drops the
+     * high bit, which subtracts the modulus.
      *
      * @param digits The low-level representation.
-     * @param scratch The scratchpad to use.
+     * @param scratch The scratchpad to use (unused).
      * @see #normalize
      */
-    private static void normalizeDigits(final long[] digits,
-                                        final Scratchpad scratch) {
-        final long[] offset = scratch.d0;
-        final long[] plusc = scratch.d1;
+    static void normalizeDigits(final long[] digits,
+                                final Scratchpad scratch) {
+        final long kout = carryOut(digits);
+
+        // Fold in the carry-out, plus 2^521 - 1.
+        final long b0 = digits[0] + kout - 1;
+        final long b1 = digits[1] + (b0 >> DIGIT_BITS);
+        final long b2 = digits[2] + (b1 >> DIGIT_BITS);
+        final long b3 = digits[3] + (b2 >> DIGIT_BITS);
+        final long b4 = digits[4] + (b3 >> DIGIT_BITS);
+        final long b5 = digits[5] + (b4 >> DIGIT_BITS);
+        final long b6 = digits[6] + (b5 >> DIGIT_BITS);
+        final long b7 = digits[7] + (b6 >> DIGIT_BITS);
+        final long b8 = digits[8] + (b7 >> DIGIT_BITS);
+        final long b9 = (digits[9] & HIGH_DIGIT_MASK) + (b8 >> DIGIT_BITS) +
+                        (1L << HIGH_DIGIT_BITS);
+        final long a0 = b0 & DIGIT_MASK;
+        final long a1 = b1 & DIGIT_MASK;
+        final long a2 = b2 & DIGIT_MASK;
+        final long a3 = b3 & DIGIT_MASK;
+        final long a4 = b4 & DIGIT_MASK;
+        final long a5 = b5 & DIGIT_MASK;
+        final long a6 = b6 & DIGIT_MASK;
+        final long a7 = b7 & DIGIT_MASK;
+        final long a8 = b8 & DIGIT_MASK;
+        final long a9 = b9 & HIGH_DIGIT_MASK;
+        final long cin = b9 >> HIGH_DIGIT_BITS;
+
+        // Carry out of the value plus one.
+        final long p0 = a0 + cin + 1;
+        final long p1 = a1 + (p0 >> DIGIT_BITS);
+        final long p2 = a2 + (p1 >> DIGIT_BITS);
+        final long p3 = a3 + (p2 >> DIGIT_BITS);
+        final long p4 = a4 + (p3 >> DIGIT_BITS);
+        final long p5 = a5 + (p4 >> DIGIT_BITS);
+        final long p6 = a6 + (p5 >> DIGIT_BITS);
+        final long p7 = a7 + (p6 >> DIGIT_BITS);
+        final long p8 = a8 + (p7 >> DIGIT_BITS);
+        final long p9 = a9 + (p8 >> DIGIT_BITS);
+        final long kin = p9 >> HIGH_DIGIT_BITS;
+
+        final long s0 = a0 + cin + kin;
+        final long c0 = s0 >> DIGIT_BITS;
+        final long s1 = a1 + c0;
+        final long c1 = s1 >> DIGIT_BITS;
+        final long s2 = a2 + c1;
+        final long c2 = s2 >> DIGIT_BITS;
+        final long s3 = a3 + c2;
+        final long c3 = s3 >> DIGIT_BITS;
+        final long s4 = a4 + c3;
+        final long c4 = s4 >> DIGIT_BITS;
+        final long s5 = a5 + c4;
+        final long c5 = s5 >> DIGIT_BITS;
+        final long s6 = a6 + c5;
+        final long c6 = s6 >> DIGIT_BITS;
+        final long s7 = a7 + c6;
+        final long c7 = s7 >> DIGIT_BITS;
+        final long s8 = a8 + c7;
+        final long c8 = s8 >> DIGIT_BITS;
+        final long s9 = a9 + c8;
 
-        System.arraycopy(MODULUS_DATA, 0, offset, 0, NUM_DIGITS);
-        System.arraycopy(digits, 0, plusc, 0, NUM_DIGITS);
-        addDigits(plusc, C_VAL, plusc);
-        mulDigits(offset, carryOut(plusc), offset);
-        subDigits(digits, offset, digits);
+        digits[0] = s0 & DIGIT_MASK;
+        digits[1] = s1 & DIGIT_MASK;
+        digits[2] = s2 & DIGIT_MASK;
+        digits[3] = s3 & DIGIT_MASK;
+        digits[4] = s4 & DIGIT_MASK;
+        digits[5] = s5 & DIGIT_MASK;
+        digits[6] = s6 & DIGIT_MASK;
+        digits[7] = s7 & DIGIT_MASK;
+        digits[8] = s8 & DIGIT_MASK;
+        digits[9] = s9 & HIGH_DIGIT_MASK;
     }
 
     /**
@@ -720,9 +840,142 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         return (short)(digits[NUM_DIGITS - 1] >> HIGH_DIGIT_BITS);
     }
 
-    private static void packDigits(final long[] digits,
-                                   final byte[] bytes,
-                                   final int idx) {
+    /**
+     * Low-level constant-time conditional move.  Overwrites {@code a}
+     * with {@code b} if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The digit array to overwrite.
+     * @param b The digit array to select.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cmovDigits(final long[] a,
+                           final long[] b,
+                           final long bit) {
+        final long mask = -bit;
+
+        a[0] ^= (a[0] ^ b[0]) & mask;
+        a[1] ^= (a[1] ^ b[1]) & mask;
+        a[2] ^= (a[2] ^ b[2]) & mask;
+        a[3] ^= (a[3] ^ b[3]) & mask;
+        a[4] ^= (a[4] ^ b[4]) & mask;
+        a[5] ^= (a[5] ^ b[5]) & mask;
+        a[6] ^= (a[6] ^ b[6]) & mask;
+        a[7] ^= (a[7] ^ b[7]) & mask;
+        a[8] ^= (a[8] ^ b[8]) & mask;
+        a[9] ^= (a[9] ^ b[9]) & mask;
+    }
+
+    /**
+     * Low-level constant-time conditional swap.  Exchanges the
+     * contents of {@code a} and {@code b} if {@code bit} is {@code
+     * 1}, and leaves both unchanged if {@code bit} is {@code 0}.
+     *
+     * @param a The first digit array.
+     * @param b The second digit array.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cswapDigits(final long[] a,
+                            final long[] b,
+                            final long bit) {
+        final long mask = -bit;
+        final long x0 = (a[0] ^ b[0]) & mask;
+        final long x1 = (a[1] ^ b[1]) & mask;
+        final long x2 = (a[2] ^ b[2]) & mask;
+        final long x3 = (a[3] ^ b[3]) & mask;
+        final long x4 = (a[4] ^ b[4]) & mask;
+        final long x5 = (a[5] ^ b[5]) & mask;
+        final long x6 = (a[6] ^ b[6]) & mask;
+        final long x7 = (a[7] ^ b[7]) & mask;
+        final long x8 = (a[8] ^ b[8]) & mask;
+        final long x9 = (a[9] ^ b[9]) & mask;
+
+        a[0] ^= x0;
+        b[0] ^= x0;
+        a[1] ^= x1;
+        b[1] ^= x1;
+        a[2] ^= x2;
+        b[2] ^= x2;
+        a[3] ^= x3;
+        b[3] ^= x3;
+        a[4] ^= x4;
+        b[4] ^= x4;
+        a[5] ^= x5;
+        b[5] ^= x5;
+        a[6] ^= x6;
+        b[6] ^= x6;
+        a[7] ^= x7;
+        b[7] ^= x7;
+        a[8] ^= x8;
+        b[8] ^= x8;
+        a[9] ^= x9;
+        b[9] ^= x9;
+    }
+
+    /**
+     * Low-level constant-time conditional negation.  Negates {@code
+     * digits} in place if {@code bit} is {@code 1}, and leaves it
+     * unchanged if {@code bit} is {@code 0}.
+     * <p>
+     * This is the same carry chain as {@link #subDigits(long[],
+     * long[], long[])} with a zero LHS, except that each digit (and
+     * the carry-in) is passed through {@code (x ^ mask) - mask}, which
+     * is {@code -x} when the mask is all {@code 1}s and {@code x} when
+     * it is all {@code 0}s.
+     *
+     * @param digits The digit array to conditionally negate.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    static void cnegDigits(final long[] digits,
+                           final long bit) {
+        final long mask = -bit;
+        final long a0 = digits[0] ^ mask;
+        final long a1 = digits[1] ^ mask;
+        final long a2 = digits[2] ^ mask;
+        final long a3 = digits[3] ^ mask;
+        final long a4 = digits[4] ^ mask;
+        final long a5 = digits[5] ^ mask;
+        final long a6 = digits[6] ^ mask;
+        final long a7 = digits[7] ^ mask;
+        final long a8 = digits[8] ^ mask;
+        final long a9 = (digits[9] & HIGH_DIGIT_MASK) ^ mask;
+
+        final long cin = (carryOut(digits) ^ mask) - mask;
+        final long s0 = a0 + bit + cin;
+        final long c0 = s0 >> DIGIT_BITS;
+        final long s1 = a1 + bit + c0;
+        final long c1 = s1 >> DIGIT_BITS;
+        final long s2 = a2 + bit + c1;
+        final long c2 = s2 >> DIGIT_BITS;
+        final long s3 = a3 + bit + c2;
+        final long c3 = s3 >> DIGIT_BITS;
+        final long s4 = a4 + bit + c3;
+        final long c4 = s4 >> DIGIT_BITS;
+        final long s5 = a5 + bit + c4;
+        final long c5 = s5 >> DIGIT_BITS;
+        final long s6 = a6 + bit + c5;
+        final long c6 = s6 >> DIGIT_BITS;
+        final long s7 = a7 + bit + c6;
+        final long c7 = s7 >> DIGIT_BITS;
+        final long s8 = a8 + bit + c7;
+        final long c8 = s8 >> DIGIT_BITS;
+        final long s9 = a9 + bit + c8;
+
+        digits[0] = s0 & DIGIT_MASK;
+        digits[1] = s1 & DIGIT_MASK;
+        digits[2] = s2 & DIGIT_MASK;
+        digits[3] = s3 & DIGIT_MASK;
+        digits[4] = s4 & DIGIT_MASK;
+        digits[5] = s5 & DIGIT_MASK;
+        digits[6] = s6 & DIGIT_MASK;
+        digits[7] = s7 & DIGIT_MASK;
+        digits[8] = s8 & DIGIT_MASK;
+        digits[9] = s9;
+    }
+
+    static void packDigits(final long[] digits,
+                           final byte[] bytes,
+                           final int idx) {
         bytes[idx + 0] = (byte)(digits[0] & 0xff);
         bytes[idx + 1] = (byte)((digits[0] >> 8) & 0xff);
         bytes[idx + 2] = (byte)((digits[0] >> 16) & 0xff);
@@ -798,6 +1051,91 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         bytes[idx + 65] = (byte)((digits[9] >> 34) & 0x01);
     }
 
+    /**
+     * Low-level unpacking from a little-endian byte representation.
+     *
+     * @param bytes The array from which to read.
+     * @param idx Index at which to start.
+     * @param digits The digits array into which to write.
+     */
+    static void unpackDigits(final byte[] bytes,
+                             final int idx,
+                             final long[] digits) {
+        digits[0] = ((long)bytes[0 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[1 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[2 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[3 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[4 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[5 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[6 + idx] << 48) & 0x003f000000000000L);
+        digits[1] = (((long)bytes[6 + idx] >> 6) & 0x0000000000000003L) |
+                    (((long)bytes[7 + idx] << 2) & 0x00000000000003fcL) |
+                    (((long)bytes[8 + idx] << 10) & 0x000000000003fc00L) |
+                    (((long)bytes[9 + idx] << 18) & 0x0000000003fc0000L) |
+                    (((long)bytes[10 + idx] << 26) & 0x00000003fc000000L) |
+                    (((long)bytes[11 + idx] << 34) & 0x000003fc00000000L) |
+                    (((long)bytes[12 + idx] << 42) & 0x0003fc0000000000L) |
+                    (((long)bytes[13 + idx] << 50) & 0x003c000000000000L);
+        digits[2] = (((long)bytes[13 + idx] >> 4) & 0x000000000000000fL) |
+                    (((long)bytes[14 + idx] << 4) & 0x0000000000000ff0L) |
+                    (((long)bytes[15 + idx] << 12) & 0x00000000000ff000L) |
+                    (((long)bytes[16 + idx] << 20) & 0x000000000ff00000L) |
+                    (((long)bytes[17 + idx] << 28) & 0x0000000ff0000000L) |
+                    (((long)bytes[18 + idx] << 36) & 0x00000ff000000000L) |
+                    (((long)bytes[19 + idx] << 44) & 0x000ff00000000000L) |
+                    (((long)bytes[20 + idx] << 52) & 0x0030000000000000L);
+        digits[3] = (((long)bytes[20 + idx] >> 2) & 0x000000000000003fL) |
+                    (((long)bytes[21 + idx] << 6) & 0x0000000000003fc0L) |
+                    (((long)bytes[22 + idx] << 14) & 0x00000000003fc000L) |
+                    (((long)bytes[23 + idx] << 22) & 0x000000003fc00000L) |
+                    (((long)bytes[24 + idx] << 30) & 0x0000003fc0000000L) |
+                    (((long)bytes[25 + idx] << 38) & 0x00003fc000000000L) |
+                    (((long)bytes[26 + idx] << 46) & 0x003fc00000000000L);
+        digits[4] = ((long)bytes[27 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[28 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[29 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[30 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[31 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[32 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[33 + idx] << 48) & 0x003f000000000000L);
+        digits[5] = (((long)bytes[33 + idx] >> 6) & 0x0000000000000003L) |
+                    (((long)bytes[34 + idx] << 2) & 0x00000000000003fcL) |
+                    (((long)bytes[35 + idx] << 10) & 0x000000000003fc00L) |
+                    (((long)bytes[36 + idx] << 18) & 0x0000000003fc0000L) |
+                    (((long)bytes[37 + idx] << 26) & 0x00000003fc000000L) |
+                    (((long)bytes[38 + idx] << 34) & 0x000003fc00000000L) |
+                    (((long)bytes[39 + idx] << 42) & 0x0003fc0000000000L) |
+                    (((long)bytes[40 + idx] << 50) & 0x003c000000000000L);
+        digits[6] = (((long)bytes[40 + idx] >> 4) & 0x000000000000000fL) |
+                    (((long)bytes[41 + idx] << 4) & 0x0000000000000ff0L) |
+                    (((long)bytes[42 + idx] << 12) & 0x00000000000ff000L) |
+                    (((long)bytes[43 + idx] << 20) & 0x000000000ff00000L) |
+                    (((long)bytes[44 + idx] << 28) & 0x0000000ff0000000L) |
+                    (((long)bytes[45 + idx] << 36) & 0x00000ff000000000L) |
+                    (((long)bytes[46 + idx] << 44) & 0x000ff00000000000L) |
+                    (((long)bytes[47 + idx] << 52) & 0x0030000000000000L);
+        digits[7] = (((long)bytes[47 + idx] >> 2) & 0x000000000000003fL) |
+                    (((long)bytes[48 + idx] << 6) & 0x0000000000003fc0L) |
+                    (((long)bytes[49 + idx] << 14) & 0x00000000003fc000L) |
+                    (((long)bytes[50 + idx] << 22) & 0x000000003fc00000L) |
+                    (((long)bytes[51 + idx] << 30) & 0x0000003fc0000000L) |
+                    (((long)bytes[52 + idx] << 38) & 0x00003fc000000000L) |
+                    (((long)bytes[53 + idx] << 46) & 0x003fc00000000000L);
+        digits[8] = ((long)bytes[54 + idx] & 0x00000000000000ffL) |
+                    (((long)bytes[55 + idx] << 8) & 0x000000000000ff00L) |
+                    (((long)bytes[56 + idx] << 16) & 0x0000000000ff0000L) |
+                    (((long)bytes[57 + idx] << 24) & 0x00000000ff000000L) |
+                    (((long)bytes[58 + idx] << 32) & 0x000000ff00000000L) |
+                    (((long)bytes[59 + idx] << 40) & 0x0000ff0000000000L) |
+                    (((long)bytes[60 + idx] << 48) & 0x003f000000000000L);
+        digits[9] = (((long)bytes[60 + idx] >> 6) & 0x0000000000000003L) |
+                    (((long)bytes[61 + idx] << 2) & 0x00000000000003fcL) |
+                    (((long)bytes[62 + idx] << 10) & 0x000000000003fc00L) |
+                    (((long)bytes[63 + idx] << 18) & 0x0000000003fc0000L) |
+                    (((long)bytes[64 + idx] << 26) & 0x00000003fc000000L) |
+                    (((long)bytes[65 + idx] << 34) & 0x0000000400000000L);
+    }
+
     /**
      * Low-level digits addition.  It <i>is</i> safe to specify the same
      * array as both an input and an output.
@@ -806,9 +1144,9 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -832,7 +1170,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         final long b9 = b[9] & HIGH_DIGIT_MASK;
 
         final long cin = carryOut(a) + carryOut(b);
-        final long s0 = a0 + b0 + (cin * C_VAL);
+        final long s0 = a0 + b0 + cin;
         final long c0 = s0 >> DIGIT_BITS;
         final long s1 = a1 + b1 + c0;
         final long c1 = s1 >> DIGIT_BITS;
@@ -872,9 +1210,9 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void addDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void addDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -887,7 +1225,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         final long a9 = a[9] & HIGH_DIGIT_MASK;
 
         final long cin = carryOut(a);
-        final long s0 = a0 + b + (cin * C_VAL);
+        final long s0 = a0 + b + cin;
         final long c0 = s0 >> DIGIT_BITS;
         final long s1 = a1 + c0;
         final long c1 = s1 >> DIGIT_BITS;
@@ -927,9 +1265,9 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -953,7 +1291,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         final long b9 = b[9] & HIGH_DIGIT_MASK;
 
         final long cin = carryOut(a) - carryOut(b);
-        final long s0 = a0 - b0 + (cin * C_VAL);
+        final long s0 = a0 - b0 + cin;
         final long c0 = s0 >> DIGIT_BITS;
         final long s1 = a1 - b1 + c0;
         final long c1 = s1 >> DIGIT_BITS;
@@ -993,9 +1331,9 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void subDigits(final long[] a,
-                                  final long b,
-                                  final long[] out) {
+    static void subDigits(final long[] a,
+                          final long b,
+                          final long[] out) {
         final long a0 = a[0];
         final long a1 = a[1];
         final long a2 = a[2];
@@ -1008,7 +1346,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         final long a9 = a[9] & HIGH_DIGIT_MASK;
 
         final long cin = carryOut(a);
-        final long s0 = a0 - b + (cin * C_VAL);
+        final long s0 = a0 - b + cin;
         final long c0 = s0 >> DIGIT_BITS;
         final long s1 = a1 + c0;
         final long c1 = s1 >> DIGIT_BITS;
@@ -1048,9 +1386,29 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * @param b The RHS digit array.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final long[] b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final long[] b,
+                          final long[] out) {
+        if (KARATSUBA) {
+            mulDigitsKaratsuba(a, b, out);
+        } else {
+            mulDigitsSchoolbook(a, b, out);
+        }
+    }
+
+    /**
+     * Low-level digits multiplication, using schoolbook
+     * multiplication over the multiplication digits.  It <i>is</i>
+     * safe to specify the same array as both an input and an
+     * output.
+     *
+     * @param a The LHS digit array.
+     * @param b The RHS digit array.
+     * @param out The digit array into which to write the result.
+     */
+    static void mulDigitsSchoolbook(final long[] a,
+                                    final long[] b,
+                                    final long[] out) {
 
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
@@ -2016,6 +2374,355 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         out[9] = s9_0;
     }
 
+    /**
+     * Low-level digits multiplication, using one level of
+     * Karatsuba over the multiplication digits.  It <i>is</i>
+     * safe to specify the same array as both an input and an
+     * output.
+     *
+     * @param a The LHS digit array.
+     * @param b The RHS digit array.
+     * @param out The digit array into which to write the result.
+     */
+    static void mulDigitsKaratsuba(final long[] a,
+                                   final long[] b,
+                                   final long[] out) {
+        final long a0 = a[0] & MUL_DIGIT_MASK;
+        final long a1 = a[0] >> MUL_DIGIT_BITS;
+        final long a2 = a[1] & MUL_DIGIT_MASK;
+        final long a3 = a[1] >> MUL_DIGIT_BITS;
+        final long a4 = a[2] & MUL_DIGIT_MASK;
+        final long a5 = a[2] >> MUL_DIGIT_BITS;
+        final long a6 = a[3] & MUL_DIGIT_MASK;
+        final long a7 = a[3] >> MUL_DIGIT_BITS;
+        final long a8 = a[4] & MUL_DIGIT_MASK;
+        final long a9 = a[4] >> MUL_DIGIT_BITS;
+        final long a10 = a[5] & MUL_DIGIT_MASK;
+        final long a11 = a[5] >> MUL_DIGIT_BITS;
+        final long a12 = a[6] & MUL_DIGIT_MASK;
+        final long a13 = a[6] >> MUL_DIGIT_BITS;
+        final long a14 = a[7] & MUL_DIGIT_MASK;
+        final long a15 = a[7] >> MUL_DIGIT_BITS;
+        final long a16 = a[8] & MUL_DIGIT_MASK;
+        final long a17 = a[8] >> MUL_DIGIT_BITS;
+        final long a18 = a[9] & MUL_DIGIT_MASK;
+        final long a19 = a[9] >> MUL_DIGIT_BITS;
+
+        final long b0 = b[0] & MUL_DIGIT_MASK;
+        final long b1 = b[0] >> MUL_DIGIT_BITS;
+        final long b2 = b[1] & MUL_DIGIT_MASK;
+        final long b3 = b[1] >> MUL_DIGIT_BITS;
+        final long b4 = b[2] & MUL_DIGIT_MASK;
+        final long b5 = b[2] >> MUL_DIGIT_BITS;
+        final long b6 = b[3] & MUL_DIGIT_MASK;
+        final long b7 = b[3] >> MUL_DIGIT_BITS;
+        final long b8 = b[4] & MUL_DIGIT_MASK;
+        final long b9 = b[4] >> MUL_DIGIT_BITS;
+        final long b10 = b[5] & MUL_DIGIT_MASK;
+        final long b11 = b[5] >> MUL_DIGIT_BITS;
+        final long b12 = b[6] & MUL_DIGIT_MASK;
+        final long b13 = b[6] >> MUL_DIGIT_BITS;
+        final long b14 = b[7] & MUL_DIGIT_MASK;
+        final long b15 = b[7] >> MUL_DIGIT_BITS;
+        final long b16 = b[8] & MUL_DIGIT_MASK;
+        final long b17 = b[8] >> MUL_DIGIT_BITS;
+        final long b18 = b[9] & MUL_DIGIT_MASK;
+        final long b19 = b[9] >> MUL_DIGIT_BITS;
+
+        // Sums of the low and high halves.
+        final long as0 = a0 + a10;
+        final long as1 = a1 + a11;
+        final long as2 = a2 + a12;
+        final long as3 = a3 + a13;
+        final long as4 = a4 + a14;
+        final long as5 = a5 + a15;
+        final long as6 = a6 + a16;
+        final long as7 = a7 + a17;
+        final long as8 = a8 + a18;
+        final long as9 = a9 + a19;
+        final long bs0 = b0 + b10;
+        final long bs1 = b1 + b11;
+        final long bs2 = b2 + b12;
+        final long bs3 = b3 + b13;
+        final long bs4 = b4 + b14;
+        final long bs5 = b5 + b15;
+        final long bs6 = b6 + b16;
+        final long bs7 = b7 + b17;
+        final long bs8 = b8 + b18;
+        final long bs9 = b9 + b19;
+
+        // Low half product.
+        final long p0_0 = a0 * b0;
+        final long p0_1 = a0 * b1 + a1 * b0;
+        final long p0_2 = a0 * b2 + a1 * b1 + a2 * b0;
+        final long p0_3 = a0 * b3 + a1 * b2 + a2 * b1 + a3 * b0;
+        final long p0_4 = a0 * b4 + a1 * b3 + a2 * b2 + a3 * b1 + a4 * b0;
+        final long p0_5 = a0 * b5 + a1 * b4 + a2 * b3 + a3 * b2 + a4 * b1 +
+            a5 * b0;
+        final long p0_6 = a0 * b6 + a1 * b5 + a2 * b4 + a3 * b3 + a4 * b2 +
+            a5 * b1 + a6 * b0;
+        final long p0_7 = a0 * b7 + a1 * b6 + a2 * b5 + a3 * b4 + a4 * b3 +
+            a5 * b2 + a6 * b1 + a7 * b0;
+        final long p0_8 = a0 * b8 + a1 * b7 + a2 * b6 + a3 * b5 + a4 * b4 +
+            a5 * b3 + a6 * b2 + a7 * b1 + a8 * b0;
+        final long p0_9 = a0 * b9 + a1 * b8 + a2 * b7 + a3 * b6 + a4 * b5 +
+            a5 * b4 + a6 * b3 + a7 * b2 + a8 * b1 + a9 * b0;
+        final long p0_10 = a1 * b9 + a2 * b8 + a3 * b7 + a4 * b6 + a5 * b5 +
+            a6 * b4 + a7 * b3 + a8 * b2 + a9 * b1;
+        final long p0_11 = a2 * b9 + a3 * b8 + a4 * b7 + a5 * b6 + a6 * b5 +
+            a7 * b4 + a8 * b3 + a9 * b2;
+        final long p0_12 = a3 * b9 + a4 * b8 + a5 * b7 + a6 * b6 + a7 * b5 +
+            a8 * b4 + a9 * b3;
+        final long p0_13 = a4 * b9 + a5 * b8 + a6 * b7 + a7 * b6 + a8 * b5 +
+            a9 * b4;
+        final long p0_14 = a5 * b9 + a6 * b8 + a7 * b7 + a8 * b6 + a9 * b5;
+        final long p0_15 = a6 * b9 + a7 * b8 + a8 * b7 + a9 * b6;
+        final long p0_16 = a7 * b9 + a8 * b8 + a9 * b7;
+        final long p0_17 = a8 * b9 + a9 * b8;
+        final long p0_18 = a9 * b9;
+
+        // High half product.
+        final long p2_0 = a10 * b10;
+        final long p2_1 = a10 * b11 + a11 * b10;
+        final long p2_2 = a10 * b12 + a11 * b11 + a12 * b10;
+        final long p2_3 = a10 * b13 + a11 * b12 + a12 * b11 + a13 * b10;
+        final long p2_4 = a10 * b14 + a11 * b13 + a12 * b12 + a13 * b11 +
+            a14 * b10;
+        final long p2_5 = a10 * b15 + a11 * b14 + a12 * b13 + a13 * b12 +
+            a14 * b11 + a15 * b10;
+        final long p2_6 = a10 * b16 + a11 * b15 + a12 * b14 + a13 * b13 +
+            a14 * b12 + a15 * b11 + a16 * b10;
+        final long p2_7 = a10 * b17 + a11 * b16 + a12 * b15 + a13 * b14 +
+            a14 * b13 + a15 * b12 + a16 * b11 + a17 * b10;
+        final long p2_8 = a10 * b18 + a11 * b17 + a12 * b16 + a13 * b15 +
+            a14 * b14 + a15 * b13 + a16 * b12 + a17 * b11 + a18 * b10;
+        final long p2_9 = a10 * b19 + a11 * b18 + a12 * b17 + a13 * b16 +
+            a14 * b15 + a15 * b14 + a16 * b13 + a17 * b12 + a18 * b11 +
+            a19 * b10;
+        final long p2_10 = a11 * b19 + a12 * b18 + a13 * b17 + a14 * b16 +
+            a15 * b15 + a16 * b14 + a17 * b13 + a18 * b12 + a19 * b11;
+        final long p2_11 = a12 * b19 + a13 * b18 + a14 * b17 + a15 * b16 +
+            a16 * b15 + a17 * b14 + a18 * b13 + a19 * b12;
+        final long p2_12 = a13 * b19 + a14 * b18 + a15 * b17 + a16 * b16 +
+            a17 * b15 + a18 * b14 + a19 * b13;
+        final long p2_13 = a14 * b19 + a15 * b18 + a16 * b17 + a17 * b16 +
+            a18 * b15 + a19 * b14;
+        final long p2_14 = a15 * b19 + a16 * b18 + a17 * b17 + a18 * b16 +
+            a19 * b15;
+        final long p2_15 = a16 * b19 + a17 * b18 + a18 * b17 + a19 * b16;
+        final long p2_16 = a17 * b19 + a18 * b18 + a19 * b17;
+        final long p2_17 = a18 * b19 + a19 * b18;
+        final long p2_18 = a19 * b19;
+
+        // Product of the half sums.
+        final long p1_0 = as0 * bs0;
+        final long p1_1 = as0 * bs1 + as1 * bs0;
+        final long p1_2 = as0 * bs2 + as1 * bs1 + as2 * bs0;
+        final long p1_3 = as0 * bs3 + as1 * bs2 + as2 * bs1 + as3 * bs0;
+        final long p1_4 = as0 * bs4 + as1 * bs3 + as2 * bs2 + as3 * bs1 +
+            as4 * bs0;
+        final long p1_5 = as0 * bs5 + as1 * bs4 + as2 * bs3 + as3 * bs2 +
+            as4 * bs1 + as5 * bs0;
+        final long p1_6 = as0 * bs6 + as1 * bs5 + as2 * bs4 + as3 * bs3 +
+            as4 * bs2 + as5 * bs1 + as6 * bs0;
+        final long p1_7 = as0 * bs7 + as1 * bs6 + as2 * bs5 + as3 * bs4 +
+            as4 * bs3 + as5 * bs2 + as6 * bs1 + as7 * bs0;
+        final long p1_8 = as0 * bs8 + as1 * bs7 + as2 * bs6 + as3 * bs5 +
+            as4 * bs4 + as5 * bs3 + as6 * bs2 + as7 * bs1 + as8 * bs0;
+        final long p1_9 = as0 * bs9 + as1 * bs8 + as2 * bs7 + as3 * bs6 +
+            as4 * bs5 + as5 * bs4 + as6 * bs3 + as7 * bs2 + as8 * bs1 +
+            as9 * bs0;
+        final long p1_10 = as1 * bs9 + as2 * bs8 + as3 * bs7 + as4 * bs6 +
+            as5 * bs5 + as6 * bs4 + as7 * bs3 + as8 * bs2 + as9 * bs1;
+        final long p1_11 = as2 * bs9 + as3 * bs8 + as4 * bs7 + as5 * bs6 +
+            as6 * bs5 + as7 * bs4 + as8 * bs3 + as9 * bs2;
+        final long p1_12 = as3 * bs9 + as4 * bs8 + as5 * bs7 + as6 * bs6 +
+            as7 * bs5 + as8 * bs4 + as9 * bs3;
+        final long p1_13 = as4 * bs9 + as5 * bs8 + as6 * bs7 + as7 * bs6 +
+            as8 * bs5 + as9 * bs4;
+        final long p1_14 = as5 * bs9 + as6 * bs8 + as7 * bs7 + as8 * bs6 +
+            as9 * bs5;
+        final long p1_15 = as6 * bs9 + as7 * bs8 + as8 * bs7 + as9 * bs6;
+        final long p1_16 = as7 * bs9 + as8 * bs8 + as9 * bs7;
+        final long p1_17 = as8 * bs9 + as9 * bs8;
+        final long p1_18 = as9 * bs9;
+
+        // Middle terms.
+        final long q0 = p1_0 - p0_0 - p2_0;
+        final long q1 = p1_1 - p0_1 - p2_1;
+        final long q2 = p1_2 - p0_2 - p2_2;
+        final long q3 = p1_3 - p0_3 - p2_3;
+        final long q4 = p1_4 - p0_4 - p2_4;
+        final long q5 = p1_5 - p0_5 - p2_5;
+        final long q6 = p1_6 - p0_6 - p2_6;
+        final long q7 = p1_7 - p0_7 - p2_7;
+        final long q8 = p1_8 - p0_8 - p2_8;
+        final long q9 = p1_9 - p0_9 - p2_9;
+        final long q10 = p1_10 - p0_10 - p2_10;
+        final long q11 = p1_11 - p0_11 - p2_11;
+        final long q12 = p1_12 - p0_12 - p2_12;
+        final long q13 = p1_13 - p0_13 - p2_13;
+        final long q14 = p1_14 - p0_14 - p2_14;
+        final long q15 = p1_15 - p0_15 - p2_15;
+        final long q16 = p1_16 - p0_16 - p2_16;
+        final long q17 = p1_17 - p0_17 - p2_17;
+        final long q18 = p1_18 - p0_18 - p2_18;
+
+        // Recombine into columns and propagate carries.
+        final long t0 = p0_0;
+        final long t1 = p0_1 + (t0 >> MUL_DIGIT_BITS);
+        final long t2 = p0_2 + (t1 >> MUL_DIGIT_BITS);
+        final long t3 = p0_3 + (t2 >> MUL_DIGIT_BITS);
+        final long t4 = p0_4 + (t3 >> MUL_DIGIT_BITS);
+        final long t5 = p0_5 + (t4 >> MUL_DIGIT_BITS);
+        final long t6 = p0_6 + (t5 >> MUL_DIGIT_BITS);
+        final long t7 = p0_7 + (t6 >> MUL_DIGIT_BITS);
+        final long t8 = p0_8 + (t7 >> MUL_DIGIT_BITS);
+        final long t9 = p0_9 + (t8 >> MUL_DIGIT_BITS);
+        final long t10 = p0_10 + q0 + (t9 >> MUL_DIGIT_BITS);
+        final long t11 = p0_11 + q1 + (t10 >> MUL_DIGIT_BITS);
+        final long t12 = p0_12 + q2 + (t11 >> MUL_DIGIT_BITS);
+        final long t13 = p0_13 + q3 + (t12 >> MUL_DIGIT_BITS);
+        final long t14 = p0_14 + q4 + (t13 >> MUL_DIGIT_BITS);
+        final long t15 = p0_15 + q5 + (t14 >> MUL_DIGIT_BITS);
+        final long t16 = p0_16 + q6 + (t15 >> MUL_DIGIT_BITS);
+        final long t17 = p0_17 + q7 + (t16 >> MUL_DIGIT_BITS);
+        final long t18 = p0_18 + q8 + (t17 >> MUL_DIGIT_BITS);
+        final long t19 = q9 + (t18 >> MUL_DIGIT_BITS);
+        final long t20 = q10 + p2_0 + (t19 >> MUL_DIGIT_BITS);
+        final long t21 = q11 + p2_1 + (t20 >> MUL_DIGIT_BITS);
+        final long t22 = q12 + p2_2 + (t21 >> MUL_DIGIT_BITS);
+        final long t23 = q13 + p2_3 + (t22 >> MUL_DIGIT_BITS);
+        final long t24 = q14 + p2_4 + (t23 >> MUL_DIGIT_BITS);
+        final long t25 = q15 + p2_5 + (t24 >> MUL_DIGIT_BITS);
+        final long t26 = q16 + p2_6 + (t25 >> MUL_DIGIT_BITS);
+        final long t27 = q17 + p2_7 + (t26 >> MUL_DIGIT_BITS);
+        final long t28 = q18 + p2_8 + (t27 >> MUL_DIGIT_BITS);
+        final long t29 = p2_9 + (t28 >> MUL_DIGIT_BITS);
+        final long t30 = p2_10 + (t29 >> MUL_DIGIT_BITS);
+        final long t31 = p2_11 + (t30 >> MUL_DIGIT_BITS);
+        final long t32 = p2_12 + (t31 >> MUL_DIGIT_BITS);
+        final long t33 = p2_13 + (t32 >> MUL_DIGIT_BITS);
+        final long t34 = p2_14 + (t33 >> MUL_DIGIT_BITS);
+        final long t35 = p2_15 + (t34 >> MUL_DIGIT_BITS);
+        final long t36 = p2_16 + (t35 >> MUL_DIGIT_BITS);
+        final long t37 = p2_17 + (t36 >> MUL_DIGIT_BITS);
+        final long t38 = p2_18 + (t37 >> MUL_DIGIT_BITS);
+
+        final long d0 = (t0 & MUL_DIGIT_MASK) |
+                         ((t1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d1 = (t2 & MUL_DIGIT_MASK) |
+                         ((t3 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d2 = (t4 & MUL_DIGIT_MASK) |
+                         ((t5 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d3 = (t6 & MUL_DIGIT_MASK) |
+                         ((t7 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d4 = (t8 & MUL_DIGIT_MASK) |
+                         ((t9 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d5 = (t10 & MUL_DIGIT_MASK) |
+                         ((t11 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d6 = (t12 & MUL_DIGIT_MASK) |
+                         ((t13 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d7 = (t14 & MUL_DIGIT_MASK) |
+                         ((t15 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d8 = (t16 & MUL_DIGIT_MASK) |
+                         ((t17 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d9 = (t18 & MUL_DIGIT_MASK) |
+                         ((t19 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d10 = (t20 & MUL_DIGIT_MASK) |
+                         ((t21 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d11 = (t22 & MUL_DIGIT_MASK) |
+                         ((t23 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d12 = (t24 & MUL_DIGIT_MASK) |
+                         ((t25 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d13 = (t26 & MUL_DIGIT_MASK) |
+                         ((t27 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d14 = (t28 & MUL_DIGIT_MASK) |
+                         ((t29 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d15 = (t30 & MUL_DIGIT_MASK) |
+                         ((t31 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d16 = (t32 & MUL_DIGIT_MASK) |
+                         ((t33 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d17 = (t34 & MUL_DIGIT_MASK) |
+                         ((t35 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d18 = (t36 & MUL_DIGIT_MASK) |
+                         ((t37 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d19 = t38;
+
+        // Modular reduction by a pseudo-mersenne prime of the form 2^n - c.
+
+        // These are the n low-order bits.
+        final long l0_0 = d0 & DIGIT_MASK;
+        final long l1_0 = d1 & DIGIT_MASK;
+        final long l2_0 = d2 & DIGIT_MASK;
+        final long l3_0 = d3 & DIGIT_MASK;
+        final long l4_0 = d4 & DIGIT_MASK;
+        final long l5_0 = d5 & DIGIT_MASK;
+        final long l6_0 = d6 & DIGIT_MASK;
+        final long l7_0 = d7 & DIGIT_MASK;
+        final long l8_0 = d8 & DIGIT_MASK;
+        final long l9_0 = d9 & HIGH_DIGIT_MASK;
+
+        // Shift the high bits down into another n-bit number.
+        final long h0_0 = ((d9 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d10 & HIGH_DIGIT_MASK) << 19);
+        final long h1_0 = ((d10 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d11 & HIGH_DIGIT_MASK) << 19);
+        final long h2_0 = ((d11 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d12 & HIGH_DIGIT_MASK) << 19);
+        final long h3_0 = ((d12 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d13 & HIGH_DIGIT_MASK) << 19);
+        final long h4_0 = ((d13 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d14 & HIGH_DIGIT_MASK) << 19);
+        final long h5_0 = ((d14 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d15 & HIGH_DIGIT_MASK) << 19);
+        final long h6_0 = ((d15 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d16 & HIGH_DIGIT_MASK) << 19);
+        final long h7_0 = ((d16 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d17 & HIGH_DIGIT_MASK) << 19);
+        final long h8_0 = ((d17 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d18 & HIGH_DIGIT_MASK) << 19);
+        final long h9_0 = ((d18 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   (d19 << 19);
+
+        // Normally, we multiply h by c, but since c = 1 here, we skip.
+
+        // Add h and l.
+
+        // Need kin_0
+        final long kin_0 = h9_0 >> HIGH_DIGIT_BITS;
+        final long s0_0 = l0_0 + h0_0 + kin_0;
+        final long k0_0 = s0_0 >> DIGIT_BITS;
+        final long s1_0 = l1_0 + h1_0 + k0_0;
+        final long k1_0 = s1_0 >> DIGIT_BITS;
+        final long s2_0 = l2_0 + h2_0 + k1_0;
+        final long k2_0 = s2_0 >> DIGIT_BITS;
+        final long s3_0 = l3_0 + h3_0 + k2_0;
+        final long k3_0 = s3_0 >> DIGIT_BITS;
+        final long s4_0 = l4_0 + h4_0 + k3_0;
+        final long k4_0 = s4_0 >> DIGIT_BITS;
+        final long s5_0 = l5_0 + h5_0 + k4_0;
+        final long k5_0 = s5_0 >> DIGIT_BITS;
+        final long s6_0 = l6_0 + h6_0 + k5_0;
+        final long k6_0 = s6_0 >> DIGIT_BITS;
+        final long s7_0 = l7_0 + h7_0 + k6_0;
+        final long k7_0 = s7_0 >> DIGIT_BITS;
+        final long s8_0 = l8_0 + h8_0 + k7_0;
+        final long k8_0 = s8_0 >> DIGIT_BITS;
+        final long s9_0 = l9_0 + (h9_0 & HIGH_DIGIT_MASK) + k8_0;
+
+        out[0] = s0_0 & DIGIT_MASK;
+        out[1] = s1_0 & DIGIT_MASK;
+        out[2] = s2_0 & DIGIT_MASK;
+        out[3] = s3_0 & DIGIT_MASK;
+        out[4] = s4_0 & DIGIT_MASK;
+        out[5] = s5_0 & DIGIT_MASK;
+        out[6] = s6_0 & DIGIT_MASK;
+        out[7] = s7_0 & DIGIT_MASK;
+        out[8] = s8_0 & DIGIT_MASK;
+        out[9] = s9_0;
+    }
+
     /**
      * Low-level digit-small value multiplication.  It <i>is</i> safe
      * to specify the same array as both an input and an output.
@@ -2024,9 +2731,9 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * @param b The RHS value.
      * @param out The digit array into which to write the result.
      */
-    private static void mulDigits(final long[] a,
-                                  final int b,
-                                  final long[] out) {
+    static void mulDigits(final long[] a,
+                          final int b,
+                          final long[] out) {
         final long a0 = a[0] & MUL_DIGIT_MASK;
         final long a1 = a[0] >> MUL_DIGIT_BITS;
         final long a2 = a[1] & MUL_DIGIT_MASK;
@@ -2072,7 +2779,7 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         final long cin = carryOut(a);
         final long d0 =
             m0 + ((m1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) +
-            (cin * C_VAL * b);
+            (cin * b);
         final long c0 = d0 >> DIGIT_BITS;
         final long d1 =
             (m1 >> MUL_DIGIT_BITS) + m2 +
@@ -2108,10 +2815,12 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         final long c8 = d8 >> DIGIT_BITS;
         final long d9 =
             (m17 >> MUL_DIGIT_BITS) + m18 +
-            (m19 << MUL_DIGIT_BITS) + c8;
+            ((m19 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS) + c8;
 
-        final long kin = d9 >> HIGH_DIGIT_BITS;
-        final long s0 = (d0 & DIGIT_MASK) + (kin * C_VAL);
+        final long kin =
+            (d9 >> HIGH_DIGIT_BITS) +
+            ((m19 >> MUL_DIGIT_BITS) << (DIGIT_BITS - HIGH_DIGIT_BITS));
+        final long s0 = (d0 & DIGIT_MASK) + kin;
         final long k0 = s0 >> DIGIT_BITS;
         final long s1 = (d1 & DIGIT_MASK) + k0;
         final long k1 = s1 >> DIGIT_BITS;
@@ -2148,7 +2857,21 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      *
      * @param digits The digits array to square.
      */
-    private static void squareDigits(final long[] digits) {
+    static void squareDigits(final long[] digits) {
+        if (KARATSUBA) {
+            squareDigitsKaratsuba(digits);
+        } else {
+            squareDigitsSchoolbook(digits);
+        }
+    }
+
+    /**
+     * Low-level digits squaring, using schoolbook multiplication
+     * over the multiplication digits.
+     *
+     * @param digits The digits array to square.
+     */
+    static void squareDigitsSchoolbook(final long[] digits) {
         final long a0 = digits[0] & MUL_DIGIT_MASK;
         final long a1 = digits[0] >> MUL_DIGIT_BITS;
         final long a2 = digits[1] & MUL_DIGIT_MASK;
@@ -3090,14 +3813,314 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
         digits[9] = s9_0;
     }
 
+    /**
+     * Low-level digits squaring, using one level of Karatsuba
+     * over the multiplication digits.
+     *
+     * @param digits The digits array to square.
+     */
+    static void squareDigitsKaratsuba(final long[] digits) {
+        final long a0 = digits[0] & MUL_DIGIT_MASK;
+        final long a1 = digits[0] >> MUL_DIGIT_BITS;
+        final long a2 = digits[1] & MUL_DIGIT_MASK;
+        final long a3 = digits[1] >> MUL_DIGIT_BITS;
+        final long a4 = digits[2] & MUL_DIGIT_MASK;
+        final long a5 = digits[2] >> MUL_DIGIT_BITS;
+        final long a6 = digits[3] & MUL_DIGIT_MASK;
+        final long a7 = digits[3] >> MUL_DIGIT_BITS;
+        final long a8 = digits[4] & MUL_DIGIT_MASK;
+        final long a9 = digits[4] >> MUL_DIGIT_BITS;
+        final long a10 = digits[5] & MUL_DIGIT_MASK;
+        final long a11 = digits[5] >> MUL_DIGIT_BITS;
+        final long a12 = digits[6] & MUL_DIGIT_MASK;
+        final long a13 = digits[6] >> MUL_DIGIT_BITS;
+        final long a14 = digits[7] & MUL_DIGIT_MASK;
+        final long a15 = digits[7] >> MUL_DIGIT_BITS;
+        final long a16 = digits[8] & MUL_DIGIT_MASK;
+        final long a17 = digits[8] >> MUL_DIGIT_BITS;
+        final long a18 = digits[9] & MUL_DIGIT_MASK;
+        final long a19 = digits[9] >> MUL_DIGIT_BITS;
+
+        // Sums of the low and high halves.
+        final long as0 = a0 + a10;
+        final long as1 = a1 + a11;
+        final long as2 = a2 + a12;
+        final long as3 = a3 + a13;
+        final long as4 = a4 + a14;
+        final long as5 = a5 + a15;
+        final long as6 = a6 + a16;
+        final long as7 = a7 + a17;
+        final long as8 = a8 + a18;
+        final long as9 = a9 + a19;
+
+        // Low half product.
+        final long p0_0 = a0 * a0;
+        final long p0_1 = ((a0 * a1) << 1);
+        final long p0_2 = ((a0 * a2) << 1) + a1 * a1;
+        final long p0_3 = ((a0 * a3 + a1 * a2) << 1);
+        final long p0_4 = ((a0 * a4 + a1 * a3) << 1) + a2 * a2;
+        final long p0_5 = ((a0 * a5 + a1 * a4 + a2 * a3) << 1);
+        final long p0_6 = ((a0 * a6 + a1 * a5 + a2 * a4) << 1) + a3 * a3;
+        final long p0_7 = ((a0 * a7 + a1 * a6 + a2 * a5 + a3 * a4) << 1);
+        final long p0_8 = ((a0 * a8 + a1 * a7 + a2 * a6 + a3 * a5) << 1) +
+            a4 * a4;
+        final long p0_9 =
+            ((a0 * a9 + a1 * a8 + a2 * a7 + a3 * a6 + a4 * a5) << 1);
+        final long p0_10 = ((a1 * a9 + a2 * a8 + a3 * a7 + a4 * a6) << 1) +
+            a5 * a5;
+        final long p0_11 = ((a2 * a9 + a3 * a8 + a4 * a7 + a5 * a6) << 1);
+        final long p0_12 = ((a3 * a9 + a4 * a8 + a5 * a7) << 1) + a6 * a6;
+        final long p0_13 = ((a4 * a9 + a5 * a8 + a6 * a7) << 1);
+        final long p0_14 = ((a5 * a9 + a6 * a8) << 1) + a7 * a7;
+        final long p0_15 = ((a6 * a9 + a7 * a8) << 1);
+        final long p0_16 = ((a7 * a9) << 1) + a8 * a8;
+        final long p0_17 = ((a8 * a9) << 1);
+        final long p0_18 = a9 * a9;
+
+        // High half product.
+        final long p2_0 = a10 * a10;
+        final long p2_1 = ((a10 * a11) << 1);
+        final long p2_2 = ((a10 * a12) << 1) + a11 * a11;
+        final long p2_3 = ((a10 * a13 + a11 * a12) << 1);
+        final long p2_4 = ((a10 * a14 + a11 * a13) << 1) + a12 * a12;
+        final long p2_5 = ((a10 * a15 + a11 * a14 + a12 * a13) << 1);
+        final long p2_6 = ((a10 * a16 + a11 * a15 + a12 * a14) << 1) +
+            a13 * a13;
+        final long p2_7 =
+            ((a10 * a17 + a11 * a16 + a12 * a15 + a13 * a14) << 1);
+        final long p2_8 =
+            ((a10 * a18 + a11 * a17 + a12 * a16 + a13 * a15) << 1) +
+            a14 * a14;
+        final long p2_9 =
+            ((a10 * a19 + a11 * a18 + a12 * a17 + a13 * a16 + a14 * a15) << 1);
+        final long p2_10 =
+            ((a11 * a19 + a12 * a18 + a13 * a17 + a14 * a16) << 1) +
+            a15 * a15;
+        final long p2_11 =
+            ((a12 * a19 + a13 * a18 + a14 * a17 + a15 * a16) << 1);
+        final long p2_12 = ((a13 * a19 + a14 * a18 + a15 * a17) << 1) +
+            a16 * a16;
+        final long p2_13 = ((a14 * a19 + a15 * a18 + a16 * a17) << 1);
+        final long p2_14 = ((a15 * a19 + a16 * a18) << 1) + a17 * a17;
+        final long p2_15 = ((a16 * a19 + a17 * a18) << 1);
+        final long p2_16 = ((a17 * a19) << 1) + a18 * a18;
+        final long p2_17 = ((a18 * a19) << 1);
+        final long p2_18 = a19 * a19;
+
+        // Product of the half sums.
+        final long p1_0 = as0 * as0;
+        final long p1_1 = ((as0 * as1) << 1);
+        final long p1_2 = ((as0 * as2) << 1) + as1 * as1;
+        final long p1_3 = ((as0 * as3 + as1 * as2) << 1);
+        final long p1_4 = ((as0 * as4 + as1 * as3) << 1) + as2 * as2;
+        final long p1_5 = ((as0 * as5 + as1 * as4 + as2 * as3) << 1);
+        final long p1_6 = ((as0 * as6 + as1 * as5 + as2 * as4) << 1) +
+            as3 * as3;
+        final long p1_7 =
+            ((as0 * as7 + as1 * as6 + as2 * as5 + as3 * as4) << 1);
+        final long p1_8 =
+            ((as0 * as8 + as1 * as7 + as2 * as6 + as3 * as5) << 1) +
+            as4 * as4;
+        final long p1_9 =
+            ((as0 * as9 + as1 * as8 + as2 * as7 + as3 * as6 + as4 * as5) << 1);
+        final long p1_10 =
+            ((as1 * as9 + as2 * as8 + as3 * as7 + as4 * as6) << 1) +
+            as5 * as5;
+        final long p1_11 =
+            ((as2 * as9 + as3 * as8 + as4 * as7 + as5 * as6) << 1);
+        final long p1_12 = ((as3 * as9 + as4 * as8 + as5 * as7) << 1) +
+            as6 * as6;
+        final long p1_13 = ((as4 * as9 + as5 * as8 + as6 * as7) << 1);
+        final long p1_14 = ((as5 * as9 + as6 * as8) << 1) + as7 * as7;
+        final long p1_15 = ((as6 * as9 + as7 * as8) << 1);
+        final long p1_16 = ((as7 * as9) << 1) + as8 * as8;
+        final long p1_17 = ((as8 * as9) << 1);
+        final long p1_18 = as9 * as9;
+
+        // Middle terms.
+        final long q0 = p1_0 - p0_0 - p2_0;
+        final long q1 = p1_1 - p0_1 - p2_1;
+        final long q2 = p1_2 - p0_2 - p2_2;
+        final long q3 = p1_3 - p0_3 - p2_3;
+        final long q4 = p1_4 - p0_4 - p2_4;
+        final long q5 = p1_5 - p0_5 - p2_5;
+        final long q6 = p1_6 - p0_6 - p2_6;
+        final long q7 = p1_7 - p0_7 - p2_7;
+        final long q8 = p1_8 - p0_8 - p2_8;
+        final long q9 = p1_9 - p0_9 - p2_9;
+        final long q10 = p1_10 - p0_10 - p2_10;
+        final long q11 = p1_11 - p0_11 - p2_11;
+        final long q12 = p1_12 - p0_12 - p2_12;
+        final long q13 = p1_13 - p0_13 - p2_13;
+        final long q14 = p1_14 - p0_14 - p2_14;
+        final long q15 = p1_15 - p0_15 - p2_15;
+        final long q16 = p1_16 - p0_16 - p2_16;
+        final long q17 = p1_17 - p0_17 - p2_17;
+        final long q18 = p1_18 - p0_18 - p2_18;
+
+        // Recombine into columns and propagate carries.
+        final long t0 = p0_0;
+        final long t1 = p0_1 + (t0 >> MUL_DIGIT_BITS);
+        final long t2 = p0_2 + (t1 >> MUL_DIGIT_BITS);
+        final long t3 = p0_3 + (t2 >> MUL_DIGIT_BITS);
+        final long t4 = p0_4 + (t3 >> MUL_DIGIT_BITS);
+        final long t5 = p0_5 + (t4 >> MUL_DIGIT_BITS);
+        final long t6 = p0_6 + (t5 >> MUL_DIGIT_BITS);
+        final long t7 = p0_7 + (t6 >> MUL_DIGIT_BITS);
+        final long t8 = p0_8 + (t7 >> MUL_DIGIT_BITS);
+        final long t9 = p0_9 + (t8 >> MUL_DIGIT_BITS);
+        final long t10 = p0_10 + q0 + (t9 >> MUL_DIGIT_BITS);
+        final long t11 = p0_11 + q1 + (t10 >> MUL_DIGIT_BITS);
+        final long t12 = p0_12 + q2 + (t11 >> MUL_DIGIT_BITS);
+        final long t13 = p0_13 + q3 + (t12 >> MUL_DIGIT_BITS);
+        final long t14 = p0_14 + q4 + (t13 >> MUL_DIGIT_BITS);
+        final long t15 = p0_15 + q5 + (t14 >> MUL_DIGIT_BITS);
+        final long t16 = p0_16 + q6 + (t15 >> MUL_DIGIT_BITS);
+        final long t17 = p0_17 + q7 + (t16 >> MUL_DIGIT_BITS);
+        final long t18 = p0_18 + q8 + (t17 >> MUL_DIGIT_BITS);
+        final long t19 = q9 + (t18 >> MUL_DIGIT_BITS);
+        final long t20 = q10 + p2_0 + (t19 >> MUL_DIGIT_BITS);
+        final long t21 = q11 + p2_1 + (t20 >> MUL_DIGIT_BITS);
+        final long t22 = q12 + p2_2 + (t21 >> MUL_DIGIT_BITS);
+        final long t23 = q13 + p2_3 + (t22 >> MUL_DIGIT_BITS);
+        final long t24 = q14 + p2_4 + (t23 >> MUL_DIGIT_BITS);
+        final long t25 = q15 + p2_5 + (t24 >> MUL_DIGIT_BITS);
+        final long t26 = q16 + p2_6 + (t25 >> MUL_DIGIT_BITS);
+        final long t27 = q17 + p2_7 + (t26 >> MUL_DIGIT_BITS);
+        final long t28 = q18 + p2_8 + (t27 >> MUL_DIGIT_BITS);
+        final long t29 = p2_9 + (t28 >> MUL_DIGIT_BITS);
+        final long t30 = p2_10 + (t29 >> MUL_DIGIT_BITS);
+        final long t31 = p2_11 + (t30 >> MUL_DIGIT_BITS);
+        final long t32 = p2_12 + (t31 >> MUL_DIGIT_BITS);
+        final long t33 = p2_13 + (t32 >> MUL_DIGIT_BITS);
+        final long t34 = p2_14 + (t33 >> MUL_DIGIT_BITS);
+        final long t35 = p2_15 + (t34 >> MUL_DIGIT_BITS);
+        final long t36 = p2_16 + (t35 >> MUL_DIGIT_BITS);
+        final long t37 = p2_17 + (t36 >> MUL_DIGIT_BITS);
+        final long t38 = p2_18 + (t37 >> MUL_DIGIT_BITS);
+
+        final long d0 = (t0 & MUL_DIGIT_MASK) |
+                         ((t1 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d1 = (t2 & MUL_DIGIT_MASK) |
+                         ((t3 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d2 = (t4 & MUL_DIGIT_MASK) |
+                         ((t5 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d3 = (t6 & MUL_DIGIT_MASK) |
+                         ((t7 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d4 = (t8 & MUL_DIGIT_MASK) |
+                         ((t9 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d5 = (t10 & MUL_DIGIT_MASK) |
+                         ((t11 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d6 = (t12 & MUL_DIGIT_MASK) |
+                         ((t13 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d7 = (t14 & MUL_DIGIT_MASK) |
+                         ((t15 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d8 = (t16 & MUL_DIGIT_MASK) |
+                         ((t17 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d9 = (t18 & MUL_DIGIT_MASK) |
+                         ((t19 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d10 = (t20 & MUL_DIGIT_MASK) |
+                         ((t21 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d11 = (t22 & MUL_DIGIT_MASK) |
+                         ((t23 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d12 = (t24 & MUL_DIGIT_MASK) |
+                         ((t25 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d13 = (t26 & MUL_DIGIT_MASK) |
+                         ((t27 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d14 = (t28 & MUL_DIGIT_MASK) |
+                         ((t29 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d15 = (t30 & MUL_DIGIT_MASK) |
+                         ((t31 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d16 = (t32 & MUL_DIGIT_MASK) |
+                         ((t33 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d17 = (t34 & MUL_DIGIT_MASK) |
+                         ((t35 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d18 = (t36 & MUL_DIGIT_MASK) |
+                         ((t37 & MUL_DIGIT_MASK) << MUL_DIGIT_BITS);
+        final long d19 = t38;
+
+        // Modular reduction by a pseudo-mersenne prime of the form 2^n - c.
+
+        // These are the n low-order bits.
+        final long l0_0 = d0 & DIGIT_MASK;
+        final long l1_0 = d1 & DIGIT_MASK;
+        final long l2_0 = d2 & DIGIT_MASK;
+        final long l3_0 = d3 & DIGIT_MASK;
+        final long l4_0 = d4 & DIGIT_MASK;
+        final long l5_0 = d5 & DIGIT_MASK;
+        final long l6_0 = d6 & DIGIT_MASK;
+        final long l7_0 = d7 & DIGIT_MASK;
+        final long l8_0 = d8 & DIGIT_MASK;
+        final long l9_0 = d9 & HIGH_DIGIT_MASK;
+
+        // Shift the high bits down into another n-bit number.
+        final long h0_0 = ((d9 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d10 & HIGH_DIGIT_MASK) << 19);
+        final long h1_0 = ((d10 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d11 & HIGH_DIGIT_MASK) << 19);
+        final long h2_0 = ((d11 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d12 & HIGH_DIGIT_MASK) << 19);
+        final long h3_0 = ((d12 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d13 & HIGH_DIGIT_MASK) << 19);
+        final long h4_0 = ((d13 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d14 & HIGH_DIGIT_MASK) << 19);
+        final long h5_0 = ((d14 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d15 & HIGH_DIGIT_MASK) << 19);
+        final long h6_0 = ((d15 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d16 & HIGH_DIGIT_MASK) << 19);
+        final long h7_0 = ((d16 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d17 & HIGH_DIGIT_MASK) << 19);
+        final long h8_0 = ((d17 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   ((d18 & HIGH_DIGIT_MASK) << 19);
+        final long h9_0 = ((d18 & DIGIT_MASK) >> HIGH_DIGIT_BITS) |
+                   (d19 << 19);
+
+        // Normally, we multiply h by c, but since c = 1 here, we skip.
+
+        // Add h and l.
+
+        // Need kin_0
+        final long kin_0 = h9_0 >> HIGH_DIGIT_BITS;
+        final long s0_0 = l0_0 + h0_0 + kin_0;
+        final long k0_0 = s0_0 >> DIGIT_BITS;
+        final long s1_0 = l1_0 + h1_0 + k0_0;
+        final long k1_0 = s1_0 >> DIGIT_BITS;
+        final long s2_0 = l2_0 + h2_0 + k1_0;
+        final long k2_0 = s2_0 >> DIGIT_BITS;
+        final long s3_0 = l3_0 + h3_0 + k2_0;
+        final long k3_0 = s3_0 >> DIGIT_BITS;
+        final long s4_0 = l4_0 + h4_0 + k3_0;
+        final long k4_0 = s4_0 >> DIGIT_BITS;
+        final long s5_0 = l5_0 + h5_0 + k4_0;
+        final long k5_0 = s5_0 >> DIGIT_BITS;
+        final long s6_0 = l6_0 + h6_0 + k5_0;
+        final long k6_0 = s6_0 >> DIGIT_BITS;
+        final long s7_0 = l7_0 + h7_0 + k6_0;
+        final long k7_0 = s7_0 >> DIGIT_BITS;
+        final long s8_0 = l8_0 + h8_0 + k7_0;
+        final long k8_0 = s8_0 >> DIGIT_BITS;
+        final long s9_0 = l9_0 + (h9_0 & HIGH_DIGIT_MASK) + k8_0;
+
+        digits[0] = s0_0 & DIGIT_MASK;
+        digits[1] = s1_0 & DIGIT_MASK;
+        digits[2] = s2_0 & DIGIT_MASK;
+        digits[3] = s3_0 & DIGIT_MASK;
+        digits[4] = s4_0 & DIGIT_MASK;
+        digits[5] = s5_0 & DIGIT_MASK;
+        digits[6] = s6_0 & DIGIT_MASK;
+        digits[7] = s7_0 & DIGIT_MASK;
+        digits[8] = s8_0 & DIGIT_MASK;
+        digits[9] = s9_0;
+    }
+
     /**
      * Low-level digits multiplicative inverse (reciprocal).
      *
      * @param digits The digits array to invert.
      * @param scratch The scratchpad to use.
      */
-    private static void invDigits(final long[] digits,
-                                  final Scratchpad scratch) {
+    static void invDigits(final long[] digits,
+                          final Scratchpad scratch) {
         // First digit is 1.
         final long[] sqval = scratch.d0;
 
@@ -3119,8 +4142,8 @@ public final class ModE521M1 extends PrimeField<ModE521M1> {
      * @param digits The digits array to initalize.
      * @param val The {@code int} from which to initialize.
      */
-    private static void initDigits(final long[] digits,
-                                   final int val) {
+    static void initDigits(final long[] digits,
+                           final int val) {
         Arrays.fill(digits, 0);
         addDigits(digits, val, digits);
     }
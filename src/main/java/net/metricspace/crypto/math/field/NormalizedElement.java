@@ -0,0 +1,280 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import java.lang.AutoCloseable;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * A field element held in normalized form.
+ * <p>
+ * {@link PrimeField#pack}, {@link PrimeField#equals}, {@link
+ * PrimeField#isZero}, and the other encoding and comparison methods
+ * each normalize their argument first, so code that encodes, tests,
+ * and compares the same value pays for several normalizations.  This
+ * normalizes once, on construction or {@link #set}, and then answers
+ * all of these queries from the canonical digits.
+ * <p>
+ * The view holds its own copy, so later changes to the original
+ * value are not reflected; call {@link #set} again to refresh it.
+ * Instances can be reused, so that encoding many values does not
+ * allocate.
+ *
+ * @param <V> The type of the field element.
+ */
+public final class NormalizedElement<V extends PrimeField<V>>
+    implements Destroyable, AutoCloseable {
+    /**
+     * The normalized copy.
+     */
+    private final V value;
+
+    /**
+     * Initialize from a field element, which is left unchanged.
+     *
+     * @param value The field element.
+     */
+    public NormalizedElement(final V value) {
+        this.value = value.clone();
+        this.value.normalize();
+    }
+
+    /**
+     * Initialize from a field element, which is left unchanged.
+     *
+     * @param value The field element.
+     * @param scratch The scratchpad to use.
+     */
+    public NormalizedElement(final V value,
+                             final PrimeField.Scratchpad scratch) {
+        this.value = value.clone();
+        this.value.normalize(scratch);
+    }
+
+    /**
+     * Replace the held value with a normalized copy of a field
+     * element, which is left unchanged.
+     *
+     * @param value The field element.
+     */
+    public void set(final V value) {
+        this.value.set(value);
+        this.value.normalize();
+    }
+
+    /**
+     * Replace the held value with a normalized copy of a field
+     * element, which is left unchanged.
+     *
+     * @param value The field element.
+     * @param scratch The scratchpad to use.
+     */
+    public void set(final V value,
+                    final PrimeField.Scratchpad scratch) {
+        this.value.set(value);
+        this.value.normalize(scratch);
+    }
+
+    /**
+     * Copy the held value into a field element.
+     *
+     * @param out The field element into which to write.
+     */
+    public void get(final V out) {
+        out.set(value);
+    }
+
+    /**
+     * Get the {@code n}th bit of the value.
+     *
+     * @param n Index of the bit to get.
+     * @return The {@code n}th bit.
+     * @see PrimeField#bitNormalized
+     */
+    public long bit(final int n) {
+        return value.bitNormalized(n);
+    }
+
+    /**
+     * Get the sign of the value.
+     *
+     * @return {@code 0} if the value is positive, {@code 1} if not.
+     * @see PrimeField#sign()
+     */
+    public byte sign() {
+        return value.sign();
+    }
+
+    /**
+     * Get the sign of the value.
+     *
+     * @param scratch The scratchpad to use.
+     * @return {@code 0} if the value is positive, {@code 1} if not.
+     * @see PrimeField#sign(PrimeField.Scratchpad)
+     */
+    public byte sign(final PrimeField.Scratchpad scratch) {
+        return value.sign(scratch);
+    }
+
+    /**
+     * Get the signum of the value.
+     *
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if the value is positive, {@code -1} if not.
+     * @see PrimeField#signum(PrimeField.Scratchpad)
+     */
+    public byte signum(final PrimeField.Scratchpad scratch) {
+        return value.signum(scratch);
+    }
+
+    /**
+     * Check whether the value is zero.
+     *
+     * @return {@code 1} if the value is zero, {@code 0} if not.
+     * @see PrimeField#normalizedIsZero
+     */
+    public long isZero() {
+        return value.normalizedIsZero();
+    }
+
+    /**
+     * Compare against another normalized value.
+     *
+     * @param b The value against which to compare.
+     * @return {@code 0} if the values are equal, {@code 1} if not.
+     * @see PrimeField#normalizedEq
+     */
+    public long eq(final NormalizedElement<V> b) {
+        return value.normalizedEq(b.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(final Object b) {
+        if (b instanceof NormalizedElement) {
+            final NormalizedElement<?> other = (NormalizedElement<?>)b;
+
+            return value.getClass() == other.value.getClass() &&
+                   value.normalizedEquals((V)other.value);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(value.digits);
+    }
+
+    /**
+     * Write the little-endian encoding of the value.
+     *
+     * @param arr Array into which to write.
+     */
+    public void pack(final byte[] arr) {
+        value.normalizedPack(arr);
+    }
+
+    /**
+     * Write the little-endian encoding of the value.
+     *
+     * @param arr Array into which to write.
+     * @param idx Index at which to start.
+     */
+    public void pack(final byte[] arr,
+                     final int idx) {
+        value.normalizedPack(arr, idx);
+    }
+
+    /**
+     * Write the little-endian encoding of the value to an {@link
+     * OutputStream}.
+     *
+     * @param stream The {@link OutputStream} to which to write.
+     * @throws IOException If an error occurred while writing data.
+     */
+    public void pack(final OutputStream stream) throws IOException {
+        value.normalizedPack(stream);
+    }
+
+    /**
+     * Get the little-endian encoding of the value.
+     *
+     * @return The encoding.
+     */
+    public byte[] packed() {
+        return value.normalizedPacked();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return value.normalizedToString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        value.destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return value.isDestroyed();
+    }
+}
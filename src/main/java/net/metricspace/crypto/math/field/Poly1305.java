@@ -0,0 +1,835 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.Arrays;
+import javax.security.auth.Destroyable;
+
+/**
+ * The Poly1305 one-time authenticator, as specified in RFC 8439,
+ * computed over the digits of {@link ModE130M5}.
+ * <p>
+ * An instance authenticates a single message, fed to it in any
+ * number of pieces through {@link #update}.  The static {@link
+ * #mac(byte[][], byte[][])} authenticates many independent messages,
+ * each under its own key.  It runs {@link #LANES} messages at once,
+ * with their accumulators stored digit by digit in a single array,
+ * so that the multiplications of the lanes are independent of one
+ * another and can be overlapped by the processor.  A lane that
+ * finishes its message takes the next one, so messages of different
+ * lengths keep all the lanes busy.  For short messages, such as
+ * network packets, this is much faster than authenticating them one
+ * after another, where each multiplication must wait for the
+ * previous one.
+ * <p>
+ * Both run in constant time for any given message lengths.  A key
+ * must never be used for more than one message.
+ */
+public final class Poly1305 implements Destroyable, AutoCloseable {
+    /**
+     * Size of a key in bytes.
+     */
+    public static final int KEY_BYTES = 32;
+
+    /**
+     * Size of a tag in bytes.
+     */
+    public static final int TAG_BYTES = 16;
+
+    /**
+     * Size of a message block in bytes.
+     */
+    public static final int BLOCK_BYTES = 16;
+
+    /**
+     * Number of messages processed at once by {@link #mac(byte[][],
+     * byte[][])}.
+     */
+    public static final int LANES = 4;
+
+    /**
+     * Number of digits in an accumulator.
+     */
+    private static final int NUM_DIGITS = ModE130M5.NUM_DIGITS;
+
+    /**
+     * Mask for a digit.
+     */
+    private static final long DIGIT_MASK = 0x03ffffffffffffffL;
+
+    /**
+     * The bit in the top digit that is set for a full block.
+     */
+    private static final long HIBIT = 1L << 12;
+
+    /**
+     * Mask for the low 64 bits of {@code r}.
+     */
+    private static final long CLAMP_LO = 0x0ffffffc0fffffffL;
+
+    /**
+     * Mask for the high 64 bits of {@code r}.
+     */
+    private static final long CLAMP_HI = 0x0ffffffc0ffffffcL;
+
+    /**
+     * The accumulator.
+     */
+    private final long[] h;
+
+    /**
+     * The clamped multiplier.
+     */
+    private final long[] r;
+
+    /**
+     * The current block.
+     */
+    private final long[] m;
+
+    /**
+     * The final addend.
+     */
+    private final byte[] s;
+
+    /**
+     * Buffer for a partial block, with one extra byte for the padding
+     * of a final block.
+     */
+    private final byte[] buf;
+
+    /**
+     * Number of bytes in {@link #buf}.
+     */
+    private int buffered;
+
+    /**
+     * Whether the tag has been computed.
+     */
+    private boolean finished;
+
+    /**
+     * Create an instance from a one-time key.
+     *
+     * @param key The key, of {@link #KEY_BYTES} bytes.
+     * @throws IllegalArgumentException If the key is the wrong size.
+     */
+    public Poly1305(final byte[] key) {
+        checkKey(key);
+
+        this.h = new long[NUM_DIGITS];
+        this.r = new long[NUM_DIGITS];
+        this.m = new long[NUM_DIGITS];
+        this.s = new byte[TAG_BYTES];
+        this.buf = new byte[BLOCK_BYTES + 1];
+        this.buffered = 0;
+        this.finished = false;
+
+        loadKey(key, r, 0, 1, s, 0);
+    }
+
+    /**
+     * Compute the tag of a message.
+     *
+     * @param key The one-time key, of {@link #KEY_BYTES} bytes.
+     * @param msg The message.
+     * @return The tag, of {@link #TAG_BYTES} bytes.
+     * @throws IllegalArgumentException If the key is the wrong size.
+     */
+    public static byte[] mac(final byte[] key,
+                             final byte[] msg) {
+        return mac(key, msg, 0, msg.length);
+    }
+
+    /**
+     * Compute the tag of part of an array.
+     *
+     * @param key The one-time key, of {@link #KEY_BYTES} bytes.
+     * @param msg The array containing the message.
+     * @param off The offset of the message.
+     * @param len The length of the message.
+     * @return The tag, of {@link #TAG_BYTES} bytes.
+     * @throws IllegalArgumentException If the key is the wrong size.
+     */
+    public static byte[] mac(final byte[] key,
+                             final byte[] msg,
+                             final int off,
+                             final int len) {
+        try(final Poly1305 poly = new Poly1305(key)) {
+            poly.update(msg, off, len);
+
+            return poly.finish();
+        }
+    }
+
+    /**
+     * Compute the tags of many independent messages, each under its
+     * own one-time key, {@link #LANES} messages at a time.
+     *
+     * @param keys The keys, of {@link #KEY_BYTES} bytes each.
+     * @param msgs The messages.
+     * @return The tags, of {@link #TAG_BYTES} bytes each.
+     * @throws IllegalArgumentException If the number of keys and
+     *                                  messages differ, or if a key
+     *                                  is the wrong size.
+     */
+    public static byte[][] mac(final byte[][] keys,
+                               final byte[][] msgs) {
+        final byte[][] tags = new byte[keys.length][];
+
+        mac(keys, msgs, tags, LANES);
+
+        return tags;
+    }
+
+    /**
+     * Compute the tags of many independent messages, with a given
+     * number of lanes.
+     *
+     * @param keys The keys, of {@link #KEY_BYTES} bytes each.
+     * @param msgs The messages.
+     * @param tags The array into which to write the tags.
+     * @param lanes The number of lanes.
+     * @throws IllegalArgumentException If the number of keys and
+     *                                  messages differ, or if a key
+     *                                  is the wrong size.
+     */
+    static void mac(final byte[][] keys,
+                    final byte[][] msgs,
+                    final byte[][] tags,
+                    final int lanes) {
+        if (keys.length != msgs.length || keys.length != tags.length) {
+            throw new IllegalArgumentException(
+                "Numbers of keys and messages differ");
+        }
+
+        for(int i = 0; i < keys.length; i++) {
+            checkKey(keys[i]);
+        }
+
+        try(final Lanes state = new Lanes(keys, msgs, tags, lanes)) {
+            state.run();
+        }
+    }
+
+    /**
+     * Add more of the message.
+     *
+     * @param in The array containing the data.
+     * @throws IllegalStateException If the tag has been computed.
+     */
+    public void update(final byte[] in) {
+        update(in, 0, in.length);
+    }
+
+    /**
+     * Add more of the message.
+     *
+     * @param in The array containing the data.
+     * @param off The offset of the data.
+     * @param len The length of the data.
+     * @throws IllegalStateException If the tag has been computed.
+     */
+    public void update(final byte[] in,
+                       final int off,
+                       final int len) {
+        if (finished) {
+            throw new IllegalStateException("Tag already computed");
+        }
+
+        int pos = off;
+        int rem = len;
+
+        if (buffered > 0) {
+            final int n = Math.min(rem, BLOCK_BYTES - buffered);
+
+            System.arraycopy(in, pos, buf, buffered, n);
+            buffered += n;
+            pos += n;
+            rem -= n;
+
+            if (buffered < BLOCK_BYTES) {
+                return;
+            }
+
+            block(buf, 0);
+            buffered = 0;
+        }
+
+        while (rem >= BLOCK_BYTES) {
+            block(in, pos);
+            pos += BLOCK_BYTES;
+            rem -= BLOCK_BYTES;
+        }
+
+        System.arraycopy(in, pos, buf, 0, rem);
+        buffered = rem;
+    }
+
+    /**
+     * Compute the tag.  This destroys the key material; the instance
+     * cannot be used afterward.
+     *
+     * @return The tag, of {@link #TAG_BYTES} bytes.
+     * @throws IllegalStateException If the tag has been computed.
+     */
+    public byte[] finish() {
+        final byte[] out = new byte[TAG_BYTES];
+
+        finish(out, 0);
+
+        return out;
+    }
+
+    /**
+     * Compute the tag, and write it into an array.  This destroys the
+     * key material; the instance cannot be used afterward.
+     *
+     * @param out The array into which to write the tag.
+     * @param off The offset at which to write the tag.
+     * @throws IllegalStateException If the tag has been computed.
+     */
+    public void finish(final byte[] out,
+                       final int off) {
+        if (finished) {
+            throw new IllegalStateException("Tag already computed");
+        }
+
+        if (buffered > 0) {
+            loadPartial(buf, 0, buffered, buf, m, 0, 1);
+            ModE130M5.addDigits(h, m, h);
+            ModE130M5.mulDigits(h, r, h);
+        }
+
+        try(final ModE130M5.Scratchpad scratch =
+            ModE130M5.scratchpads.get()) {
+            storeTag(h, 0, 1, s, 0, m, out, off, scratch);
+        }
+
+        destroy();
+    }
+
+    /**
+     * Absorb one full block.
+     *
+     * @param in The array containing the block.
+     * @param off The offset of the block.
+     */
+    private void block(final byte[] in,
+                       final int off) {
+        loadBlock(in, off, m, 0, 1);
+        ModE130M5.addDigits(h, m, h);
+        ModE130M5.mulDigits(h, r, h);
+    }
+
+    /**
+     * Check the size of a key.
+     *
+     * @param key The key.
+     * @throws IllegalArgumentException If the key is the wrong size.
+     */
+    private static void checkKey(final byte[] key) {
+        if (key.length != KEY_BYTES) {
+            throw new IllegalArgumentException(
+                "Poly1305 keys must be " + KEY_BYTES + " bytes");
+        }
+    }
+
+    /**
+     * Read a little-endian 64-bit value.
+     *
+     * @param in The array to read.
+     * @param off The offset of the value.
+     * @return The value.
+     */
+    private static long le64(final byte[] in,
+                             final int off) {
+        return ((long)in[off] & 0xff) |
+               (((long)in[off + 1] & 0xff) << 8) |
+               (((long)in[off + 2] & 0xff) << 16) |
+               (((long)in[off + 3] & 0xff) << 24) |
+               (((long)in[off + 4] & 0xff) << 32) |
+               (((long)in[off + 5] & 0xff) << 40) |
+               (((long)in[off + 6] & 0xff) << 48) |
+               (((long)in[off + 7] & 0xff) << 56);
+    }
+
+    /**
+     * Write a little-endian 64-bit value.
+     *
+     * @param val The value.
+     * @param out The array into which to write.
+     * @param off The offset at which to write.
+     */
+    private static void le64(final long val,
+                             final byte[] out,
+                             final int off) {
+        for(int i = 0; i < 8; i++) {
+            out[off + i] = (byte)(val >>> (8 * i));
+        }
+    }
+
+    /**
+     * Split a 128-bit value into digits.  Digit {@code i} is written
+     * at {@code idx + (i * stride)}.
+     *
+     * @param lo The low 64 bits.
+     * @param hi The high 64 bits.
+     * @param digits The array into which to write the digits.
+     * @param idx The index of the lowest digit.
+     * @param stride The distance between digits.
+     */
+    private static void split(final long lo,
+                              final long hi,
+                              final long[] digits,
+                              final int idx,
+                              final int stride) {
+        digits[idx] = lo & DIGIT_MASK;
+        digits[idx + stride] = (lo >>> 58) | ((hi << 6) & DIGIT_MASK);
+        digits[idx + (2 * stride)] = hi >>> 52;
+    }
+
+    /**
+     * Load a key, clamping {@code r}.
+     *
+     * @param key The key.
+     * @param r The array into which to write the digits of {@code r}.
+     * @param idx The index of the lowest digit.
+     * @param stride The distance between digits.
+     * @param s The array into which to write {@code s}.
+     * @param soff The offset at which to write {@code s}.
+     */
+    private static void loadKey(final byte[] key,
+                                final long[] r,
+                                final int idx,
+                                final int stride,
+                                final byte[] s,
+                                final int soff) {
+        split(le64(key, 0) & CLAMP_LO, le64(key, 8) & CLAMP_HI,
+              r, idx, stride);
+        System.arraycopy(key, BLOCK_BYTES, s, soff, TAG_BYTES);
+    }
+
+    /**
+     * Load a full block, with the bit above it set.
+     *
+     * @param in The array containing the block.
+     * @param off The offset of the block.
+     * @param m The array into which to write the digits.
+     * @param idx The index of the lowest digit.
+     * @param stride The distance between digits.
+     */
+    private static void loadBlock(final byte[] in,
+                                  final int off,
+                                  final long[] m,
+                                  final int idx,
+                                  final int stride) {
+        split(le64(in, off), le64(in, off + 8), m, idx, stride);
+        m[idx + (2 * stride)] |= HIBIT;
+    }
+
+    /**
+     * Load a final partial block, padded with a single {@code 1}
+     * byte.
+     *
+     * @param in The array containing the block.
+     * @param off The offset of the block.
+     * @param len The length of the block, less than {@link
+     *            #BLOCK_BYTES}.
+     * @param pad A buffer of {@code BLOCK_BYTES + 1} bytes.  This may
+     *            be {@code in}, if {@code off} is {@code 0}.
+     * @param m The array into which to write the digits.
+     * @param idx The index of the lowest digit.
+     * @param stride The distance between digits.
+     */
+    private static void loadPartial(final byte[] in,
+                                    final int off,
+                                    final int len,
+                                    final byte[] pad,
+                                    final long[] m,
+                                    final int idx,
+                                    final int stride) {
+        System.arraycopy(in, off, pad, 0, len);
+        pad[len] = 1;
+        Arrays.fill(pad, len + 1, pad.length, (byte)0);
+        split(le64(pad, 0), le64(pad, 8), m, idx, stride);
+        Arrays.fill(pad, (byte)0);
+    }
+
+    /**
+     * Reduce an accumulator, add {@code s}, and write the low 128
+     * bits of the result.
+     *
+     * @param h The array containing the accumulator.
+     * @param idx The index of the lowest digit.
+     * @param stride The distance between digits.
+     * @param s The array containing {@code s}.
+     * @param soff The offset of {@code s}.
+     * @param tmp An array of {@code NUM_DIGITS} digits.
+     * @param out The array into which to write the tag.
+     * @param off The offset at which to write the tag.
+     * @param scratch The scratchpad to use.
+     */
+    private static void storeTag(final long[] h,
+                                 final int idx,
+                                 final int stride,
+                                 final byte[] s,
+                                 final int soff,
+                                 final long[] tmp,
+                                 final byte[] out,
+                                 final int off,
+                                 final ModE130M5.Scratchpad scratch) {
+        for(int i = 0; i < NUM_DIGITS; i++) {
+            tmp[i] = h[idx + (i * stride)];
+        }
+
+        ModE130M5.normalizeDigits(tmp, scratch);
+
+        final long hlo = tmp[0] | (tmp[1] << 58);
+        final long hhi = (tmp[1] >>> 6) | (tmp[2] << 52);
+        final long slo = le64(s, soff);
+        final long shi = le64(s, soff + 8);
+        final long lo = hlo + slo;
+        final long carry = ((hlo & slo) | ((hlo | slo) & ~lo)) >>> 63;
+        final long hi = hhi + shi + carry;
+
+        le64(lo, out, off);
+        le64(hi, out, off + 8);
+        Arrays.fill(tmp, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        Arrays.fill(h, 0);
+        Arrays.fill(r, 0);
+        Arrays.fill(m, 0);
+        Arrays.fill(s, (byte)0);
+        Arrays.fill(buf, (byte)0);
+        buffered = 0;
+        finished = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return finished;
+    }
+
+    /**
+     * The state of a multi-message computation.  Each lane holds the
+     * accumulator, multiplier, and current block of one message,
+     * stored as for {@link ModE130M5#addLanes}.
+     */
+    private static final class Lanes implements AutoCloseable {
+        /**
+         * The keys.
+         */
+        private final byte[][] keys;
+
+        /**
+         * The messages.
+         */
+        private final byte[][] msgs;
+
+        /**
+         * The array into which to write the tags.
+         */
+        private final byte[][] tags;
+
+        /**
+         * The number of lanes.
+         */
+        private final int lanes;
+
+        /**
+         * The accumulators.
+         */
+        private final long[] h;
+
+        /**
+         * The clamped multipliers.
+         */
+        private final long[] r;
+
+        /**
+         * The current blocks.
+         */
+        private final long[] m;
+
+        /**
+         * The final addends, {@link #TAG_BYTES} bytes per lane.
+         */
+        private final byte[] s;
+
+        /**
+         * Buffer for padding partial blocks.
+         */
+        private final byte[] pad;
+
+        /**
+         * The index of the message in each lane, or {@code -1} for an
+         * idle lane.
+         */
+        private final int[] current;
+
+        /**
+         * The offset of the next block in each lane.
+         */
+        private final int[] pos;
+
+        /**
+         * The index of the next message to assign to a lane.
+         */
+        private int next;
+
+        /**
+         * The number of busy lanes.
+         */
+        private int busy;
+
+        /**
+         * Set up the lanes.
+         *
+         * @param keys The keys.
+         * @param msgs The messages.
+         * @param tags The array into which to write the tags.
+         * @param lanes The number of lanes.
+         */
+        Lanes(final byte[][] keys,
+              final byte[][] msgs,
+              final byte[][] tags,
+              final int lanes) {
+            this.keys = keys;
+            this.msgs = msgs;
+            this.tags = tags;
+            this.lanes = lanes;
+            this.h = new long[NUM_DIGITS * lanes];
+            this.r = new long[NUM_DIGITS * lanes];
+            this.m = new long[NUM_DIGITS * lanes];
+            this.s = new byte[TAG_BYTES * lanes];
+            this.pad = new byte[BLOCK_BYTES + 1];
+            this.current = new int[lanes];
+            this.pos = new int[lanes];
+            this.next = 0;
+            this.busy = 0;
+        }
+
+        /**
+         * Compute all the tags.
+         */
+        void run() {
+            try(final ModE130M5.Scratchpad scratch =
+                ModE130M5.scratchpads.get()) {
+                final long[] tmp = new long[NUM_DIGITS];
+
+                for(int l = 0; l < lanes; l++) {
+                    assign(l, tmp, scratch);
+                }
+
+                while (busy > 0) {
+                    final int steps = steps();
+
+                    for(int k = 0; k < steps; k++) {
+                        for(int l = 0; l < lanes; l++) {
+                            load(l);
+                        }
+
+                        ModE130M5.addLanes(h, m, h, lanes);
+                        ModE130M5.mulLanes(h, r, h, lanes);
+                    }
+
+                    for(int l = 0; l < lanes; l++) {
+                        advance(l, tmp, scratch);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get the number of blocks that can be absorbed before any
+         * lane finishes its message: the least number of full blocks
+         * left in any busy lane, or one if some lane is down to a
+         * partial block.
+         *
+         * @return The number of blocks.
+         */
+        private int steps() {
+            int steps = Integer.MAX_VALUE;
+
+            for(int l = 0; l < lanes; l++) {
+                final int i = current[l];
+
+                if (i >= 0) {
+                    steps = Math.min(steps,
+                                     (msgs[i].length - pos[l]) / BLOCK_BYTES);
+                }
+            }
+
+            return Math.max(steps, 1);
+        }
+
+        /**
+         * Load the next block of a lane, and move the lane past it.
+         * An idle lane gets a zero block, which leaves its zero
+         * accumulator unchanged.
+         *
+         * @param l The lane.
+         */
+        private void load(final int l) {
+            final int i = current[l];
+
+            if (i < 0) {
+                m[l] = 0;
+                m[l + lanes] = 0;
+                m[l + (2 * lanes)] = 0;
+            } else {
+                final byte[] msg = msgs[i];
+                final int rem = msg.length - pos[l];
+
+                if (rem >= BLOCK_BYTES) {
+                    loadBlock(msg, pos[l], m, l, lanes);
+                } else {
+                    loadPartial(msg, pos[l], rem, pad, m, l, lanes);
+                }
+
+                pos[l] += BLOCK_BYTES;
+            }
+        }
+
+        /**
+         * Write the tag of a lane if its message is done, and give the
+         * lane the next message.
+         *
+         * @param l The lane.
+         * @param tmp An array of {@code NUM_DIGITS} digits.
+         * @param scratch The scratchpad to use.
+         */
+        private void advance(final int l,
+                             final long[] tmp,
+                             final ModE130M5.Scratchpad scratch) {
+            final int i = current[l];
+
+            if (i >= 0 && pos[l] >= msgs[i].length) {
+                finish(l, i, tmp, scratch);
+                busy--;
+                assign(l, tmp, scratch);
+            }
+        }
+
+        /**
+         * Give a lane the next nonempty message, writing the tags of
+         * any empty ones along the way, or make it idle if there are
+         * none left.
+         *
+         * @param l The lane.
+         * @param tmp An array of {@code NUM_DIGITS} digits.
+         * @param scratch The scratchpad to use.
+         */
+        private void assign(final int l,
+                            final long[] tmp,
+                            final ModE130M5.Scratchpad scratch) {
+            for(int d = 0; d < NUM_DIGITS; d++) {
+                h[l + (d * lanes)] = 0;
+                r[l + (d * lanes)] = 0;
+            }
+
+            while (next < msgs.length) {
+                final int i = next++;
+
+                loadKey(keys[i], r, l, lanes, s, l * TAG_BYTES);
+
+                if (msgs[i].length > 0) {
+                    current[l] = i;
+                    pos[l] = 0;
+                    busy++;
+
+                    return;
+                }
+
+                finish(l, i, tmp, scratch);
+            }
+
+            current[l] = -1;
+
+            for(int d = 0; d < NUM_DIGITS; d++) {
+                r[l + (d * lanes)] = 0;
+            }
+        }
+
+        /**
+         * Write the tag of a lane.
+         *
+         * @param l The lane.
+         * @param i The index of the message.
+         * @param tmp An array of {@code NUM_DIGITS} digits.
+         * @param scratch The scratchpad to use.
+         */
+        private void finish(final int l,
+                            final int i,
+                            final long[] tmp,
+                            final ModE130M5.Scratchpad scratch) {
+            final byte[] tag = new byte[TAG_BYTES];
+
+            storeTag(h, l, lanes, s, l * TAG_BYTES, tmp, tag, 0, scratch);
+            tags[i] = tag;
+
+            for(int d = 0; d < NUM_DIGITS; d++) {
+                h[l + (d * lanes)] = 0;
+            }
+        }
+
+        /**
+         * Clear the key material.
+         */
+        @Override
+        public void close() {
+            Arrays.fill(h, 0);
+            Arrays.fill(r, 0);
+            Arrays.fill(m, 0);
+            Arrays.fill(s, (byte)0);
+            Arrays.fill(pad, (byte)0);
+        }
+    }
+}
@@ -0,0 +1,1020 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import java.lang.AutoCloseable;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * Polynomials with coefficients in a prime field.
+ * <p>
+ * The coefficients are stored as in {@link FieldTable}: the digits of
+ * all coefficients are held contiguously in a single {@code long[]},
+ * lowest-degree coefficient first, in the internal representation of
+ * the field.  A polynomial of degree {@code 1000} is thus one array,
+ * rather than a thousand field element objects.
+ * <p>
+ * Multiplication uses Karatsuba's method above {@link
+ * #KARATSUBA_THRESHOLD} coefficients, and schoolbook product scanning
+ * below it.  Evaluation at many points, and interpolation, use a
+ * subproduct tree of the products of {@code (x - p)} over each half
+ * of the points in turn.  Evaluation descends a scaled remainder
+ * tree, which needs one Newton inverse at the root and then a single
+ * multiplication per node, for {@code O(M(n) log n)} work in all.
+ * Interpolation takes all of its denominators with a single {@link
+ * PrimeField#invBatch batch inversion}.
+ * <p>
+ * Polynomials are immutable; all arithmetic creates a new
+ * polynomial.  The length of a polynomial (one more than its formal
+ * degree) is part of its structure, and is never reduced by dropping
+ * zero leading coefficients, as doing so would make the running time
+ * depend on the values of the coefficients.  Beyond that, nothing
+ * here is designed to be constant-time.
+ *
+ * @param <F> The type of the coefficients.
+ */
+public final class Polynomial<F extends PrimeField<F>>
+    implements Destroyable, AutoCloseable {
+    /**
+     * Multiplications of fewer than this many coefficients use the
+     * schoolbook method.
+     */
+    static final int KARATSUBA_THRESHOLD = 16;
+
+    /**
+     * Evaluation at fewer than this many points uses Horner's method
+     * at each point, rather than a subproduct tree.  With Karatsuba
+     * products, the tree only pays off for large inputs.
+     */
+    static final int TREE_THRESHOLD = 2048;
+
+    /**
+     * Nodes of the subproduct tree with at most this many points are
+     * finished with Horner's method.
+     */
+    static final int LEAF_POINTS = 64;
+
+    /**
+     * Number of points evaluated by each task in {@link
+     * #evaluateParallel}.
+     */
+    static final int PARALLEL_CHUNK = 32;
+
+    /**
+     * A zero element of the field, used to create temporaries.
+     */
+    private final F prototype;
+
+    /**
+     * Digits of all coefficients, lowest degree first.
+     */
+    private final long[] data;
+
+    /**
+     * Number of digits in each coefficient.
+     */
+    private final int numDigits;
+
+    /**
+     * Initialize from a prototype and a digits array.  The created
+     * object takes possession of the array.
+     *
+     * @param prototype A zero element of the field.
+     * @param data The digits of the coefficients.
+     */
+    private Polynomial(final F prototype,
+                       final long[] data) {
+        this.prototype = prototype;
+        this.data = data;
+        this.numDigits = prototype.digits.length;
+    }
+
+    /**
+     * Create a polynomial from its coefficients.
+     *
+     * @param coeffs The coefficients, lowest degree first.  These
+     *               are copied.
+     * @throws IllegalArgumentException If there are no coefficients.
+     */
+    public Polynomial(final F[] coeffs) {
+        if (coeffs.length == 0) {
+            throw new IllegalArgumentException("No coefficients");
+        }
+
+        this.prototype = coeffs[0].clone();
+        this.prototype.set(0);
+        this.numDigits = prototype.digits.length;
+        this.data = new long[coeffs.length * numDigits];
+
+        for(int i = 0; i < coeffs.length; i++) {
+            final F coeff = coeffs[i].clone();
+
+            coeff.carry();
+            System.arraycopy(coeff.digits, 0, data, i * numDigits,
+                             numDigits);
+            coeff.destroy();
+        }
+    }
+
+    /**
+     * Create the monic polynomial with the given roots, {@code (x -
+     * roots[0]) * ... * (x - roots[n-1])}.
+     *
+     * @param <F> The type of the coefficients.
+     * @param roots The roots.
+     * @return The polynomial with the given roots.
+     * @throws IllegalArgumentException If there are no roots.
+     */
+    public static <F extends PrimeField<F>> Polynomial<F>
+        fromRoots(final F[] roots) {
+        if (roots.length == 0) {
+            throw new IllegalArgumentException("No roots");
+        }
+
+        final Work<F> work = new Work<>(roots[0]);
+        final Node root = work.build(roots, 0, roots.length);
+
+        return new Polynomial<>(work.prototype(), root.m);
+    }
+
+    /**
+     * Find the polynomial of least degree which takes the given
+     * values at the given points.
+     * <p>
+     * The points must be distinct.  This builds a subproduct tree
+     * {@code M} over the points, evaluates its derivative at all of
+     * them, inverts all of the results with a single {@link
+     * PrimeField#invBatch batch inversion}, and then combines the
+     * weighted values back up the tree.
+     *
+     * @param <F> The type of the coefficients.
+     * @param points The points.
+     * @param values The values at each point.
+     * @return The interpolating polynomial, with as many coefficients
+     *         as there are points.
+     * @throws IllegalArgumentException If there are no points, or the
+     *                                  number of points and values
+     *                                  differ.
+     */
+    public static <F extends PrimeField<F>> Polynomial<F>
+        interpolate(final F[] points,
+                    final F[] values) {
+        final int len = points.length;
+
+        if (len == 0) {
+            throw new IllegalArgumentException("No points");
+        }
+
+        if (values.length != len) {
+            throw new IllegalArgumentException("Got " + len +
+                                               " points and " +
+                                               values.length +
+                                               " values");
+        }
+
+        final Work<F> work = new Work<>(points[0]);
+        final Node root = work.build(points, 0, len);
+        final long[] deriv = work.derivative(root.m);
+        final F[] weights = Arrays.copyOf(values, len);
+
+        for(int i = 0; i < len; i++) {
+            weights[i] = work.prototype();
+        }
+
+        try(final PrimeField.Scratchpad scratch = points[0].scratchpad()) {
+            work.evaluate(root, deriv, points, weights, scratch);
+            PrimeField.invBatch(weights, scratch);
+        }
+
+        for(int i = 0; i < len; i++) {
+            weights[i].mul(values[i]);
+        }
+
+        final long[] out = work.combine(root, weights);
+
+        for(int i = 0; i < len; i++) {
+            weights[i].destroy();
+        }
+
+        return new Polynomial<>(work.prototype(), out);
+    }
+
+    /**
+     * Get the number of coefficients.
+     *
+     * @return The number of coefficients.
+     */
+    public int length() {
+        return data.length / numDigits;
+    }
+
+    /**
+     * Get the formal degree, which is one less than the number of
+     * coefficients.  The leading coefficient may be zero.
+     *
+     * @return The formal degree.
+     */
+    public int degree() {
+        return length() - 1;
+    }
+
+    /**
+     * Get a coefficient.
+     *
+     * @param idx The degree of the coefficient.
+     * @param out The value into which to write the coefficient.
+     */
+    public void coefficient(final int idx,
+                            final F out) {
+        out.set(prototype);
+        out.set(data, idx * numDigits);
+    }
+
+    /**
+     * Add another polynomial to this one.
+     *
+     * @param b The polynomial to add.
+     * @return The sum.
+     */
+    public Polynomial<F> add(final Polynomial<F> b) {
+        final Work<F> work = new Work<>(prototype);
+        final long[] out = Arrays.copyOf(data, Math.max(data.length,
+                                                        b.data.length));
+
+        work.addInto(out, 0, b.data, 0, b.length());
+
+        return new Polynomial<>(work.prototype(), out);
+    }
+
+    /**
+     * Subtract another polynomial from this one.
+     *
+     * @param b The polynomial to subtract.
+     * @return The difference.
+     */
+    public Polynomial<F> sub(final Polynomial<F> b) {
+        final Work<F> work = new Work<>(prototype);
+        final long[] out = Arrays.copyOf(data, Math.max(data.length,
+                                                        b.data.length));
+
+        work.subInto(out, 0, b.data, 0, b.length());
+
+        return new Polynomial<>(work.prototype(), out);
+    }
+
+    /**
+     * Multiply this polynomial by another.
+     *
+     * @param b The polynomial by which to multiply.
+     * @return The product.
+     */
+    public Polynomial<F> mul(final Polynomial<F> b) {
+        final Work<F> work = new Work<>(prototype);
+
+        return new Polynomial<>(work.prototype(), work.mul(data, b.data));
+    }
+
+    /**
+     * Multiply this polynomial by a field element.
+     *
+     * @param b The field element by which to multiply.
+     * @return The product.
+     */
+    public Polynomial<F> mul(final F b) {
+        final Work<F> work = new Work<>(prototype);
+        final long[] out = data.clone();
+
+        for(int i = 0; i < length(); i++) {
+            work.load(work.t, out, i);
+            work.t.mul(b);
+            work.store(work.t, out, i);
+        }
+
+        return new Polynomial<>(work.prototype(), out);
+    }
+
+    /**
+     * Get the formal derivative of this polynomial.
+     *
+     * @return The derivative.
+     */
+    public Polynomial<F> derivative() {
+        final Work<F> work = new Work<>(prototype);
+
+        return new Polynomial<>(work.prototype(), work.derivative(data));
+    }
+
+    /**
+     * Evaluate this polynomial at a point, using Horner's method.
+     *
+     * @param x The point at which to evaluate.
+     * @param out The value into which to write the result.
+     */
+    public void evaluate(final F x,
+                         final F out) {
+        try(final PrimeField.Scratchpad scratch = x.scratchpad()) {
+            evaluate(x, out, scratch);
+        }
+    }
+
+    /**
+     * Evaluate this polynomial at a point, using Horner's method.
+     * <p>
+     * This does not allocate; the coefficients and a copy of {@code
+     * x} are held in the {@code d3} and {@code d4} arrays of the
+     * scratchpad.  It is safe for {@code out} to be {@code x}.
+     *
+     * @param x The point at which to evaluate.
+     * @param out The value into which to write the result.
+     * @param scratch The scratchpad to use.
+     */
+    public void evaluate(final F x,
+                         final F out,
+                         final PrimeField.Scratchpad scratch) {
+        horner(data, numDigits, x, out, scratch);
+    }
+
+    /**
+     * Evaluate this polynomial at many points.
+     * <p>
+     * With fewer than {@link #TREE_THRESHOLD} points, this uses
+     * Horner's method at each point.  Otherwise, it builds a
+     * subproduct tree over the points and reduces the polynomial
+     * down the tree.
+     *
+     * @param points The points at which to evaluate.
+     * @param out The values into which to write the results.
+     * @throws IllegalArgumentException If the number of points and
+     *                                  outputs differ.
+     */
+    public void evaluate(final F[] points,
+                         final F[] out) {
+        checkLengths(points, out);
+
+        if (points.length == 0) {
+            return;
+        }
+
+        try(final PrimeField.Scratchpad scratch = points[0].scratchpad()) {
+            if (points.length < TREE_THRESHOLD) {
+                for(int i = 0; i < points.length; i++) {
+                    evaluate(points[i], out[i], scratch);
+                }
+            } else {
+                final Work<F> work = new Work<>(prototype);
+                final Node root = work.build(points, 0, points.length);
+
+                work.evaluate(root, data, points, out, scratch);
+            }
+        }
+    }
+
+    /**
+     * Evaluate this polynomial at many points in parallel, using
+     * Horner's method at each point.
+     * <p>
+     * The points are split into chunks of {@link #PARALLEL_CHUNK},
+     * which are evaluated as tasks in the common {@link
+     * java.util.concurrent.ForkJoinPool}.  Each task uses its own
+     * thread's scratchpad, so this does not allocate field elements.
+     *
+     * @param points The points at which to evaluate.
+     * @param out The values into which to write the results.
+     * @throws IllegalArgumentException If the number of points and
+     *                                  outputs differ.
+     */
+    public void evaluateParallel(final F[] points,
+                                 final F[] out) {
+        checkLengths(points, out);
+
+        final int len = points.length;
+        final int chunks = (len + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+
+        IntStream.range(0, chunks).parallel().forEach((c) -> {
+                final int end = Math.min(len, (c + 1) * PARALLEL_CHUNK);
+
+                try(final PrimeField.Scratchpad scratch =
+                    prototype.scratchpad()) {
+                    for(int i = c * PARALLEL_CHUNK; i < end; i++) {
+                        horner(data, numDigits, points[i], out[i],
+                               scratch);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Check that there is one output per point.
+     *
+     * @param points The points.
+     * @param out The outputs.
+     * @throws IllegalArgumentException If the lengths differ.
+     */
+    private static void checkLengths(final Object[] points,
+                                     final Object[] out) {
+        if (points.length != out.length) {
+            throw new IllegalArgumentException("Got " + points.length +
+                                               " points and " +
+                                               out.length + " outputs");
+        }
+    }
+
+    /**
+     * Evaluate a polynomial given as digits, using Horner's method.
+     *
+     * @param <F> The type of the coefficients.
+     * @param data The digits of the coefficients.
+     * @param numDigits The number of digits in each coefficient.
+     * @param x The point at which to evaluate.
+     * @param out The value into which to write the result.
+     * @param scratch The scratchpad to use.
+     */
+    private static <F extends PrimeField<F>> void
+        horner(final long[] data,
+               final int numDigits,
+               final F x,
+               final F out,
+               final PrimeField.Scratchpad scratch) {
+        final long[] coeff = scratch.d3;
+        final long[] point = scratch.d4;
+
+        System.arraycopy(x.digits, 0, point, 0, numDigits);
+        out.set(0);
+
+        for(int i = (data.length / numDigits) - 1; i >= 0; i--) {
+            System.arraycopy(data, i * numDigits, coeff, 0, numDigits);
+            out.mul(point);
+            out.add(coeff);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        final F coeff = prototype.clone();
+
+        sb.append('[');
+
+        for(int i = 0; i < length(); i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+
+            coefficient(i, coeff);
+            sb.append(coeff);
+        }
+
+        coeff.destroy();
+
+        return sb.append(']').toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        Arrays.fill(data, 0xffffffffffffffffL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        // Not constant-time, but this shouldn't matter.
+        for(int i = 0; i < data.length; i++) {
+            if (data[i] != 0xffffffffffffffffL) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A node in a subproduct tree.
+     */
+    private static final class Node {
+        /**
+         * The digits of the product of {@code (x - p)} over the
+         * points under this node.
+         */
+        final long[] m;
+
+        /**
+         * The node for the lower half of the points, or {@code null}
+         * at a leaf.
+         */
+        final Node left;
+
+        /**
+         * The node for the upper half of the points, or {@code null}
+         * at a leaf.
+         */
+        final Node right;
+
+        /**
+         * The index of the first point under this node.
+         */
+        final int lo;
+
+        /**
+         * One past the index of the last point under this node.
+         */
+        final int hi;
+
+        Node(final long[] m,
+             final Node left,
+             final Node right,
+             final int lo,
+             final int hi) {
+            this.m = m;
+            this.left = left;
+            this.right = right;
+            this.lo = lo;
+            this.hi = hi;
+        }
+    }
+
+    /**
+     * Temporaries and low-level operations on coefficients held as
+     * digits.  Coefficient {@code i} of an array {@code a} is at
+     * {@code a[i * numDigits]}.  All stored coefficients are carried.
+     *
+     * @param <F> The type of the coefficients.
+     */
+    private static final class Work<F extends PrimeField<F>> {
+        final F t;
+        final F u;
+        final F acc;
+        final int numDigits;
+
+        Work(final F prototype) {
+            this.t = prototype.clone();
+            this.u = prototype.clone();
+            this.acc = prototype.clone();
+            this.numDigits = prototype.digits.length;
+            t.set(0);
+            u.set(0);
+            acc.set(0);
+        }
+
+        /**
+         * Get a new zero element.
+         *
+         * @return A new zero element.
+         */
+        F prototype() {
+            final F out = acc.clone();
+
+            out.set(0);
+
+            return out;
+        }
+
+        void load(final F v,
+                  final long[] a,
+                  final int idx) {
+            v.set(a, idx * numDigits);
+        }
+
+        void store(final F v,
+                   final long[] a,
+                   final int idx) {
+            System.arraycopy(v.digits, 0, a, idx * numDigits, numDigits);
+        }
+
+        /**
+         * Add {@code len} coefficients of {@code b} starting at
+         * {@code bo} into {@code a} starting at {@code ao}.
+         */
+        void addInto(final long[] a,
+                     final int ao,
+                     final long[] b,
+                     final int bo,
+                     final int len) {
+            for(int i = 0; i < len; i++) {
+                load(t, a, ao + i);
+                load(u, b, bo + i);
+                t.add(u);
+                store(t, a, ao + i);
+            }
+        }
+
+        /**
+         * Subtract {@code len} coefficients of {@code b} starting at
+         * {@code bo} from {@code a} starting at {@code ao}.
+         */
+        void subInto(final long[] a,
+                     final int ao,
+                     final long[] b,
+                     final int bo,
+                     final int len) {
+            for(int i = 0; i < len; i++) {
+                load(t, a, ao + i);
+                load(u, b, bo + i);
+                t.sub(u);
+                store(t, a, ao + i);
+            }
+        }
+
+        /**
+         * Copy a polynomial, truncated or zero-extended to {@code
+         * len} coefficients.
+         */
+        long[] truncate(final long[] a,
+                        final int len) {
+            return Arrays.copyOf(a, len * numDigits);
+        }
+
+        /**
+         * Reverse the coefficients of a polynomial, then truncate or
+         * zero-extend to {@code len} coefficients.
+         */
+        long[] reverse(final long[] a,
+                       final int len) {
+            final int alen = a.length / numDigits;
+            final long[] out = new long[len * numDigits];
+
+            for(int i = 0; i < Math.min(len, alen); i++) {
+                System.arraycopy(a, (alen - 1 - i) * numDigits,
+                                 out, i * numDigits, numDigits);
+            }
+
+            return out;
+        }
+
+        long[] derivative(final long[] a) {
+            final int len = (a.length / numDigits) - 1;
+            final long[] out = new long[Math.max(len, 1) * numDigits];
+
+            for(int i = 0; i < len; i++) {
+                load(t, a, i + 1);
+                u.set(i + 1);
+                t.mul(u);
+                store(t, out, i);
+            }
+
+            return out;
+        }
+
+        /**
+         * Multiply two polynomials.
+         */
+        long[] mul(final long[] a,
+                   final long[] b) {
+            final long[] lng = a.length >= b.length ? a : b;
+            final long[] shrt = a.length >= b.length ? b : a;
+            final int ll = lng.length / numDigits;
+            final int sl = shrt.length / numDigits;
+            final long[] out = new long[(ll + sl - 1) * numDigits];
+
+            if (sl < KARATSUBA_THRESHOLD) {
+                schoolbook(lng, 0, ll, shrt, 0, sl, out, 0);
+
+                return out;
+            }
+
+            // Cut the longer operand into pieces the size of the
+            // shorter, and multiply each piece with Karatsuba.
+            final long[] tmp = new long[scratchSize(sl) * numDigits];
+            final long[] prod = new long[((2 * sl) - 1) * numDigits];
+            final long[] pad = new long[sl * numDigits];
+
+            for(int c = 0; c < ll; c += sl) {
+                final int cl = Math.min(sl, ll - c);
+
+                if (cl == sl) {
+                    karatsuba(lng, c, shrt, 0, sl, prod, 0, tmp, 0);
+                } else {
+                    Arrays.fill(pad, 0);
+                    System.arraycopy(lng, c * numDigits, pad, 0,
+                                     cl * numDigits);
+                    karatsuba(pad, 0, shrt, 0, sl, prod, 0, tmp, 0);
+                }
+
+                addInto(out, c, prod, 0, cl + sl - 1);
+            }
+
+            return out;
+        }
+
+        /**
+         * Get the number of coefficients of scratch space needed by
+         * {@link #karatsuba} for {@code n}-coefficient operands.
+         */
+        static int scratchSize(final int n) {
+            if (n < KARATSUBA_THRESHOLD) {
+                return 0;
+            } else {
+                final int hs = n - (n / 2);
+
+                return (4 * hs) + scratchSize(hs);
+            }
+        }
+
+        /**
+         * Schoolbook multiplication by product scanning.  Writes the
+         * {@code la + lb - 1} coefficients of the product into {@code
+         * r} starting at {@code ro}.
+         */
+        void schoolbook(final long[] a,
+                        final int ao,
+                        final int la,
+                        final long[] b,
+                        final int bo,
+                        final int lb,
+                        final long[] r,
+                        final int ro) {
+            for(int k = 0; k < la + lb - 1; k++) {
+                final int lo = Math.max(0, k - lb + 1);
+                final int hi = Math.min(k, la - 1);
+
+                acc.set(0);
+
+                for(int i = lo; i <= hi; i++) {
+                    load(t, a, ao + i);
+                    load(u, b, bo + k - i);
+                    t.mul(u);
+                    acc.addLazy(t);
+                }
+
+                acc.carry();
+                store(acc, r, ro + k);
+            }
+        }
+
+        /**
+         * Karatsuba multiplication of two {@code n}-coefficient
+         * operands.  Writes the {@code 2n - 1} coefficients of the
+         * product into {@code r} starting at {@code ro}, using {@code
+         * tmp} from {@code to} as scratch space.
+         */
+        void karatsuba(final long[] a,
+                       final int ao,
+                       final long[] b,
+                       final int bo,
+                       final int n,
+                       final long[] r,
+                       final int ro,
+                       final long[] tmp,
+                       final int to) {
+            if (n < KARATSUBA_THRESHOLD) {
+                schoolbook(a, ao, n, b, bo, n, r, ro);
+
+                return;
+            }
+
+            final int h = n / 2;
+            final int hs = n - h;
+            final int sa = to;
+            final int sb = to + hs;
+            final int mid = to + (2 * hs);
+            final int next = to + (4 * hs);
+
+            // Low and high products, with a zero between them.
+            karatsuba(a, ao, b, bo, h, r, ro, tmp, to);
+            karatsuba(a, ao + h, b, bo + h, hs, r, ro + (2 * h), tmp, to);
+            Arrays.fill(r, (ro + (2 * h) - 1) * numDigits,
+                        (ro + (2 * h)) * numDigits, 0);
+
+            // Middle product (a0 + a1) * (b0 + b1) - a0 b0 - a1 b1.
+            System.arraycopy(a, (ao + h) * numDigits, tmp, sa * numDigits,
+                             hs * numDigits);
+            addInto(tmp, sa, a, ao, h);
+            System.arraycopy(b, (bo + h) * numDigits, tmp, sb * numDigits,
+                             hs * numDigits);
+            addInto(tmp, sb, b, bo, h);
+            karatsuba(tmp, sa, tmp, sb, hs, tmp, mid, tmp, next);
+            subInto(tmp, mid, r, ro, (2 * h) - 1);
+            subInto(tmp, mid, r, ro + (2 * h), (2 * hs) - 1);
+            addInto(r, ro + h, tmp, mid, (2 * hs) - 1);
+        }
+
+        /**
+         * Compute the inverse of a polynomial with constant
+         * coefficient {@code 1}, modulo {@code x^len}, by Newton
+         * iteration.
+         */
+        long[] inverse(final long[] a,
+                       final int len) {
+            long[] g = new long[numDigits];
+            int prec = 1;
+
+            t.set(1);
+            store(t, g, 0);
+
+            while (prec < len) {
+                prec = Math.min(2 * prec, len);
+
+                // g = g * (2 - a * g) mod x^prec
+                final long[] e = truncate(mul(truncate(a, prec), g), prec);
+
+                for(int i = 0; i < prec; i++) {
+                    load(t, e, i);
+                    t.neg();
+                    store(t, e, i);
+                }
+
+                load(t, e, 0);
+                t.add(2);
+                store(t, e, 0);
+                g = truncate(mul(g, e), prec);
+            }
+
+            return g;
+        }
+
+        /**
+         * Reduce a polynomial modulo a monic polynomial, using a
+         * Newton inverse of the reversed divisor to find the
+         * quotient.
+         */
+        long[] reduce(final long[] f,
+                      final long[] m) {
+            final int lf = f.length / numDigits;
+            final int deg = (m.length / numDigits) - 1;
+
+            if (lf <= deg) {
+                return f;
+            }
+
+            final int qlen = lf - deg;
+            final long[] inv = inverse(reverse(m, qlen), qlen);
+            final long[] qrev = truncate(mul(reverse(f, qlen), inv), qlen);
+            final long[] q = reverse(qrev, qlen);
+            final long[] out = truncate(f, deg);
+
+            subInto(out, 0, mul(q, m), 0, deg);
+
+            return out;
+        }
+
+        /**
+         * Build a subproduct tree over {@code points[lo]} to {@code
+         * points[hi - 1]}.
+         */
+        Node build(final F[] points,
+                   final int lo,
+                   final int hi) {
+            if (hi - lo == 1) {
+                final long[] m = new long[2 * numDigits];
+
+                t.set(points[lo]);
+                t.neg();
+                store(t, m, 0);
+                t.set(1);
+                store(t, m, 1);
+
+                return new Node(m, null, null, lo, hi);
+            } else {
+                final int mid = (lo + hi) >>> 1;
+                final Node left = build(points, lo, mid);
+                final Node right = build(points, mid, hi);
+
+                return new Node(mul(left.m, right.m), left, right, lo, hi);
+            }
+        }
+
+        /**
+         * Evaluate a polynomial at the points under a subproduct
+         * tree.
+         * <p>
+         * This uses a scaled remainder tree.  For each node {@code
+         * v}, with product {@code M}, let {@code s_v} be {@code (f mod
+         * M) / M}, as a power series in {@code 1/x}.  Only one
+         * division is needed, at the root.  Below that, if {@code v}
+         * has parent {@code u} and sibling {@code w}, then {@code s_v}
+         * is the fractional part of {@code s_u * M_w}, and its first
+         * {@code deg(M_v)} terms are a slice of a single product.  At
+         * a leaf group, {@code f mod M} is recovered as the polynomial
+         * part of {@code s_v * M_v}, and evaluated with Horner's
+         * method.
+         */
+        void evaluate(final Node root,
+                      final long[] f,
+                      final F[] points,
+                      final F[] out,
+                      final PrimeField.Scratchpad scratch) {
+            final int deg = root.hi - root.lo;
+            final long[] r = truncate(reduce(f, root.m), deg);
+            final long[] inv = inverse(reverse(root.m, deg), deg);
+            final long[] s = truncate(mul(reverse(r, deg), inv), deg);
+
+            descend(root, reverse(s, deg), points, out, scratch);
+        }
+
+        /**
+         * Descend the scaled remainder tree.  The series {@code
+         * s_v} is given by its first {@code deg(M_v)} terms, the
+         * coefficient of {@code 1/x} last.
+         */
+        void descend(final Node node,
+                     final long[] s,
+                     final F[] points,
+                     final F[] out,
+                     final PrimeField.Scratchpad scratch) {
+            final int deg = node.hi - node.lo;
+
+            if (deg <= LEAF_POINTS) {
+                final long[] r = Arrays.copyOfRange(mul(node.m, s),
+                                                    deg * numDigits,
+                                                    2 * deg * numDigits);
+
+                for(int i = node.lo; i < node.hi; i++) {
+                    horner(r, numDigits, points[i], out[i], scratch);
+                }
+            } else {
+                descend(node.left, scale(s, node.right, node.left),
+                        points, out, scratch);
+                descend(node.right, scale(s, node.left, node.right),
+                        points, out, scratch);
+            }
+        }
+
+        /**
+         * Get the first {@code deg(M_v)} terms of the fractional part
+         * of {@code s * M_w}, for a node {@code v} with sibling {@code
+         * w}.
+         */
+        long[] scale(final long[] s,
+                     final Node sibling,
+                     final Node node) {
+            final int sdeg = sibling.hi - sibling.lo;
+            final int deg = node.hi - node.lo;
+
+            return Arrays.copyOfRange(mul(sibling.m, s), sdeg * numDigits,
+                                      (sdeg + deg) * numDigits);
+        }
+
+        /**
+         * Combine weights up the tree, computing the sum of {@code
+         * weights[i] * M / (x - points[i])} over the points under a
+         * node, where {@code M} is the node's product.
+         */
+        long[] combine(final Node node,
+                       final F[] weights) {
+            if (node.left == null) {
+                final long[] out = new long[numDigits];
+
+                store(weights[node.lo], out, 0);
+
+                return out;
+            } else {
+                final long[] left = mul(combine(node.left, weights),
+                                        node.right.m);
+                final long[] right = mul(combine(node.right, weights),
+                                         node.left.m);
+
+                addInto(left, 0, right, 0, right.length / numDigits);
+
+                return left;
+            }
+        }
+    }
+}
@@ -36,7 +36,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.Number;
 import java.lang.StringBuilder;
+import java.lang.reflect.Array;
+import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 
 import java.lang.AutoCloseable;
 
@@ -72,6 +75,8 @@ public abstract class PrimeField<V extends PrimeField<V>>
         final long[] d0;
         final long[] d1;
         final long[] d2;
+        final long[] d3;
+        final long[] d4;
 
         /**
          * Initialize a {@code Scratchpad} by creating the digit
@@ -81,15 +86,20 @@ public abstract class PrimeField<V extends PrimeField<V>>
          *            NUM_DIGITS} in the various subclasses).
          */
         protected Scratchpad(final int len) {
-            this(new long[len], new long[len], new long[len]);
+            this(new long[len], new long[len], new long[len],
+                 new long[len], new long[len]);
         }
 
         private Scratchpad(final long[] d0,
                            final long[] d1,
-                           final long[] d2) {
+                           final long[] d2,
+                           final long[] d3,
+                           final long[] d4) {
             this.d0 = d0;
             this.d1 = d1;
             this.d2 = d2;
+            this.d3 = d3;
+            this.d4 = d4;
         }
 
         /**
@@ -109,6 +119,8 @@ public abstract class PrimeField<V extends PrimeField<V>>
             Arrays.fill(d0, 0xffffffffffffffffL);
             Arrays.fill(d1, 0xffffffffffffffffL);
             Arrays.fill(d2, 0xffffffffffffffffL);
+            Arrays.fill(d3, 0xffffffffffffffffL);
+            Arrays.fill(d4, 0xffffffffffffffffL);
         }
 
         /**
@@ -135,6 +147,18 @@ public abstract class PrimeField<V extends PrimeField<V>>
                 }
             }
 
+            for(int i = 0; i < d3.length; i++) {
+                if (d3[i] != 0xffffffffffffffffL) {
+                    return false;
+                }
+            }
+
+            for(int i = 0; i < d4.length; i++) {
+                if (d4[i] != 0xffffffffffffffffL) {
+                    return false;
+                }
+            }
+
             return true;
         }
     }
@@ -179,12 +203,58 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     protected final long[] digits;
 
+    /**
+     * Tracked bound on the size of {@link #digits}, as a multiple of
+     * the largest digits a carried value can have.  Every new value is
+     * carried, including one created from a digits array, and every
+     * operation other than {@link #addLazy} and {@link #subLazy}
+     * produces a carried value, with bound {@code 1}.  Those two skip
+     * carry propagation, and record the resulting bound here.  So any
+     * operand with bound {@code 1} is carried when it enters a lazy
+     * chain, which is what {@link #lazyBound()} assumes.
+     * <p>
+     * The bound depends only on the sequence of operations, never on
+     * the values, so tracking it does not affect constant-time
+     * behavior.
+     *
+     * @see #bound()
+     * @see #lazyBound()
+     */
+    int bound = 1;
+
+    /**
+     * Number of bits in an exponent window used by {@link
+     * #pow(byte[], Scratchpad)}.
+     */
+    private static final int POW_WINDOW_BITS = 4;
+
+    /**
+     * Number of entries in a full exponent window table.
+     */
+    private static final int POW_WINDOW_ENTRIES = 1 << POW_WINDOW_BITS;
+
+    /**
+     * Largest magnitude of divisor for which {@link #div(int,
+     * Scratchpad)} uses a cached reciprocal.
+     */
+    public static final int SMALL_DIVISORS = 64;
+
+    /**
+     * Cached reciprocals of the small divisors, per field class.
+     *
+     * @see #smallReciprocals()
+     */
+    private static final ConcurrentHashMap<Class<?>, long[][]> RECIPROCALS =
+        new ConcurrentHashMap<>();
+
     /**
      * Initialize with a digits array.
      *
      * This constructor initializes the {@code digits} field.  The
      * created object takes possession of the array.  To initialize
      * from an array without taking possession, use {@link #set}.
+     * Subclasses carry the digits, so that the new value meets its
+     * bound of {@code 1}.
      *
      * @param digits The {@code digits} field.
      * @see #set
@@ -240,6 +310,71 @@ public abstract class PrimeField<V extends PrimeField<V>>
         }
     }
 
+    /**
+     * Conditionally overwrite this number with another, without
+     * branching.  If {@code bit} is {@code 1}, this number is set to
+     * {@code src}; if it is {@code 0}, this number is unchanged.
+     * <p>
+     * This is equivalent to masking a copy of each number and then
+     * combining them with {@link #or}, but works directly on the
+     * digits without a temporary.
+     *
+     * @param src The number to conditionally copy.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    public void cmov(final V src,
+                     final long bit) {
+        final long mask = -bit;
+
+        for(int i = 0; i < digits.length; i++) {
+            digits[i] ^= (digits[i] ^ src.digits[i]) & mask;
+        }
+
+        bound = Math.max(bound, src.bound);
+    }
+
+    /**
+     * Conditionally exchange this number with another, without
+     * branching.  If {@code bit} is {@code 1}, the two numbers are
+     * swapped; if it is {@code 0}, both are unchanged.
+     *
+     * @param other The number with which to conditionally swap.
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    public void cswap(final V other,
+                      final long bit) {
+        final long mask = -bit;
+
+        for(int i = 0; i < digits.length; i++) {
+            final long x = (digits[i] ^ other.digits[i]) & mask;
+
+            digits[i] ^= x;
+            other.digits[i] ^= x;
+        }
+
+        bound = Math.max(bound, other.bound);
+        other.bound = bound;
+    }
+
+    /**
+     * Conditionally negate this number, without branching.  If
+     * {@code bit} is {@code 1}, this number is negated; if it is
+     * {@code 0}, it is unchanged.
+     * <p>
+     * The default implementation negates a copy and then uses {@link
+     * #cmov}; implementations should override this with a version
+     * that negates in place.
+     *
+     * @param bit Either {@code 0} or {@code 1}.
+     */
+    public void cneg(final long bit) {
+        final V negated = clone();
+
+        negated.neg();
+        cmov(negated, bit);
+        negated.destroy();
+    }
+
     /**
      * Take the absolute value of the number.
      *
@@ -291,6 +426,7 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public void add(final V b) {
         add(b.digits);
+        bound = 1;
     }
 
     /**
@@ -300,6 +436,197 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public void sub(final V b) {
         sub(b.digits);
+        bound = 1;
+    }
+
+    /**
+     * Add a {@code V} to this number without propagating carries.
+     * <p>
+     * The digits are added pairwise, and the bound of the result is
+     * the sum of the bounds of the operands.  If that would exceed
+     * {@link #lazyBound()}, this falls back to {@link #add(PrimeField)}.
+     * <p>
+     * The result may be used in {@link #mul(PrimeField)}, {@link
+     * #square()}, {@link #add(PrimeField)}, {@link #sub(PrimeField)},
+     * {@link #set(PrimeField)}, further lazy operations, and {@link
+     * #carry()}.  All other operations require a call to {@link
+     * #carry()} first.
+     *
+     * @param b The {@code V} to add.
+     * @see #bound()
+     * @see #carry()
+     */
+    public void addLazy(final V b) {
+        final int sum = bound + b.bound;
+
+        if (sum <= lazyBound()) {
+            for(int i = 0; i < digits.length; i++) {
+                digits[i] += b.digits[i];
+            }
+
+            bound = sum;
+        } else {
+            add(b);
+        }
+
+        assert checkBound() : "lazy addition exceeded its bound";
+    }
+
+    /**
+     * Subtract a {@code V} from this number without propagating
+     * carries.
+     * <p>
+     * This adds {@code (2 * k + 1)} times the modulus, where {@code
+     * k} is the bound of {@code b}, so that every digit stays
+     * non-negative, and then subtracts the digits pairwise.  The bound
+     * of the result is this number's bound plus {@code (2 * k + 1)}.
+     * If that would exceed {@link #lazyBound()}, this falls back to
+     * {@link #sub(PrimeField)}.
+     * <p>
+     * The result may be used in the same operations as the result of
+     * {@link #addLazy}.
+     *
+     * @param b The {@code V} to subtract.
+     * @see #bound()
+     * @see #carry()
+     */
+    public void subLazy(final V b) {
+        final int bias = (2 * b.bound) + 1;
+        final int sum = bound + bias;
+
+        if (sum <= lazyBound()) {
+            final long[] modulus = modulusDigits();
+
+            for(int i = 0; i < digits.length; i++) {
+                digits[i] += (bias * modulus[i]) - b.digits[i];
+            }
+
+            bound = sum;
+        } else {
+            sub(b);
+        }
+
+        assert checkBound() : "lazy subtraction exceeded its bound";
+    }
+
+    /**
+     * Propagate carries left by {@link #addLazy} and {@link
+     * #subLazy}, producing a carried value with bound {@code 1}.
+     */
+    public void carry() {
+        assert checkBound() : "digits exceed the tracked bound";
+
+        add(0);
+        bound = 1;
+    }
+
+    /**
+     * Get the tracked bound on the digits of this number.  This is
+     * {@code 1} for carried values, and is increased by {@link
+     * #addLazy} and {@link #subLazy}.
+     *
+     * @return The tracked bound on the digits of this number.
+     * @see #lazyBound()
+     */
+    public int bound() {
+        return bound;
+    }
+
+    /**
+     * Debug checker for lazy operations.  Checks that every digit is
+     * within the limit implied by the tracked bound.  This is
+     * evaluated in assertions in the lazy operations, so it is active
+     * when assertions are enabled.
+     *
+     * @return Whether every digit is within the tracked bound.
+     * @see #boundLimit(int, int)
+     */
+    boolean checkBound() {
+        for(int i = 0; i < digits.length; i++) {
+            final long limit = boundLimit(i, bound);
+
+            if (digits[i] >= limit || digits[i] <= -limit) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the exclusive limit on the magnitude of a digit of a value
+     * with a given bound.  A carried value has regular digits below
+     * {@code 2^DIGIT_BITS}, and a high digit below {@code
+     * 2^(HIGH_DIGIT_BITS + 1) + c}.  These are derived from the
+     * modulus digits.
+     *
+     * @param i The index of the digit.
+     * @param k The bound.
+     * @return The exclusive limit on the magnitude of the digit.
+     */
+    long boundLimit(final int i,
+                    final int k) {
+        final long[] modulus = modulusDigits();
+        final int last = modulus.length - 1;
+        final int digitBits = 64 - Long.numberOfLeadingZeros(modulus[1]);
+
+        if (i < last) {
+            return (long)k << digitBits;
+        } else {
+            final int highBits =
+                64 - Long.numberOfLeadingZeros(modulus[last]);
+            final long c = (1L << digitBits) - modulus[0];
+
+            return k * ((1L << (highBits + 1)) + c);
+        }
+    }
+
+    /**
+     * Get the largest bound for lazy operations that the
+     * multiplication kernels of a field accept.  The kernels split
+     * each digit into two multiplication digits of {@code digitBits /
+     * 2} bits.  With bound {@code k}, the high one is below {@code k
+     * * 2^(digitBits / 2)}, and the low one is unchanged.  This gives
+     * two conditions on {@code k}:
+     * <ul>
+     * <li>The middle column of the product adds {@code numDigits - 1}
+     * products of two high multiplication digits, each below {@code
+     * k^2 * 2^digitBits}, and {@code 3 * numDigits} products and
+     * shifted halves of products below {@code 2^digitBits}.  Its carry
+     * is taken with a shift, so it must stay below {@code 2^63}, and
+     * {@code (numDigits - 1) * k^2 + 3 * numDigits} must be below
+     * {@code 2^(63 - digitBits)}.
+     * <li>The inputs are below {@code k * 2^(n + 1)}, so the high half
+     * of the product, above bit {@code n}, is below {@code k^2 *
+     * 2^(n + 2)}, and its top digit below {@code k^2 *
+     * 2^(highDigitBits + 2)}.  The reduction multiplies that by
+     * {@code c}, so {@code c * k^2} must be below {@code 2^(61 -
+     * highDigitBits)}.  A kernel that keeps fewer bits of that
+     * product passes a smaller limit.
+     * </ul>
+     *
+     * @param numDigits The number of digits.
+     * @param digitBits The number of bits in a regular digit.
+     * @param c The value {@code c} in the modulus {@code 2^n - c}.
+     * @param cLimitBits The number of bits below which {@code c *
+     *                   k^2} must stay.
+     * @return The largest {@code k} satisfying both conditions.
+     */
+    static int maxLazyBound(final int numDigits,
+                            final int digitBits,
+                            final int c,
+                            final int cLimitBits) {
+        final long columnLimit = 1L << (63 - digitBits);
+        final long cLimit = 1L << cLimitBits;
+        int k = 1;
+
+        while(((numDigits - 1) * (long)(k + 1) * (k + 1)) +
+              (3 * numDigits) < columnLimit &&
+              (c * (long)(k + 1) * (k + 1)) < cLimit) {
+            k++;
+        }
+
+        return k;
     }
 
     /**
@@ -309,6 +636,7 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public void mul(final V b) {
         mul(b.digits);
+        bound = 1;
     }
 
     /**
@@ -323,11 +651,12 @@ public abstract class PrimeField<V extends PrimeField<V>>
     }
 
     /**
-     * Divide this number by a {@code int}.  This version is
-     * <i>not</i> generally more efficient than {@link
-     * #div(PrimeField)}.
+     * Divide this number by a {@code int}.  Divisors of magnitude up
+     * to {@link #SMALL_DIVISORS} cost one multiplication; others cost
+     * an inversion.
      *
      * @param b The {@code int} by which to divide.
+     * @see #div(int, Scratchpad)
      */
     public void div(final int b) {
         try(final Scratchpad scratch = scratchpad()) {
@@ -335,6 +664,138 @@ public abstract class PrimeField<V extends PrimeField<V>>
         }
     }
 
+    /**
+     * Divide this number by two, without branching.
+     *
+     * @see #halve(Scratchpad)
+     */
+    public void halve() {
+        try(final Scratchpad scratch = scratchpad()) {
+            halve(scratch);
+        }
+    }
+
+    /**
+     * Divide this number by two, without branching.  This normalizes
+     * the number, adds the modulus if the result is odd, and shifts
+     * the digits right by one bit, which is much cheaper than a
+     * multiplication.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    public void halve(final Scratchpad scratch) {
+        normalize(scratch);
+        halveNormalized();
+        bound = 1;
+    }
+
+    /**
+     * Divide this number by {@code 2^k}, without branching on the
+     * value.  The cost is linear in {@code k}, so for large {@code
+     * k}, multiplying by a precomputed inverse is cheaper.
+     *
+     * @param k The power of two by which to divide.
+     * @see #divPow2(int, Scratchpad)
+     */
+    public void divPow2(final int k) {
+        try(final Scratchpad scratch = scratchpad()) {
+            divPow2(k, scratch);
+        }
+    }
+
+    /**
+     * Divide this number by {@code 2^k}, without branching on the
+     * value.  The cost is linear in {@code k}, so for large {@code
+     * k}, multiplying by a precomputed inverse is cheaper.
+     *
+     * @param k The power of two by which to divide.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If {@code k} is negative.
+     */
+    public void divPow2(final int k,
+                        final Scratchpad scratch) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative power of two");
+        }
+
+        normalize(scratch);
+
+        for(int i = 0; i < k; i++) {
+            halveNormalized();
+        }
+
+        bound = 1;
+    }
+
+    /**
+     * Halve a normalized value in place.  If the value is odd, the
+     * modulus is added first, giving an even sum below twice the
+     * modulus; this fits in the digits, as only the high digit can
+     * grow, and then only by one bit.  The result is normalized.
+     */
+    private void halveNormalized() {
+        final long[] modulus = modulusDigits();
+        final int last = modulus.length - 1;
+        final int digitBits = 64 - Long.numberOfLeadingZeros(modulus[1]);
+        final long digitMask = modulus[1];
+        final long mask = -(digits[0] & 0x1);
+        long carry = 0;
+
+        for(int i = 0; i < last; i++) {
+            final long sum = digits[i] + (modulus[i] & mask) + carry;
+
+            carry = sum >>> digitBits;
+            digits[i] = sum & digitMask;
+        }
+
+        digits[last] += (modulus[last] & mask) + carry;
+
+        for(int i = 0; i < last; i++) {
+            digits[i] = (digits[i] >>> 1) |
+                        ((digits[i + 1] & 0x1) << (digitBits - 1));
+        }
+
+        digits[last] >>>= 1;
+    }
+
+    /**
+     * Get the cached reciprocals of the small divisors for this
+     * field, computing them with a single batch inversion on first
+     * use.  The reciprocal of {@code b} is at index {@code b +
+     * SMALL_DIVISORS}; the entry for zero is zero.
+     *
+     * @return The cached reciprocals.
+     */
+    private long[][] smallReciprocals() {
+        final long[][] cached = RECIPROCALS.get(getClass());
+
+        if (cached != null) {
+            return cached;
+        }
+
+        @SuppressWarnings("unchecked")
+        final V[] values = (V[])Array.newInstance(getClass(),
+                                                  (2 * SMALL_DIVISORS) + 1);
+        final long[][] out = new long[values.length][];
+
+        for(int i = 0; i < values.length; i++) {
+            values[i] = clone();
+            values[i].set(i - SMALL_DIVISORS);
+        }
+
+        invBatch(values);
+
+        for(int i = 0; i < values.length; i++) {
+            values[i].normalize();
+            out[i] = values[i].digits.clone();
+            values[i].destroy();
+        }
+
+        final long[][] prev = RECIPROCALS.putIfAbsent(getClass(), out);
+
+        return prev != null ? prev : out;
+    }
+
     /**
      * Take the reciprocal of the number.
      */
@@ -352,7 +813,10 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public void div(final V b,
                     final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         div(b.digits, scratch);
+        Instrumentation.record(this, Instrumentation.Operation.DIV, start);
     }
 
     /**
@@ -418,9 +882,315 @@ public abstract class PrimeField<V extends PrimeField<V>>
         }
     }
 
+    /**
+     * Raise this number to a power given as a little-endian byte
+     * array.
+     *
+     * @param exp The exponent, in little-endian order.
+     * @see #pow(byte[], Scratchpad)
+     */
+    public void pow(final byte[] exp) {
+        try(final Scratchpad scratch = scratchpad()) {
+            pow(exp, scratch);
+        }
+    }
+
+    /**
+     * Raise this number to a power given as a little-endian byte
+     * array, in constant time.
+     * <p>
+     * This uses a fixed 4-bit window: the powers {@code 0} through
+     * {@code 15} of this number are precomputed into a {@link
+     * FieldTable}, and each window of the exponent performs four
+     * squarings, a constant-time table lookup, and a multiplication.
+     * The sequence of operations depends only on the length of the
+     * exponent, never on its value, so this is safe to use with
+     * secret exponents and secret bases.
+     *
+     * @param exp The exponent, in little-endian order.
+     * @param scratch The scratchpad to use.
+     * @see PublicOps#pow(PrimeField, byte[], PrimeField.Scratchpad)
+     */
+    public void pow(final byte[] exp,
+                    final Scratchpad scratch) {
+        final long[] base = scratch.d2;
+        final long[] entry = scratch.d3;
+
+        System.arraycopy(digits, 0, base, 0, digits.length);
+
+        try(final FieldTable<V> table =
+            new FieldTable<>(digits.length, POW_WINDOW_ENTRIES, 1)) {
+            set(1);
+
+            for(int i = 0; i < POW_WINDOW_ENTRIES; i++) {
+                table.setDigits(i, digits);
+                mul(base);
+            }
+
+            set(1);
+
+            for(int i = (exp.length * 2) - 1; i >= 0; i--) {
+                final int nibble = (exp[i / 2] >> ((i % 2) * 4)) & 0xf;
+
+                square();
+                square();
+                square();
+                square();
+                table.lookupDigits(nibble, entry);
+                mul(entry);
+            }
+        }
+
+        Arrays.fill(base, 0);
+        Arrays.fill(entry, 0);
+    }
+
+    /**
+     * Raise this number to a small, non-negative power.
+     * <p>
+     * This uses left-to-right binary exponentiation.  The exponent is
+     * treated as public: the number of operations depends on its
+     * value.
+     *
+     * @param exp The exponent.
+     * @throws IllegalArgumentException If {@code exp} is negative.
+     */
+    public void pow(final long exp) {
+        if (exp < 0) {
+            throw new IllegalArgumentException("Negative exponent " + exp);
+        }
+
+        if (exp == 0) {
+            set(1);
+        } else {
+            final long[] base = Arrays.copyOf(digits, digits.length);
+
+            for(int i = 62 - Long.numberOfLeadingZeros(exp); i >= 0; i--) {
+                square();
+
+                if (((exp >> i) & 0x1) == 1) {
+                    mul(base);
+                }
+            }
+
+            Arrays.fill(base, 0);
+        }
+    }
+
+    /**
+     * Take the reciprocal of every number in an array, using a single
+     * field inversion.
+     * <p>
+     * This uses Montgomery's trick: the running products of the
+     * values are computed, the final product is inverted, and the
+     * individual reciprocals are recovered by multiplying back down
+     * the chain.  This replaces {@code n} inversions with one
+     * inversion and {@code 3 * (n - 1)} multiplications.
+     * <p>
+     * Zero values are handled in constant time: as with {@link #inv},
+     * the reciprocal of zero is taken to be zero, and a zero entry
+     * does not affect the other results.
+     * <p>
+     * This allocates one temporary per value to hold the running
+     * products.
+     *
+     * @param <V> The type of the values.
+     * @param values The values to invert in place.
+     * @param scratch The scratchpad to use.
+     */
+    public static <V extends PrimeField<V>>
+        void invBatch(final V[] values,
+                      final Scratchpad scratch) {
+        final int len = values.length;
+
+        if (len == 0) {
+            return;
+        }
+
+        final V[] partials = Arrays.copyOf(values, len);
+        final long[] zeros = new long[len];
+        final V acc = values[0].clone();
+
+        acc.set(1);
+
+        for(int i = 0; i < len; i++) {
+            final V val = values[i];
+
+            // Substitute 1 for 0, so a zero does not poison the batch.
+            zeros[i] = val.isZero(scratch);
+            val.add(zeros[i]);
+            partials[i] = acc.clone();
+            acc.mul(val);
+        }
+
+        acc.inv(scratch);
+
+        for(int i = len - 1; i >= 0; i--) {
+            final V val = values[i];
+            final V partial = partials[i];
+
+            partial.mul(acc);
+            acc.mul(val);
+            val.set(partial);
+            val.mask(zeros[i] ^ 0x1);
+            partial.destroy();
+        }
+
+        acc.destroy();
+    }
+
+    /**
+     * Take the reciprocal of every number in an array, using a single
+     * field inversion.
+     *
+     * @param <V> The type of the values.
+     * @param values The values to invert in place.
+     * @see #invBatch(PrimeField[], Scratchpad)
+     */
+    public static <V extends PrimeField<V>> void invBatch(final V[] values) {
+        if (values.length != 0) {
+            try(final Scratchpad scratch = values[0].scratchpad()) {
+                invBatch(values, scratch);
+            }
+        }
+    }
+
+    /**
+     * Compute a product of powers {@code bases[0]^exponents[0] * ...
+     * * bases[n-1]^exponents[n-1]}.
+     *
+     * @param <V> The type of the values.
+     * @param bases The bases.
+     * @param exponents The exponents, each in little-endian order.
+     * @param out The value into which to write the result.
+     * @throws IllegalArgumentException If the number of bases and
+     *                                  exponents differ.
+     * @see #multiPow(PrimeField[], byte[][], PrimeField, Scratchpad)
+     */
+    public static <V extends PrimeField<V>>
+        void multiPow(final V[] bases,
+                      final byte[][] exponents,
+                      final V out) {
+        try(final Scratchpad scratch = out.scratchpad()) {
+            multiPow(bases, exponents, out, scratch);
+        }
+    }
+
+    /**
+     * Compute a product of powers {@code bases[0]^exponents[0] * ...
+     * * bases[n-1]^exponents[n-1]}, in constant time.
+     * <p>
+     * This uses Straus's method (also known as Shamir's trick):
+     * every base gets its own 4-bit window table, as in {@link
+     * #pow(byte[], Scratchpad)}, and a single chain of squarings is
+     * shared between all of them.  For {@code n} bases and {@code
+     * b}-bit exponents, this costs {@code b} squarings and {@code n *
+     * (b / 4 + 16)} multiplications, where {@code n} separate
+     * exponentiations cost {@code n * b} squarings.
+     * <p>
+     * The timing depends only on the number of bases and the length
+     * of the longest exponent.  For many public exponents, {@link
+     * PublicOps#multiPow} is faster.
+     * <p>
+     * It <i>is</i> safe for {@code out} to be one of the bases.
+     *
+     * @param <V> The type of the values.
+     * @param bases The bases.
+     * @param exponents The exponents, each in little-endian order.
+     * @param out The value into which to write the result.
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the number of bases and
+     *                                  exponents differ.
+     */
+    public static <V extends PrimeField<V>>
+        void multiPow(final V[] bases,
+                      final byte[][] exponents,
+                      final V out,
+                      final Scratchpad scratch) {
+        final int len = bases.length;
+
+        if (exponents.length != len) {
+            throw new IllegalArgumentException("Got " + len +
+                                               " bases and " +
+                                               exponents.length +
+                                               " exponents");
+        }
+
+        final int numDigits = out.digits.length;
+        final long[] base = scratch.d2;
+        final long[] entry = scratch.d3;
+        final FieldTable<V>[] tables = newTables(len);
+        final V acc = out.clone();
+        int nibbles = 0;
+
+        try {
+            // Build all the tables before out is overwritten, in case
+            // it is one of the bases.
+            for(int i = 0; i < len; i++) {
+                System.arraycopy(bases[i].digits, 0, base, 0, numDigits);
+                tables[i] =
+                    new FieldTable<>(numDigits, POW_WINDOW_ENTRIES, 1);
+                acc.set(1);
+
+                for(int j = 0; j < POW_WINDOW_ENTRIES; j++) {
+                    tables[i].setDigits(j, acc.digits);
+                    acc.mul(base);
+                }
+
+                nibbles = Math.max(nibbles, exponents[i].length * 2);
+            }
+
+            out.set(1);
+
+            for(int i = nibbles - 1; i >= 0; i--) {
+                out.square();
+                out.square();
+                out.square();
+                out.square();
+
+                for(int j = 0; j < len; j++) {
+                    final byte[] exp = exponents[j];
+                    final int idx = i / 2;
+                    final int nibble = idx < exp.length ?
+                        (exp[idx] >> ((i % 2) * 4)) & 0xf : 0;
+
+                    tables[j].lookupDigits(nibble, entry);
+                    out.mul(entry);
+                }
+            }
+        } finally {
+            for(int i = 0; i < len; i++) {
+                if (tables[i] != null) {
+                    tables[i].close();
+                }
+            }
+
+            acc.destroy();
+            Arrays.fill(base, 0);
+            Arrays.fill(entry, 0);
+        }
+    }
+
+    /**
+     * Create an empty array of tables.  Java cannot create an array of
+     * a generic type, so this creates an array of wildcard tables and
+     * casts it, which is safe because every element starts out {@code
+     * null}.
+     *
+     * @param <V> The type of the values in the tables.
+     * @param len The length of the array.
+     * @return The new array.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V extends PrimeField<V>> FieldTable<V>[]
+        newTables(final int len) {
+        return (FieldTable<V>[])new FieldTable<?>[len];
+    }
+
     /**
      * Overwrite the digits in this object from an array, starting at a
-     * given index.
+     * given index.  The bound is not changed, so the digits must be
+     * within it, as those of a carried value always are.
      *
      * @param digits The digits to copy.
      * @param idx The index at which to start.
@@ -431,7 +1201,8 @@ public abstract class PrimeField<V extends PrimeField<V>>
     }
 
     /**
-     * Overwrite the digits in this object from an array.
+     * Overwrite the digits in this object from an array.  The bound is
+     * not changed, so the digits must be within it.
      *
      * @param digits The digits to copy.
      */
@@ -446,6 +1217,7 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public void set(final V b) {
         set(b.digits);
+        bound = b.bound;
     }
 
     /**
@@ -456,6 +1228,7 @@ public abstract class PrimeField<V extends PrimeField<V>>
     public void set(final int b) {
         Arrays.fill(digits, 0);
         init(b);
+        bound = 1;
     }
 
     /**
@@ -501,8 +1274,11 @@ public abstract class PrimeField<V extends PrimeField<V>>
     public void pack(final byte[] arr,
                      final int idx,
                      final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         normalize(scratch);
         normalizedPack(arr, idx);
+        Instrumentation.record(this, Instrumentation.Operation.PACK, start);
     }
 
     /**
@@ -530,8 +1306,11 @@ public abstract class PrimeField<V extends PrimeField<V>>
     public void pack(final OutputStream stream,
                      final Scratchpad scratch)
         throws IOException {
+        final long start = Instrumentation.start();
+
         normalize(scratch);
         normalizedPack(stream);
+        Instrumentation.record(this, Instrumentation.Operation.PACK, start);
     }
 
     /**
@@ -701,11 +1480,14 @@ public abstract class PrimeField<V extends PrimeField<V>>
      * #toString}, and {@link #pack} perform it automatically.  The
      * {@link #normalizedEquals}, {@link #normalizedToString}, and
      * {@link #normalizedPack} methods assume normalization has
-     * already been done.
+     * already been done.  {@link NormalizedElement} holds a
+     * normalized copy, for code that encodes or compares the same
+     * value several times.
      *
      * @see #normalizedPack
      * @see #normalizedEquals
      * @see #normalizedToString
+     * @see NormalizedElement
      */
     public void normalize() {
         try(final Scratchpad scratch = scratchpad()) {
@@ -753,7 +1535,7 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public void normalizedPack(final OutputStream stream)
         throws IOException {
-        stream.write(packed());
+        stream.write(normalizedPacked());
     }
 
     /**
@@ -787,9 +1569,219 @@ public abstract class PrimeField<V extends PrimeField<V>>
      * @return The little-endian byte array.
      */
     public byte[] packed(final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
         normalize(scratch);
 
-        return normalizedPacked();
+        final byte[] out = normalizedPacked();
+
+        Instrumentation.record(this, Instrumentation.Operation.PACK, start);
+
+        return out;
+    }
+
+    /**
+     * Get the value as a {@link BigInteger}, between {@code 0} and
+     * the modulus.
+     * <p>
+     * This method normalizes the internal representation.  The
+     * magnitude is read directly out of the digits, without packing
+     * and reversing the little-endian representation.  {@code
+     * BigInteger} itself is not constant-time.
+     *
+     * @return The value.
+     * @see #toBigIntegers
+     */
+    public BigInteger toBigInteger() {
+        try(final Scratchpad scratch = scratchpad()) {
+            return toBigInteger(scratch);
+        }
+    }
+
+    /**
+     * Get the value as a {@link BigInteger}, between {@code 0} and
+     * the modulus.
+     * <p>
+     * This method normalizes the internal representation.  The
+     * magnitude is read directly out of the digits, without packing
+     * and reversing the little-endian representation.  {@code
+     * BigInteger} itself is not constant-time.
+     *
+     * @param scratch The scratchpad to use.
+     * @return The value.
+     * @see #toBigIntegers
+     */
+    public BigInteger toBigInteger(final Scratchpad scratch) {
+        final byte[] mag = new byte[(numBits() + 7) / 8];
+        final BigInteger out = toBigInteger(mag, scratch);
+
+        Arrays.fill(mag, (byte)0);
+
+        return out;
+    }
+
+    /**
+     * Get the value as a {@link BigInteger}, using a caller-supplied
+     * buffer for the magnitude.
+     *
+     * @param mag A buffer of {@code (numBits() + 7) / 8} bytes.
+     * @param scratch The scratchpad to use.
+     * @return The value.
+     */
+    BigInteger toBigInteger(final byte[] mag,
+                            final Scratchpad scratch) {
+        final int bits = digitBits();
+        int d = 0;
+        int off = 0;
+
+        normalize(scratch);
+
+        // Byte i of the little-endian value, written big-endian.  It
+        // starts at bit off of digit d.
+        for(int i = 0; i < mag.length; i++) {
+            long b = digits[d] >>> off;
+
+            if (off > bits - 8 && d + 1 < digits.length) {
+                b |= digits[d + 1] << (bits - off);
+            }
+
+            mag[mag.length - 1 - i] = (byte)b;
+            off += 8;
+
+            if (off >= bits) {
+                off -= bits;
+                d++;
+            }
+        }
+
+        return new BigInteger(1, mag);
+    }
+
+    /**
+     * Set the value from a {@link BigInteger}, reduced modulo the
+     * field's prime.
+     * <p>
+     * A value between {@code 0} and {@code 2^numBits()} is written
+     * directly into the digits.  Any other value, including a
+     * negative one, is reduced by {@link HashToField#reduce}, in the
+     * field's own arithmetic rather than with {@code BigInteger.mod}.
+     * {@code BigInteger} itself is not constant-time.
+     *
+     * @param val The value.
+     * @see #fromBigIntegers
+     */
+    public void fromBigInteger(final BigInteger val) {
+        final int signum = val.signum();
+
+        if (signum >= 0 && val.bitLength() <= numBits()) {
+            final byte[] mag = val.toByteArray();
+            final int bits = digitBits();
+            final long mask = (1L << bits) - 1;
+
+            // Digit i is read from the 64 bits starting at the byte
+            // holding its lowest bit, plus the next byte when those
+            // fall short.  The split shift drops that byte entirely
+            // when the digit is byte-aligned.
+            for(int i = 0; i < digits.length; i++) {
+                final int pos = i * bits;
+                final int start = pos >>> 3;
+                final int shift = pos & 0x7;
+                long word = 0;
+
+                for(int j = 0; j < 8; j++) {
+                    word |= magByte(mag, start + j) << (8 * j);
+                }
+
+                digits[i] = ((word >>> shift) |
+                             ((magByte(mag, start + 8) << 1) <<
+                              (63 - shift))) & mask;
+            }
+
+            bound = 1;
+            Arrays.fill(mag, (byte)0);
+        } else {
+            final byte[] mag = val.abs().toByteArray();
+            final V wide = clone();
+
+            HashToField.reduce(mag, 0, mag.length, wide);
+            set(wide);
+            wide.destroy();
+            Arrays.fill(mag, (byte)0);
+
+            if (signum < 0) {
+                neg();
+            }
+        }
+    }
+
+    /**
+     * Get a byte of a big-endian magnitude, counting from the least
+     * significant end.
+     *
+     * @param mag The big-endian magnitude.
+     * @param idx The index of the byte, from the least significant
+     *            end.
+     * @return The byte, or {@code 0} past the end of the magnitude.
+     */
+    private static long magByte(final byte[] mag,
+                                final int idx) {
+        return idx < mag.length ? mag[mag.length - 1 - idx] & 0xff : 0;
+    }
+
+    /**
+     * Get many values as {@link BigInteger}s, sharing one scratchpad
+     * and one magnitude buffer between them.
+     * <p>
+     * This method normalizes the internal representations.
+     *
+     * @param <V> The type of the values.
+     * @param values The values.
+     * @return The values as {@code BigInteger}s.
+     * @see #toBigInteger()
+     */
+    public static <V extends PrimeField<V>>
+        BigInteger[] toBigIntegers(final V[] values) {
+        final BigInteger[] out = new BigInteger[values.length];
+
+        if (values.length == 0) {
+            return out;
+        }
+
+        try(final Scratchpad scratch = values[0].scratchpad()) {
+            final byte[] mag = new byte[(values[0].numBits() + 7) / 8];
+
+            for(int i = 0; i < values.length; i++) {
+                out[i] = values[i].toBigInteger(mag, scratch);
+            }
+
+            Arrays.fill(mag, (byte)0);
+        }
+
+        return out;
+    }
+
+    /**
+     * Set many values from {@link BigInteger}s, each reduced modulo
+     * the field's prime.
+     *
+     * @param <V> The type of the values.
+     * @param vals The {@code BigInteger}s.
+     * @param out The values to set.
+     * @throws IllegalArgumentException If the arrays differ in
+     *                                  length.
+     * @see #fromBigInteger
+     */
+    public static <V extends PrimeField<V>>
+        void fromBigIntegers(final BigInteger[] vals,
+                             final V[] out) {
+        if (vals.length != out.length) {
+            throw new IllegalArgumentException(
+                "Numbers of inputs and outputs differ");
+        }
+
+        for(int i = 0; i < vals.length; i++) {
+            out[i].fromBigInteger(vals[i]);
+        }
     }
 
     /**
@@ -893,6 +1885,15 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public abstract int numBits();
 
+    /**
+     * Get the number of value bits in each digit of the internal
+     * representation.  Every digit but the highest holds this many
+     * bits; the highest holds the remainder of {@link #numBits}.
+     *
+     * @return The number of value bits in a digit.
+     */
+    protected abstract int digitBits();
+
     /**
      * Overwrite the value of this number with a {@code long},
      * assuming {@code digits} is already zeroed-out.
@@ -1040,6 +2041,25 @@ public abstract class PrimeField<V extends PrimeField<V>>
      */
     public abstract void mul(final int b);
 
+    /**
+     * Get the largest bound that {@link #addLazy} and {@link
+     * #subLazy} may produce.  Values up to this bound are accepted by
+     * {@link #mul(PrimeField)} and {@link #square()} without carrying.
+     * A value of {@code 1} means lazy operations always carry.
+     *
+     * @return The largest bound for lazy operations.
+     * @see #bound()
+     */
+    public abstract int lazyBound();
+
+    /**
+     * Get the digits of the modulus.  The returned array must not be
+     * modified.
+     *
+     * @return The digits of the modulus.
+     */
+    protected abstract long[] modulusDigits();
+
     /**
      * Multiply this number by a raw internal representation.
      *
@@ -1048,15 +2068,37 @@ public abstract class PrimeField<V extends PrimeField<V>>
     protected abstract void mul(final long[] b);
 
     /**
-     * Divide this number by a {@code int}.  This version is
-     * <i>not</i> generally more efficient than {@link
-     * #div(PrimeField)}.
+     * Divide this number by a {@code int}.  Divisors of magnitude up
+     * to {@link #SMALL_DIVISORS} are multiplied by a cached
+     * reciprocal, so they cost one multiplication; others are
+     * inverted, which is <i>not</i> generally more efficient than
+     * {@link #div(PrimeField)}.  The divisor is assumed to be public.
+     *
+     * @param b The {@code int} by which to divide.
+     * @param scratch The scratchpad to use.
+     */
+    public void div(final int b,
+                    final Scratchpad scratch) {
+        final long start = Instrumentation.start();
+
+        if (-SMALL_DIVISORS <= b && b <= SMALL_DIVISORS) {
+            mul(smallReciprocals()[b + SMALL_DIVISORS]);
+            bound = 1;
+        } else {
+            divInverse(b, scratch);
+        }
+
+        Instrumentation.record(this, Instrumentation.Operation.DIV, start);
+    }
+
+    /**
+     * Divide this number by a {@code int}, by inverting it.
      *
      * @param b The {@code int} by which to divide.
      * @param scratch The scratchpad to use.
      */
-    public abstract void div(final int b,
-                             final Scratchpad scratch);
+    protected abstract void divInverse(final int b,
+                                       final Scratchpad scratch);
 
     /**
      * Divide this number by a raw internal representation.
@@ -0,0 +1,731 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Variable-time operations on field elements, for use <i>only</i> on
+ * public data.
+ * <p>
+ * Every operation on {@link PrimeField} itself is constant-time, and
+ * is therefore safe to use on secret data.  However, many values in
+ * cryptographic protocols are public: signatures and public keys
+ * being verified, the outputs of hash-to-curve maps, and fixed
+ * exponents from specifications.  For these, faster variable-time
+ * algorithms are acceptable.
+ * <p>
+ * These operations are deliberately kept out of {@link PrimeField}
+ * and its subclasses, so that they can only be reached by naming
+ * this class explicitly.  <b>None of the methods in this class are
+ * constant-time.  They leak information about their inputs through
+ * timing, and must never be used on secret values.</b>
+ * <p>
+ * The number-theoretic algorithms here (the Jacobi symbol and binary
+ * extended GCD) work on a plain binary representation of the
+ * canonical value, using full 64-bit words, rather than on the
+ * internal digit representation.
+ */
+public final class PublicOps {
+    /**
+     * Cache of moduli for each field type, as arrays of 64-bit words.
+     */
+    private static final ConcurrentMap<Class<?>, long[]> MODULI =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Number of bits in a sliding window.
+     */
+    private static final int POW_WINDOW_BITS = 4;
+
+    /**
+     * Number of odd powers in the sliding window table.
+     */
+    private static final int POW_ODD_ENTRIES = 1 << (POW_WINDOW_BITS - 1);
+
+    /**
+     * Largest window size considered by {@link #multiPow}.
+     */
+    private static final int MAX_BUCKET_BITS = 16;
+
+    private PublicOps() {}
+
+    /**
+     * Compute the (quadratic) Legendre symbol of a public value, in
+     * variable time.
+     * <p>
+     * This computes the Jacobi symbol {@code (a | p)}, which is equal
+     * to the Legendre symbol because {@code p} is prime, using the
+     * binary algorithm: factors of two are removed using the second
+     * supplementary law, and the arguments are swapped using
+     * quadratic reciprocity and reduced by subtraction.  This avoids
+     * the full exponentiation used by {@link PrimeField#legendre}.
+     *
+     * @param <V> The type of field element.
+     * @param a The value.
+     * @return {@code 1} if the value is a non-zero quadratic residue,
+     *         {@code -1} if it is a non-residue, {@code 0} if it is
+     *         zero.
+     * @see PrimeField#legendre
+     */
+    public static <V extends PrimeField<V>> byte legendre(final V a) {
+        final long[] n = modulus(a);
+        final long[] x = words(a, n.length);
+        int t = 1;
+
+        while(!isZero(x)) {
+            // Remove factors of two, using (2 | n) = -1 iff n = 3, 5
+            // mod 8.
+            final int shift = trailingZeros(x);
+            final long n8 = n[0] & 0x7;
+
+            shiftRight(x, shift);
+
+            if ((shift & 0x1) == 1 && (n8 == 3 || n8 == 5)) {
+                t = -t;
+            }
+
+            // Both are now odd.  Swap if necessary to keep x >= n,
+            // using quadratic reciprocity.
+            if (compare(x, n) < 0) {
+                final long[] tmp = Arrays.copyOf(x, x.length);
+
+                System.arraycopy(n, 0, x, 0, x.length);
+                System.arraycopy(tmp, 0, n, 0, n.length);
+
+                if ((x[0] & 0x3) == 3 && (n[0] & 0x3) == 3) {
+                    t = -t;
+                }
+            }
+
+            sub(x, n);
+        }
+
+        return isOne(n) ? (byte)t : 0;
+    }
+
+    /**
+     * Take the reciprocal of a public value, in variable time.
+     * <p>
+     * This uses the binary extended Euclidean algorithm, which
+     * requires only shifts, additions, and subtractions, rather than
+     * the full exponentiation used by {@link PrimeField#inv}.  As
+     * with {@link PrimeField#inv}, the reciprocal of zero is taken to
+     * be zero.
+     *
+     * @param <V> The type of field element.
+     * @param a The value to invert in place.
+     * @see PrimeField#inv
+     */
+    public static <V extends PrimeField<V>> void inv(final V a) {
+        final long[] p = modulus(a);
+        final long[] u = words(a, p.length);
+
+        if (isZero(u)) {
+            return;
+        }
+
+        final long[] v = Arrays.copyOf(p, p.length);
+        final long[] x1 = new long[p.length];
+        final long[] x2 = new long[p.length];
+
+        x1[0] = 1;
+
+        while(!isOne(u) && !isOne(v)) {
+            while((u[0] & 0x1) == 0) {
+                shiftRight(u, 1);
+                halveMod(x1, p);
+            }
+
+            while((v[0] & 0x1) == 0) {
+                shiftRight(v, 1);
+                halveMod(x2, p);
+            }
+
+            if (compare(u, v) >= 0) {
+                sub(u, v);
+                subMod(x1, x2, p);
+            } else {
+                sub(v, u);
+                subMod(x2, x1, p);
+            }
+        }
+
+        setWords(a, isOne(u) ? x1 : x2);
+    }
+
+    /**
+     * Compare two public values for equality, in variable time.
+     * <p>
+     * This returns as soon as a difference is found.  If the internal
+     * representations are identical, it returns immediately without
+     * normalizing.
+     *
+     * @param <V> The type of field element.
+     * @param a The first value.
+     * @param b The second value.
+     * @return Whether the values are equal.
+     * @see PrimeField#equals(PrimeField)
+     */
+    public static <V extends PrimeField<V>> boolean equals(final V a,
+                                                           final V b) {
+        if (Arrays.equals(a.digits, b.digits)) {
+            return true;
+        }
+
+        a.normalize();
+        b.normalize();
+
+        return Arrays.equals(a.digits, b.digits);
+    }
+
+    /**
+     * Raise a value to a public power, in variable time.
+     *
+     * @param <V> The type of field element.
+     * @param a The value to exponentiate in place.
+     * @param exp The exponent, in little-endian order.
+     * @see #pow(PrimeField, byte[], PrimeField.Scratchpad)
+     */
+    public static <V extends PrimeField<V>> void pow(final V a,
+                                                     final byte[] exp) {
+        try(final PrimeField.Scratchpad scratch = a.scratchpad()) {
+            pow(a, exp, scratch);
+        }
+    }
+
+    /**
+     * Raise a value to a public power, in variable time.
+     * <p>
+     * This uses a 4-bit sliding window over the odd powers {@code 1,
+     * 3, ..., 15} of the value, skipping runs of zero bits and
+     * leading squarings.  This performs roughly {@code n} squarings
+     * and {@code n / 5} multiplications for an {@code n}-bit
+     * exponent, compared to {@code n / 4} for {@link
+     * PrimeField#pow(byte[], PrimeField.Scratchpad)}, but its timing
+     * depends on the exponent.
+     *
+     * @param <V> The type of field element.
+     * @param a The value to exponentiate in place.
+     * @param exp The exponent, in little-endian order.
+     * @param scratch The scratchpad to use.
+     * @see PrimeField#pow(byte[], PrimeField.Scratchpad)
+     */
+    public static <V extends PrimeField<V>> void
+        pow(final V a,
+            final byte[] exp,
+            final PrimeField.Scratchpad scratch) {
+        final int len = a.digits.length;
+        final long[] base = scratch.d2;
+        final long[] x2 = scratch.d3;
+        final long[][] table = new long[POW_ODD_ENTRIES][];
+
+        // table[i] = a^(2i + 1)
+        System.arraycopy(a.digits, 0, base, 0, len);
+        a.square();
+        System.arraycopy(a.digits, 0, x2, 0, len);
+        a.set(base);
+        table[0] = Arrays.copyOf(a.digits, len);
+
+        for(int i = 1; i < POW_ODD_ENTRIES; i++) {
+            a.mul(x2);
+            table[i] = Arrays.copyOf(a.digits, len);
+        }
+
+        a.set(1);
+
+        boolean started = false;
+        int i = (exp.length * 8) - 1;
+
+        while(i >= 0) {
+            if (expBit(exp, i) == 0) {
+                if (started) {
+                    a.square();
+                }
+
+                i--;
+            } else {
+                // Find the longest window ending in a 1 bit.
+                int j = Math.max(i - POW_WINDOW_BITS + 1, 0);
+
+                while(expBit(exp, j) == 0) {
+                    j++;
+                }
+
+                int window = 0;
+
+                for(int k = i; k >= j; k--) {
+                    window = (window << 1) | expBit(exp, k);
+
+                    if (started) {
+                        a.square();
+                    }
+                }
+
+                if (started) {
+                    a.mul(table[window >> 1]);
+                } else {
+                    a.set(table[window >> 1]);
+                    started = true;
+                }
+
+                i = j - 1;
+            }
+        }
+
+        for(int k = 0; k < POW_ODD_ENTRIES; k++) {
+            Arrays.fill(table[k], 0);
+        }
+
+        Arrays.fill(base, 0);
+        Arrays.fill(x2, 0);
+    }
+
+    /**
+     * Compute a product of public powers {@code bases[0]^exponents[0]
+     * * ... * bases[n-1]^exponents[n-1]}, in variable time.
+     * <p>
+     * This uses Pippenger's bucket method.  The exponents are cut
+     * into {@code c}-bit windows.  For each window, every base is
+     * multiplied into the bucket selected by its window value, and
+     * the buckets are combined as {@code prod(B_j^j)} using two
+     * running products.  For {@code n} bases and {@code b}-bit
+     * exponents, this costs {@code b} squarings and about {@code (b /
+     * c) * (n + 2^(c + 1))} multiplications, with {@code c} chosen to
+     * minimize this.  For large {@code n}, this is far fewer than the
+     * {@code n * b / 4} multiplications of {@link
+     * PrimeField#multiPow(PrimeField[], byte[][], PrimeField,
+     * PrimeField.Scratchpad)}, but which buckets are used depends on
+     * the exponents.
+     * <p>
+     * {@code out} must not be one of the bases.
+     *
+     * @param <V> The type of field element.
+     * @param bases The bases.
+     * @param exponents The exponents, each in little-endian order.
+     * @param out The value into which to write the result.
+     * @throws IllegalArgumentException If the number of bases and
+     *                                  exponents differ.
+     * @see PrimeField#multiPow(PrimeField[], byte[][], PrimeField,
+     *                          PrimeField.Scratchpad)
+     */
+    public static <V extends PrimeField<V>> void
+        multiPow(final V[] bases,
+                 final byte[][] exponents,
+                 final V out) {
+        final int len = bases.length;
+
+        if (exponents.length != len) {
+            throw new IllegalArgumentException("Got " + len +
+                                               " bases and " +
+                                               exponents.length +
+                                               " exponents");
+        }
+
+        int bits = 0;
+
+        for(int i = 0; i < len; i++) {
+            bits = Math.max(bits, exponents[i].length * 8);
+        }
+
+        final int c = bucketBits(len, bits);
+        final int numBuckets = (1 << c) - 1;
+        final V[] buckets = Arrays.copyOf(bases, numBuckets);
+        final boolean[] filled = new boolean[numBuckets];
+        final V running = out.clone();
+        boolean started = false;
+
+        for(int j = 0; j < numBuckets; j++) {
+            buckets[j] = out.clone();
+        }
+
+        for(int w = ((bits + c - 1) / c) - 1; w >= 0; w--) {
+            if (started) {
+                for(int i = 0; i < c; i++) {
+                    out.square();
+                }
+            }
+
+            Arrays.fill(filled, false);
+
+            // Drop each base into the bucket for its window value.
+            for(int i = 0; i < len; i++) {
+                final int j = expBits(exponents[i], w * c, c) - 1;
+
+                if (j >= 0) {
+                    if (filled[j]) {
+                        buckets[j].mul(bases[i]);
+                    } else {
+                        buckets[j].set(bases[i]);
+                        filled[j] = true;
+                    }
+                }
+            }
+
+            // Multiply in prod(B_j^j), as a product of suffix products.
+            boolean runStarted = false;
+
+            for(int j = numBuckets - 1; j >= 0; j--) {
+                if (filled[j]) {
+                    if (runStarted) {
+                        running.mul(buckets[j]);
+                    } else {
+                        running.set(buckets[j]);
+                        runStarted = true;
+                    }
+                }
+
+                if (runStarted) {
+                    if (started) {
+                        out.mul(running);
+                    } else {
+                        out.set(running);
+                        started = true;
+                    }
+                }
+            }
+        }
+
+        if (!started) {
+            out.set(1);
+        }
+
+        for(int j = 0; j < numBuckets; j++) {
+            buckets[j].destroy();
+        }
+
+        running.destroy();
+    }
+
+    /**
+     * Choose the window size for {@link #multiPow}, by minimizing the
+     * number of multiplications.
+     *
+     * @param n The number of bases.
+     * @param bits The number of exponent bits.
+     * @return The window size.
+     */
+    private static int bucketBits(final int n,
+                                  final int bits) {
+        int best = 1;
+        long bestCost = Long.MAX_VALUE;
+
+        for(int c = 1; c <= MAX_BUCKET_BITS; c++) {
+            final long windows = (bits + c - 1) / c;
+            final long cost = windows * (n + (2L << c));
+
+            if (cost < bestCost) {
+                best = c;
+                bestCost = cost;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Get a window of bits of a little-endian exponent.  Bits past
+     * the end of the exponent are zero.
+     *
+     * @param exp The exponent.
+     * @param n The index of the lowest bit.
+     * @param count The number of bits.
+     * @return The window.
+     */
+    private static int expBits(final byte[] exp,
+                               final int n,
+                               final int count) {
+        final int limit = Math.min(n + count, exp.length * 8);
+        int out = 0;
+
+        for(int i = limit - 1; i >= n; i--) {
+            out = (out << 1) | expBit(exp, i);
+        }
+
+        return out;
+    }
+
+    /**
+     * Get a bit of a little-endian exponent.
+     *
+     * @param exp The exponent.
+     * @param n The index of the bit.
+     * @return The bit.
+     */
+    private static int expBit(final byte[] exp,
+                              final int n) {
+        return (exp[n / 8] >> (n % 8)) & 0x1;
+    }
+
+    /**
+     * Get the modulus of a field, as 64-bit words.  The array has at
+     * least one bit of headroom above the modulus.
+     *
+     * @param <V> The type of field element.
+     * @param a Any element of the field.
+     * @return A fresh copy of the modulus.
+     */
+    private static <V extends PrimeField<V>> long[] modulus(final V a) {
+        final long[] out = MODULI.computeIfAbsent(a.getClass(), c -> {
+                // p = (p - 1) + 1, and p - 1 is even.
+                final V mone = a.clone();
+
+                mone.set(1);
+                mone.neg();
+
+                final long[] p = words(mone, (a.numBits() / 64) + 1);
+
+                p[0] += 1;
+
+                return p;
+            });
+
+        return Arrays.copyOf(out, out.length);
+    }
+
+    /**
+     * Convert a field element to its canonical value as 64-bit
+     * words.
+     *
+     * @param <V> The type of field element.
+     * @param a The field element.
+     * @param len The number of words.
+     * @return The canonical value of {@code a}.
+     */
+    private static <V extends PrimeField<V>> long[] words(final V a,
+                                                          final int len) {
+        final byte[] bytes = a.packed();
+        final long[] out = new long[len];
+
+        for(int i = 0; i < bytes.length; i++) {
+            out[i / 8] |= ((long)bytes[i] & 0xffL) << ((i % 8) * 8);
+        }
+
+        Arrays.fill(bytes, (byte)0);
+
+        return out;
+    }
+
+    /**
+     * Set a field element from a value in 64-bit words.
+     *
+     * @param <V> The type of field element.
+     * @param a The field element to set.
+     * @param words The value, which must be less than the modulus.
+     */
+    private static <V extends PrimeField<V>> void
+        setWords(final V a,
+                 final long[] words) {
+        final byte[] bytes = new byte[a.packed().length];
+
+        for(int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)(words[i / 8] >>> ((i % 8) * 8));
+        }
+
+        a.unpack(bytes);
+        Arrays.fill(bytes, (byte)0);
+    }
+
+    /**
+     * Check whether a multi-word value is zero.
+     *
+     * @param a The value.
+     * @return Whether {@code a} is zero.
+     */
+    private static boolean isZero(final long[] a) {
+        for(int i = 0; i < a.length; i++) {
+            if (a[i] != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Check whether a multi-word value is one.
+     *
+     * @param a The value.
+     * @return Whether {@code a} is one.
+     */
+    private static boolean isOne(final long[] a) {
+        if (a[0] != 1) {
+            return false;
+        }
+
+        for(int i = 1; i < a.length; i++) {
+            if (a[i] != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Compare two multi-word values as unsigned integers.
+     *
+     * @param a The first value.
+     * @param b The second value.
+     * @return A negative number, zero, or a positive number if {@code
+     *         a} is less than, equal to, or greater than {@code b}.
+     */
+    private static int compare(final long[] a,
+                               final long[] b) {
+        for(int i = a.length - 1; i >= 0; i--) {
+            final int cmp = Long.compareUnsigned(a[i], b[i]);
+
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Count the trailing zero bits of a non-zero multi-word value.
+     *
+     * @param a The value.
+     * @return The number of trailing zero bits.
+     */
+    private static int trailingZeros(final long[] a) {
+        int i = 0;
+
+        while(a[i] == 0) {
+            i++;
+        }
+
+        return (i * 64) + Long.numberOfTrailingZeros(a[i]);
+    }
+
+    /**
+     * Shift a multi-word value right in place.
+     *
+     * @param a The value.
+     * @param shift The number of bits by which to shift.
+     */
+    private static void shiftRight(final long[] a,
+                                   final int shift) {
+        final int words = shift / 64;
+        final int bits = shift % 64;
+
+        for(int i = 0; i < a.length; i++) {
+            final int src = i + words;
+            final long lo = src < a.length ? a[src] : 0;
+            final long hi = src + 1 < a.length ? a[src + 1] : 0;
+
+            if (bits == 0) {
+                a[i] = lo;
+            } else {
+                a[i] = (lo >>> bits) | (hi << (64 - bits));
+            }
+        }
+    }
+
+    /**
+     * Add one multi-word value to another in place.
+     *
+     * @param a The value to which to add.
+     * @param b The value to add.
+     */
+    private static void add(final long[] a,
+                            final long[] b) {
+        long carry = 0;
+
+        for(int i = 0; i < a.length; i++) {
+            final long sum = a[i] + b[i];
+            final long out = sum + carry;
+
+            carry = (Long.compareUnsigned(sum, a[i]) < 0 ||
+                     Long.compareUnsigned(out, sum) < 0) ? 1 : 0;
+            a[i] = out;
+        }
+    }
+
+    /**
+     * Subtract one multi-word value from another in place.  The
+     * result must not be negative.
+     *
+     * @param a The value from which to subtract.
+     * @param b The value to subtract.
+     */
+    private static void sub(final long[] a,
+                            final long[] b) {
+        long borrow = 0;
+
+        for(int i = 0; i < a.length; i++) {
+            final long diff = a[i] - b[i];
+            final long out = diff - borrow;
+
+            borrow = (Long.compareUnsigned(a[i], b[i]) < 0 ||
+                      Long.compareUnsigned(diff, borrow) < 0) ? 1 : 0;
+            a[i] = out;
+        }
+    }
+
+    /**
+     * Halve a value modulo an odd modulus in place.
+     *
+     * @param a The value, which must be less than {@code p}.
+     * @param p The modulus.
+     */
+    private static void halveMod(final long[] a,
+                                 final long[] p) {
+        if ((a[0] & 0x1) == 1) {
+            add(a, p);
+        }
+
+        shiftRight(a, 1);
+    }
+
+    /**
+     * Subtract one value from another modulo {@code p} in place.
+     *
+     * @param a The value from which to subtract, which must be less
+     *          than {@code p}.
+     * @param b The value to subtract, which must be less than {@code
+     *          p}.
+     * @param p The modulus.
+     */
+    private static void subMod(final long[] a,
+                               final long[] b,
+                               final long[] p) {
+        if (compare(a, b) < 0) {
+            add(a, p);
+        }
+
+        sub(a, b);
+    }
+}
@@ -0,0 +1,610 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.AutoCloseable;
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * Elements of the quadratic extension field {@code GF(p^2) =
+ * GF(p)[i] / (i^2 + 1)}, over a prime field with {@code p mod 4 = 3}.
+ * <p>
+ * As {@code -1} is not a square modulo such a prime, {@code i^2 + 1}
+ * is irreducible, and every element can be written as {@code re + im
+ * * i}.  Of the fields here, this holds for {@link ModE130M5},
+ * {@link ModE222M117}, {@link ModE251M9}, {@link ModE382M105},
+ * {@link ModE414M17}, and {@link ModE521M1}.
+ * <p>
+ * As with {@link PrimeField}, values are mutable, and all arithmetic
+ * is done in place.  Operations take their temporary space from the
+ * base field's {@link PrimeField.Scratchpad}, using only the {@code
+ * d3} and {@code d4} arrays, which the base field operations used
+ * here leave alone.  Thus, no operation allocates.
+ *
+ * @param <F> The type of the base field elements.
+ */
+public final class QuadraticExtension<F extends PrimeField<F>>
+    implements Cloneable, Destroyable, AutoCloseable {
+    /**
+     * The real part.
+     */
+    private final F re;
+
+    /**
+     * The imaginary part (the coefficient of {@code i}).
+     */
+    private final F im;
+
+    /**
+     * Initialize from a real and an imaginary part.  The created
+     * object takes possession of both.
+     *
+     * @param re The real part.
+     * @param im The imaginary part.
+     * @throws IllegalArgumentException If the base field modulus is
+     *                                  not {@code 3 mod 4}.
+     */
+    public QuadraticExtension(final F re,
+                              final F im) {
+        if ((re.modulusDigits()[0] & 0x3) != 0x3) {
+            throw new IllegalArgumentException("Base field modulus " +
+                                               "is not 3 mod 4");
+        }
+
+        this.re = re;
+        this.im = im;
+    }
+
+    /**
+     * Get the real part.  This is the live value, not a copy.
+     *
+     * @return The real part.
+     */
+    public F re() {
+        return re;
+    }
+
+    /**
+     * Get the imaginary part.  This is the live value, not a copy.
+     *
+     * @return The imaginary part.
+     */
+    public F im() {
+        return im;
+    }
+
+    /**
+     * Get a scratchpad for the base field.
+     *
+     * @return A scratchpad.
+     * @see PrimeField#scratchpad()
+     */
+    public PrimeField.Scratchpad scratchpad() {
+        return re.scratchpad();
+    }
+
+    /**
+     * Overwrite the value of this element from another.
+     *
+     * @param b The element to copy.
+     */
+    public void set(final QuadraticExtension<F> b) {
+        re.set(b.re);
+        im.set(b.im);
+    }
+
+    /**
+     * Overwrite the value of this element from a real and an
+     * imaginary part.
+     *
+     * @param re The real part.
+     * @param im The imaginary part.
+     */
+    public void set(final F re,
+                    final F im) {
+        this.re.set(re);
+        this.im.set(im);
+    }
+
+    /**
+     * Overwrite the value of this element with an {@code int}.
+     *
+     * @param b The {@code int} to copy.
+     */
+    public void set(final int b) {
+        re.set(b);
+        im.set(0);
+    }
+
+    /**
+     * Add another element to this one.
+     *
+     * @param b The element to add.
+     */
+    public void add(final QuadraticExtension<F> b) {
+        re.add(b.re);
+        im.add(b.im);
+    }
+
+    /**
+     * Subtract another element from this one.
+     *
+     * @param b The element to subtract.
+     */
+    public void sub(final QuadraticExtension<F> b) {
+        re.sub(b.re);
+        im.sub(b.im);
+    }
+
+    /**
+     * Negate this element.
+     */
+    public void neg() {
+        re.neg();
+        im.neg();
+    }
+
+    /**
+     * Multiply this element by a base field element.
+     *
+     * @param b The base field element by which to multiply.
+     */
+    public void mul(final F b) {
+        re.mul(b);
+        im.mul(b);
+    }
+
+    /**
+     * Multiply this element by another.
+     *
+     * @param b The element by which to multiply.
+     */
+    public void mul(final QuadraticExtension<F> b) {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            mul(b, scratch);
+        }
+    }
+
+    /**
+     * Multiply this element by another.
+     * <p>
+     * This uses Karatsuba's method, for three base field
+     * multiplications: with {@code this = a + b * i} and the argument
+     * {@code c + d * i}, the product is {@code (ac - bd) + ((a + b) *
+     * (c + d) - ac - bd) * i}.
+     *
+     * @param b The element by which to multiply.
+     * @param scratch The scratchpad to use.
+     */
+    public void mul(final QuadraticExtension<F> b,
+                    final PrimeField.Scratchpad scratch) {
+        if (b == this) {
+            square(scratch);
+
+            return;
+        }
+
+        final long[] t0 = scratch.d3;
+        final long[] t1 = scratch.d4;
+        final int numDigits = re.digits.length;
+
+        // t1 = a + b
+        System.arraycopy(re.digits, 0, t0, 0, numDigits);
+        re.add(im);
+        System.arraycopy(re.digits, 0, t1, 0, numDigits);
+        re.set(t0);
+
+        // re = ac - bd, t0 = ac + bd
+        re.mul(b.re);
+        im.mul(b.im);
+        System.arraycopy(re.digits, 0, t0, 0, numDigits);
+        re.sub(im);
+        im.add(t0);
+        System.arraycopy(im.digits, 0, t0, 0, numDigits);
+
+        // im = (a + b) * (c + d) - ac - bd
+        im.set(b.re);
+        im.add(b.im);
+        im.mul(t1);
+        im.sub(t0);
+    }
+
+    /**
+     * Square this element.
+     */
+    public void square() {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            square(scratch);
+        }
+    }
+
+    /**
+     * Square this element.
+     * <p>
+     * This uses complex squaring, for two base field
+     * multiplications: {@code (a + b * i)^2 = (a + b) * (a - b) + 2ab
+     * * i}.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    public void square(final PrimeField.Scratchpad scratch) {
+        final long[] t0 = scratch.d3;
+        final long[] t1 = scratch.d4;
+        final int numDigits = re.digits.length;
+
+        // t0 = a, t1 = a - b
+        System.arraycopy(re.digits, 0, t0, 0, numDigits);
+        re.sub(im);
+        System.arraycopy(re.digits, 0, t1, 0, numDigits);
+        re.set(t0);
+
+        // re = (a + b) * (a - b)
+        re.add(im);
+        re.mul(t1);
+
+        // im = 2ab
+        im.mul(t0);
+        im.mul(2);
+    }
+
+    /**
+     * Take the reciprocal of this element.
+     */
+    public void inv() {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            inv(scratch);
+        }
+    }
+
+    /**
+     * Take the reciprocal of this element.
+     * <p>
+     * This uses the norm, for a single base field inversion: {@code
+     * 1 / (a + b * i) = (a - b * i) / (a^2 + b^2)}.  The reciprocal
+     * of zero is zero.
+     *
+     * @param scratch The scratchpad to use.
+     */
+    public void inv(final PrimeField.Scratchpad scratch) {
+        final long[] t0 = scratch.d3;
+        final long[] t1 = scratch.d4;
+        final int numDigits = re.digits.length;
+
+        System.arraycopy(re.digits, 0, t0, 0, numDigits);
+        System.arraycopy(im.digits, 0, t1, 0, numDigits);
+
+        // re = 1 / (a^2 + b^2)
+        re.square();
+        im.square();
+        re.add(im);
+        re.inv(scratch);
+
+        im.set(t1);
+        im.neg();
+        im.mul(re);
+        re.mul(t0);
+    }
+
+    /**
+     * Divide this element by another.
+     *
+     * @param b The element by which to divide.
+     */
+    public void div(final QuadraticExtension<F> b) {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            div(b, scratch);
+        }
+    }
+
+    /**
+     * Divide this element by another.
+     * <p>
+     * This costs a single base field inversion: the dividend is
+     * scaled by the reciprocal of the divisor's norm, then multiplied
+     * by the divisor's conjugate.  Division by zero gives zero.
+     *
+     * @param b The element by which to divide.
+     * @param scratch The scratchpad to use.
+     */
+    public void div(final QuadraticExtension<F> b,
+                    final PrimeField.Scratchpad scratch) {
+        if (b == this) {
+            set((int)(isZero(scratch) ^ 0x1));
+
+            return;
+        }
+
+        final long[] t0 = scratch.d3;
+        final long[] t1 = scratch.d4;
+        final int numDigits = re.digits.length;
+
+        System.arraycopy(re.digits, 0, t0, 0, numDigits);
+        System.arraycopy(im.digits, 0, t1, 0, numDigits);
+
+        // re = 1 / (c^2 + d^2)
+        re.set(b.re);
+        re.square();
+        im.set(b.im);
+        im.square();
+        re.add(im);
+        re.inv(scratch);
+
+        // this = (a + b * i) / (c^2 + d^2)
+        im.set(t0);
+        im.mul(re);
+        System.arraycopy(im.digits, 0, t0, 0, numDigits);
+        im.set(t1);
+        im.mul(re);
+        re.set(t0);
+
+        // Multiply by c - d * i, as the conjugate of the product of
+        // the conjugate with c + d * i.
+        frobenius();
+        mul(b, scratch);
+        frobenius();
+    }
+
+    /**
+     * Apply the Frobenius map {@code x -> x^p}.  As {@code i^p = -i}
+     * when {@code p mod 4 = 3}, this is the conjugate {@code a - b *
+     * i}, and costs a single base field negation.
+     */
+    public void frobenius() {
+        im.neg();
+    }
+
+    /**
+     * Compute the norm {@code a^2 + b^2} of this element, which is
+     * its product with its conjugate.
+     *
+     * @param out The base field element into which to write the norm.
+     */
+    public void norm(final F out) {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            norm(out, scratch);
+        }
+    }
+
+    /**
+     * Compute the norm {@code a^2 + b^2} of this element, which is
+     * its product with its conjugate.
+     *
+     * @param out The base field element into which to write the norm.
+     * @param scratch The scratchpad to use.
+     */
+    public void norm(final F out,
+                     final PrimeField.Scratchpad scratch) {
+        final long[] t0 = scratch.d3;
+
+        out.set(im);
+        out.square();
+        System.arraycopy(out.digits, 0, t0, 0, t0.length);
+        out.set(re);
+        out.square();
+        out.add(t0);
+    }
+
+    /**
+     * Conditionally overwrite this element with another, without
+     * branching.
+     *
+     * @param src The element to conditionally copy.
+     * @param bit Either {@code 0} or {@code 1}.
+     * @see PrimeField#cmov
+     */
+    public void cmov(final QuadraticExtension<F> src,
+                     final long bit) {
+        re.cmov(src.re, bit);
+        im.cmov(src.im, bit);
+    }
+
+    /**
+     * Conditionally exchange this element with another, without
+     * branching.
+     *
+     * @param other The element with which to conditionally swap.
+     * @param bit Either {@code 0} or {@code 1}.
+     * @see PrimeField#cswap
+     */
+    public void cswap(final QuadraticExtension<F> other,
+                      final long bit) {
+        re.cswap(other.re, bit);
+        im.cswap(other.im, bit);
+    }
+
+    /**
+     * Normalize the internal representation of both parts.
+     *
+     * @see PrimeField#normalize()
+     */
+    public void normalize() {
+        re.normalize();
+        im.normalize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object b) {
+        if (b instanceof QuadraticExtension) {
+            final QuadraticExtension<?> other = (QuadraticExtension<?>)b;
+
+            if (re.getClass() == other.re.getClass()) {
+                @SuppressWarnings("unchecked")
+                final QuadraticExtension<F> same =
+                    (QuadraticExtension<F>)other;
+
+                return equals(same);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method normalizes the internal representation, so that
+     * equal elements have the same hash code.
+     */
+    @Override
+    public int hashCode() {
+        normalize();
+
+        return (31 * Arrays.hashCode(re.digits)) + Arrays.hashCode(im.digits);
+    }
+
+    /**
+     * Compare two elements for equality.
+     * <p>
+     * This method normalizes the internal representation.
+     *
+     * @param b The element against which to compare.
+     * @return Whether or not this element equals {@code b}
+     */
+    public boolean equals(final QuadraticExtension<F> b) {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            return equals(b, scratch);
+        }
+    }
+
+    /**
+     * Compare two elements for equality.
+     * <p>
+     * This method normalizes the internal representation.
+     *
+     * @param b The element against which to compare.
+     * @param scratch The scratchpad to use.
+     * @return Whether or not this element equals {@code b}
+     */
+    public boolean equals(final QuadraticExtension<F> b,
+                          final PrimeField.Scratchpad scratch) {
+        return eq(b, scratch) == 0;
+    }
+
+    /**
+     * Compare two elements for equality, without branching.
+     * <p>
+     * This method normalizes the internal representation.
+     *
+     * @param b The element against which to compare.
+     * @return {@code 0} if the elements are equal, {@code 1}
+     *         otherwise.
+     * @see PrimeField#eq
+     */
+    public long eq(final QuadraticExtension<F> b) {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            return eq(b, scratch);
+        }
+    }
+
+    /**
+     * Compare two elements for equality, without branching.
+     * <p>
+     * This method normalizes the internal representation.
+     *
+     * @param b The element against which to compare.
+     * @param scratch The scratchpad to use.
+     * @return {@code 0} if the elements are equal, {@code 1}
+     *         otherwise.
+     * @see PrimeField#eq
+     */
+    public long eq(final QuadraticExtension<F> b,
+                   final PrimeField.Scratchpad scratch) {
+        return re.eq(b.re, scratch) | im.eq(b.im, scratch);
+    }
+
+    /**
+     * Check if this element is equal to zero.
+     *
+     * @return {@code 1} if the element is zero, {@code 0} otherwise.
+     */
+    public long isZero() {
+        try(final PrimeField.Scratchpad scratch = scratchpad()) {
+            return isZero(scratch);
+        }
+    }
+
+    /**
+     * Check if this element is equal to zero.
+     *
+     * @param scratch The scratchpad to use.
+     * @return {@code 1} if the element is zero, {@code 0} otherwise.
+     */
+    public long isZero(final PrimeField.Scratchpad scratch) {
+        return re.isZero(scratch) & im.isZero(scratch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QuadraticExtension<F> clone() {
+        return new QuadraticExtension<>(re.clone(), im.clone());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "(" + re + ", " + im + ")";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        re.destroy();
+        im.destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return re.isDestroyed() && im.isDestroyed();
+    }
+}
@@ -0,0 +1,345 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.AutoCloseable;
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * Shamir secret sharing, over a fixed set of share indices.
+ * <p>
+ * A secret {@code s} is shared by choosing a random polynomial {@code
+ * f} of degree {@code t - 1} with {@code f(0) = s}, and giving the
+ * holder of index {@code x} the share {@code f(x)}.  Any {@code t}
+ * shares determine {@code f}, and thus {@code s = sum(l_i * f(x_i))},
+ * where the Lagrange coefficients are {@code l_i = prod(x_j / (x_j -
+ * x_i))} over {@code j != i}.
+ * <p>
+ * The Lagrange coefficients depend only on the indices, so they are
+ * computed once, when an instance is created.  All {@code t}
+ * denominators are inverted with a single {@link PrimeField#invBatch
+ * batch inversion}, rather than {@code t} separate divisions.  After
+ * that, reconstructing a secret costs {@code t} multiplications, and
+ * any number of secrets shared over the same indices can be
+ * reconstructed together with {@link #reconstruct(PrimeField[][],
+ * PrimeField[])}.
+ * <p>
+ * The indices are treated as public; the shares and secrets are not,
+ * and sharing and reconstruction are done in constant time.
+ *
+ * @param <F> The type of field elements.
+ */
+public final class SecretSharing<F extends PrimeField<F>>
+    implements Destroyable, AutoCloseable {
+    /**
+     * The share indices.
+     */
+    private final F[] indices;
+
+    /**
+     * The Lagrange coefficients at zero, one for each index.
+     */
+    private final F[] coeffs;
+
+    /**
+     * Create an instance for a set of share indices.
+     *
+     * @param indices The share indices.  These are copied.
+     * @throws IllegalArgumentException If there are no indices, or if
+     *                                  they are not distinct and
+     *                                  nonzero.
+     */
+    public SecretSharing(final F[] indices) {
+        final int len = indices.length;
+
+        if (len == 0) {
+            throw new IllegalArgumentException("No share indices");
+        }
+
+        this.indices = indices.clone();
+        this.coeffs = indices.clone();
+
+        for(int i = 0; i < len; i++) {
+            this.indices[i] = indices[i].clone();
+        }
+
+        try(final PrimeField.Scratchpad scratch =
+            indices[0].scratchpad()) {
+            lagrange(scratch);
+        }
+    }
+
+    /**
+     * Compute the Lagrange coefficients.  The numerators {@code
+     * prod(x_j)} over {@code j != i} come from prefix and suffix
+     * products; the denominators are inverted as a batch.
+     *
+     * @param scratch The scratchpad to use.
+     * @throws IllegalArgumentException If the indices are not
+     *                                  distinct and nonzero.
+     */
+    private void lagrange(final PrimeField.Scratchpad scratch) {
+        final int len = indices.length;
+        final F diff = indices[0].clone();
+        final F[] nums = indices.clone();
+
+        for(int i = 0; i < len; i++) {
+            final F denom = indices[i].clone();
+
+            denom.set(1);
+
+            for(int j = 0; j < len; j++) {
+                if (j != i) {
+                    diff.set(indices[j]);
+                    diff.sub(indices[i]);
+                    denom.mul(diff);
+                }
+            }
+
+            // Public values, so it is fine to branch on this.
+            if (denom.isZero(scratch) != 0 ||
+                indices[i].isZero(scratch) != 0) {
+                throw new IllegalArgumentException(
+                    "Share indices must be distinct and nonzero");
+            }
+
+            coeffs[i] = denom;
+        }
+
+        PrimeField.invBatch(coeffs, scratch);
+
+        // Prefix products, then suffix products, of the indices.
+        diff.set(1);
+
+        for(int i = 0; i < len; i++) {
+            nums[i] = diff.clone();
+            diff.mul(indices[i]);
+        }
+
+        diff.set(1);
+
+        for(int i = len - 1; i >= 0; i--) {
+            nums[i].mul(diff);
+            diff.mul(indices[i]);
+            coeffs[i].mul(nums[i]);
+            nums[i].destroy();
+        }
+
+        diff.destroy();
+    }
+
+    /**
+     * Get the number of share indices.  This is the number of shares
+     * needed to reconstruct a secret.
+     *
+     * @return The number of share indices.
+     */
+    public int size() {
+        return indices.length;
+    }
+
+    /**
+     * Get a share index.
+     *
+     * @param idx The position of the index.
+     * @param out The value into which to write the index.
+     */
+    public void index(final int idx,
+                      final F out) {
+        out.set(indices[idx]);
+    }
+
+    /**
+     * Get the Lagrange coefficient for a share index.
+     *
+     * @param idx The position of the index.
+     * @param out The value into which to write the coefficient.
+     */
+    public void coefficient(final int idx,
+                            final F out) {
+        out.set(coeffs[idx]);
+    }
+
+    /**
+     * Share a secret among the holders of each index.
+     * <p>
+     * The sharing polynomial is {@code secret + random[0] * x + ... +
+     * random[t - 2] * x^(t - 1)}, so {@code random.length + 1} shares
+     * are needed to reconstruct the secret.  The random coefficients
+     * must be chosen uniformly and kept secret by the caller.
+     *
+     * @param secret The secret to share.
+     * @param random The random coefficients of the sharing polynomial.
+     * @param out The values into which to write the shares, one for
+     *            each index.
+     * @throws IllegalArgumentException If {@code out} does not have
+     *                                  one value for each index.
+     */
+    public void share(final F secret,
+                      final F[] random,
+                      final F[] out) {
+        checkShares(out.length);
+
+        final F[] poly = Arrays.copyOf(random, random.length + 1);
+
+        System.arraycopy(random, 0, poly, 1, random.length);
+        poly[0] = secret;
+
+        try(final Polynomial<F> f = new Polynomial<>(poly)) {
+            f.evaluate(indices, out);
+        }
+    }
+
+    /**
+     * Reconstruct a secret from one share for each index.
+     *
+     * @param shares The shares, in the same order as the indices.
+     * @param out The value into which to write the secret.
+     * @throws IllegalArgumentException If there is not one share for
+     *                                  each index.
+     */
+    public void reconstruct(final F[] shares,
+                            final F out) {
+        checkShares(shares.length);
+
+        final F term = out.clone();
+
+        out.set(0);
+
+        for(int i = 0; i < shares.length; i++) {
+            term.set(shares[i]);
+            term.mul(coeffs[i]);
+            out.add(term);
+        }
+
+        term.destroy();
+    }
+
+    /**
+     * Reconstruct many secrets, all shared over the same indices.
+     * <p>
+     * {@code shares[i][k]} is the share of secret {@code k} held at
+     * index {@code i}.  The coefficients are loaded once for each
+     * index, and applied across all the secrets.
+     *
+     * @param shares The shares of each index holder, in the same
+     *               order as the indices.
+     * @param out The values into which to write the secrets.
+     * @throws IllegalArgumentException If there is not one share
+     *                                  vector for each index, or if
+     *                                  any of them is not the same
+     *                                  length as {@code out}.
+     */
+    public void reconstruct(final F[][] shares,
+                            final F[] out) {
+        checkShares(shares.length);
+
+        for(int i = 0; i < shares.length; i++) {
+            if (shares[i].length != out.length) {
+                throw new IllegalArgumentException("Got " +
+                                                   shares[i].length +
+                                                   " shares at index " +
+                                                   i + " for " +
+                                                   out.length +
+                                                   " secrets");
+            }
+        }
+
+        if (out.length == 0) {
+            return;
+        }
+
+        final F term = out[0].clone();
+
+        for(int k = 0; k < out.length; k++) {
+            out[k].set(0);
+        }
+
+        for(int i = 0; i < shares.length; i++) {
+            final F[] row = shares[i];
+            final F coeff = coeffs[i];
+
+            for(int k = 0; k < out.length; k++) {
+                term.set(row[k]);
+                term.mul(coeff);
+                out[k].add(term);
+            }
+        }
+
+        term.destroy();
+    }
+
+    /**
+     * Check that there is one share for each index.
+     *
+     * @param len The number of shares.
+     * @throws IllegalArgumentException If {@code len} is not the
+     *                                  number of indices.
+     */
+    private void checkShares(final int len) {
+        if (len != indices.length) {
+            throw new IllegalArgumentException("Got " + len +
+                                               " shares for " +
+                                               indices.length +
+                                               " indices");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        for(int i = 0; i < indices.length; i++) {
+            indices[i].destroy();
+            coeffs[i].destroy();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDestroyed() {
+        return indices[0].isDestroyed();
+    }
+}
@@ -0,0 +1,213 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.io.ByteArrayOutputStream;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.InvalidParameterException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.security.SignatureSpi;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+
+import net.metricspace.crypto.math.curve.Ed25519;
+
+/**
+ * Ed25519 signatures, as in RFC 8032.  Ed25519 hashes the whole
+ * message twice, so, as in the JDK's implementation, the message is
+ * buffered until the signature is computed or checked.
+ */
+public final class Ed25519Signature extends SignatureSpi {
+    /**
+     * Message buffer, exposing its array to avoid a copy.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+
+        void clear() {
+            Arrays.fill(buf, 0, count, (byte)0);
+            reset();
+        }
+    }
+
+    /**
+     * The message.
+     */
+    private final Buffer message = new Buffer();
+
+    /**
+     * The expanded private key, if initialized for signing.
+     */
+    private Ed25519.SigningKey signingKey = null;
+
+    /**
+     * The raw public key, if initialized for verification.
+     */
+    private byte[] publicKey = null;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void engineInitVerify(final PublicKey key)
+        throws InvalidKeyException {
+        final byte[] raw = KeyType.ED25519.rawPublic(key);
+
+        clear();
+        publicKey = raw;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void engineInitSign(final PrivateKey key)
+        throws InvalidKeyException {
+        final byte[] raw = KeyType.ED25519.rawPrivate(key);
+
+        clear();
+
+        try {
+            signingKey = new Ed25519.SigningKey(raw);
+        } finally {
+            Arrays.fill(raw, (byte)0);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void engineUpdate(final byte b) {
+        message.write(b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void engineUpdate(final byte[] b,
+                                final int off,
+                                final int len) {
+        message.write(b, off, len);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected byte[] engineSign() throws SignatureException {
+        if (signingKey == null) {
+            throw new SignatureException("Not initialized for signing");
+        }
+
+        try {
+            return signingKey.sign(message.array(), 0, message.size());
+        } finally {
+            message.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean engineVerify(final byte[] sig)
+        throws SignatureException {
+        if (publicKey == null) {
+            throw new SignatureException("Not initialized for " +
+                                         "verification");
+        }
+
+        try {
+            return Ed25519.verify(publicKey, message.array(), 0,
+                                  message.size(), sig);
+        } finally {
+            message.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void engineSetParameter(final AlgorithmParameterSpec params)
+        throws InvalidAlgorithmParameterException {
+        if (params != null) {
+            throw new InvalidAlgorithmParameterException("Ed25519 takes " +
+                                                         "no parameters");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Use {@link #engineSetParameter(AlgorithmParameterSpec)}.
+     */
+    @Deprecated
+    @Override
+    protected void engineSetParameter(final String param,
+                                      final Object value) {
+        throw new InvalidParameterException("Unsupported parameter " +
+                                            param);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Not supported.
+     */
+    @Deprecated
+    @Override
+    protected Object engineGetParameter(final String param) {
+        throw new InvalidParameterException("Unsupported parameter " +
+                                            param);
+    }
+
+    /**
+     * Overwrite the keys and message.
+     */
+    private void clear() {
+        message.clear();
+        publicKey = null;
+
+        if (signingKey != null) {
+            signingKey.destroy();
+            signingKey = null;
+        }
+    }
+}
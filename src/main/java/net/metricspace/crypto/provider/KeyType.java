@@ -0,0 +1,356 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+import net.metricspace.crypto.math.curve.Ed25519;
+import net.metricspace.crypto.math.curve.MontgomeryCurve;
+
+/**
+ * The kinds of keys supported by {@link PrimeFieldsProvider}, with
+ * their encodings.
+ * <p>
+ * The standardized curves use the RFC 8410 encodings: {@code X.509}
+ * {@code SubjectPublicKeyInfo} for public keys and {@code PKCS#8}
+ * {@code OneAsymmetricKey} for private keys, which are the same
+ * encodings the JDK's own providers use.  Keys from other providers
+ * are accepted through these encodings.  The other curves have no
+ * assigned object identifiers, so their keys use the raw encoding.
+ */
+enum KeyType {
+    X25519("X25519", "XDH", "1.3.101.110", 0x6e) {
+        @Override
+        byte[] derivePublic(final byte[] privateKey) {
+            return MontgomeryCurve.X25519.publicKey(privateKey);
+        }
+    },
+    ED25519("Ed25519", "EdDSA", "1.3.101.112", 0x70) {
+        @Override
+        byte[] derivePublic(final byte[] privateKey) {
+            return Ed25519.publicKey(privateKey);
+        }
+    },
+    M221("M-221", "M-221", null, 0) {
+        @Override
+        byte[] derivePublic(final byte[] privateKey) {
+            return MontgomeryCurve.M221.publicKey(privateKey);
+        }
+    },
+    M383("M-383", "M-383", null, 0) {
+        @Override
+        byte[] derivePublic(final byte[] privateKey) {
+            return MontgomeryCurve.M383.publicKey(privateKey);
+        }
+    },
+    M511("M-511", "M-511", null, 0) {
+        @Override
+        byte[] derivePublic(final byte[] privateKey) {
+            return MontgomeryCurve.M511.publicKey(privateKey);
+        }
+    };
+
+    /**
+     * Format of raw keys.
+     */
+    static final String RAW = "RAW";
+
+    /**
+     * Format of encoded public keys.
+     */
+    static final String X509 = "X.509";
+
+    /**
+     * Format of encoded private keys.
+     */
+    static final String PKCS8 = "PKCS#8";
+
+    /**
+     * The name of the curve, used as the algorithm name.
+     */
+    final String curve;
+
+    /**
+     * The algorithm name reported by keys.
+     */
+    final String algorithm;
+
+    /**
+     * The object identifier, or {@code null}.
+     */
+    final String oid;
+
+    /**
+     * The last byte of the encoded object identifier.
+     */
+    private final int oidByte;
+
+    KeyType(final String curve,
+            final String algorithm,
+            final String oid,
+            final int oidByte) {
+        this.curve = curve;
+        this.algorithm = algorithm;
+        this.oid = oid;
+        this.oidByte = oidByte;
+    }
+
+    /**
+     * Compute the public key for a private key.
+     *
+     * @param privateKey The raw private key.
+     * @return The raw public key.
+     */
+    abstract byte[] derivePublic(final byte[] privateKey);
+
+    /**
+     * Get the number of bytes in a raw key.
+     *
+     * @return The number of bytes in a raw key.
+     */
+    int keyBytes() {
+        switch(this) {
+        case M221: return MontgomeryCurve.M221.encodedBytes();
+        case M383: return MontgomeryCurve.M383.encodedBytes();
+        case M511: return MontgomeryCurve.M511.encodedBytes();
+        default: return 32;
+        }
+    }
+
+    /**
+     * Get the number of bits in the curve, as accepted by {@code
+     * KeyPairGenerator.initialize(int)}.
+     *
+     * @return The number of bits in the curve.
+     */
+    int bits() {
+        switch(this) {
+        case M221: return 221;
+        case M383: return 383;
+        case M511: return 511;
+        default: return 255;
+        }
+    }
+
+    /**
+     * Get the format of public keys.
+     *
+     * @return The format of public keys.
+     */
+    String publicFormat() {
+        return oid == null ? RAW : X509;
+    }
+
+    /**
+     * Get the format of private keys.
+     *
+     * @return The format of private keys.
+     */
+    String privateFormat() {
+        return oid == null ? RAW : PKCS8;
+    }
+
+    /**
+     * Get the DER prefix of an encoded public key.
+     *
+     * @return The prefix.
+     */
+    private byte[] publicPrefix() {
+        return new byte[] {
+            0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, (byte)oidByte,
+            0x03, 0x21, 0x00
+        };
+    }
+
+    /**
+     * Get the DER prefix of an encoded private key.
+     *
+     * @return The prefix.
+     */
+    private byte[] privatePrefix() {
+        return new byte[] {
+            0x30, 0x2e, 0x02, 0x01, 0x00, 0x30, 0x05, 0x06, 0x03, 0x2b,
+            0x65, (byte)oidByte, 0x04, 0x22, 0x04, 0x20
+        };
+    }
+
+    /**
+     * Encode a raw key with a prefix.
+     *
+     * @param prefix The prefix, or {@code null} for none.
+     * @param raw The raw key.
+     * @return The encoded key.
+     */
+    private static byte[] encode(final byte[] prefix,
+                                 final byte[] raw) {
+        if (prefix == null) {
+            return raw.clone();
+        }
+
+        final byte[] out = Arrays.copyOf(prefix, prefix.length + raw.length);
+
+        System.arraycopy(raw, 0, out, prefix.length, raw.length);
+
+        return out;
+    }
+
+    /**
+     * Decode a key with a prefix.
+     *
+     * @param prefix The prefix, or {@code null} for none.
+     * @param encoded The encoded key.
+     * @return The raw key.
+     * @throws InvalidKeyException If the encoding is not for a key of
+     *         this type.
+     */
+    private byte[] decode(final byte[] prefix,
+                          final byte[] encoded)
+        throws InvalidKeyException {
+        final int start = prefix == null ? 0 : prefix.length;
+
+        if (encoded == null || encoded.length != start + keyBytes()) {
+            throw new InvalidKeyException("Not a " + curve + " key");
+        }
+
+        for(int i = 0; i < start; i++) {
+            if (encoded[i] != prefix[i]) {
+                throw new InvalidKeyException("Not a " + curve + " key");
+            }
+        }
+
+        return Arrays.copyOfRange(encoded, start, encoded.length);
+    }
+
+    /**
+     * Encode a raw public key.
+     *
+     * @param raw The raw key.
+     * @return The key, in {@link #publicFormat()}.
+     */
+    byte[] encodePublic(final byte[] raw) {
+        return encode(oid == null ? null : publicPrefix(), raw);
+    }
+
+    /**
+     * Encode a raw private key.
+     *
+     * @param raw The raw key.
+     * @return The key, in {@link #privateFormat()}.
+     */
+    byte[] encodePrivate(final byte[] raw) {
+        return encode(oid == null ? null : privatePrefix(), raw);
+    }
+
+    /**
+     * Decode a public key.
+     *
+     * @param encoded The key, in {@link #publicFormat()}.
+     * @return The raw key.
+     * @throws InvalidKeyException If the encoding is not for a key of
+     *         this type.
+     */
+    byte[] decodePublic(final byte[] encoded) throws InvalidKeyException {
+        return decode(oid == null ? null : publicPrefix(), encoded);
+    }
+
+    /**
+     * Decode a private key.
+     *
+     * @param encoded The key, in {@link #privateFormat()}.
+     * @return The raw key.
+     * @throws InvalidKeyException If the encoding is not for a key of
+     *         this type.
+     */
+    byte[] decodePrivate(final byte[] encoded) throws InvalidKeyException {
+        return decode(oid == null ? null : privatePrefix(), encoded);
+    }
+
+    /**
+     * Get the raw form of a public key of this type, from any
+     * provider.
+     *
+     * @param key The key.
+     * @return The raw key.
+     * @throws InvalidKeyException If the key is not a public key of
+     *         this type.
+     */
+    byte[] rawPublic(final Key key) throws InvalidKeyException {
+        if (key instanceof PrimeFieldsPublicKey) {
+            final PrimeFieldsPublicKey pub = (PrimeFieldsPublicKey)key;
+
+            if (pub.type == this) {
+                return pub.raw.clone();
+            }
+        } else if (key instanceof PublicKey &&
+                   publicFormat().equals(key.getFormat())) {
+            return decodePublic(key.getEncoded());
+        }
+
+        throw new InvalidKeyException("Not a " + curve + " public key");
+    }
+
+    /**
+     * Get the raw form of a private key of this type, from any
+     * provider.
+     *
+     * @param key The key.
+     * @return The raw key.
+     * @throws InvalidKeyException If the key is not a private key of
+     *         this type.
+     */
+    byte[] rawPrivate(final Key key) throws InvalidKeyException {
+        if (key instanceof PrimeFieldsPrivateKey) {
+            final PrimeFieldsPrivateKey priv = (PrimeFieldsPrivateKey)key;
+
+            if (priv.type == this) {
+                return priv.raw();
+            }
+        } else if (key instanceof PrivateKey &&
+                   privateFormat().equals(key.getFormat())) {
+            final byte[] encoded = key.getEncoded();
+
+            try {
+                return decodePrivate(encoded);
+            } finally {
+                if (encoded != null) {
+                    Arrays.fill(encoded, (byte)0);
+                }
+            }
+        }
+
+        throw new InvalidKeyException("Not a " + curve + " private key");
+    }
+}
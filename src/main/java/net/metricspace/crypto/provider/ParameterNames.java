@@ -0,0 +1,77 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.lang.reflect.Method;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.ECGenParameterSpec;
+
+/**
+ * Extraction of curve names from parameter specifications.
+ * <p>
+ * {@code NamedParameterSpec}, which the JDK uses to name X25519 and
+ * Ed25519, only exists from Java 11, so it is recognized by its
+ * {@code getName()} method rather than by its class.
+ */
+final class ParameterNames {
+    private ParameterNames() {}
+
+    /**
+     * Get the curve named by a parameter specification.
+     *
+     * @param params The parameter specification.
+     * @return The name of the curve.
+     * @throws InvalidAlgorithmParameterException If the specification
+     *         does not name a curve.
+     */
+    static String name(final AlgorithmParameterSpec params)
+        throws InvalidAlgorithmParameterException {
+        if (params instanceof ECGenParameterSpec) {
+            return ((ECGenParameterSpec)params).getName();
+        } else if (params != null) {
+            try {
+                final Method getName = params.getClass().getMethod("getName");
+
+                if (getName.getReturnType() == String.class) {
+                    return (String)getName.invoke(params);
+                }
+            } catch(final ReflectiveOperationException e) {
+                // Fall through.
+            }
+        }
+
+        throw new InvalidAlgorithmParameterException("Unsupported " +
+                                                     "parameters " +
+                                                     params);
+    }
+}
@@ -0,0 +1,162 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.KeyFactorySpi;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+
+/**
+ * Key factories for {@link PrimeFieldsProvider}, converting between
+ * keys and their {@code X.509} and {@code PKCS#8} encodings.  These
+ * are provided for the curves with standard encodings.
+ */
+public abstract class PrimeFieldsKeyFactory extends KeyFactorySpi {
+    /**
+     * The type of keys.
+     */
+    private final KeyType type;
+
+    /**
+     * Initialize a {@code PrimeFieldsKeyFactory}.
+     *
+     * @param type The type of keys.
+     */
+    PrimeFieldsKeyFactory(final KeyType type) {
+        this.type = type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected PublicKey engineGeneratePublic(final KeySpec spec)
+        throws InvalidKeySpecException {
+        if (spec instanceof X509EncodedKeySpec) {
+            final byte[] encoded = ((X509EncodedKeySpec)spec).getEncoded();
+
+            try {
+                return new PrimeFieldsPublicKey(type,
+                                                type.decodePublic(encoded));
+            } catch(final InvalidKeyException e) {
+                throw new InvalidKeySpecException(e.getMessage(), e);
+            }
+        }
+
+        throw new InvalidKeySpecException("Unsupported key spec " + spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected PrivateKey engineGeneratePrivate(final KeySpec spec)
+        throws InvalidKeySpecException {
+        if (spec instanceof PKCS8EncodedKeySpec) {
+            final byte[] encoded = ((PKCS8EncodedKeySpec)spec).getEncoded();
+
+            try {
+                return new PrimeFieldsPrivateKey(type,
+                                                 type.decodePrivate(encoded));
+            } catch(final InvalidKeyException e) {
+                throw new InvalidKeySpecException(e.getMessage(), e);
+            }
+        }
+
+        throw new InvalidKeySpecException("Unsupported key spec " + spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected <T extends KeySpec> T engineGetKeySpec(final Key key,
+                                                     final Class<T> spec)
+        throws InvalidKeySpecException {
+        try {
+            if (spec.isAssignableFrom(X509EncodedKeySpec.class)) {
+                final byte[] raw = type.rawPublic(key);
+
+                return spec.cast(new X509EncodedKeySpec(
+                                     type.encodePublic(raw)));
+            } else if (spec.isAssignableFrom(PKCS8EncodedKeySpec.class)) {
+                final byte[] raw = type.rawPrivate(key);
+
+                return spec.cast(new PKCS8EncodedKeySpec(
+                                     type.encodePrivate(raw)));
+            }
+        } catch(final InvalidKeyException e) {
+            throw new InvalidKeySpecException(e.getMessage(), e);
+        }
+
+        throw new InvalidKeySpecException("Unsupported key spec " + spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Key engineTranslateKey(final Key key)
+        throws InvalidKeyException {
+        if (key instanceof PublicKey) {
+            return new PrimeFieldsPublicKey(type, type.rawPublic(key));
+        } else if (key instanceof PrivateKey) {
+            return new PrimeFieldsPrivateKey(type, type.rawPrivate(key));
+        } else {
+            throw new InvalidKeyException("Not a " + type.curve + " key");
+        }
+    }
+
+    /**
+     * Key factory for X25519.
+     */
+    public static final class X25519 extends PrimeFieldsKeyFactory {
+        public X25519() {
+            super(KeyType.X25519);
+        }
+    }
+
+    /**
+     * Key factory for Ed25519.
+     */
+    public static final class Ed25519 extends PrimeFieldsKeyFactory {
+        public Ed25519() {
+            super(KeyType.ED25519);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.KeyPairGeneratorSpi;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * Key pair generators for {@link PrimeFieldsProvider}.  Each curve
+ * has its own subclass.
+ * <p>
+ * Generators may be initialized with the size of their curve in bits,
+ * or with a parameter specification naming their curve, such as
+ * {@code NamedParameterSpec} (on Java 11 and later) or {@code
+ * ECGenParameterSpec}.  The specification is matched by name, so that
+ * this class does not depend on newer APIs.
+ */
+public abstract class PrimeFieldsKeyPairGenerator extends KeyPairGeneratorSpi {
+    /**
+     * The type of keys to generate.
+     */
+    private final KeyType type;
+
+    /**
+     * The source of randomness, or {@code null} for the default.
+     */
+    private SecureRandom random = null;
+
+    /**
+     * Initialize a {@code PrimeFieldsKeyPairGenerator}.
+     *
+     * @param type The type of keys to generate.
+     */
+    PrimeFieldsKeyPairGenerator(final KeyType type) {
+        this.type = type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initialize(final int keysize,
+                           final SecureRandom random) {
+        if (keysize != type.bits()) {
+            throw new InvalidParameterException(type.curve + " keys are " +
+                                                type.bits() + " bits");
+        }
+
+        this.random = random;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initialize(final AlgorithmParameterSpec params,
+                           final SecureRandom random)
+        throws InvalidAlgorithmParameterException {
+        final String name = ParameterNames.name(params);
+
+        if (!type.curve.equalsIgnoreCase(name)) {
+            throw new InvalidAlgorithmParameterException("Unsupported " +
+                                                         "curve " + name);
+        }
+
+        this.random = random;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeyPair generateKeyPair() {
+        if (random == null) {
+            random = new SecureRandom();
+        }
+
+        final byte[] priv = new byte[type.keyBytes()];
+
+        random.nextBytes(priv);
+
+        return new KeyPair(new PrimeFieldsPublicKey(type,
+                                                    type.derivePublic(priv)),
+                           new PrimeFieldsPrivateKey(type, priv));
+    }
+
+    /**
+     * Key pair generator for X25519.
+     */
+    public static final class X25519 extends PrimeFieldsKeyPairGenerator {
+        public X25519() {
+            super(KeyType.X25519);
+        }
+    }
+
+    /**
+     * Key pair generator for Ed25519.
+     */
+    public static final class Ed25519 extends PrimeFieldsKeyPairGenerator {
+        public Ed25519() {
+            super(KeyType.ED25519);
+        }
+    }
+
+    /**
+     * Key pair generator for M-221.
+     */
+    public static final class M221 extends PrimeFieldsKeyPairGenerator {
+        public M221() {
+            super(KeyType.M221);
+        }
+    }
+
+    /**
+     * Key pair generator for M-383.
+     */
+    public static final class M383 extends PrimeFieldsKeyPairGenerator {
+        public M383() {
+            super(KeyType.M383);
+        }
+    }
+
+    /**
+     * Key pair generator for M-511.
+     */
+    public static final class M511 extends PrimeFieldsKeyPairGenerator {
+        public M511() {
+            super(KeyType.M511);
+        }
+    }
+}
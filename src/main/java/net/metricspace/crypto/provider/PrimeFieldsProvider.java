@@ -0,0 +1,134 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.Provider;
+
+/**
+ * A Java Cryptography Architecture provider for the curves in {@link
+ * net.metricspace.crypto.math.curve}.
+ * <p>
+ * This registers:
+ * <ul>
+ * <li>{@code KeyAgreement}, {@code KeyPairGenerator}, and {@code
+ * KeyFactory} for {@code X25519}, also under {@code XDH} and its
+ * object identifier,</li>
+ * <li>{@code Signature}, {@code KeyPairGenerator}, and {@code
+ * KeyFactory} for {@code Ed25519}, also under {@code EdDSA} and its
+ * object identifier, and</li>
+ * <li>{@code KeyAgreement} and {@code KeyPairGenerator} for {@code
+ * M-221}, {@code M-383}, and {@code M-511}, which use raw keys.</li>
+ * </ul>
+ * The X25519 and Ed25519 implementations accept keys from other
+ * providers through their standard encodings, so the provider can be
+ * put ahead of the JDK's with {@link
+ * java.security.Security#insertProviderAt} without changing any code
+ * that uses those algorithms.  The reverse is more limited: this
+ * library targets Java 8, so its keys do not implement the {@code
+ * XECKey} and {@code EdECKey} interfaces that the JDK's
+ * implementations require, and must be translated through the JDK's
+ * {@code KeyFactory} before being passed to them.
+ * <p>
+ * The {@code XDH} and {@code EdDSA} aliases cover only the 25519
+ * curves.  Other curves under those names, such as X448 and Ed448,
+ * are rejected here with {@code InvalidAlgorithmParameterException}
+ * or {@code InvalidKeyException}, and are left to JCA provider
+ * failover: a call that does not name a provider moves on to the
+ * next one that supports the curve, but a call pinned to this
+ * provider, such as {@code KeyPairGenerator.getInstance("XDH",
+ * provider)}, fails.
+ * <p>
+ * Some JDKs only accept {@code KeyAgreement} implementations from
+ * signed providers; the other services do not have that restriction.
+ */
+public final class PrimeFieldsProvider extends Provider {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The name of the provider.
+     */
+    public static final String NAME = "PrimeFields";
+
+    /**
+     * The package containing the implementations.
+     */
+    private static final String PACKAGE = "net.metricspace.crypto.provider.";
+
+    /**
+     * Create a {@code PrimeFieldsProvider}.
+     */
+    // The String version constructor is not available before Java 9.
+    @SuppressWarnings("deprecation")
+    public PrimeFieldsProvider() {
+        super(NAME, 1.0,
+              "PrimeFields X25519, Ed25519, M-221, M-383, and M-511");
+
+        service("KeyPairGenerator", KeyType.X25519,
+                "PrimeFieldsKeyPairGenerator$X25519");
+        service("KeyFactory", KeyType.X25519, "PrimeFieldsKeyFactory$X25519");
+        service("KeyAgreement", KeyType.X25519, "XDHKeyAgreement$X25519");
+        service("KeyPairGenerator", KeyType.ED25519,
+                "PrimeFieldsKeyPairGenerator$Ed25519");
+        service("KeyFactory", KeyType.ED25519,
+                "PrimeFieldsKeyFactory$Ed25519");
+        service("Signature", KeyType.ED25519, "Ed25519Signature");
+        service("KeyPairGenerator", KeyType.M221,
+                "PrimeFieldsKeyPairGenerator$M221");
+        service("KeyAgreement", KeyType.M221, "XDHKeyAgreement$M221");
+        service("KeyPairGenerator", KeyType.M383,
+                "PrimeFieldsKeyPairGenerator$M383");
+        service("KeyAgreement", KeyType.M383, "XDHKeyAgreement$M383");
+        service("KeyPairGenerator", KeyType.M511,
+                "PrimeFieldsKeyPairGenerator$M511");
+        service("KeyAgreement", KeyType.M511, "XDHKeyAgreement$M511");
+    }
+
+    /**
+     * Register a service for a type of key, with aliases for the
+     * algorithm name and object identifier if the type has them.
+     *
+     * @param service The type of service.
+     * @param type The type of key.
+     * @param impl The implementation class, within this package.
+     */
+    private void service(final String service,
+                         final KeyType type,
+                         final String impl) {
+        put(service + "." + type.curve, PACKAGE + impl);
+
+        if (type.oid != null) {
+            put("Alg.Alias." + service + "." + type.algorithm, type.curve);
+            put("Alg.Alias." + service + "." + type.oid, type.curve);
+            put("Alg.Alias." + service + ".OID." + type.oid, type.curve);
+        }
+    }
+}
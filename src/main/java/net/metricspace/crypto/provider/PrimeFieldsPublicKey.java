@@ -0,0 +1,129 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+
+/**
+ * Public keys produced by {@link PrimeFieldsProvider}.
+ */
+public final class PrimeFieldsPublicKey implements PublicKey {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The type of key.
+     */
+    final KeyType type;
+
+    /**
+     * The raw key.
+     */
+    final byte[] raw;
+
+    /**
+     * Initialize a {@code PrimeFieldsPublicKey}.  The key is
+     * <i>not</i> copied.
+     *
+     * @param type The type of key.
+     * @param raw The raw key.
+     */
+    PrimeFieldsPublicKey(final KeyType type,
+                         final byte[] raw) {
+        this.type = type;
+        this.raw = raw;
+    }
+
+    /**
+     * Get the name of the curve.
+     *
+     * @return The name of the curve.
+     */
+    public String getCurve() {
+        return type.curve;
+    }
+
+    /**
+     * Get the raw key.
+     *
+     * @return A copy of the raw key.
+     */
+    public byte[] getRaw() {
+        return raw.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAlgorithm() {
+        return type.algorithm;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFormat() {
+        return type.publicFormat();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getEncoded() {
+        return type.encodePublic(raw);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof PrimeFieldsPublicKey) {
+            final PrimeFieldsPublicKey key = (PrimeFieldsPublicKey)other;
+
+            return type == key.type && Arrays.equals(raw, key.raw);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return type.hashCode() ^ Arrays.hashCode(raw);
+    }
+}
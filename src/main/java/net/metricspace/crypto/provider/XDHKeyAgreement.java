@@ -0,0 +1,269 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+
+import javax.crypto.KeyAgreementSpi;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+import net.metricspace.crypto.math.curve.MontgomeryCurve;
+
+/**
+ * Key agreement over the Montgomery curves in {@link
+ * MontgomeryCurve}.  Each curve has its own subclass.
+ * <p>
+ * As in the JDK's XDH implementation, an all-zero shared secret,
+ * which results from a low-order public key, is rejected with an
+ * {@link InvalidKeyException}.
+ */
+public abstract class XDHKeyAgreement extends KeyAgreementSpi {
+    /**
+     * The type of keys.
+     */
+    private final KeyType type;
+
+    /**
+     * The curve.
+     */
+    private final MontgomeryCurve<?> curve;
+
+    /**
+     * The raw private key, or {@code null} if not initialized.
+     */
+    private byte[] privateKey = null;
+
+    /**
+     * The shared secret, or {@code null} if not yet computed.
+     */
+    private byte[] secret = null;
+
+    /**
+     * Initialize an {@code XDHKeyAgreement}.
+     *
+     * @param type The type of keys.
+     * @param curve The curve.
+     */
+    XDHKeyAgreement(final KeyType type,
+                    final MontgomeryCurve<?> curve) {
+        this.type = type;
+        this.curve = curve;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void engineInit(final Key key,
+                              final SecureRandom random)
+        throws InvalidKeyException {
+        final byte[] raw = type.rawPrivate(key);
+
+        clear();
+        privateKey = raw;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void engineInit(final Key key,
+                              final AlgorithmParameterSpec params,
+                              final SecureRandom random)
+        throws InvalidKeyException, InvalidAlgorithmParameterException {
+        if (params != null &&
+            !type.curve.equalsIgnoreCase(ParameterNames.name(params))) {
+            throw new InvalidAlgorithmParameterException("Unsupported " +
+                                                         "parameters " +
+                                                         params);
+        }
+
+        engineInit(key, random);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Key engineDoPhase(final Key key,
+                                final boolean lastPhase)
+        throws InvalidKeyException {
+        if (privateKey == null) {
+            throw new IllegalStateException("Not initialized");
+        }
+
+        if (!lastPhase) {
+            throw new IllegalStateException("Only two parties are " +
+                                            "supported");
+        }
+
+        final byte[] out = curve.agree(privateKey, type.rawPublic(key));
+        int acc = 0;
+
+        for(final byte b : out) {
+            acc |= b;
+        }
+
+        if (acc == 0) {
+            throw new InvalidKeyException("Public key has small order");
+        }
+
+        if (secret != null) {
+            Arrays.fill(secret, (byte)0);
+        }
+
+        secret = out;
+
+        return null;
+    }
+
+    /**
+     * Take the shared secret, resetting for the next agreement.
+     *
+     * @return The shared secret.
+     */
+    private byte[] take() {
+        if (secret == null) {
+            throw new IllegalStateException("No shared secret computed");
+        }
+
+        final byte[] out = secret;
+
+        secret = null;
+
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected byte[] engineGenerateSecret() {
+        return take();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int engineGenerateSecret(final byte[] sharedSecret,
+                                       final int offset)
+        throws ShortBufferException {
+        if (secret == null) {
+            throw new IllegalStateException("No shared secret computed");
+        }
+
+        if (sharedSecret.length - offset < secret.length) {
+            throw new ShortBufferException("Need " + secret.length +
+                                           " bytes");
+        }
+
+        final byte[] out = take();
+
+        System.arraycopy(out, 0, sharedSecret, offset, out.length);
+        Arrays.fill(out, (byte)0);
+
+        return out.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected SecretKey engineGenerateSecret(final String algorithm) {
+        final byte[] out = take();
+
+        try {
+            return new SecretKeySpec(out, algorithm);
+        } finally {
+            Arrays.fill(out, (byte)0);
+        }
+    }
+
+    /**
+     * Overwrite the private key and any shared secret.
+     */
+    private void clear() {
+        if (privateKey != null) {
+            Arrays.fill(privateKey, (byte)0);
+            privateKey = null;
+        }
+
+        if (secret != null) {
+            Arrays.fill(secret, (byte)0);
+            secret = null;
+        }
+    }
+
+    /**
+     * Key agreement over X25519.
+     */
+    public static final class X25519 extends XDHKeyAgreement {
+        public X25519() {
+            super(KeyType.X25519, MontgomeryCurve.X25519);
+        }
+    }
+
+    /**
+     * Key agreement over M-221.
+     */
+    public static final class M221 extends XDHKeyAgreement {
+        public M221() {
+            super(KeyType.M221, MontgomeryCurve.M221);
+        }
+    }
+
+    /**
+     * Key agreement over M-383.
+     */
+    public static final class M383 extends XDHKeyAgreement {
+        public M383() {
+            super(KeyType.M383, MontgomeryCurve.M383);
+        }
+    }
+
+    /**
+     * Key agreement over M-511.
+     */
+    public static final class M511 extends XDHKeyAgreement {
+        public M511() {
+            super(KeyType.M511, MontgomeryCurve.M511);
+        }
+    }
+}
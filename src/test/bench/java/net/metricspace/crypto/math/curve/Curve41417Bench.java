@@ -0,0 +1,141 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares point arithmetic on Curve41417 with the same operations
+ * on the Ed25519 curve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Curve41417Bench {
+    private Curve41417Point p41417;
+    private Curve41417Point q41417;
+    private Curve41417Point.Scratchpad scratch41417;
+    private byte[] scalar41417;
+    private Edwards25519Point p25519;
+    private Edwards25519Point q25519;
+    private Edwards25519Point.Scratchpad scratch25519;
+    private byte[] scalar25519;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(41417);
+
+        scalar41417 = new byte[Curve41417Point.SCALAR_BYTES];
+        random.nextBytes(scalar41417);
+        scalar41417[scalar41417.length - 1] &= 0x07;
+        scalar25519 = new byte[Edwards25519Point.ENCODED_BYTES];
+        random.nextBytes(scalar25519);
+        scalar25519[scalar25519.length - 1] &= 0x0f;
+        p41417 = Curve41417Point.mulBase(scalar41417);
+        q41417 = Curve41417Point.base();
+        scratch41417 = p41417.scratchpad();
+        p25519 = Ed25519.mulBase(scalar25519);
+        q25519 = Ed25519.base();
+        scratch25519 = p25519.scratchpad();
+    }
+
+    @Benchmark
+    public Curve41417Point add41417() {
+        p41417.add(q41417, scratch41417);
+
+        return p41417;
+    }
+
+    @Benchmark
+    public Edwards25519Point add25519() {
+        p25519.add(q25519, scratch25519);
+
+        return p25519;
+    }
+
+    @Benchmark
+    public Curve41417Point dbl41417() {
+        p41417.dbl(scratch41417);
+
+        return p41417;
+    }
+
+    @Benchmark
+    public Edwards25519Point dbl25519() {
+        p25519.dbl(scratch25519);
+
+        return p25519;
+    }
+
+    @Benchmark
+    public Curve41417Point mul41417() {
+        final Curve41417Point out = q41417.clone();
+
+        out.mul(scalar41417, scratch41417);
+
+        return out;
+    }
+
+    @Benchmark
+    public Edwards25519Point mul25519() {
+        final Edwards25519Point out = q25519.clone();
+
+        out.mul(scalar25519, scratch25519);
+
+        return out;
+    }
+
+    @Benchmark
+    public Curve41417Point mulBase41417() {
+        return Curve41417Point.mulBase(scalar41417);
+    }
+
+    @Benchmark
+    public Edwards25519Point mulBase25519() {
+        return Ed25519.mulBase(scalar25519);
+    }
+}
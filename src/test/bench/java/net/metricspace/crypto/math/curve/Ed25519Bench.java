@@ -0,0 +1,123 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Ed25519 signing, single verification, and batch
+ * verification against verifying the same batch one signature at a
+ * time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ed25519Bench {
+    @Param({ "1", "16", "64", "256" })
+    public int batch;
+
+    private Ed25519.SigningKey key;
+    private SecureRandom random;
+    private byte[][] pubs;
+    private byte[][] msgs;
+    private byte[][] sigs;
+
+    @Setup
+    public void setup() {
+        final Random rand = new Random(batch);
+        final byte[] priv = new byte[Ed25519.PRIVATE_KEY_BYTES];
+
+        random = new SecureRandom();
+        pubs = new byte[batch][];
+        msgs = new byte[batch][];
+        sigs = new byte[batch][];
+
+        for(int i = 0; i < batch; i++) {
+            rand.nextBytes(priv);
+            msgs[i] = new byte[64];
+            rand.nextBytes(msgs[i]);
+            pubs[i] = Ed25519.publicKey(priv);
+            sigs[i] = Ed25519.sign(priv, msgs[i]);
+        }
+
+        key = new Ed25519.SigningKey(priv);
+    }
+
+    @TearDown
+    public void teardown() {
+        key.destroy();
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return key.sign(msgs[0], 0, msgs[0].length);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return Ed25519.verify(pubs[0], msgs[0], sigs[0]);
+    }
+
+    @Benchmark
+    public boolean[] verifySequential() {
+        final boolean[] out = new boolean[batch];
+
+        for(int i = 0; i < batch; i++) {
+            out[i] = Ed25519.verify(pubs[i], msgs[i], sigs[i]);
+        }
+
+        return out;
+    }
+
+    @Benchmark
+    public boolean[] verifyBatch() {
+        return Ed25519.verifyBatch(pubs, msgs, sigs, random);
+    }
+}
@@ -0,0 +1,135 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares conversion between {@link ModE255M19} and {@link
+ * BigInteger} through {@link PrimeField#toBigInteger()} and {@link
+ * PrimeField#fromBigInteger}, against packing, reversing the bytes,
+ * and reducing wide values with {@code BigInteger.mod}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BigIntegerBench {
+    private ModE255M19 val;
+    private ModE255M19 out;
+    private BigInteger big;
+    private BigInteger wide;
+    private BigInteger modulus;
+
+    @Setup
+    public void setup() {
+        val = ModE255M19.mone();
+        val.div(3);
+        out = ModE255M19.zero();
+        big = val.toBigInteger();
+        modulus = ModE255M19.mone().toBigInteger().add(BigInteger.ONE);
+        wide = big.add(modulus.shiftLeft(250));
+    }
+
+    private static byte[] reverse(final byte[] bytes) {
+        final byte[] out = new byte[bytes.length];
+
+        for(int i = 0; i < bytes.length; i++) {
+            out[i] = bytes[bytes.length - 1 - i];
+        }
+
+        return out;
+    }
+
+    @Benchmark
+    public void toBigIntegerPacked(final Blackhole bh) {
+        bh.consume(new BigInteger(1, reverse(val.packed())));
+    }
+
+    @Benchmark
+    public void toBigInteger(final Blackhole bh) {
+        bh.consume(val.toBigInteger());
+    }
+
+    @Benchmark
+    public void fromBigIntegerPacked(final Blackhole bh) {
+        final byte[] be = big.toByteArray();
+        final byte[] packed = new byte[ModE255M19.PACKED_BYTES];
+
+        for(int i = 0; i < be.length && i < packed.length; i++) {
+            packed[i] = be[be.length - 1 - i];
+        }
+
+        out.unpack(packed);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void fromBigInteger(final Blackhole bh) {
+        out.fromBigInteger(big);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void fromWideMod(final Blackhole bh) {
+        final byte[] be = wide.mod(modulus).toByteArray();
+        final byte[] packed = new byte[ModE255M19.PACKED_BYTES];
+
+        for(int i = 0; i < be.length && i < packed.length; i++) {
+            packed[i] = be[be.length - 1 - i];
+        }
+
+        out.unpack(packed);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void fromWide(final Blackhole bh) {
+        out.fromBigInteger(wide);
+        bh.consume(out);
+    }
+}
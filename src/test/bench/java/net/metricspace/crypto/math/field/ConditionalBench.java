@@ -0,0 +1,190 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link PrimeField#cmov}, {@link PrimeField#cswap}, and
+ * {@link PrimeField#cneg} against the equivalent compositions of
+ * {@link PrimeField#mask(long)}, {@link PrimeField#or}, and {@link
+ * PrimeField#neg}, on the smallest and largest 5-digit and 10-digit
+ * fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionalBench {
+    private ModE255M19 a255;
+    private ModE255M19 b255;
+    private ModE255M19 tmp255;
+    private ModE521M1 a521;
+    private ModE521M1 b521;
+    private ModE521M1 tmp521;
+    private long bit;
+
+    @Setup
+    public void setup() {
+        a255 = ModE255M19.mone();
+        a255.div(3);
+        b255 = ModE255M19.one();
+        b255.div(7);
+        tmp255 = ModE255M19.zero();
+        a521 = ModE521M1.mone();
+        a521.div(3);
+        b521 = ModE521M1.one();
+        b521.div(7);
+        tmp521 = ModE521M1.zero();
+        bit = 1;
+    }
+
+    @Benchmark
+    public void cmov255(final Blackhole bh) {
+        a255.cmov(b255, bit);
+        bh.consume(a255);
+    }
+
+    @Benchmark
+    public void maskOrSelect255(final Blackhole bh) {
+        tmp255.set(b255);
+        tmp255.mask(bit);
+        a255.mask(bit ^ 0x1);
+        a255.or(tmp255);
+        bh.consume(a255);
+    }
+
+    @Benchmark
+    public void cswap255(final Blackhole bh) {
+        a255.cswap(b255, bit);
+        bh.consume(a255);
+    }
+
+    @Benchmark
+    public void maskOrSwap255(final Blackhole bh) {
+        final ModE255M19 copy = a255.clone();
+
+        tmp255.set(b255);
+        tmp255.mask(bit);
+        a255.mask(bit ^ 0x1);
+        a255.or(tmp255);
+        tmp255.set(copy);
+        tmp255.mask(bit);
+        b255.mask(bit ^ 0x1);
+        b255.or(tmp255);
+        bh.consume(a255);
+    }
+
+    @Benchmark
+    public void cneg255(final Blackhole bh) {
+        a255.cneg(bit);
+        bh.consume(a255);
+    }
+
+    @Benchmark
+    public void maskOrNeg255(final Blackhole bh) {
+        final ModE255M19 negated = a255.clone();
+
+        negated.neg();
+        negated.mask(bit);
+        a255.mask(bit ^ 0x1);
+        a255.or(negated);
+        bh.consume(a255);
+    }
+
+    @Benchmark
+    public void cmov521(final Blackhole bh) {
+        a521.cmov(b521, bit);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void maskOrSelect521(final Blackhole bh) {
+        tmp521.set(b521);
+        tmp521.mask(bit);
+        a521.mask(bit ^ 0x1);
+        a521.or(tmp521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void cswap521(final Blackhole bh) {
+        a521.cswap(b521, bit);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void maskOrSwap521(final Blackhole bh) {
+        final ModE521M1 copy = a521.clone();
+
+        tmp521.set(b521);
+        tmp521.mask(bit);
+        a521.mask(bit ^ 0x1);
+        a521.or(tmp521);
+        tmp521.set(copy);
+        tmp521.mask(bit);
+        b521.mask(bit ^ 0x1);
+        b521.or(tmp521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void cneg521(final Blackhole bh) {
+        a521.cneg(bit);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void maskOrNeg521(final Blackhole bh) {
+        final ModE521M1 negated = a521.clone();
+
+        negated.neg();
+        negated.mask(bit);
+        a521.mask(bit ^ 0x1);
+        a521.or(negated);
+        bh.consume(a521);
+    }
+}
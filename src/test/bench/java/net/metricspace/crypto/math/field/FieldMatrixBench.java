@@ -0,0 +1,184 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Times multiplication and solving of {@code n x n} {@link
+ * FieldMatrix} instances over {@link ModE255M19} and {@link
+ * ModE130M5}, serially and in parallel, against a naive triple loop
+ * over an array of field elements.
+ * <p>
+ * To measure scaling across cores, run with different sizes of the
+ * common pool, for example {@code
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=4}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class FieldMatrixBench {
+    @Param({"128", "256", "512"})
+    public int n;
+
+    @Param({"ModE130M5", "ModE255M19"})
+    public String field;
+
+    private PrimeField<?>[][] entries;
+    private FieldMatrix<?> a;
+    private FieldMatrix<?> b;
+
+    @Setup
+    public void setup() {
+        switch(field) {
+        case "ModE130M5":
+            setup(new ModE130M5(0));
+            break;
+        case "ModE255M19":
+            setup(new ModE255M19(0));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown field " + field);
+        }
+    }
+
+    private <F extends PrimeField<F>> void setup(final F proto) {
+        @SuppressWarnings("unchecked")
+        final F[][] values = (F[][])Array.newInstance(proto.getClass(), n, n);
+
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < n; j++) {
+                values[i][j] = proto.clone();
+                values[i][j].set((i * 7919) + j + 1);
+                values[i][j].div((j * 31) + i + 2);
+            }
+        }
+
+        final FieldMatrix<F> rhs = FieldMatrix.zero(n, 1, proto);
+
+        for(int i = 0; i < n; i++) {
+            rhs.set(i, 0, values[i][0]);
+        }
+
+        entries = values;
+        a = new FieldMatrix<>(values);
+        b = rhs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F extends PrimeField<F>> FieldMatrix<F>
+        mul(final FieldMatrix<?> x,
+            final FieldMatrix<?> y,
+            final boolean parallel) {
+        final FieldMatrix<F> fx = (FieldMatrix<F>)x;
+        final FieldMatrix<F> fy = (FieldMatrix<F>)y;
+
+        return parallel ? fx.mulParallel(fy) : fx.mul(fy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F extends PrimeField<F>> FieldMatrix<F>
+        solve(final FieldMatrix<?> x,
+              final FieldMatrix<?> y,
+              final boolean parallel) {
+        final FieldMatrix<F> fx = (FieldMatrix<F>)x;
+        final FieldMatrix<F> fy = (FieldMatrix<F>)y;
+
+        return parallel ? fx.solveParallel(fy) : fx.solve(fy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F extends PrimeField<F>> void
+        naive(final PrimeField<?>[][] values,
+              final Blackhole bh) {
+        final F[][] m = (F[][])values;
+        final int n = m.length;
+        final F term = m[0][0].clone();
+        final F sum = m[0][0].clone();
+
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < n; j++) {
+                sum.set(0);
+
+                for(int k = 0; k < n; k++) {
+                    term.set(m[i][k]);
+                    term.mul(m[k][j]);
+                    sum.add(term);
+                }
+
+                bh.consume(sum.digits[0]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void naiveMul(final Blackhole bh) {
+        naive(entries, bh);
+    }
+
+    @Benchmark
+    public void mul(final Blackhole bh) {
+        bh.consume(mul(a, a, false));
+    }
+
+    @Benchmark
+    public void mulParallel(final Blackhole bh) {
+        bh.consume(mul(a, a, true));
+    }
+
+    @Benchmark
+    public void solve(final Blackhole bh) {
+        bh.consume(solve(a, b, false));
+    }
+
+    @Benchmark
+    public void solveParallel(final Blackhole bh) {
+        bh.consume(solve(a, b, true));
+    }
+}
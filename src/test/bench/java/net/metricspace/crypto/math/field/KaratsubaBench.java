@@ -0,0 +1,162 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the schoolbook and Karatsuba multiplication and squaring
+ * kernels of {@link ModE414M17}, {@link ModE511M187}, and {@link
+ * ModE521M1}.  The results decide the default of each field's {@code
+ * KARATSUBA_PROPERTY}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KaratsubaBench {
+    private long[] a414;
+    private long[] b414;
+    private long[] a511;
+    private long[] b511;
+    private long[] a521;
+    private long[] b521;
+
+    @Setup
+    public void setup() {
+        final ModE414M17 x414 = ModE414M17.mone();
+        final ModE414M17 y414 = ModE414M17.one();
+        final ModE511M187 x511 = ModE511M187.mone();
+        final ModE511M187 y511 = ModE511M187.one();
+        final ModE521M1 x521 = ModE521M1.mone();
+        final ModE521M1 y521 = ModE521M1.one();
+
+        x414.div(3);
+        y414.div(7);
+        x511.div(3);
+        y511.div(7);
+        x521.div(3);
+        y521.div(7);
+        a414 = x414.digits.clone();
+        b414 = y414.digits.clone();
+        a511 = x511.digits.clone();
+        b511 = y511.digits.clone();
+        a521 = x521.digits.clone();
+        b521 = y521.digits.clone();
+    }
+
+    @Benchmark
+    public void mulSchoolbook414(final Blackhole bh) {
+        ModE414M17.mulDigitsSchoolbook(a414, b414, a414);
+        bh.consume(a414);
+    }
+
+    @Benchmark
+    public void mulKaratsuba414(final Blackhole bh) {
+        ModE414M17.mulDigitsKaratsuba(a414, b414, a414);
+        bh.consume(a414);
+    }
+
+    @Benchmark
+    public void squareSchoolbook414(final Blackhole bh) {
+        ModE414M17.squareDigitsSchoolbook(a414);
+        bh.consume(a414);
+    }
+
+    @Benchmark
+    public void squareKaratsuba414(final Blackhole bh) {
+        ModE414M17.squareDigitsKaratsuba(a414);
+        bh.consume(a414);
+    }
+
+    @Benchmark
+    public void mulSchoolbook511(final Blackhole bh) {
+        ModE511M187.mulDigitsSchoolbook(a511, b511, a511);
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void mulKaratsuba511(final Blackhole bh) {
+        ModE511M187.mulDigitsKaratsuba(a511, b511, a511);
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void squareSchoolbook511(final Blackhole bh) {
+        ModE511M187.squareDigitsSchoolbook(a511);
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void squareKaratsuba511(final Blackhole bh) {
+        ModE511M187.squareDigitsKaratsuba(a511);
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void mulSchoolbook521(final Blackhole bh) {
+        ModE521M1.mulDigitsSchoolbook(a521, b521, a521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void mulKaratsuba521(final Blackhole bh) {
+        ModE521M1.mulDigitsKaratsuba(a521, b521, a521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void squareSchoolbook521(final Blackhole bh) {
+        ModE521M1.squareDigitsSchoolbook(a521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void squareKaratsuba521(final Blackhole bh) {
+        ModE521M1.squareDigitsKaratsuba(a521);
+        bh.consume(a521);
+    }
+}
@@ -0,0 +1,205 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@code add-2008-hwcd-3} extended twisted Edwards
+ * addition formula using carried additions and subtractions against
+ * the same formula using {@link PrimeField#addLazy} and {@link
+ * PrimeField#subLazy}, on {@link ModE255M19} and {@link ModE521M1}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyEdwardsBench {
+    private ModE255M19[] p255;
+    private ModE255M19[] q255;
+    private ModE255M19[] tmp255;
+    private ModE521M1[] p521;
+    private ModE521M1[] q521;
+    private ModE521M1[] tmp521;
+
+    private static <V extends PrimeField<V>> V[] point(final V[] out,
+                                                       final V seed) {
+        for(int i = 0; i < out.length; i++) {
+            out[i] = seed.clone();
+            out[i].div(i + 3);
+        }
+
+        return out;
+    }
+
+    @Setup
+    public void setup() {
+        p255 = point(new ModE255M19[4], ModE255M19.mone());
+        q255 = point(new ModE255M19[4], ModE255M19.one());
+        tmp255 = point(new ModE255M19[6], ModE255M19.one());
+        p521 = point(new ModE521M1[4], ModE521M1.mone());
+        q521 = point(new ModE521M1[4], ModE521M1.one());
+        tmp521 = point(new ModE521M1[6], ModE521M1.one());
+    }
+
+    /**
+     * Add {@code q} into {@code p}, both in extended coordinates
+     * {@code (X, Y, Z, T)}, carrying after every addition.  The
+     * curve constant {@code 2d} is taken to be {@code q[3]}, which
+     * does not change the cost.
+     */
+    private static <V extends PrimeField<V>> void addCarried(final V[] p,
+                                                             final V[] q,
+                                                             final V[] tmp) {
+        final V a = tmp[0];
+        final V b = tmp[1];
+        final V c = tmp[2];
+        final V d = tmp[3];
+        final V e = tmp[4];
+        final V f = tmp[5];
+
+        a.set(p[1]);
+        a.sub(p[0]);
+        b.set(q[1]);
+        b.sub(q[0]);
+        a.mul(b);
+        b.set(p[1]);
+        b.add(p[0]);
+        c.set(q[1]);
+        c.add(q[0]);
+        b.mul(c);
+        c.set(p[3]);
+        c.mul(q[3]);
+        c.mul(q[3]);
+        d.set(p[2]);
+        d.mul(q[2]);
+        d.mul(2);
+        e.set(b);
+        e.sub(a);
+        b.add(a);
+        f.set(d);
+        f.sub(c);
+        d.add(c);
+        p[0].set(e);
+        p[0].mul(f);
+        p[1].set(d);
+        p[1].mul(b);
+        p[3].set(e);
+        p[3].mul(b);
+        p[2].set(f);
+        p[2].mul(d);
+    }
+
+    /**
+     * As {@link #addCarried}, but with lazy additions and
+     * subtractions.
+     */
+    private static <V extends PrimeField<V>> void addLazy(final V[] p,
+                                                          final V[] q,
+                                                          final V[] tmp) {
+        final V a = tmp[0];
+        final V b = tmp[1];
+        final V c = tmp[2];
+        final V d = tmp[3];
+        final V e = tmp[4];
+        final V f = tmp[5];
+
+        a.set(p[1]);
+        a.subLazy(p[0]);
+        b.set(q[1]);
+        b.subLazy(q[0]);
+        a.mul(b);
+        b.set(p[1]);
+        b.addLazy(p[0]);
+        c.set(q[1]);
+        c.addLazy(q[0]);
+        b.mul(c);
+        c.set(p[3]);
+        c.mul(q[3]);
+        c.mul(q[3]);
+        d.set(p[2]);
+        d.mul(q[2]);
+        d.mul(2);
+        e.set(b);
+        e.subLazy(a);
+        b.addLazy(a);
+        f.set(d);
+        f.subLazy(c);
+        d.addLazy(c);
+        p[0].set(e);
+        p[0].mul(f);
+        p[1].set(d);
+        p[1].mul(b);
+        p[3].set(e);
+        p[3].mul(b);
+        p[2].set(f);
+        p[2].mul(d);
+    }
+
+    @Benchmark
+    public void carried255(final Blackhole bh) {
+        addCarried(p255, q255, tmp255);
+        bh.consume(p255);
+    }
+
+    @Benchmark
+    public void lazy255(final Blackhole bh) {
+        addLazy(p255, q255, tmp255);
+        bh.consume(p255);
+    }
+
+    @Benchmark
+    public void carried521(final Blackhole bh) {
+        addCarried(p521, q521, tmp521);
+        bh.consume(p521);
+    }
+
+    @Benchmark
+    public void lazy521(final Blackhole bh) {
+        addLazy(p521, q521, tmp521);
+        bh.consume(p521);
+    }
+}
@@ -0,0 +1,135 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the Mersenne-specialized digit routines of {@link
+ * ModE521M1} against the generic pseudo-Mersenne routines of {@link
+ * ModE511M187}, which has the same digit layout.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MersenneBench {
+    private ModE511M187 a511;
+    private ModE511M187 b511;
+    private ModE511M187.Scratchpad scratch511;
+    private ModE521M1 a521;
+    private ModE521M1 b521;
+    private ModE521M1.Scratchpad scratch521;
+
+    @Setup
+    public void setup() {
+        a511 = ModE511M187.mone();
+        a511.div(3);
+        b511 = ModE511M187.one();
+        b511.div(7);
+        scratch511 = a511.scratchpad();
+        a521 = ModE521M1.mone();
+        a521.div(3);
+        b521 = ModE521M1.one();
+        b521.div(7);
+        scratch521 = a521.scratchpad();
+    }
+
+    @TearDown
+    public void teardown() {
+        scratch511.close();
+        scratch521.close();
+    }
+
+    @Benchmark
+    public void normalize511(final Blackhole bh) {
+        a511.normalize(scratch511);
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void normalize521(final Blackhole bh) {
+        a521.normalize(scratch521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void add511(final Blackhole bh) {
+        a511.add(b511);
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void add521(final Blackhole bh) {
+        a521.add(b521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void mul511(final Blackhole bh) {
+        a511.mul(b511);
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void mul521(final Blackhole bh) {
+        a521.mul(b521);
+        bh.consume(a521);
+    }
+
+    @Benchmark
+    public void square511(final Blackhole bh) {
+        a511.square();
+        bh.consume(a511);
+    }
+
+    @Benchmark
+    public void square521(final Blackhole bh) {
+        a521.square();
+        bh.consume(a521);
+    }
+}
@@ -0,0 +1,126 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares a product of {@code n} powers on {@link ModE255M19},
+ * computed as {@code n} independent exponentiations, against {@link
+ * PrimeField#multiPow} and {@link PublicOps#multiPow}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiPowBench {
+    @Param({"2", "8", "64"})
+    public int n;
+
+    private ModE255M19[] bases;
+    private byte[][] exponents;
+    private ModE255M19 out;
+    private ModE255M19 term;
+
+    @Setup
+    public void setup() {
+        bases = new ModE255M19[n];
+        exponents = new byte[n][32];
+
+        for(int i = 0; i < n; i++) {
+            bases[i] = ModE255M19.mone();
+            bases[i].div(i + 3);
+
+            for(int j = 0; j < 32; j++) {
+                exponents[i][j] = (byte)((i * 31 + j * 17) ^ 0x5a);
+            }
+
+            exponents[i][31] &= 0x7f;
+        }
+
+        out = ModE255M19.zero();
+        term = ModE255M19.zero();
+    }
+
+    @Benchmark
+    public void independent(final Blackhole bh) {
+        out.set(1);
+
+        for(int i = 0; i < n; i++) {
+            term.set(bases[i]);
+            term.pow(exponents[i]);
+            out.mul(term);
+        }
+
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void independentPublic(final Blackhole bh) {
+        out.set(1);
+
+        for(int i = 0; i < n; i++) {
+            term.set(bases[i]);
+            PublicOps.pow(term, exponents[i]);
+            out.mul(term);
+        }
+
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void straus(final Blackhole bh) {
+        PrimeField.multiPow(bases, exponents, out);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void bucketed(final Blackhole bh) {
+        PublicOps.multiPow(bases, exponents, out);
+        bh.consume(out);
+    }
+}
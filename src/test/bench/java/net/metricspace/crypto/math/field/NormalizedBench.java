@@ -0,0 +1,135 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares an encode-heavy sequence (sign, pack, zero test, and
+ * comparison of the same value) done through the {@link PrimeField}
+ * methods, each of which normalizes, against the same sequence
+ * through a reused {@link NormalizedElement}, which normalizes once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizedBench {
+    private ModE255M19 a255;
+    private ModE255M19 b255;
+    private NormalizedElement<ModE255M19> na255;
+    private NormalizedElement<ModE255M19> nb255;
+    private ModE521M1 a521;
+    private ModE521M1 b521;
+    private NormalizedElement<ModE521M1> na521;
+    private NormalizedElement<ModE521M1> nb521;
+    private PrimeField.Scratchpad scratch255;
+    private PrimeField.Scratchpad scratch521;
+    private byte[] out255;
+    private byte[] out521;
+
+    @Setup
+    public void setup() {
+        a255 = ModE255M19.mone();
+        a255.div(3);
+        b255 = ModE255M19.one();
+        b255.div(7);
+        na255 = new NormalizedElement<>(a255);
+        nb255 = new NormalizedElement<>(b255);
+        a521 = ModE521M1.mone();
+        a521.div(3);
+        b521 = ModE521M1.one();
+        b521.div(7);
+        na521 = new NormalizedElement<>(a521);
+        nb521 = new NormalizedElement<>(b521);
+        scratch255 = a255.scratchpad();
+        scratch521 = a521.scratchpad();
+        out255 = new byte[ModE255M19.PACKED_BYTES];
+        out521 = new byte[ModE521M1.PACKED_BYTES];
+    }
+
+    @Benchmark
+    public void repeated255(final Blackhole bh) {
+        a255.add(1);
+        bh.consume(a255.sign(scratch255));
+        a255.pack(out255, 0, scratch255);
+        bh.consume(a255.isZero(scratch255));
+        bh.consume(a255.eq(b255, scratch255));
+        bh.consume(out255);
+    }
+
+    @Benchmark
+    public void normalizedOnce255(final Blackhole bh) {
+        a255.add(1);
+        na255.set(a255, scratch255);
+        bh.consume(na255.sign(scratch255));
+        na255.pack(out255);
+        bh.consume(na255.isZero());
+        bh.consume(na255.eq(nb255));
+        bh.consume(out255);
+    }
+
+    @Benchmark
+    public void repeated521(final Blackhole bh) {
+        a521.add(1);
+        bh.consume(a521.sign(scratch521));
+        a521.pack(out521, 0, scratch521);
+        bh.consume(a521.isZero(scratch521));
+        bh.consume(a521.eq(b521, scratch521));
+        bh.consume(out521);
+    }
+
+    @Benchmark
+    public void normalizedOnce521(final Blackhole bh) {
+        a521.add(1);
+        na521.set(a521, scratch521);
+        bh.consume(na521.sign(scratch521));
+        na521.pack(out521);
+        bh.consume(na521.isZero());
+        bh.consume(na521.eq(nb521));
+        bh.consume(out521);
+    }
+}
@@ -0,0 +1,118 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares evaluation of a {@link Polynomial} over {@link
+ * ModE255M19} at as many points as it has coefficients, using
+ * Horner's method at each point, a subproduct tree, and parallel
+ * Horner; and times interpolation and multiplication at the same
+ * size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolynomialBench {
+    @Param({"256", "1024", "4096"})
+    public int n;
+
+    private Polynomial<ModE255M19> poly;
+    private ModE255M19[] points;
+    private ModE255M19[] out;
+
+    @Setup
+    public void setup() {
+        final ModE255M19[] coeffs = new ModE255M19[n];
+
+        points = new ModE255M19[n];
+        out = new ModE255M19[n];
+
+        for(int i = 0; i < n; i++) {
+            coeffs[i] = ModE255M19.mone();
+            coeffs[i].div(i + 3);
+            points[i] = ModE255M19.one();
+            points[i].div(i + 2);
+            out[i] = ModE255M19.zero();
+        }
+
+        poly = new Polynomial<>(coeffs);
+    }
+
+    @Benchmark
+    public void horner(final Blackhole bh) {
+        for(int i = 0; i < n; i++) {
+            poly.evaluate(points[i], out[i]);
+        }
+
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void tree(final Blackhole bh) {
+        poly.evaluate(points, out);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void parallel(final Blackhole bh) {
+        poly.evaluateParallel(points, out);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void interpolate(final Blackhole bh) {
+        bh.consume(Polynomial.interpolate(points, out));
+    }
+
+    @Benchmark
+    public void mul(final Blackhole bh) {
+        bh.consume(poly.mul(poly));
+    }
+}
@@ -0,0 +1,125 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the variable-time {@link PublicOps} against the
+ * constant-time exponentiation-based {@link PrimeField#legendre} and
+ * {@link PrimeField#inv}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicOpsBench {
+    private ModE255M19 a255;
+    private ModE521M1 a521;
+
+    @Setup
+    public void setup() {
+        a255 = ModE255M19.mone();
+        a255.div(3);
+        a521 = ModE521M1.mone();
+        a521.div(3);
+    }
+
+    @Benchmark
+    public byte legendre255() {
+        return a255.legendre();
+    }
+
+    @Benchmark
+    public byte legendreVarTime255() {
+        return PublicOps.legendre(a255);
+    }
+
+    @Benchmark
+    public ModE255M19 inv255() {
+        final ModE255M19 out = a255.clone();
+
+        out.inv();
+
+        return out;
+    }
+
+    @Benchmark
+    public ModE255M19 invVarTime255() {
+        final ModE255M19 out = a255.clone();
+
+        PublicOps.inv(out);
+
+        return out;
+    }
+
+    @Benchmark
+    public byte legendre521() {
+        return a521.legendre();
+    }
+
+    @Benchmark
+    public byte legendreVarTime521() {
+        return PublicOps.legendre(a521);
+    }
+
+    @Benchmark
+    public ModE521M1 inv521() {
+        final ModE521M1 out = a521.clone();
+
+        out.inv();
+
+        return out;
+    }
+
+    @Benchmark
+    public ModE521M1 invVarTime521() {
+        final ModE521M1 out = a521.clone();
+
+        PublicOps.inv(out);
+
+        return out;
+    }
+}
@@ -0,0 +1,147 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Security;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.KeyAgreement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares X25519 key agreement and Ed25519 signing and verification
+ * through {@link PrimeFieldsProvider} against the JDK's {@code SunEC}
+ * provider, through the same JCA calls.  The {@code SunEC} runs need
+ * Java 15 or later.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderBench {
+    @Param({ "PrimeFields", "SunEC" })
+    public String provider;
+
+    private KeyAgreement agreement;
+    private KeyPair x25519Ours;
+    private KeyPair x25519Theirs;
+    private KeyPairGenerator x25519Generator;
+    private Signature signer;
+    private Signature verifier;
+    private byte[] message;
+    private byte[] signature;
+
+    private static KeyPair load(final KeyPair kp,
+                                final String algorithm,
+                                final Provider provider)
+        throws GeneralSecurityException {
+        final KeyFactory kf = KeyFactory.getInstance(algorithm, provider);
+
+        return new KeyPair(kf.generatePublic(new X509EncodedKeySpec(
+                                                 kp.getPublic()
+                                                 .getEncoded())),
+                           kf.generatePrivate(new PKCS8EncodedKeySpec(
+                                                  kp.getPrivate()
+                                                  .getEncoded())));
+    }
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        final Provider p = provider.equals(PrimeFieldsProvider.NAME) ?
+            new PrimeFieldsProvider() : Security.getProvider(provider);
+
+        x25519Generator = KeyPairGenerator.getInstance("X25519", p);
+        x25519Ours = x25519Generator.generateKeyPair();
+        x25519Theirs = x25519Generator.generateKeyPair();
+        agreement = KeyAgreement.getInstance("X25519", p);
+
+        final KeyPair ed25519 =
+            load(KeyPairGenerator.getInstance("Ed25519", p)
+                 .generateKeyPair(), "Ed25519", p);
+
+        message = new byte[256];
+        signer = Signature.getInstance("Ed25519", p);
+        signer.initSign(ed25519.getPrivate());
+        verifier = Signature.getInstance("Ed25519", p);
+        verifier.initVerify(ed25519.getPublic());
+        signer.update(message);
+        signature = signer.sign();
+    }
+
+    @Benchmark
+    public byte[] x25519Agree() throws GeneralSecurityException {
+        agreement.init(x25519Ours.getPrivate());
+        agreement.doPhase(x25519Theirs.getPublic(), true);
+
+        return agreement.generateSecret();
+    }
+
+    @Benchmark
+    public KeyPair x25519Generate() {
+        return x25519Generator.generateKeyPair();
+    }
+
+    @Benchmark
+    public byte[] ed25519Sign() throws GeneralSecurityException {
+        signer.update(message);
+
+        return signer.sign();
+    }
+
+    @Benchmark
+    public boolean ed25519Verify() throws GeneralSecurityException {
+        verifier.update(message);
+
+        return verifier.verify(signature);
+    }
+}
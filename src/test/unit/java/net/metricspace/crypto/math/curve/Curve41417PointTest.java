@@ -0,0 +1,194 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import net.metricspace.crypto.math.field.ModE414M17;
+
+@Test(groups = "unit")
+public class Curve41417PointTest {
+    private static byte[] hex(final String s) {
+        final byte[] out = new byte[s.length() / 2];
+
+        for(int i = 0; i < out.length; i++) {
+            out[i] = (byte)Integer.parseInt(s.substring(2 * i, 2 * i + 2),
+                                            16);
+        }
+
+        return out;
+    }
+
+    private static final byte[] DBL =
+        hex("4533c18bcdaab3e1bcd0f0793d5892fba478ff9d8b48ef8530fb9bda" +
+            "8db173b22f4e6c35394ac5cfeef9d30da859e39e44dc14aa");
+
+    private static final byte[] TPL =
+        hex("fb479031514be41b969a81f107893d80c54413c709e4504a12421836" +
+            "465fd59b36c7ec9031156f18d1e2de128fda58438978fa85");
+
+    private static final byte[] SCALAR =
+        hex("0719abc45a73108c7916b4df1c35ae8b9ece5766bd7c42a734bd65f5" +
+            "0f9f7726633693446cfe386d010c24e4c7063038bc628e36");
+
+    private static final byte[] PRODUCT =
+        hex("fe4c99770db928b598608ab08cdb71cd30142acb1ee77c38bbd037fd" +
+            "b2c49d3b7985b1dd58b54cdb67abe362b30eddd1c0317b34");
+
+    /**
+     * The order of the base point, {@code 2^411 -
+     * 33364140863755142520810177694098385178984727200411208589594759}.
+     */
+    private static final byte[] ORDER =
+        hex("79af06e1a5710e1b18cf63ad38031c6fb3226070cf1424c93cebffff" +
+            "ffffffffffffffffffffffffffffffffffffffffffffff07");
+
+    @Test(description = "Test the base point")
+    public void baseTest() {
+        final Curve41417Point base = Curve41417Point.base();
+
+        Assert.assertTrue(base.isOnCurve());
+        Assert.assertEquals(base.affineY(), new ModE414M17(34));
+        Assert.assertEquals(base.affineX().bit(0), 1);
+    }
+
+    @Test(description = "Test doubling and addition")
+    public void addTest() {
+        final Curve41417Point p = Curve41417Point.base();
+        final Curve41417Point q = Curve41417Point.base();
+
+        p.dbl();
+        Assert.assertTrue(p.isOnCurve());
+        Assert.assertEquals(p.encoded(), DBL);
+        q.add(Curve41417Point.base());
+        Assert.assertEquals(q.encoded(), DBL);
+        q.add(Curve41417Point.base());
+        Assert.assertEquals(q.encoded(), TPL);
+        p.add(p);
+        p.sub(Curve41417Point.base());
+        Assert.assertEquals(p.encoded(), TPL);
+        p.sub(p);
+        Assert.assertEquals(p.encoded(),
+                            Curve41417Point.identity().encoded());
+    }
+
+    @Test(description = "Test scalar multiplication")
+    public void mulTest() {
+        final Curve41417Point p = Curve41417Point.base();
+
+        p.mul(SCALAR);
+        Assert.assertTrue(p.isOnCurve());
+        Assert.assertEquals(p.encoded(), PRODUCT);
+        Assert.assertEquals(Curve41417Point.mulBase(SCALAR).encoded(),
+                            PRODUCT);
+
+        final Curve41417Point l = Curve41417Point.base();
+
+        l.mul(ORDER);
+        Assert.assertEquals(l.encoded(),
+                            Curve41417Point.identity().encoded());
+    }
+
+    @Test(description = "Test the base point comb against a generic " +
+                        "multiplication")
+    public void mulBaseTest() {
+        final Random random = new Random(41417);
+
+        for(int i = 0; i < 32; i++) {
+            final byte[] scalar = new byte[Curve41417Point.SCALAR_BYTES];
+
+            if (i == 1) {
+                Arrays.fill(scalar, (byte)0xff);
+            } else if (i > 1) {
+                random.nextBytes(scalar);
+            }
+
+            scalar[scalar.length - 1] &= 0x7f;
+
+            final Curve41417Point expected = Curve41417Point.base();
+
+            expected.mul(scalar);
+            Assert.assertEquals(Curve41417Point.mulBase(scalar).encoded(),
+                                expected.encoded());
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          description = "Test that oversized base scalars are rejected")
+    public void mulBaseRangeTest() {
+        final byte[] scalar = new byte[Curve41417Point.SCALAR_BYTES];
+
+        scalar[scalar.length - 1] = (byte)0x80;
+        Curve41417Point.mulBase(scalar);
+    }
+
+    @Test(description = "Test point encoding and decoding")
+    public void encodingTest() {
+        final Curve41417Point p = Curve41417Point.base();
+        final Curve41417Point q = Curve41417Point.identity();
+
+        for(int i = 0; i < 16; i++) {
+            final byte[] enc = p.encoded();
+
+            Assert.assertEquals(q.decode(enc, 0), 1);
+            Assert.assertTrue(q.isOnCurve());
+            Assert.assertEquals(q.encoded(), enc);
+            p.dbl();
+            p.add(Curve41417Point.base());
+        }
+
+        // y = 2 has no x; y = p is not canonical.
+        final byte[] bad = new byte[Curve41417Point.ENCODED_BYTES];
+
+        bad[0] = 2;
+        Assert.assertEquals(q.decode(bad, 0), 0);
+        Assert.assertEquals(q.encoded(),
+                            Curve41417Point.identity().encoded());
+
+        final byte[] noncanonical = new byte[Curve41417Point.ENCODED_BYTES];
+
+        Arrays.fill(noncanonical, (byte)0xff);
+        noncanonical[0] = (byte)0xef;
+        noncanonical[noncanonical.length - 1] = 0x3f;
+        Assert.assertEquals(q.decode(noncanonical, 0), 0);
+
+        // The identity with the sign bit set.
+        final byte[] negzero = Curve41417Point.identity().encoded();
+
+        negzero[negzero.length - 1] |= (byte)0x80;
+        Assert.assertEquals(q.decode(negzero, 0), 0);
+    }
+}
@@ -0,0 +1,352 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public class Ed25519Test {
+    private static byte[] hex(final String s) {
+        final byte[] out = new byte[s.length() / 2];
+
+        for(int i = 0; i < out.length; i++) {
+            out[i] = (byte)Integer.parseInt(s.substring(2 * i, 2 * i + 2),
+                                            16);
+        }
+
+        return out;
+    }
+
+    @DataProvider(name = "rfc8032")
+    public Object[][] rfc8032Provider() {
+        return new Object[][] {
+            new Object[] {
+                "9d61b19deffd5a60ba844af492ec2cc4" +
+                "4449c5697b326919703bac031cae7f60",
+                "d75a980182b10ab7d54bfed3c964073a" +
+                "0ee172f3daa62325af021a68f707511a",
+                "",
+                "e5564300c360ac729086e2cc806e828a" +
+                "84877f1eb8e5d974d873e06522490155" +
+                "5fb8821590a33bacc61e39701cf9b46b" +
+                "d25bf5f0595bbe24655141438e7a100b"
+            },
+            new Object[] {
+                "4ccd089b28ff96da9db6c346ec114e0f" +
+                "5b8a319f35aba624da8cf6ed4fb8a6fb",
+                "3d4017c3e843895a92b70aa74d1b7ebc" +
+                "9c982ccf2ec4968cc0cd55f12af4660c",
+                "72",
+                "92a009a9f0d4cab8720e820b5f642540" +
+                "a2b27b5416503f8fb3762223ebdb69da" +
+                "085ac1e43e15996e458f3613d0f11d8c" +
+                "387b2eaeb4302aeeb00d291612bb0c00"
+            },
+            new Object[] {
+                "c5aa8df43f9f837bedb7442f31dcb7b1" +
+                "66d38535076f094b85ce3a2e0b4458f7",
+                "fc51cd8e6218a1a38da47ed00230f058" +
+                "0816ed13ba3303ac5deb911548908025",
+                "af82",
+                "6291d657deec24024827e69c3abe01a3" +
+                "0ce548a284743a445e3680d7db5ac3ac" +
+                "18ff9b538d16f290ae67f760984dc659" +
+                "4a7c15e9716ed28dc027beceea1ec40a"
+            }
+        };
+    }
+
+    @Test(dataProvider = "rfc8032",
+          description = "Test the RFC 8032 test vectors")
+    public void rfc8032Test(final String priv,
+                            final String pub,
+                            final String msg,
+                            final String sig) {
+        final byte[] message = hex(msg);
+
+        Assert.assertEquals(Ed25519.publicKey(hex(priv)), hex(pub));
+        Assert.assertEquals(Ed25519.sign(hex(priv), message), hex(sig));
+        Assert.assertTrue(Ed25519.verify(hex(pub), message, hex(sig)));
+    }
+
+    @Test(dataProvider = "rfc8032",
+          description = "Test rejection of altered signatures")
+    public void rejectTest(final String priv,
+                           final String pub,
+                           final String msg,
+                           final String sig) {
+        final byte[] message = hex(msg);
+
+        for(int i = 0; i < Ed25519.SIGNATURE_BYTES; i += 7) {
+            final byte[] bad = hex(sig);
+
+            bad[i] ^= 0x10;
+            Assert.assertFalse(Ed25519.verify(hex(pub), message, bad));
+        }
+
+        final byte[] longer = new byte[message.length + 1];
+
+        System.arraycopy(message, 0, longer, 0, message.length);
+        Assert.assertFalse(Ed25519.verify(hex(pub), longer, hex(sig)));
+        Assert.assertFalse(Ed25519.verify(Ed25519.publicKey(new byte[32]),
+                                          message, hex(sig)));
+    }
+
+    @Test(description = "Test rejection of non-canonical S")
+    public void nonCanonicalTest() {
+        final byte[] pub = hex("d75a980182b10ab7d54bfed3c964073a" +
+                               "0ee172f3daa62325af021a68f707511a");
+        final byte[] sig = hex("e5564300c360ac729086e2cc806e828a" +
+                               "84877f1eb8e5d974d873e06522490155" +
+                               "5fb8821590a33bacc61e39701cf9b46b" +
+                               "d25bf5f0595bbe24655141438e7a100b");
+        final Scalar25519 s = Scalar25519.fromBytes(sig, 32, 32);
+        // Add l to S, giving an equivalent but non-canonical value.
+        final byte[] l = hex("edd3f55c1a631258d69cf7a2def9de14" +
+                             "00000000000000000000000000000010");
+        int carry = 0;
+
+        for(int i = 0; i < 32; i++) {
+            final int v = (sig[32 + i] & 0xff) + (l[i] & 0xff) + carry;
+
+            sig[32 + i] = (byte)v;
+            carry = v >> 8;
+        }
+
+        Assert.assertEquals(Scalar25519.fromBytes(sig, 32, 32).eq(s), 1);
+        Assert.assertFalse(Ed25519.verify(pub, new byte[0], sig));
+    }
+
+    @Test(description = "Test point encoding and decoding")
+    public void encodingTest() {
+        final Edwards25519Point p = Ed25519.base();
+        final Edwards25519Point q = Edwards25519Point.identity();
+
+        for(int i = 0; i < 16; i++) {
+            final byte[] enc = p.encoded();
+
+            Assert.assertEquals(q.decode(enc, 0), 1);
+            Assert.assertTrue(q.isOnCurve());
+            Assert.assertEquals(q.encoded(), enc);
+            p.dbl();
+            p.add(Ed25519.base());
+        }
+
+        // y = 2 has no x; y = p is not canonical.
+        final byte[] bad = new byte[32];
+
+        bad[0] = 2;
+        Assert.assertEquals(q.decode(bad, 0), 0);
+        Assert.assertEquals(q.encoded(), Edwards25519Point.identity()
+                            .encoded());
+
+        final byte[] noncanonical = hex("edffffffffffffffffffffffffffffff" +
+                                        "ffffffffffffffffffffffffffffff7f");
+
+        Assert.assertEquals(q.decode(noncanonical, 0), 0);
+    }
+
+    @Test(description = "Test signing with an expanded key")
+    public void signingKeyTest() {
+        final byte[] priv = hex("4ccd089b28ff96da9db6c346ec114e0f" +
+                                "5b8a319f35aba624da8cf6ed4fb8a6fb");
+
+        try(final Ed25519.SigningKey key = new Ed25519.SigningKey(priv)) {
+            for(int i = 0; i < 8; i++) {
+                final byte[] msg = new byte[i * 13];
+
+                Assert.assertEquals(key.sign(msg, 0, msg.length),
+                                    Ed25519.sign(priv, msg));
+                Assert.assertTrue(Ed25519.verify(key.publicKey(), msg,
+                                                 key.sign(msg, 0,
+                                                          msg.length)));
+            }
+        }
+    }
+
+    @Test(description = "Test the base point comb against a generic " +
+                        "multiplication")
+    public void mulBaseTest() {
+        final Random random = new Random(0x25519);
+
+        for(int i = 0; i < 64; i++) {
+            final byte[] scalar = new byte[32];
+
+            if (i == 1) {
+                Arrays.fill(scalar, (byte)0xff);
+            } else if (i > 1) {
+                random.nextBytes(scalar);
+            }
+
+            scalar[31] &= 0x7f;
+
+            final Edwards25519Point expected = Ed25519.base();
+
+            expected.mul(scalar);
+            Assert.assertEquals(Ed25519.mulBase(scalar).encoded(),
+                                expected.encoded());
+        }
+    }
+
+    private static byte[][] sign(final int n,
+                                 final byte[][] pubs,
+                                 final byte[][] msgs) {
+        final Random random = new Random(n);
+        final byte[][] sigs = new byte[n][];
+
+        for(int i = 0; i < n; i++) {
+            final byte[] priv = new byte[32];
+
+            random.nextBytes(priv);
+            msgs[i] = new byte[i];
+            random.nextBytes(msgs[i]);
+            pubs[i] = Ed25519.publicKey(priv);
+            sigs[i] = Ed25519.sign(priv, msgs[i]);
+        }
+
+        return sigs;
+    }
+
+    @Test(description = "Test batch verification")
+    public void batchTest() {
+        final int n = 24;
+        final byte[][] pubs = new byte[n][];
+        final byte[][] msgs = new byte[n][];
+        final byte[][] sigs = sign(n, pubs, msgs);
+        final boolean[] all = new boolean[n];
+
+        Arrays.fill(all, true);
+        Assert.assertEquals(Ed25519.verifyBatch(pubs, msgs, sigs), all);
+
+        // Alter one message, one signature, and one public key.
+        msgs[3] = new byte[] { 1, 2, 3 };
+        sigs[7] = sigs[7].clone();
+        sigs[7][40] ^= 0x1;
+        pubs[11] = pubs[12];
+        // Truncate one signature, and make one R fail to decode.
+        sigs[17] = Arrays.copyOf(sigs[17], 63);
+        sigs[19] = sigs[19].clone();
+        Arrays.fill(sigs[19], 0, 32, (byte)0);
+        sigs[19][0] = 2;
+
+        final boolean[] result = Ed25519.verifyBatch(pubs, msgs, sigs);
+
+        for(int i = 0; i < n; i++) {
+            Assert.assertEquals(result[i],
+                                Ed25519.verify(pubs[i], msgs[i], sigs[i]));
+            Assert.assertEquals(result[i],
+                                Ed25519.verifyCofactored(pubs[i], msgs[i],
+                                                         sigs[i]));
+            Assert.assertEquals(result[i],
+                                i != 3 && i != 7 && i != 11 &&
+                                i != 17 && i != 19);
+        }
+
+        Assert.assertEquals(Ed25519.verifyBatch(new byte[0][],
+                                                new byte[0][],
+                                                new byte[0][]),
+                            new boolean[0]);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          description = "Test batch verification with mismatched arrays")
+    public void batchMismatchTest() {
+        Ed25519.verifyBatch(new byte[2][], new byte[2][], new byte[1][]);
+    }
+
+    @Test(description = "Test that batch verification is cofactored")
+    public void batchCofactorTest() throws Exception {
+        final byte[] priv = new byte[32];
+        final byte[] msg = new byte[] { 0x42 };
+        final byte[] pub = Ed25519.publicKey(priv);
+        final byte[] h = MessageDigest.getInstance("SHA-512").digest(priv);
+        // A point of order 8.
+        final Edwards25519Point torsion = Edwards25519Point.identity();
+
+        h[0] &= (byte)0xf8;
+        h[31] &= (byte)0x7f;
+        h[31] |= (byte)0x40;
+        Assert.assertEquals(torsion.decode(
+            hex("26e8958fc2b227b045c3f489f2ef98f0" +
+                "d5dfac05d3c63339b13802886d53fc05"), 0), 1);
+
+        // R = [r]B + T, S = r + k * a
+        final byte[] r = new byte[32];
+
+        r[0] = 7;
+
+        final Edwards25519Point bigR = Ed25519.mulBase(r);
+        final byte[] sig = new byte[64];
+
+        bigR.add(torsion);
+        bigR.encode(sig, 0);
+
+        final MessageDigest md = MessageDigest.getInstance("SHA-512");
+
+        md.update(sig, 0, 32);
+        md.update(pub);
+        md.update(msg);
+
+        final Scalar25519 k = Scalar25519.fromBytes(md.digest());
+
+        k.mul(Scalar25519.fromBytes(Arrays.copyOf(h, 32)));
+        k.add(Scalar25519.fromBytes(r));
+        k.encode(sig, 32);
+
+        Assert.assertFalse(Ed25519.verify(pub, msg, sig));
+        Assert.assertTrue(Ed25519.verifyCofactored(pub, msg, sig));
+        Assert.assertEquals(Ed25519.verifyBatch(new byte[][] { pub },
+                                                new byte[][] { msg },
+                                                new byte[][] { sig },
+                                                new SecureRandom()),
+                            new boolean[] { true });
+
+        // A bad signature in the same batch forces the fallback, which
+        // must give the same answer for the cofactored one.
+        final byte[] bad = sig.clone();
+
+        bad[40] ^= 0x1;
+        Assert.assertFalse(Ed25519.verifyCofactored(pub, msg, bad));
+        Assert.assertEquals(Ed25519.verifyBatch(new byte[][] { pub, pub },
+                                                new byte[][] { msg, msg },
+                                                new byte[][] { sig, bad },
+                                                new SecureRandom()),
+                            new boolean[] { true, false });
+    }
+}
@@ -0,0 +1,196 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import net.metricspace.crypto.math.field.ModE255M19;
+
+@Test(groups = "unit")
+public class Edwards25519HashToCurveTest {
+    private static final byte[] RO_DST =
+        ("QUUX-V01-CS02-with-" + Edwards25519HashToCurve.HASH_SUITE)
+        .getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NU_DST =
+        ("QUUX-V01-CS02-with-" + Edwards25519HashToCurve.ENCODE_SUITE)
+        .getBytes(StandardCharsets.US_ASCII);
+
+    private static final String LONG_MSG = new String(new char[512])
+        .replace('\0', 'a');
+
+    private static BigInteger toBigInteger(final ModE255M19 v) {
+        final byte[] packed = v.packed();
+        final byte[] be = new byte[packed.length];
+
+        for(int i = 0; i < packed.length; i++) {
+            be[i] = packed[packed.length - 1 - i];
+        }
+
+        return new BigInteger(1, be);
+    }
+
+    private static void checkPoint(final Edwards25519Point p,
+                                   final String x,
+                                   final String y) {
+        Assert.assertTrue(p.isOnCurve());
+        Assert.assertEquals(toBigInteger(p.affineX()), new BigInteger(x, 16));
+        Assert.assertEquals(toBigInteger(p.affineY()), new BigInteger(y, 16));
+    }
+
+    @DataProvider(name = "hash")
+    public Object[][] hashProvider() {
+        return new Object[][] {
+            new Object[] {
+                "",
+                "3c3da6925a3c3c268448dcabb47ccde5" +
+                "439559d9599646a8260e47b1e4822fc6",
+                "09a6c8561a0b22bef63124c588ce4c62" +
+                "ea83a3c899763af26d795302e115dc21"
+            },
+            new Object[] {
+                "abc",
+                "608040b42285cc0d72cbb3985c6b04c9" +
+                "35370c7361f4b7fbdb1ae7f8c1a8ecad",
+                "1a8395b88338f22e435bbd301183e7f2" +
+                "0a5f9de643f11882fb237f88268a5531"
+            },
+            new Object[] {
+                "abcdef0123456789",
+                "6d7fabf47a2dc03fe7d47f7dddd21082" +
+                "c5fb8f86743cd020f3fb147d57161472",
+                "53060a3d140e7fbcda641ed3cf42c88a" +
+                "75411e648a1add71217f70ea8ec561a6"
+            },
+            new Object[] {
+                LONG_MSG,
+                "4d2774bf181e2c39c20a654aa41fc05e" +
+                "0849d61c909f5bfbaa463131e7935ea0",
+                "7771c473131cdd4193c37f0c0b25c57e" +
+                "222e20f36350266bd48789a169006f57"
+            }
+        };
+    }
+
+    @DataProvider(name = "encode")
+    public Object[][] encodeProvider() {
+        return new Object[][] {
+            new Object[] {
+                "",
+                "1ff2b70ecf862799e11b7ae744e3489a" +
+                "a058ce805dd323a936375a84695e76da",
+                "222e314d04a4d5725e9f2aff9fb2a6b6" +
+                "9ef375a1214eb19021ceab2d687f0f9b"
+            },
+            new Object[] {
+                "abc",
+                "5f13cc69c891d86927eb37bd4afc6672" +
+                "360007c63f68a33ab423a3aa040fd2a8",
+                "67732d50f9a26f73111dd1ed5dba2256" +
+                "14e538599db58ba30aaea1f5c827fa42"
+            },
+            new Object[] {
+                "abcdef0123456789",
+                "1dd2fefce934ecfd7aae6ec998de088d" +
+                "7dd03316aa1847198aecf699ba6613f1",
+                "2f8a6c24dd1adde73909cada6a4a1375" +
+                "77b0f179d336685c4a955a0a8e1a86fb"
+            },
+            new Object[] {
+                LONG_MSG,
+                "45eee885e773ea56dc313ade70e29286" +
+                "a66bf65cd3b018d9965e7a2bc6417764",
+                "0403e2a098092d98bb6635cb60d14f85" +
+                "3c8fb06fdde5f1c3251bee2b22d899cb"
+            }
+        };
+    }
+
+    @Test(dataProvider = "hash",
+          description = "Test hash_to_curve against known vectors")
+    public void hashToCurveTest(final String msg,
+                                final String x,
+                                final String y) {
+        checkPoint(Edwards25519HashToCurve.hashToCurve(
+                       msg.getBytes(StandardCharsets.US_ASCII), RO_DST),
+                   x, y);
+    }
+
+    @Test(dataProvider = "encode",
+          description = "Test encode_to_curve against known vectors")
+    public void encodeToCurveTest(final String msg,
+                                  final String x,
+                                  final String y) {
+        checkPoint(Edwards25519HashToCurve.encodeToCurve(
+                       msg.getBytes(StandardCharsets.US_ASCII), NU_DST),
+                   x, y);
+    }
+
+    @Test(description = "Test that the batch form matches single hashes")
+    public void batchTest() {
+        final Object[][] vectors = hashProvider();
+        final byte[][] msgs = new byte[vectors.length][];
+
+        for(int i = 0; i < msgs.length; i++) {
+            msgs[i] = ((String)vectors[i][0])
+                .getBytes(StandardCharsets.US_ASCII);
+        }
+
+        final Edwards25519Point[] points =
+            Edwards25519HashToCurve.hashToCurve(msgs, RO_DST);
+
+        Assert.assertEquals(points.length, msgs.length);
+
+        for(int i = 0; i < msgs.length; i++) {
+            checkPoint(points[i], (String)vectors[i][1],
+                       (String)vectors[i][2]);
+        }
+    }
+
+    @Test(description = "Test that the map lands on the curve")
+    public void mapToCurveTest() {
+        final ModE255M19 u = ModE255M19.zero();
+
+        for(int i = -40; i <= 40; i++) {
+            u.set(i);
+            u.mul(0x1234567);
+
+            Assert.assertTrue(Edwards25519HashToCurve.mapToCurve(u)
+                              .isOnCurve(), "u = " + i);
+        }
+    }
+}
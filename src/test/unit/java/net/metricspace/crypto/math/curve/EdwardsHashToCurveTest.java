@@ -0,0 +1,267 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import net.metricspace.crypto.math.field.HashToField;
+import net.metricspace.crypto.math.field.ModE222M117;
+import net.metricspace.crypto.math.field.ModE251M9;
+import net.metricspace.crypto.math.field.ModE382M105;
+import net.metricspace.crypto.math.field.ModE414M17;
+import net.metricspace.crypto.math.field.ModE521M1;
+import net.metricspace.crypto.math.field.PrimeField;
+
+@Test(groups = "unit")
+public class EdwardsHashToCurveTest {
+    private static final String CURVE1174_RO =
+        "TEST-Curve1174_XMD:SHA-512_ELL2_RO_";
+
+    private static final String CURVE1174_NU =
+        "TEST-Curve1174_XMD:SHA-512_ELL2_NU_";
+
+    private static final String E521_RO = "TEST-E521_XMD:SHA-512_ELL2_RO_";
+
+    private static byte[] ascii(final String str) {
+        return str.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static BigInteger toBigInteger(final PrimeField<?> v) {
+        final byte[] packed = v.packed();
+        final byte[] be = new byte[packed.length];
+
+        for(int i = 0; i < packed.length; i++) {
+            be[i] = packed[packed.length - 1 - i];
+        }
+
+        return new BigInteger(1, be);
+    }
+
+    private static <F extends PrimeField<F>> F fromLong(final F proto,
+                                                        final long v) {
+        final F out = proto.clone();
+
+        out.set((int)Math.abs(v));
+
+        if (v < 0) {
+            out.neg();
+        }
+
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F extends PrimeField<F>> F[] fresh(final F proto,
+                                                       final int len) {
+        final F[] out = (F[])Array.newInstance(proto.getClass(), len);
+
+        for(int i = 0; i < len; i++) {
+            out[i] = proto.clone();
+        }
+
+        return out;
+    }
+
+    private static <F extends PrimeField<F>>
+        EdwardsHashToCurve<F> curve(final F proto,
+                                    final long d,
+                                    final String dst,
+                                    final int securityBits) {
+        return new EdwardsHashToCurve<>(fromLong(proto, d), 2,
+                                        new HashToField("SHA-512",
+                                                        ascii(dst),
+                                                        securityBits));
+    }
+
+    private static <F extends PrimeField<F>>
+        boolean onCurve(final F d,
+                        final F x,
+                        final F y) {
+        final F x2 = x.clone();
+        final F y2 = y.clone();
+        final F lhs = x.clone();
+        final F rhs = d.clone();
+
+        x2.square();
+        y2.square();
+        lhs.set(x2);
+        lhs.add(y2);
+        rhs.mul(x2);
+        rhs.mul(y2);
+        rhs.add(1);
+
+        return lhs.equals(rhs);
+    }
+
+    @DataProvider(name = "curve1174")
+    public Object[][] curve1174Provider() {
+        return new Object[][] {
+            new Object[] {
+                CURVE1174_RO, "",
+                "3c1ab0762196f0af66a0701ccd533b16" +
+                "bbc54adfa33dfef6f99500f6c080434",
+                "7f0fd9c1f2e0ad3347ac6017aaccb4ae" +
+                "35167f546c70f139e4d51ed054b329"
+            },
+            new Object[] {
+                CURVE1174_NU, "",
+                "46675c8282b7d3d54e36edc7701fce0d" +
+                "09c6ba0a4765ba4170020d3a8c766d9",
+                "419c0fb93fba8d8b8c8480d81ad46629" +
+                "eecb49c22c36f004f91ff3fc753630e"
+            },
+            new Object[] {
+                CURVE1174_RO, "abc",
+                "43b64161431dfa9621d13e9eccd00938" +
+                "b28a255648c2437070e26968068a619",
+                "5b67be530b15e8b9f95ef1881d3ccd3f" +
+                "251271ab35540feff5c63c89cb03e57"
+            },
+            new Object[] {
+                CURVE1174_NU, "abc",
+                "3a324a8e1b797ad2caafe079d46c4753" +
+                "9ba7478df96e76fde33127d046519db",
+                "2d8b4e8c271214f8bceaf9bb3630f91d" +
+                "84ec733b9f209347b6d4327df1f1e21"
+            }
+        };
+    }
+
+    @Test(dataProvider = "curve1174",
+          description = "Test Curve1174 against reference vectors")
+    public void curve1174Test(final String dst,
+                              final String msg,
+                              final String x,
+                              final String y) {
+        final EdwardsHashToCurve<ModE251M9> curve =
+            curve(ModE251M9.zero(), -1174, dst, 128);
+        final ModE251M9 outx = ModE251M9.zero();
+        final ModE251M9 outy = ModE251M9.zero();
+
+        if (dst.equals(CURVE1174_RO)) {
+            curve.hashToCurve(ascii(msg), outx, outy);
+        } else {
+            curve.encodeToCurve(ascii(msg), outx, outy);
+        }
+
+        Assert.assertEquals(toBigInteger(outx), new BigInteger(x, 16));
+        Assert.assertEquals(toBigInteger(outy), new BigInteger(y, 16));
+    }
+
+    @Test(description = "Test E-521 against a reference vector")
+    public void e521Test() {
+        final EdwardsHashToCurve<ModE521M1> curve =
+            curve(ModE521M1.zero(), -376014, E521_RO, 256);
+        final ModE521M1 x = ModE521M1.zero();
+        final ModE521M1 y = ModE521M1.zero();
+
+        curve.hashToCurve(ascii("abc"), x, y);
+        Assert.assertEquals(toBigInteger(x), new BigInteger(
+            "175cb87676fd47984bed8131982a48c7f5af992b6d5d6137b68d4f98e59c" +
+            "140a57897997fa8676167db15f7a98fff8edc38a5c5eb5970497a4734759" +
+            "ba3da1547b2", 16));
+        Assert.assertEquals(toBigInteger(y), new BigInteger(
+            "1a6e22c5b1df8364541316578e0f547b58e50b25f67574b47e364072bbf8" +
+            "5b640e341d41ea7c20f6b9dc6d6642cc62a9f4f5309baf7f645825406968" +
+            "2f684cfafb", 16));
+    }
+
+    @Test(description = "Test that the batch form matches single hashes")
+    public void batchTest() {
+        final EdwardsHashToCurve<ModE251M9> curve =
+            curve(ModE251M9.zero(), -1174, CURVE1174_RO, 128);
+        final byte[][] msgs = new byte[17][];
+        final ModE251M9[] x = new ModE251M9[msgs.length];
+        final ModE251M9[] y = new ModE251M9[msgs.length];
+        final ModE251M9 ex = ModE251M9.zero();
+        final ModE251M9 ey = ModE251M9.zero();
+
+        for(int i = 0; i < msgs.length; i++) {
+            msgs[i] = ascii("message " + i);
+            x[i] = ModE251M9.zero();
+            y[i] = ModE251M9.zero();
+        }
+
+        curve.hashToCurve(msgs, x, y);
+
+        for(int i = 0; i < msgs.length; i++) {
+            curve.hashToCurve(msgs[i], ex, ey);
+            Assert.assertEquals(x[i], ex);
+            Assert.assertEquals(y[i], ey);
+        }
+    }
+
+    @DataProvider(name = "curves")
+    public Object[][] curvesProvider() {
+        return new Object[][] {
+            new Object[] { ModE222M117.zero(), 160102 },
+            new Object[] { ModE251M9.zero(), -1174 },
+            new Object[] { ModE382M105.zero(), -67254 },
+            new Object[] { ModE414M17.zero(), 3617 },
+            new Object[] { ModE521M1.zero(), -376014 }
+        };
+    }
+
+    @Test(dataProvider = "curves",
+          description = "Test that mapped points land on the curve")
+    public <F extends PrimeField<F>> void mapToCurveTest(final F proto,
+                                                        final long d) {
+        final EdwardsHashToCurve<F> curve = curve(proto, d, "tag", 128);
+        final F dval = fromLong(proto, d);
+        final F[] u = fresh(proto, 33);
+        final F[] x = fresh(proto, u.length);
+        final F[] y = fresh(proto, u.length);
+
+        for(int i = 0; i < u.length; i++) {
+            u[i].set(i - 16);
+            u[i].mul(0x1234567);
+        }
+
+        curve.mapToCurve(u, x, y);
+
+        for(int i = 0; i < u.length; i++) {
+            Assert.assertTrue(onCurve(dval, x[i], y[i]), "u index " + i);
+        }
+    }
+
+    @Test(description = "Test that a square d is rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void squareDTest() {
+        curve(ModE251M9.zero(), 4, CURVE1174_RO, 128);
+    }
+}
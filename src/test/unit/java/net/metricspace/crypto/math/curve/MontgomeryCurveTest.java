@@ -0,0 +1,197 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public class MontgomeryCurveTest {
+    private static byte[] hex(final String s) {
+        final byte[] out = new byte[s.length() / 2];
+
+        for(int i = 0; i < out.length; i++) {
+            out[i] = (byte)Integer.parseInt(s.substring(2 * i, 2 * i + 2),
+                                            16);
+        }
+
+        return out;
+    }
+
+    @DataProvider(name = "rfc7748")
+    public Object[][] rfc7748Provider() {
+        return new Object[][] {
+            new Object[] {
+                "a546e36bf0527c9d3b16154b82465edd" +
+                "62144c0ac1fc5a18506a2244ba449ac4",
+                "e6db6867583030db3594c1a424b15f7c" +
+                "726624ec26b3353b10a903a6d0ab1c4c",
+                "c3da55379de9c6908e94ea4df28d084f" +
+                "32eccf03491c71f754b4075577a28552"
+            },
+            new Object[] {
+                "4b66e9d4d1b4673c5ad22691957d6af5" +
+                "c11b6421e0ea01d42ca4169e7918ba0d",
+                "e5210f12786811d3f4b7959d0538ae2c" +
+                "31dbe7106fc03c3efc4cd549c715a493",
+                "95cbde9476e8907d7aade45cb4b873f8" +
+                "8b595a68799fa152e6f8f7647aac7957"
+            }
+        };
+    }
+
+    @Test(dataProvider = "rfc7748",
+          description = "Test the RFC 7748 X25519 test vectors")
+    public void rfc7748Test(final String scalar,
+                            final String u,
+                            final String out) {
+        Assert.assertEquals(MontgomeryCurve.X25519.scalarMult(hex(scalar),
+                                                              hex(u)),
+                            hex(out));
+    }
+
+    @Test(description = "Test the RFC 7748 iterated X25519 vector")
+    public void iterationTest() {
+        byte[] k = hex("09000000000000000000000000000000" +
+                       "00000000000000000000000000000000");
+        byte[] u = k.clone();
+
+        for(int i = 0; i < 1000; i++) {
+            final byte[] next = MontgomeryCurve.X25519.scalarMult(k, u);
+
+            u = k;
+            k = next;
+
+            if (i == 0) {
+                Assert.assertEquals(k, hex("422c8e7a6227d7bca1350b3e2bb7279f" +
+                                           "7897b87bb6854b783c60e80311ae3079"));
+            }
+        }
+
+        Assert.assertEquals(k, hex("684cf59ba83309552800ef566f2f4d3c" +
+                                   "1c3887c49360e3875f2eb94d99532c51"));
+    }
+
+    @DataProvider(name = "agreement")
+    public Object[][] agreementProvider() {
+        return new Object[][] {
+            new Object[] {
+                MontgomeryCurve.X25519,
+                "77076d0a7318a57d3c16c17251b26645" +
+                "df4c2f87ebc0992ab177fba51db92c2a",
+                "8520f0098930a754748b7ddcb43ef75a" +
+                "0dbf3a0d26381af4eba4a98eaa9b4e6a",
+                "5dab087e624a8a4b79e17f8b83800ee6" +
+                "6f3bb1292618b6fd1c2f8b27ff88e0eb",
+                "de9edb7d7b7dc1b4d35b61c2ece43537" +
+                "3f8343c85b78674dadfc7e146f882b4f",
+                "4a5d9d5ba4ce2de1728e3bf480350f25" +
+                "e07e21c947d19e3376f09b3c1e161742"
+            },
+            new Object[] {
+                MontgomeryCurve.M221,
+                "b3e04b3232558b1b072fbb948825c353" +
+                "a05abecd9d32bca40f8c7d73",
+                "90102125fa485ba29b9de86ac91a8c69" +
+                "3e0def7442909a388f7e150e",
+                "0b6919b5b4364a460941398047c0be70" +
+                "a9a11fc34c8df7d78c9cfb7f",
+                "c075020c8602b83238dec651fe1a2c74" +
+                "d88c62ed0491315734ec9e1f",
+                "d64e221027f21d242b1ccbbef705bcdd" +
+                "ca49df002b128c317f11a819"
+            },
+            new Object[] {
+                MontgomeryCurve.M383,
+                "2b73ae827eb11f837a6c7a0f89e2c2b7" +
+                "69134bc7b0b738202d9222a6a50003a2" +
+                "9f5d40833aeb269414b9b272c966cc4e",
+                "536b8aab26d696ca3071577fc0b6de7d" +
+                "2733ec298d733217e56d767fccb9aaf7" +
+                "594b89f4cdc99441e55597763d54472a",
+                "1bc0a92e86ad451eef8bd68698fc8c17" +
+                "f03477c985fc3450a086a8a7ff4bb748" +
+                "3bbc9d654485bad0f44494704b087bd2",
+                "871eaaeee1b910db1ebbb0a4c28e9e7f" +
+                "a7ad1766c6e823c9482414f531da3b30" +
+                "db2f25673621addd5b3d90cce42ebb36",
+                "e3a9a8be745cc7078a99bd9d8c4c1753" +
+                "cd15c9575ccf133510c2b42115ae6646" +
+                "fd650a57a5493bf4f660a1fb2c44084a"
+            },
+            new Object[] {
+                MontgomeryCurve.M511,
+                "f4b0ca0756713dfa96e809d9898f8099" +
+                "aca75c03e7803b9f979f03ff46951bd3" +
+                "3dd82ea411f10154db24019910135ae5" +
+                "c858c55c76d4adaa3fb76267b116b864",
+                "bc18d79ebc5d826da41d8a79b6862f8c" +
+                "056d6b3e6a479d017a241e51258c037a" +
+                "8204e6ca01e395b96048d3a6f9cedd1b" +
+                "3bfc2477717ff81a2cc7ea02bfdb4334",
+                "9a0857868826f912dce15e5fe50c306e" +
+                "5c8a726e219629878a2f71595b33ca0e" +
+                "21b6c61d77b78b57e4663aad11f41d52" +
+                "59fc25e919e7743e3debaa47060d6b18",
+                "4142d76422a7c0ac5da85a2af80eab49" +
+                "94d006a5fa31256311f119adfc0ce120" +
+                "9b046876df3a3619f056c2d29fd07f54" +
+                "263aaf30124db8f59dfb86e16f153f41",
+                "56fb014b257de2e910532b7bcf5e64f2" +
+                "bce5ecc32e192d3ff3a3f3f18ea655b6" +
+                "6f8658c17ee25ff8095e91807634242d" +
+                "1b7737e27508f9361149f7315ff0dd13"
+            }
+        };
+    }
+
+    @Test(dataProvider = "agreement",
+          description = "Test key generation and agreement")
+    public void agreementTest(final MontgomeryCurve<?> curve,
+                              final String privA,
+                              final String pubA,
+                              final String privB,
+                              final String pubB,
+                              final String shared) {
+        Assert.assertEquals(curve.publicKey(hex(privA)), hex(pubA));
+        Assert.assertEquals(curve.publicKey(hex(privB)), hex(pubB));
+        Assert.assertEquals(curve.agree(hex(privA), hex(pubB)), hex(shared));
+        Assert.assertEquals(curve.agree(hex(privB), hex(pubA)), hex(shared));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          description = "Test that short keys are rejected")
+    public void shortKeyTest() {
+        MontgomeryCurve.M383.publicKey(new byte[32]);
+    }
+}
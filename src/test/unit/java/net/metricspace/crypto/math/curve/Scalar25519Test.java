@@ -0,0 +1,151 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.curve;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public class Scalar25519Test {
+    private static final BigInteger L =
+        BigInteger.ONE.shiftLeft(252)
+        .add(new BigInteger("27742317777372353535851937790883648493"));
+
+    private static byte[] littleEndian(final BigInteger v,
+                                       final int len) {
+        final byte[] out = new byte[len];
+
+        for(int i = 0; i < len; i++) {
+            out[i] = v.shiftRight(i * 8).byteValue();
+        }
+
+        return out;
+    }
+
+    private static BigInteger toBigInteger(final Scalar25519 s) {
+        final byte[] le = s.encoded();
+        final byte[] be = new byte[le.length];
+
+        for(int i = 0; i < le.length; i++) {
+            be[i] = le[le.length - 1 - i];
+        }
+
+        return new BigInteger(1, be);
+    }
+
+    @DataProvider(name = "values")
+    public Object[][] valuesProvider() {
+        final Random random = new Random(0x25519);
+        final Object[][] out = new Object[40][];
+        final BigInteger max = BigInteger.ONE.shiftLeft(512);
+
+        out[0] = new Object[] { BigInteger.ZERO, BigInteger.ONE };
+        out[1] = new Object[] { L.subtract(BigInteger.ONE), L };
+        out[2] = new Object[] { max.subtract(BigInteger.ONE),
+                                L.add(BigInteger.ONE) };
+        out[3] = new Object[] { BigInteger.ONE.shiftLeft(261),
+                                BigInteger.ONE.shiftLeft(255)
+                                .subtract(BigInteger.ONE) };
+
+        for(int i = 4; i < out.length; i++) {
+            out[i] = new Object[] { new BigInteger(512, random),
+                                    new BigInteger(256, random) };
+        }
+
+        return out;
+    }
+
+    @Test(dataProvider = "values",
+          description = "Test reduction of wide values")
+    public void reduceTest(final BigInteger a,
+                           final BigInteger b) {
+        Assert.assertEquals(toBigInteger(Scalar25519.fromBytes(
+                                             littleEndian(a, 64))),
+                            a.mod(L));
+        Assert.assertEquals(toBigInteger(Scalar25519.fromBytes(
+                                             littleEndian(b, 32))),
+                            b.mod(L));
+    }
+
+    @Test(dataProvider = "values",
+          description = "Test scalar arithmetic")
+    public void arithTest(final BigInteger a,
+                          final BigInteger b) {
+        final Scalar25519 x = Scalar25519.fromBytes(littleEndian(a, 64));
+        final Scalar25519 y = Scalar25519.fromBytes(littleEndian(b, 32));
+        final Scalar25519 sum = x.clone();
+        final Scalar25519 diff = x.clone();
+        final Scalar25519 prod = x.clone();
+        final Scalar25519 neg = y.clone();
+        final Scalar25519 sq = x.clone();
+
+        sum.add(y);
+        diff.sub(y);
+        prod.mul(y);
+        neg.neg();
+        sq.square();
+
+        Assert.assertEquals(toBigInteger(sum), a.add(b).mod(L));
+        Assert.assertEquals(toBigInteger(diff), a.subtract(b).mod(L));
+        Assert.assertEquals(toBigInteger(prod), a.multiply(b).mod(L));
+        Assert.assertEquals(toBigInteger(neg), b.negate().mod(L));
+        Assert.assertEquals(toBigInteger(sq), a.multiply(a).mod(L));
+        Assert.assertEquals(x.eq(x.clone()), 1);
+        Assert.assertEquals(diff.isZero(),
+                            a.subtract(b).mod(L).signum() == 0 ? 1 : 0);
+    }
+
+    @Test(description = "Test the canonical encoding check")
+    public void canonicalTest() {
+        Assert.assertTrue(Scalar25519.isCanonical(
+                              littleEndian(L.subtract(BigInteger.ONE), 32),
+                              0));
+        Assert.assertTrue(Scalar25519.isCanonical(new byte[32], 0));
+        Assert.assertFalse(Scalar25519.isCanonical(littleEndian(L, 32), 0));
+        Assert.assertFalse(Scalar25519.isCanonical(
+                               littleEndian(L.add(BigInteger.ONE), 32), 0));
+        Assert.assertFalse(Scalar25519.isCanonical(
+                               littleEndian(BigInteger.ONE.shiftLeft(255)
+                                            .subtract(BigInteger.ONE), 32),
+                               0));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          description = "Test that overlong inputs are rejected")
+    public void tooLongTest() {
+        Scalar25519.fromBytes(new byte[65]);
+    }
+}
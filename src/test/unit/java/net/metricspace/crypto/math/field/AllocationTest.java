@@ -0,0 +1,207 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that the in-place operations of every field allocate
+ * nothing, by measuring the bytes allocated by the current thread
+ * over many calls.  Each operation is warmed up first, so that
+ * one-time setup (thread-local scratchpads, cached tables, class
+ * initialization) is not counted.
+ */
+@Test(groups = "unit")
+public class AllocationTest {
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 200;
+    private static final int ROUNDS = 3;
+
+    private interface Op<F extends PrimeField<F>> {
+        void run(final F a,
+                 final F b,
+                 final byte[] buf,
+                 final PrimeField.Scratchpad scratch);
+    }
+
+    @DataProvider(name = "fields")
+    public Object[][] fieldsProvider() {
+        return new Object[][] {
+            new Object[] { ModE130M5.zero() },
+            new Object[] { ModE221M3.zero() },
+            new Object[] { ModE222M117.zero() },
+            new Object[] { ModE251M9.zero() },
+            new Object[] { ModE255M19.zero() },
+            new Object[] { ModE382M105.zero() },
+            new Object[] { ModE383M187.zero() },
+            new Object[] { ModE414M17.zero() },
+            new Object[] { ModE511M187.zero() },
+            new Object[] { ModE521M1.zero() }
+        };
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        final java.lang.management.ThreadMXBean threads =
+            ManagementFactory.getThreadMXBean();
+
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            throw new SkipException("Allocation counting not available");
+        }
+
+        final com.sun.management.ThreadMXBean out =
+            (com.sun.management.ThreadMXBean)threads;
+
+        if (!out.isThreadAllocatedMemorySupported()) {
+            throw new SkipException("Allocation counting not available");
+        }
+
+        out.setThreadAllocatedMemoryEnabled(true);
+
+        return out;
+    }
+
+    private static <F extends PrimeField<F>> Map<String, Op<F>> ops() {
+        final Map<String, Op<F>> ops = new LinkedHashMap<>();
+
+        ops.put("set", (a, b, buf, s) -> a.set(b));
+        ops.put("set int", (a, b, buf, s) -> a.set(5));
+        ops.put("add", (a, b, buf, s) -> a.add(b));
+        ops.put("add long", (a, b, buf, s) -> a.add(7));
+        ops.put("sub", (a, b, buf, s) -> a.sub(b));
+        ops.put("sub long", (a, b, buf, s) -> a.sub(7));
+        ops.put("addLazy", (a, b, buf, s) -> { a.addLazy(b); a.carry(); });
+        ops.put("subLazy", (a, b, buf, s) -> { a.subLazy(b); a.carry(); });
+        ops.put("mul", (a, b, buf, s) -> a.mul(b));
+        ops.put("mul int", (a, b, buf, s) -> a.mul(-3));
+        ops.put("square", (a, b, buf, s) -> a.square());
+        ops.put("neg", (a, b, buf, s) -> a.neg());
+        ops.put("halve", (a, b, buf, s) -> a.halve(s));
+        ops.put("div", (a, b, buf, s) -> a.div(b, s));
+        ops.put("div small", (a, b, buf, s) -> a.div(3, s));
+        ops.put("div large", (a, b, buf, s) -> a.div(1000, s));
+        ops.put("inv", (a, b, buf, s) -> a.inv(s));
+        ops.put("sqrt", (a, b, buf, s) -> a.sqrt(s));
+        ops.put("invSqrt", (a, b, buf, s) -> a.invSqrt(s));
+        ops.put("legendre", (a, b, buf, s) -> a.legendre(s));
+        ops.put("normalize", (a, b, buf, s) -> a.normalize(s));
+        ops.put("eq", (a, b, buf, s) -> a.eq(b, s));
+        ops.put("equals", (a, b, buf, s) -> a.equals(b, s));
+        ops.put("isZero", (a, b, buf, s) -> a.isZero(s));
+        ops.put("sign", (a, b, buf, s) -> a.sign(s));
+        ops.put("signum", (a, b, buf, s) -> a.signum(s));
+        ops.put("cmov", (a, b, buf, s) -> a.cmov(b, 1));
+        ops.put("cswap", (a, b, buf, s) -> a.cswap(b, 1));
+        ops.put("cneg", (a, b, buf, s) -> a.cneg(1));
+        ops.put("pack", (a, b, buf, s) -> a.pack(buf, 0, s));
+        ops.put("unpack", (a, b, buf, s) -> a.unpack(buf, 0));
+
+        return ops;
+    }
+
+    private static <F extends PrimeField<F>> void run(final Op<F> op,
+                                                      final F a,
+                                                      final F b,
+                                                      final byte[] buf,
+                                                      final int count) {
+        try(final PrimeField.Scratchpad scratch = a.scratchpad()) {
+            for(int i = 0; i < count; i++) {
+                op.run(a, b, buf, scratch);
+            }
+        }
+    }
+
+    /**
+     * Measure the bytes allocated by {@link #ITERATIONS} calls to an
+     * operation.  The JVM itself occasionally allocates a few bytes
+     * on the current thread, so this takes the least of several
+     * rounds; an allocation in the operation itself shows up in
+     * every round, and is at least {@link #ITERATIONS} bytes.
+     */
+    private static <F extends PrimeField<F>> long measure(final Op<F> op,
+                                                          final F a,
+                                                          final F b,
+                                                          final byte[] buf) {
+        final com.sun.management.ThreadMXBean threads = threads();
+        final long id = Thread.currentThread().getId();
+        long least = Long.MAX_VALUE;
+
+        run(op, a, b, buf, WARMUP);
+
+        for(int i = 0; i < ROUNDS; i++) {
+            final long start = threads.getThreadAllocatedBytes(id);
+
+            run(op, a, b, buf, ITERATIONS);
+            least = Math.min(least,
+                             threads.getThreadAllocatedBytes(id) - start);
+        }
+
+        return least;
+    }
+
+    @Test(description = "Test that allocations are detected")
+    public void measureTest() {
+        final ModE255M19 a = ModE255M19.zero();
+        final byte[] buf = a.packed();
+        final Op<ModE255M19> op = (x, y, arr, s) -> x.packed(s);
+
+        Assert.assertTrue(measure(op, a, a.clone(), buf) >=
+                          ITERATIONS * buf.length);
+    }
+
+    @Test(dataProvider = "fields",
+          description = "Test that in-place operations do not allocate")
+    public <F extends PrimeField<F>> void allocationTest(final F proto) {
+        final F a = proto.clone();
+        final F b = proto.clone();
+        final byte[] buf = a.packed();
+
+        for(final Map.Entry<String, Op<F>> e : AllocationTest.<F>ops()
+                                                   .entrySet()) {
+            a.set(3);
+            b.set(-11);
+
+            final long allocated = measure(e.getValue(), a, b, buf);
+
+            Assert.assertTrue(allocated < ITERATIONS,
+                              proto.getClass().getSimpleName() + "." +
+                              e.getKey() + " allocated " + allocated +
+                              " bytes over " + ITERATIONS + " calls");
+        }
+    }
+}
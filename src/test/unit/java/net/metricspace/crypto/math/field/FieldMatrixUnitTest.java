@@ -0,0 +1,232 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.reflect.Array;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public abstract class FieldMatrixUnitTest<P extends PrimeField<P>> {
+    protected abstract P createEmpty();
+
+    @SuppressWarnings("unchecked")
+    private P[][] values(final int rows,
+                         final int cols,
+                         final int seed) {
+        final P proto = createEmpty();
+        final P[][] out = (P[][])Array.newInstance(proto.getClass(),
+                                                   rows, cols);
+
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                out[i][j] = createEmpty();
+                out[i][j].set((i * 7919) + (j * 104729) + seed);
+                out[i][j].div((i * 31) + (j * 17) + seed + 1);
+            }
+        }
+
+        return out;
+    }
+
+    private P[][] naiveMul(final P[][] a,
+                           final P[][] b) {
+        final P[][] out = values(a.length, b[0].length, 0);
+        final P term = createEmpty();
+
+        for(int i = 0; i < a.length; i++) {
+            for(int j = 0; j < b[0].length; j++) {
+                out[i][j].set(0);
+
+                for(int k = 0; k < b.length; k++) {
+                    term.set(a[i][k]);
+                    term.mul(b[k][j]);
+                    out[i][j].add(term);
+                }
+            }
+        }
+
+        return out;
+    }
+
+    private void assertEntries(final FieldMatrix<P> actual,
+                               final P[][] expected) {
+        final P entry = createEmpty();
+
+        Assert.assertEquals(actual.rows(), expected.length);
+        Assert.assertEquals(actual.cols(), expected[0].length);
+
+        for(int i = 0; i < expected.length; i++) {
+            for(int j = 0; j < expected[0].length; j++) {
+                actual.get(i, j, entry);
+                Assert.assertEquals(entry, expected[i][j],
+                                    "Entry (" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    private void assertIdentity(final FieldMatrix<P> actual) {
+        final P[][] expected = values(actual.rows(), actual.cols(), 0);
+
+        for(int i = 0; i < expected.length; i++) {
+            for(int j = 0; j < expected[0].length; j++) {
+                expected[i][j].set(i == j ? 1 : 0);
+            }
+        }
+
+        assertEntries(actual, expected);
+    }
+
+    @DataProvider(name = "shapes")
+    public Object[][] shapesProvider() {
+        return new Object[][] {
+            new Object[] { 1, 1, 1 },
+            new Object[] { 3, 5, 2 },
+            new Object[] { 32, 32, 32 },
+            new Object[] { 40, 33, 70 },
+            new Object[] { 65, 7, 1 }
+        };
+    }
+
+    @Test(dataProvider = "shapes",
+          description = "Test multiplication against the naive method")
+    public void mulTest(final int n,
+                        final int k,
+                        final int m) {
+        final P[][] a = values(n, k, 3);
+        final P[][] b = values(k, m, 5);
+        final P[][] expected = naiveMul(a, b);
+        final FieldMatrix<P> ma = new FieldMatrix<>(a);
+        final FieldMatrix<P> mb = new FieldMatrix<>(b);
+
+        assertEntries(ma.mul(mb), expected);
+        assertEntries(ma.mulParallel(mb), expected);
+    }
+
+    @Test(description = "Test addition, subtraction, and transposition")
+    public void addSubTransposeTest() {
+        final P[][] a = values(5, 3, 3);
+        final P[][] b = values(5, 3, 5);
+        final P[][] sum = values(5, 3, 0);
+        final P[][] diff = values(5, 3, 0);
+        final P[][] trans = values(3, 5, 0);
+        final FieldMatrix<P> ma = new FieldMatrix<>(a);
+        final FieldMatrix<P> mb = new FieldMatrix<>(b);
+
+        for(int i = 0; i < 5; i++) {
+            for(int j = 0; j < 3; j++) {
+                sum[i][j].set(a[i][j]);
+                sum[i][j].add(b[i][j]);
+                diff[i][j].set(a[i][j]);
+                diff[i][j].sub(b[i][j]);
+                trans[j][i].set(a[i][j]);
+            }
+        }
+
+        assertEntries(ma.add(mb), sum);
+        assertEntries(ma.sub(mb), diff);
+        assertEntries(ma.transpose(), trans);
+    }
+
+    @DataProvider(name = "systems")
+    public Object[][] systemsProvider() {
+        return new Object[][] {
+            new Object[] { 1, 1 },
+            new Object[] { 5, 2 },
+            new Object[] { 32, 1 },
+            new Object[] { 33, 3 },
+            new Object[] { 70, 40 }
+        };
+    }
+
+    @Test(dataProvider = "systems",
+          description = "Test solving linear systems")
+    public void solveTest(final int n,
+                          final int m) {
+        final P[][] a = values(n, n, 7);
+        final P[][] b = values(n, m, 11);
+
+        // Force row swaps, in the first panel and in a later one.
+        a[0][0].set(0);
+
+        if (n > FieldMatrix.BLOCK) {
+            a[FieldMatrix.BLOCK][FieldMatrix.BLOCK].set(0);
+            a[FieldMatrix.BLOCK][0].set(0);
+        }
+
+        final FieldMatrix<P> ma = new FieldMatrix<>(a);
+        final FieldMatrix<P> mb = new FieldMatrix<>(b);
+
+        if (n > 1) {
+            assertEntries(ma.mul(ma.solve(mb)), b);
+            assertEntries(ma.mul(ma.solveParallel(mb)), b);
+        }
+    }
+
+    @Test(description = "Test matrix inversion")
+    public void inverseTest() {
+        final FieldMatrix<P> ma = new FieldMatrix<>(values(45, 45, 13));
+
+        assertIdentity(ma.mul(ma.inverse()));
+        assertIdentity(ma.inverse().mul(ma));
+        assertIdentity(FieldMatrix.identity(4, createEmpty()));
+    }
+
+    @Test(description = "Test that singular matrices are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void singularTest() {
+        final P[][] a = values(40, 40, 7);
+
+        // Make the last row a copy of the first.
+        for(int j = 0; j < 40; j++) {
+            a[39][j].set(a[0][j]);
+        }
+
+        new FieldMatrix<>(a).inverse();
+    }
+
+    @Test(description = "Test that mismatched dimensions are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void mulMismatchTest() {
+        new FieldMatrix<>(values(3, 4, 1)).mul(
+            new FieldMatrix<>(values(3, 4, 1)));
+    }
+
+    @Test(description = "Test that non-square systems are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void solveNonSquareTest() {
+        new FieldMatrix<>(values(3, 4, 1)).solve(
+            new FieldMatrix<>(values(3, 1, 1)));
+    }
+}
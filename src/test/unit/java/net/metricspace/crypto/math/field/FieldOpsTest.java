@@ -0,0 +1,210 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Checks each field's static limb-level operations against the same
+ * operations on field elements, with operands at odd offsets in a
+ * shared array.
+ */
+@Test(groups = "unit")
+public class FieldOpsTest {
+    private static final int A = 1;
+    private static final int B = 2;
+    private static final int OUT = 3;
+
+    @DataProvider(name = "fields")
+    public Object[][] fieldsProvider() {
+        return new Object[][] {
+            new Object[] { ModE130M5.zero() },
+            new Object[] { ModE221M3.zero() },
+            new Object[] { ModE222M117.zero() },
+            new Object[] { ModE251M9.zero() },
+            new Object[] { ModE255M19.zero() },
+            new Object[] { ModE382M105.zero() },
+            new Object[] { ModE383M187.zero() },
+            new Object[] { ModE414M17.zero() },
+            new Object[] { ModE511M187.zero() },
+            new Object[] { ModE521M1.zero() }
+        };
+    }
+
+    private static Method method(final Class<?> ops,
+                                 final String name,
+                                 final Class<?>... types)
+        throws ReflectiveOperationException {
+        return ops.getMethod(name, types);
+    }
+
+    private static <F extends PrimeField<F>> F value(final F proto,
+                                                     final int seed) {
+        final F out = proto.clone();
+
+        out.set(seed);
+        out.inv();
+        out.add(seed * 12345);
+
+        return out;
+    }
+
+    private static <F extends PrimeField<F>> F get(final F proto,
+                                                   final long[] arr,
+                                                   final int slot,
+                                                   final int digits) {
+        final F out = proto.clone();
+
+        out.set(Arrays.copyOfRange(arr, slot * digits,
+                                   (slot + 1) * digits));
+
+        return out;
+    }
+
+    @Test(dataProvider = "fields",
+          description = "Test static limb-level operations")
+    public <F extends PrimeField<F>> void opsTest(final F proto)
+        throws ReflectiveOperationException {
+        final Class<?> ops = Class.forName(proto.getClass().getName() +
+                                           "Ops");
+        final int n = ops.getField("DIGITS").getInt(null);
+        final Class<?> arr = long[].class;
+        final Class<?> scr = PrimeField.Scratchpad.class;
+        final PrimeField.Scratchpad scratch =
+            (PrimeField.Scratchpad)method(ops, "scratchpad").invoke(null);
+        final F a = value(proto, 3);
+        final F b = value(proto, -7);
+        final long[] flat = new long[5 * n];
+        final int aOff = A * n;
+        final int bOff = B * n;
+        final int outOff = OUT * n;
+        final F expected = proto.clone();
+
+        System.arraycopy(a.digits, 0, flat, aOff, n);
+        System.arraycopy(b.digits, 0, flat, bOff, n);
+
+        for(final String name : new String[] { "add", "sub", "mul" }) {
+            method(ops, name, arr, int.class, arr, int.class, arr,
+                   int.class, scr).invoke(null, flat, outOff, flat, aOff,
+                                          flat, bOff, scratch);
+            expected.set(a);
+
+            switch(name) {
+            case "add": expected.add(b); break;
+            case "sub": expected.sub(b); break;
+            default: expected.mul(b); break;
+            }
+
+            Assert.assertEquals(get(proto, flat, OUT, n), expected, name);
+        }
+
+        method(ops, "mul", arr, int.class, arr, int.class, int.class, scr)
+            .invoke(null, flat, outOff, flat, aOff, -1000, scratch);
+        expected.set(a);
+        expected.mul(-1000);
+        Assert.assertEquals(get(proto, flat, OUT, n), expected, "mul int");
+
+        for(final String name : new String[] { "square", "neg", "inv" }) {
+            method(ops, name, arr, int.class, arr, int.class, scr)
+                .invoke(null, flat, outOff, flat, aOff, scratch);
+            expected.set(a);
+
+            switch(name) {
+            case "square": expected.square(); break;
+            case "neg": expected.neg(); break;
+            default: expected.inv(); break;
+            }
+
+            Assert.assertEquals(get(proto, flat, OUT, n), expected, name);
+        }
+
+        // In-place multiplication, with the result over an operand.
+        method(ops, "mul", arr, int.class, arr, int.class, arr, int.class,
+               scr).invoke(null, flat, outOff, flat, outOff, flat, outOff,
+                           scratch);
+        expected.square();
+        Assert.assertEquals(get(proto, flat, OUT, n), expected, "alias");
+
+        method(ops, "set", arr, int.class, int.class, scr)
+            .invoke(null, flat, outOff, -5, scratch);
+        expected.set(-5);
+        Assert.assertEquals(get(proto, flat, OUT, n), expected, "set");
+
+        Assert.assertEquals(method(ops, "eq", arr, int.class, arr,
+                                   int.class, scr)
+                            .invoke(null, flat, aOff, flat, bOff, scratch),
+                            a.clone().eq(b.clone()));
+        Assert.assertEquals(method(ops, "eq", arr, int.class, arr,
+                                   int.class, scr)
+                            .invoke(null, flat, aOff, flat, aOff, scratch),
+                            0L);
+        Assert.assertEquals(method(ops, "isZero", arr, int.class, scr)
+                            .invoke(null, flat, aOff, scratch), 0L);
+        Assert.assertEquals(method(ops, "isZero", arr, int.class, scr)
+                            .invoke(null, new long[2 * n], n, scratch), 1L);
+
+        method(ops, "cswap", arr, int.class, arr, int.class, long.class,
+               scr).invoke(null, flat, aOff, flat, bOff, 1L, scratch);
+        Assert.assertEquals(get(proto, flat, A, n), b);
+        Assert.assertEquals(get(proto, flat, B, n), a);
+        method(ops, "cmov", arr, int.class, arr, int.class, long.class,
+               scr).invoke(null, flat, aOff, flat, bOff, 0L, scratch);
+        Assert.assertEquals(get(proto, flat, A, n), b);
+        method(ops, "cmov", arr, int.class, arr, int.class, long.class,
+               scr).invoke(null, flat, aOff, flat, bOff, 1L, scratch);
+        Assert.assertEquals(get(proto, flat, A, n), a);
+        method(ops, "cneg", arr, int.class, long.class, scr)
+            .invoke(null, flat, aOff, 1L, scratch);
+        expected.set(a);
+        expected.neg();
+        Assert.assertEquals(get(proto, flat, A, n), expected);
+
+        final int packed = ops.getField("PACKED_BYTES").getInt(null);
+        final byte[] bytes = new byte[packed + 3];
+
+        method(ops, "pack", arr, int.class, byte[].class, int.class, scr)
+            .invoke(null, flat, bOff, bytes, 3, scratch);
+        Assert.assertEquals(Arrays.copyOfRange(bytes, 3, bytes.length),
+                            a.clone().packed());
+        method(ops, "unpack", byte[].class, int.class, arr, int.class, scr)
+            .invoke(null, bytes, 3, flat, outOff, scratch);
+        Assert.assertEquals(get(proto, flat, OUT, n), a);
+        method(ops, "normalize", arr, int.class, scr)
+            .invoke(null, flat, outOff, scratch);
+        Assert.assertEquals(get(proto, flat, OUT, n), a);
+    }
+}
@@ -0,0 +1,139 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public class FieldTableTest {
+    private static final int ENTRIES = 16;
+
+    @DataProvider(name = "fields")
+    public static Object[][] fieldsProvider() {
+        return new Object[][] {
+            new Object[] { ModE130M5.one() },
+            new Object[] { ModE221M3.one() },
+            new Object[] { ModE222M117.one() },
+            new Object[] { ModE251M9.one() },
+            new Object[] { ModE255M19.one() },
+            new Object[] { ModE382M105.one() },
+            new Object[] { ModE383M187.one() },
+            new Object[] { ModE414M17.one() },
+            new Object[] { ModE511M187.one() },
+            new Object[] { ModE521M1.one() }
+        };
+    }
+
+    private static <V extends PrimeField<V>> FieldTable<V>
+        powerTable(final V base) {
+        final FieldTable<V> table = new FieldTable<>(base, ENTRIES, 2);
+        final V pow = base.clone();
+        final V neg = base.clone();
+
+        pow.set(1);
+
+        for(int i = 0; i < ENTRIES; i++) {
+            neg.set(pow);
+            neg.neg();
+            table.set(i, pow, neg);
+            pow.mul(3);
+        }
+
+        return table;
+    }
+
+    @Test(dataProvider = "fields",
+          description = "Test that lookup returns each stored entry")
+    public <V extends PrimeField<V>> void lookupTest(final V base) {
+        final FieldTable<V> table = powerTable(base);
+        final V expected = base.clone();
+        final V negexpected = base.clone();
+        final V first = base.clone();
+        final V second = base.clone();
+
+        expected.set(1);
+
+        for(int i = 0; i < ENTRIES; i++) {
+            negexpected.set(expected);
+            negexpected.neg();
+            table.lookup(i, first, second);
+
+            Assert.assertEquals(first, expected);
+            Assert.assertEquals(second, negexpected);
+
+            expected.mul(3);
+        }
+    }
+
+    @Test(dataProvider = "fields",
+          description = "Test that out-of-range lookups yield zero")
+    public <V extends PrimeField<V>> void lookupRangeTest(final V base) {
+        final FieldTable<V> table = powerTable(base);
+        final V first = base.clone();
+        final V second = base.clone();
+
+        table.lookup(-1, first, second);
+
+        Assert.assertEquals(first.isZero(), 1);
+        Assert.assertEquals(second.isZero(), 1);
+
+        first.set(1);
+        second.set(1);
+        table.lookup(ENTRIES, first, second);
+
+        Assert.assertEquals(first.isZero(), 1);
+        Assert.assertEquals(second.isZero(), 1);
+    }
+
+    @Test(dataProvider = "fields",
+          expectedExceptions = IllegalArgumentException.class,
+          description = "Test that lookup rejects the wrong width")
+    public <V extends PrimeField<V>> void lookupWidthTest(final V base) {
+        final FieldTable<V> table = powerTable(base);
+
+        table.lookup(0, base.clone());
+    }
+
+    @Test(dataProvider = "fields",
+          description = "Test that destroy overwrites the table")
+    public <V extends PrimeField<V>> void destroyTest(final V base) {
+        final FieldTable<V> table = powerTable(base);
+
+        Assert.assertFalse(table.isDestroyed());
+
+        table.destroy();
+
+        Assert.assertTrue(table.isDestroyed());
+    }
+}
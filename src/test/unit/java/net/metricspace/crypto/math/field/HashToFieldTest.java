@@ -0,0 +1,206 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public class HashToFieldTest {
+    private static byte[] ascii(final String str) {
+        return str.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] unhex(final String str) {
+        final byte[] out = new byte[str.length() / 2];
+
+        for(int i = 0; i < out.length; i++) {
+            out[i] = (byte)Integer.parseInt(str.substring(2 * i,
+                                                          (2 * i) + 2),
+                                            16);
+        }
+
+        return out;
+    }
+
+    private static BigInteger toBigInteger(final PrimeField<?> v) {
+        final byte[] packed = v.packed();
+        final byte[] be = new byte[packed.length];
+
+        for(int i = 0; i < packed.length; i++) {
+            be[i] = packed[packed.length - 1 - i];
+        }
+
+        return new BigInteger(1, be);
+    }
+
+    private static <F extends PrimeField<F>> BigInteger modulus(final F v) {
+        final F mone = v.clone();
+
+        mone.set(1);
+        mone.neg();
+
+        return toBigInteger(mone).add(BigInteger.ONE);
+    }
+
+    @DataProvider(name = "expand")
+    public Object[][] expandProvider() {
+        return new Object[][] {
+            new Object[] {
+                "SHA-256", "QUUX-V01-CS02-with-expander-SHA256-128", "",
+                "68a985b87eb6b46952128911f2a4412b" +
+                "bc302a9d759667f87f7a21d803f07235"
+            },
+            new Object[] {
+                "SHA-256", "QUUX-V01-CS02-with-expander-SHA256-128", "abc",
+                "d8ccab23b5985ccea865c6c97b6e5b83" +
+                "50e794e603b4b97902f53a8a0d605615"
+            },
+            new Object[] {
+                "SHA-512", "QUUX-V01-CS02-with-expander-SHA512-256", "abc",
+                "7f1dddd13c08b543f2e2037b14cefb25" +
+                "5b44c83cc397c1786d975653e36a6b11" +
+                "bdd7732d8b38adb4a0edc26a0cef4bb4" +
+                "5217135456e58fbca1703cd6032cb134" +
+                "7ee720b87972d63fbf232587043ed290" +
+                "1bce7f22610c0419751c065922b48843" +
+                "1851041310ad659e4b23520e1772ab29" +
+                "dcdeb2002222a363f0c2b1c972b3efe1"
+            }
+        };
+    }
+
+    @Test(dataProvider = "expand",
+          description = "Test expand_message_xmd against known vectors")
+    public void expandTest(final String algorithm,
+                           final String dst,
+                           final String msg,
+                           final String expected) {
+        final HashToField hash = new HashToField(algorithm, ascii(dst), 128);
+
+        Assert.assertEquals(hash.expand(ascii(msg), expected.length() / 2),
+                            unhex(expected));
+    }
+
+    @Test(description = "Test that oversized tags are hashed first")
+    public void oversizeDstTest() {
+        final byte[] dst = new byte[300];
+
+        Arrays.fill(dst, (byte)'X');
+
+        final HashToField hash = new HashToField("SHA-512", dst, 128);
+
+        Assert.assertEquals(hash.expand(ascii("abc"), 64),
+                            unhex("ee1f8405725cd88114e306aa317ecbfd" +
+                                  "a814bbb42610930c3075fb47e1068bd3" +
+                                  "0462ad755fd2952d1df4dae353d24ac3" +
+                                  "e8283c5d3eede89dede92d1868cd90f9"));
+    }
+
+    @Test(description = "Test hash_to_field against the edwards25519 " +
+          "vectors")
+    public void hashTest() {
+        final HashToField hash = new HashToField(
+            "SHA-512",
+            ascii("QUUX-V01-CS02-with-edwards25519_XMD:SHA-512_ELL2_RO_"),
+            128);
+        final ModE255M19[] u = new ModE255M19[] {
+            ModE255M19.zero(), ModE255M19.zero()
+        };
+
+        Assert.assertEquals(hash.elementBytes(u[0]), 48);
+        hash.hash(new byte[0], u);
+        Assert.assertEquals(toBigInteger(u[0]), new BigInteger(
+            "03fef4813c8cb5f98c6eef88fae174e6" +
+            "e7d5380de2b007799ac7ee712d203f3a", 16));
+        Assert.assertEquals(toBigInteger(u[1]), new BigInteger(
+            "780bdddd137290c8f589dc687795aafa" +
+            "e35f6b674668d92bf92ae793e6a60c75", 16));
+    }
+
+    @DataProvider(name = "fields")
+    public Object[][] fieldsProvider() {
+        return new Object[][] {
+            new Object[] { new ModE130M5(0) },
+            new Object[] { new ModE255M19(0) },
+            new Object[] { new ModE383M187(0) },
+            new Object[] { new ModE521M1(0) }
+        };
+    }
+
+    @Test(dataProvider = "fields",
+          description = "Test wide reduction against BigInteger")
+    public <F extends PrimeField<F>> void reduceTest(final F field) {
+        final BigInteger p = modulus(field);
+        final byte[] bytes = new byte[200];
+
+        for(int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)((i * 151) + 77);
+        }
+
+        for(int len = 0; len <= 160; len += 7) {
+            final F out = field.clone();
+            final BigInteger expected =
+                new BigInteger(1, Arrays.copyOfRange(bytes, 3, 3 + len));
+
+            HashToField.reduce(bytes, 3, len, out);
+            Assert.assertEquals(toBigInteger(out), expected.mod(p),
+                                "Length " + len);
+        }
+
+        Arrays.fill(bytes, (byte)0xff);
+
+        final F out = field.clone();
+
+        HashToField.reduce(bytes, 0, bytes.length, out);
+        Assert.assertEquals(toBigInteger(out),
+                            new BigInteger(1, bytes).mod(p));
+    }
+
+    @Test(description = "Test that unsupported hashes are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void badHashTest() {
+        new HashToField("MD5", ascii("tag"), 128);
+    }
+
+    @Test(description = "Test that overlong expansions are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void badLengthTest() {
+        new HashToField("SHA-256", ascii("tag"), 128).expand(ascii("abc"),
+                                                             256 * 32);
+    }
+}
@@ -0,0 +1,125 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that the hooks in the field classes count their operations.
+ * Instrumentation is read once, when {@link Instrumentation} is
+ * initialized, so these are in the {@code instrumentation} group,
+ * which the build runs in a separate JVM with {@value
+ * Instrumentation#PROPERTY} set to {@code true}.
+ */
+@Test(groups = "instrumentation")
+public class InstrumentationEnabledTest {
+    @DataProvider(name = "fields")
+    public Object[][] fields() {
+        return new Object[][] {
+            new Object[] { ModE130M5.zero() },
+            new Object[] { ModE221M3.zero() },
+            new Object[] { ModE222M117.zero() },
+            new Object[] { ModE251M9.zero() },
+            new Object[] { ModE255M19.zero() },
+            new Object[] { ModE382M105.zero() },
+            new Object[] { ModE383M187.zero() },
+            new Object[] { ModE414M17.zero() },
+            new Object[] { ModE511M187.zero() },
+            new Object[] { ModE521M1.zero() }
+        };
+    }
+
+    @Test(description = "Test that instrumentation is enabled")
+    public void enabledTest() {
+        Assert.assertTrue(Instrumentation.ENABLED);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long count(final PrimeField<?> value,
+                              final Instrumentation.Operation op) {
+        return Instrumentation.count(
+            (Class<? extends PrimeField<?>>)value.getClass(), op);
+    }
+
+    @Test(dataProvider = "fields",
+          description = "Test that each field counts its operations")
+    public <P extends PrimeField<P>> void countsTest(final P value)
+        throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name =
+            Instrumentation.objectName(value.getClass());
+        final P divisor = value.clone();
+
+        divisor.set(3);
+
+        Instrumentation.reset();
+        value.set(4);
+        value.inv();
+        Assert.assertEquals(count(value, Instrumentation.Operation.INV), 1);
+
+        Instrumentation.reset();
+        value.set(4);
+        value.sqrt();
+        Assert.assertEquals(count(value, Instrumentation.Operation.SQRT), 1);
+
+        Instrumentation.reset();
+        value.set(4);
+        value.legendre();
+        Assert.assertEquals(count(value,
+                                  Instrumentation.Operation.LEGENDRE), 1);
+
+        Instrumentation.reset();
+        value.set(4);
+        value.div(divisor);
+        value.div(3);
+        Assert.assertEquals(count(value, Instrumentation.Operation.DIV), 2);
+
+        Instrumentation.reset();
+        value.pack(new byte[(value.numBits() + 7) / 8]);
+        value.packed();
+        Assert.assertEquals(count(value, Instrumentation.Operation.PACK), 2);
+        Assert.assertTrue(server.isRegistered(name));
+        Assert.assertEquals(server.getAttribute(name, "Packs"), 2L);
+        Assert.assertEquals(server.getAttribute(name, "Divisions"), 0L);
+
+        value.destroy();
+        divisor.destroy();
+    }
+}
@@ -0,0 +1,89 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Checks the operation counters and their MBean registration.  The
+ * hooks in the field classes only call these when instrumentation is
+ * enabled, which it is not by default; {@link
+ * InstrumentationEnabledTest} checks the hooks themselves.
+ */
+@Test(groups = "unit")
+public class InstrumentationTest {
+    @Test(description = "Test that instrumentation is off by default")
+    public void disabledTest() {
+        Assert.assertEquals(Instrumentation.ENABLED,
+                            Boolean.parseBoolean(
+                                System.getProperty(Instrumentation.PROPERTY,
+                                                   "false")));
+    }
+
+    @Test(description = "Test operation counters and their MBean")
+    public void countersTest() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = Instrumentation.objectName(ModE255M19.class);
+
+        Instrumentation.reset();
+        Instrumentation.increment(ModE255M19.class,
+                                  Instrumentation.Operation.INV, 100);
+        Instrumentation.increment(ModE255M19.class,
+                                  Instrumentation.Operation.INV, 200);
+        Instrumentation.increment(ModE255M19.class,
+                                  Instrumentation.Operation.UNPACK, 300);
+
+        Assert.assertEquals(Instrumentation.count(ModE255M19.class,
+                                Instrumentation.Operation.INV), 2);
+        Assert.assertEquals(Instrumentation.count(ModE255M19.class,
+                                Instrumentation.Operation.UNPACK), 1);
+        Assert.assertEquals(Instrumentation.count(ModE255M19.class,
+                                Instrumentation.Operation.SQRT), 0);
+        Assert.assertEquals(Instrumentation.count(ModE521M1.class,
+                                Instrumentation.Operation.INV), 0);
+        Assert.assertTrue(server.isRegistered(name));
+        Assert.assertEquals(server.getAttribute(name, "Inversions"), 2L);
+        Assert.assertEquals(server.getAttribute(name, "Unpacks"), 1L);
+
+        server.invoke(name, "reset", new Object[0], new String[0]);
+        Assert.assertEquals(Instrumentation.count(ModE255M19.class,
+                                Instrumentation.Operation.INV), 0);
+        Assert.assertEquals(server.getAttribute(name, "Inversions"), 0L);
+    }
+}
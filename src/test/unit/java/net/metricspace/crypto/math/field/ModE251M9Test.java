@@ -33,6 +33,7 @@ package net.metricspace.crypto.math.field;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.security.SecureRandom;
 
 import org.testng.Assert;
@@ -653,4 +654,38 @@ public class ModE251M9Test extends PrimeFieldUnitTest<ModE251M9> {
 
         Assert.assertEquals(n.isZero(), 0);
     }
+
+    @Test(description = "Test that creation from digits carries them")
+    public void testCreateCarries() {
+        final long[] data =
+            new long[] { 0x03ffffffffffffffL, 0x0155555555555555L,
+                         0x03ffffffffffffffL, 0x0155555555555555L,
+                         0x0000000007ffffffL };
+        final BigInteger modulus =
+            BigInteger.ONE.shiftLeft(251).subtract(BigInteger.valueOf(9));
+        BigInteger value = BigInteger.ZERO;
+
+        for(int i = data.length - 1; i >= 0; i--) {
+            value = value.shiftLeft(56).add(BigInteger.valueOf(data[i]));
+        }
+
+        final ModE251M9 n = new ModE251M9(data.clone());
+        final ModE251M9 lazy = n.clone();
+
+        Assert.assertEquals(n.bound(), 1);
+        Assert.assertTrue(n.checkBound());
+        Assert.assertEquals(n.toBigInteger(), value.mod(modulus));
+
+        // A full lazy chain from it must stay within the kernels' limits.
+        for(int i = 1; i < n.lazyBound(); i++) {
+            lazy.addLazy(n);
+        }
+
+        Assert.assertTrue(lazy.checkBound());
+        lazy.mul(n);
+        Assert.assertEquals(lazy.toBigInteger(),
+                            value.multiply(value)
+                            .multiply(BigInteger.valueOf(n.lazyBound()))
+                            .mod(modulus));
+    }
 }
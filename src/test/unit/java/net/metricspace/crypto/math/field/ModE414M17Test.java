@@ -33,6 +33,7 @@ package net.metricspace.crypto.math.field;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.security.SecureRandom;
 
 import org.testng.Assert;
@@ -737,4 +738,135 @@ public class ModE414M17Test extends PrimeFieldUnitTest<ModE414M17> {
 
         Assert.assertEquals(n.isZero(), 0);
     }
+
+    @Test(description = "Test Karatsuba kernels against schoolbook")
+    public void testKaratsuba() {
+        final SecureRandom random = new SecureRandom();
+
+        for (int i = 0; i < 1000; i++) {
+            final long[] a = new ModE414M17(random).digits;
+            final long[] b = new ModE414M17(random).digits;
+            final long[] expected = new long[ModE414M17.NUM_DIGITS];
+            final long[] actual = new long[ModE414M17.NUM_DIGITS];
+
+            ModE414M17.mulDigitsSchoolbook(a, b, expected);
+            ModE414M17.mulDigitsKaratsuba(a, b, actual);
+            Assert.assertEquals(actual, expected);
+            System.arraycopy(a, 0, expected, 0, expected.length);
+            System.arraycopy(a, 0, actual, 0, actual.length);
+            ModE414M17.squareDigitsSchoolbook(expected);
+            ModE414M17.squareDigitsKaratsuba(actual);
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    /**
+     * Get digits with every digit at the largest magnitude allowed
+     * for a given bound, as checked by {@code checkBound}.  Bound
+     * {@code 1} is a carried value, as left by {@code add}.
+     *
+     * @param k The bound.
+     * @param sign {@code 1} for positive digits, {@code -1} for
+     *             negative digits, {@code 0} for alternating signs.
+     * @return The digits.
+     */
+    private static long[] karatsubaExtreme(final int k,
+                                           final int sign) {
+        final long[] out = new long[ModE414M17.NUM_DIGITS];
+
+        for(int i = 0; i < out.length; i++) {
+            final long limit;
+
+            if (i < out.length - 1) {
+                limit = ((long)k << ModE414M17.DIGIT_BITS) - 1;
+            } else {
+                limit = k * ((1L << (ModE414M17.HIGH_DIGIT_BITS + 1)) +
+                             ModE414M17.C_VAL) - 1;
+            }
+
+            if (sign < 0 || (sign == 0 && (i & 1) == 1)) {
+                out[i] = -limit;
+            } else {
+                out[i] = limit;
+            }
+        }
+
+        return out;
+    }
+
+    @DataProvider(name = "karatsubaExtremes")
+    public Object[][] karatsubaExtremesProvider() {
+        final long[][] extremes = new long[][] {
+            karatsubaExtreme(1, 1),
+            karatsubaExtreme(1, -1),
+            karatsubaExtreme(1, 0),
+            karatsubaExtreme(ModE414M17.LAZY_BOUND, 1),
+            karatsubaExtreme(ModE414M17.LAZY_BOUND, -1),
+            karatsubaExtreme(ModE414M17.LAZY_BOUND, 0)
+        };
+        final Object[][] out =
+            new Object[extremes.length * extremes.length][];
+
+        for(int i = 0; i < extremes.length; i++) {
+            for(int j = 0; j < extremes.length; j++) {
+                out[(i * extremes.length) + j] =
+                    new Object[] { extremes[i], extremes[j] };
+            }
+        }
+
+        return out;
+    }
+
+    @Test(dataProvider = "karatsubaExtremes",
+          description = "Test Karatsuba kernels against schoolbook " +
+                        "with maximal unnormalized digits")
+    public void testKaratsubaExtremes(final long[] a,
+                                      final long[] b) {
+        final long[] expected = new long[ModE414M17.NUM_DIGITS];
+        final long[] actual = new long[ModE414M17.NUM_DIGITS];
+
+        ModE414M17.mulDigitsSchoolbook(a, b, expected);
+        ModE414M17.mulDigitsKaratsuba(a, b, actual);
+        Assert.assertEquals(actual, expected);
+        System.arraycopy(a, 0, expected, 0, expected.length);
+        System.arraycopy(a, 0, actual, 0, actual.length);
+        ModE414M17.squareDigitsSchoolbook(expected);
+        ModE414M17.squareDigitsKaratsuba(actual);
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test(description = "Test that creation from digits carries them")
+    public void testCreateCarries() {
+        final long[] data =
+            new long[] { 0x03ffffffffffffffL, 0x0155555555555555L,
+                         0x03ffffffffffffffL, 0x0155555555555555L,
+                         0x03ffffffffffffffL, 0x0155555555555555L,
+                         0x03ffffffffffffffL, 0x0000001fffffffffL };
+        final BigInteger modulus =
+            BigInteger.ONE.shiftLeft(414).subtract(BigInteger.valueOf(17));
+        BigInteger value = BigInteger.ZERO;
+
+        for(int i = data.length - 1; i >= 0; i--) {
+            value = value.shiftLeft(56).add(BigInteger.valueOf(data[i]));
+        }
+
+        final ModE414M17 n = new ModE414M17(data.clone());
+        final ModE414M17 lazy = n.clone();
+
+        Assert.assertEquals(n.bound(), 1);
+        Assert.assertTrue(n.checkBound());
+        Assert.assertEquals(n.toBigInteger(), value.mod(modulus));
+
+        // A full lazy chain from it must stay within the kernels' limits.
+        for(int i = 1; i < n.lazyBound(); i++) {
+            lazy.addLazy(n);
+        }
+
+        Assert.assertTrue(lazy.checkBound());
+        lazy.mul(n);
+        Assert.assertEquals(lazy.toBigInteger(),
+                            value.multiply(value)
+                            .multiply(BigInteger.valueOf(n.lazyBound()))
+                            .mod(modulus));
+    }
 }
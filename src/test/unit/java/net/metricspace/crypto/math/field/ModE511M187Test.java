@@ -821,4 +821,100 @@ public class ModE511M187Test extends PrimeField1Mod4UnitTest<ModE511M187> {
 
         Assert.assertEquals(n.isZero(), 0);
     }
+
+    @Test(description = "Test Karatsuba kernels against schoolbook")
+    public void testKaratsuba() {
+        final SecureRandom random = new SecureRandom();
+
+        for (int i = 0; i < 1000; i++) {
+            final long[] a = new ModE511M187(random).digits;
+            final long[] b = new ModE511M187(random).digits;
+            final long[] expected = new long[ModE511M187.NUM_DIGITS];
+            final long[] actual = new long[ModE511M187.NUM_DIGITS];
+
+            ModE511M187.mulDigitsSchoolbook(a, b, expected);
+            ModE511M187.mulDigitsKaratsuba(a, b, actual);
+            Assert.assertEquals(actual, expected);
+            System.arraycopy(a, 0, expected, 0, expected.length);
+            System.arraycopy(a, 0, actual, 0, actual.length);
+            ModE511M187.squareDigitsSchoolbook(expected);
+            ModE511M187.squareDigitsKaratsuba(actual);
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    /**
+     * Get digits with every digit at the largest magnitude allowed
+     * for a given bound, as checked by {@code checkBound}.  Bound
+     * {@code 1} is a carried value, as left by {@code add}.
+     *
+     * @param k The bound.
+     * @param sign {@code 1} for positive digits, {@code -1} for
+     *             negative digits, {@code 0} for alternating signs.
+     * @return The digits.
+     */
+    private static long[] karatsubaExtreme(final int k,
+                                           final int sign) {
+        final long[] out = new long[ModE511M187.NUM_DIGITS];
+
+        for(int i = 0; i < out.length; i++) {
+            final long limit;
+
+            if (i < out.length - 1) {
+                limit = ((long)k << ModE511M187.DIGIT_BITS) - 1;
+            } else {
+                limit = k * ((1L << (ModE511M187.HIGH_DIGIT_BITS + 1)) +
+                             ModE511M187.C_VAL) - 1;
+            }
+
+            if (sign < 0 || (sign == 0 && (i & 1) == 1)) {
+                out[i] = -limit;
+            } else {
+                out[i] = limit;
+            }
+        }
+
+        return out;
+    }
+
+    @DataProvider(name = "karatsubaExtremes")
+    public Object[][] karatsubaExtremesProvider() {
+        final long[][] extremes = new long[][] {
+            karatsubaExtreme(1, 1),
+            karatsubaExtreme(1, -1),
+            karatsubaExtreme(1, 0),
+            karatsubaExtreme(ModE511M187.LAZY_BOUND, 1),
+            karatsubaExtreme(ModE511M187.LAZY_BOUND, -1),
+            karatsubaExtreme(ModE511M187.LAZY_BOUND, 0)
+        };
+        final Object[][] out =
+            new Object[extremes.length * extremes.length][];
+
+        for(int i = 0; i < extremes.length; i++) {
+            for(int j = 0; j < extremes.length; j++) {
+                out[(i * extremes.length) + j] =
+                    new Object[] { extremes[i], extremes[j] };
+            }
+        }
+
+        return out;
+    }
+
+    @Test(dataProvider = "karatsubaExtremes",
+          description = "Test Karatsuba kernels against schoolbook " +
+                        "with maximal unnormalized digits")
+    public void testKaratsubaExtremes(final long[] a,
+                                      final long[] b) {
+        final long[] expected = new long[ModE511M187.NUM_DIGITS];
+        final long[] actual = new long[ModE511M187.NUM_DIGITS];
+
+        ModE511M187.mulDigitsSchoolbook(a, b, expected);
+        ModE511M187.mulDigitsKaratsuba(a, b, actual);
+        Assert.assertEquals(actual, expected);
+        System.arraycopy(a, 0, expected, 0, expected.length);
+        System.arraycopy(a, 0, actual, 0, actual.length);
+        ModE511M187.squareDigitsSchoolbook(expected);
+        ModE511M187.squareDigitsKaratsuba(actual);
+        Assert.assertEquals(actual, expected);
+    }
 }
@@ -40,6 +40,12 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 public class ModE521M1Test extends PrimeFieldUnitTest<ModE521M1> {
+    private static final long[] M_ONE_DATA =
+        new long[] { 0x003ffffffffffffeL, 0x003fffffffffffffL,
+                     0x003fffffffffffffL, 0x003fffffffffffffL,
+                     0x003fffffffffffffL, 0x003fffffffffffffL,
+                     0x003fffffffffffffL, 0x003fffffffffffffL,
+                     0x003fffffffffffffL, 0x00000007ffffffffL };
     private static final long[] TWO_DATA =
         new long[] { 2, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
     private static final long[] M_TWO_DATA =
@@ -803,4 +809,188 @@ public class ModE521M1Test extends PrimeFieldUnitTest<ModE521M1> {
 
         Assert.assertEquals(n.isZero(), 0);
     }
+
+    @Test(description = "Test Karatsuba kernels against schoolbook")
+    public void testKaratsuba() {
+        final SecureRandom random = new SecureRandom();
+
+        for (int i = 0; i < 1000; i++) {
+            final long[] a = new ModE521M1(random).digits;
+            final long[] b = new ModE521M1(random).digits;
+            final long[] expected = new long[ModE521M1.NUM_DIGITS];
+            final long[] actual = new long[ModE521M1.NUM_DIGITS];
+
+            ModE521M1.mulDigitsSchoolbook(a, b, expected);
+            ModE521M1.mulDigitsKaratsuba(a, b, actual);
+            Assert.assertEquals(actual, expected);
+            System.arraycopy(a, 0, expected, 0, expected.length);
+            System.arraycopy(a, 0, actual, 0, actual.length);
+            ModE521M1.squareDigitsSchoolbook(expected);
+            ModE521M1.squareDigitsKaratsuba(actual);
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    /**
+     * Get digits with every digit at the largest magnitude allowed
+     * for a given bound, as checked by {@code checkBound}.  Bound
+     * {@code 1} is a carried value, as left by {@code add}.
+     *
+     * @param k The bound.
+     * @param sign {@code 1} for positive digits, {@code -1} for
+     *             negative digits, {@code 0} for alternating signs.
+     * @return The digits.
+     */
+    private static long[] karatsubaExtreme(final int k,
+                                           final int sign) {
+        final long[] out = new long[ModE521M1.NUM_DIGITS];
+
+        for(int i = 0; i < out.length; i++) {
+            final long limit;
+
+            if (i < out.length - 1) {
+                limit = ((long)k << ModE521M1.DIGIT_BITS) - 1;
+            } else {
+                limit = k * ((1L << (ModE521M1.HIGH_DIGIT_BITS + 1)) +
+                             ModE521M1.C_VAL) - 1;
+            }
+
+            if (sign < 0 || (sign == 0 && (i & 1) == 1)) {
+                out[i] = -limit;
+            } else {
+                out[i] = limit;
+            }
+        }
+
+        return out;
+    }
+
+    @DataProvider(name = "karatsubaExtremes")
+    public Object[][] karatsubaExtremesProvider() {
+        final long[][] extremes = new long[][] {
+            karatsubaExtreme(1, 1),
+            karatsubaExtreme(1, -1),
+            karatsubaExtreme(1, 0),
+            karatsubaExtreme(ModE521M1.LAZY_BOUND, 1),
+            karatsubaExtreme(ModE521M1.LAZY_BOUND, -1),
+            karatsubaExtreme(ModE521M1.LAZY_BOUND, 0)
+        };
+        final Object[][] out =
+            new Object[extremes.length * extremes.length][];
+
+        for(int i = 0; i < extremes.length; i++) {
+            for(int j = 0; j < extremes.length; j++) {
+                out[(i * extremes.length) + j] =
+                    new Object[] { extremes[i], extremes[j] };
+            }
+        }
+
+        return out;
+    }
+
+    @Test(dataProvider = "karatsubaExtremes",
+          description = "Test Karatsuba kernels against schoolbook " +
+                        "with maximal unnormalized digits")
+    public void testKaratsubaExtremes(final long[] a,
+                                      final long[] b) {
+        final long[] expected = new long[ModE521M1.NUM_DIGITS];
+        final long[] actual = new long[ModE521M1.NUM_DIGITS];
+
+        ModE521M1.mulDigitsSchoolbook(a, b, expected);
+        ModE521M1.mulDigitsKaratsuba(a, b, actual);
+        Assert.assertEquals(actual, expected);
+        System.arraycopy(a, 0, expected, 0, expected.length);
+        System.arraycopy(a, 0, actual, 0, actual.length);
+        ModE521M1.squareDigitsSchoolbook(expected);
+        ModE521M1.squareDigitsKaratsuba(actual);
+        Assert.assertEquals(actual, expected);
+    }
+
+    private static final Object[][] NORMALIZE_TEST_CASES = new Object[][] {
+        new Object[] {
+            new long[] { 0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x00000007ffffffffL },
+            new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }
+        },
+        new Object[] {
+            new long[] { 0x003ffffffffffffeL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x00000007ffffffffL },
+            new long[] { 0x003ffffffffffffeL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x00000007ffffffffL }
+        },
+        new Object[] {
+            new long[] { 5, 0, 0, 0, 0, 0, 0, 0, 0, 0x0000000800000000L },
+            new long[] { 6, 0, 0, 0, 0, 0, 0, 0, 0, 0 }
+        },
+        new Object[] {
+            new long[] { 0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x0000000fffffffffL },
+            new long[] { 1, 0, 0, 0, 0, 0, 0, 0, 0, 0 }
+        },
+        new Object[] {
+            new long[] { 0x003ffffffffffffeL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x0000000fffffffffL },
+            new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }
+        },
+        new Object[] {
+            new long[] { 0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0xffffffffffffffffL },
+            new long[] { 0x003ffffffffffffeL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x003fffffffffffffL,
+                         0x003fffffffffffffL, 0x00000007ffffffffL }
+        },
+        new Object[] {
+            new long[] { 1, 0, 0, 0, 0, 0, 0, 0, 0, 0xfffffff800000000L },
+            new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }
+        }
+    };
+
+    @DataProvider(name = "normalizeMersenne")
+    public Object[][] normalizeMersenneProvider() {
+        return NORMALIZE_TEST_CASES;
+    }
+
+    @Test(dataProvider = "normalizeMersenne",
+          description = "Test Mersenne normalization edge cases")
+    public void testNormalizeMersenne(final long[] data,
+                                      final long[] expected) {
+        final ModE521M1 n = new ModE521M1(data.clone());
+
+        n.normalize();
+        Assert.assertEquals(n.digits, expected);
+    }
+
+    @Test(description = "Test normalizing zero minus one")
+    public void testNormalizeMinusOne() {
+        final ModE521M1 n = new ModE521M1(0);
+
+        n.sub(1);
+        n.normalize();
+        Assert.assertEquals(n.digits, M_ONE_DATA);
+        n.normalize();
+        Assert.assertEquals(n.digits, M_ONE_DATA);
+        Assert.assertEquals(n.isZero(), 0);
+        n.add(1);
+        Assert.assertEquals(n.isZero(), 1);
+    }
 }
@@ -0,0 +1,230 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public class Poly1305Test {
+    private static byte[] unhex(final String str) {
+        final byte[] out = new byte[str.length() / 2];
+
+        for(int i = 0; i < out.length; i++) {
+            out[i] = (byte)Integer.parseInt(str.substring(2 * i,
+                                                          (2 * i) + 2),
+                                            16);
+        }
+
+        return out;
+    }
+
+    private static final String RFC_KEY =
+        "85d6be7857556d337f4452fe42d506a8" +
+        "0103808afb0db2fd4abff6af4149f51b";
+
+    private static final String RFC_MSG =
+        "Cryptographic Forum Research Group";
+
+    private static final String RFC_TAG =
+        "a8061dc1305136c6c22b8baf0c0127a9";
+
+    @DataProvider(name = "vectors")
+    public Object[][] vectorsProvider() {
+        final byte[] rfcmsg = RFC_MSG.getBytes(StandardCharsets.US_ASCII);
+        final StringBuilder sb = new StringBuilder();
+
+        for(final byte b : rfcmsg) {
+            sb.append(String.format("%02x", b));
+        }
+
+        return new Object[][] {
+            new Object[] { RFC_KEY, sb.toString(), RFC_TAG },
+            new Object[] {
+                "00000000000000000000000000000000" +
+                "00000000000000000000000000000000",
+                "00000000000000000000000000000000" +
+                "00000000000000000000000000000000",
+                "00000000000000000000000000000000"
+            },
+            new Object[] {
+                "02000000000000000000000000000000" +
+                "00000000000000000000000000000000",
+                "ffffffffffffffffffffffffffffffff",
+                "03000000000000000000000000000000"
+            },
+            new Object[] {
+                "02000000000000000000000000000000" +
+                "ffffffffffffffffffffffffffffffff",
+                "02000000000000000000000000000000",
+                "03000000000000000000000000000000"
+            },
+            new Object[] {
+                "01000000000000000000000000000000" +
+                "00000000000000000000000000000000",
+                "ffffffffffffffffffffffffffffffff" +
+                "f0ffffffffffffffffffffffffffffff" +
+                "11000000000000000000000000000000",
+                "05000000000000000000000000000000"
+            },
+            new Object[] {
+                "01000000000000000000000000000000" +
+                "00000000000000000000000000000000",
+                "ffffffffffffffffffffffffffffffff" +
+                "fbfefefefefefefefefefefefefefefe" +
+                "01010101010101010101010101010101",
+                "00000000000000000000000000000000"
+            },
+            new Object[] {
+                "02000000000000000000000000000000" +
+                "00000000000000000000000000000000",
+                "fdffffffffffffffffffffffffffffff",
+                "faffffffffffffffffffffffffffffff"
+            },
+            new Object[] {
+                "01000000000000000400000000000000" +
+                "00000000000000000000000000000000",
+                "e33594d7505e43b90000000000000000" +
+                "3394d7505e4379cd0100000000000000" +
+                "00000000000000000000000000000000" +
+                "01000000000000000000000000000000",
+                "14000000000000005500000000000000"
+            },
+            new Object[] {
+                "01000000000000000400000000000000" +
+                "00000000000000000000000000000000",
+                "e33594d7505e43b90000000000000000" +
+                "3394d7505e4379cd0100000000000000" +
+                "00000000000000000000000000000000",
+                "13000000000000000000000000000000"
+            }
+        };
+    }
+
+    @Test(dataProvider = "vectors",
+          description = "Test Poly1305 against the RFC 8439 vectors")
+    public void macTest(final String key,
+                        final String msg,
+                        final String tag) {
+        Assert.assertEquals(Poly1305.mac(unhex(key), unhex(msg)),
+                            unhex(tag));
+    }
+
+    @Test(dataProvider = "vectors",
+          description = "Test Poly1305 fed one byte at a time")
+    public void updateTest(final String key,
+                           final String msg,
+                           final String tag) {
+        final byte[] bytes = unhex(msg);
+
+        try(final Poly1305 poly = new Poly1305(unhex(key))) {
+            for(int i = 0; i < bytes.length; i++) {
+                poly.update(bytes, i, 1);
+            }
+
+            Assert.assertEquals(poly.finish(), unhex(tag));
+            Assert.assertTrue(poly.isDestroyed());
+        }
+    }
+
+    @DataProvider(name = "lanes")
+    public Object[][] lanesProvider() {
+        return new Object[][] {
+            new Object[] { 1 },
+            new Object[] { 2 },
+            new Object[] { 4 },
+            new Object[] { 8 }
+        };
+    }
+
+    @Test(dataProvider = "lanes",
+          description = "Test that multi-message tags match single ones")
+    public void multiTest(final int lanes) {
+        final Random random = new Random(lanes);
+        final int count = 67;
+        final byte[][] keys = new byte[count][Poly1305.KEY_BYTES];
+        final byte[][] msgs = new byte[count][];
+        final byte[][] tags = new byte[count][];
+
+        for(int i = 0; i < count; i++) {
+            random.nextBytes(keys[i]);
+            // Mix empty, partial, whole-block, and packet-sized messages.
+            msgs[i] = new byte[i % 5 == 0 ? i % 3 * 16 :
+                               random.nextInt(1500)];
+            random.nextBytes(msgs[i]);
+        }
+
+        Poly1305.mac(keys, msgs, tags, lanes);
+
+        for(int i = 0; i < count; i++) {
+            Assert.assertEquals(tags[i], Poly1305.mac(keys[i], msgs[i]));
+        }
+    }
+
+    @Test(description = "Test the public multi-message method")
+    public void multiVectorTest() {
+        final byte[][] tags =
+            Poly1305.mac(new byte[][] { unhex(RFC_KEY), unhex(RFC_KEY) },
+                         new byte[][] {
+                             RFC_MSG.getBytes(StandardCharsets.US_ASCII),
+                             new byte[0]
+                         });
+
+        Assert.assertEquals(tags[0], unhex(RFC_TAG));
+        Assert.assertEquals(tags[1], unhex(RFC_KEY.substring(32)));
+    }
+
+    @Test(description = "Test that mismatched arrays are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void mismatchTest() {
+        Poly1305.mac(new byte[2][Poly1305.KEY_BYTES], new byte[1][]);
+    }
+
+    @Test(description = "Test that short keys are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void keySizeTest() {
+        Poly1305.mac(new byte[16], new byte[0]);
+    }
+
+    @Test(description = "Test that a finished instance cannot be reused",
+          expectedExceptions = IllegalStateException.class)
+    public void reuseTest() {
+        final Poly1305 poly = new Poly1305(unhex(RFC_KEY));
+
+        poly.finish();
+        poly.update(new byte[1]);
+    }
+}
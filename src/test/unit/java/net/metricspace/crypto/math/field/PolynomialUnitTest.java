@@ -0,0 +1,271 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.reflect.Array;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public abstract class PolynomialUnitTest<P extends PrimeField<P>> {
+    protected abstract P createEmpty();
+
+    @SuppressWarnings("unchecked")
+    private P[] values(final int len,
+                       final int seed) {
+        final P proto = createEmpty();
+        final P[] out = (P[])Array.newInstance(proto.getClass(), len);
+
+        for(int i = 0; i < len; i++) {
+            out[i] = createEmpty();
+            out[i].set((i * 7919) + seed);
+            out[i].div((i * 31) + seed + 1);
+        }
+
+        return out;
+    }
+
+    private P naiveEvaluate(final P[] coeffs,
+                            final P x) {
+        final P out = createEmpty();
+        final P pow = createEmpty();
+
+        pow.set(1);
+
+        for(int i = 0; i < coeffs.length; i++) {
+            final P term = coeffs[i].clone();
+
+            term.mul(pow);
+            out.add(term);
+            pow.mul(x);
+        }
+
+        return out;
+    }
+
+    private void assertCoefficients(final Polynomial<P> poly,
+                                    final P[] expected) {
+        final P coeff = createEmpty();
+
+        Assert.assertEquals(poly.length(), expected.length);
+
+        for(int i = 0; i < expected.length; i++) {
+            poly.coefficient(i, coeff);
+            Assert.assertEquals(coeff, expected[i]);
+        }
+    }
+
+    @DataProvider(name = "mulSizes")
+    public Object[][] mulSizesProvider() {
+        return new Object[][] {
+            new Object[] { 1, 1 },
+            new Object[] { 3, 5 },
+            new Object[] { 15, 15 },
+            new Object[] { 16, 16 },
+            new Object[] { 17, 16 },
+            new Object[] { 33, 33 },
+            new Object[] { 64, 64 },
+            new Object[] { 100, 17 },
+            new Object[] { 20, 77 },
+            new Object[] { 129, 130 }
+        };
+    }
+
+    @Test(dataProvider = "mulSizes",
+          description = "Test multiplication against the naive product")
+    public void mulTest(final int la,
+                        final int lb) {
+        final P[] a = values(la, 3);
+        final P[] b = values(lb, 5);
+        final P[] expected = values(la + lb - 1, 0);
+
+        for(int i = 0; i < expected.length; i++) {
+            expected[i].set(0);
+        }
+
+        for(int i = 0; i < la; i++) {
+            for(int j = 0; j < lb; j++) {
+                final P term = a[i].clone();
+
+                term.mul(b[j]);
+                expected[i + j].add(term);
+            }
+        }
+
+        assertCoefficients(new Polynomial<>(a).mul(new Polynomial<>(b)),
+                           expected);
+    }
+
+    @Test(description = "Test addition, subtraction, and scaling")
+    public void addSubTest() {
+        final P[] a = values(7, 3);
+        final P[] b = values(4, 5);
+        final P scale = createEmpty();
+        final P[] sum = values(7, 3);
+        final P[] diff = values(7, 3);
+        final P[] scaled = values(7, 3);
+        final Polynomial<P> pa = new Polynomial<>(a);
+        final Polynomial<P> pb = new Polynomial<>(b);
+
+        scale.set(-12);
+
+        for(int i = 0; i < 7; i++) {
+            if (i < 4) {
+                sum[i].add(b[i]);
+                diff[i].sub(b[i]);
+            }
+
+            scaled[i].mul(scale);
+        }
+
+        assertCoefficients(pa.add(pb), sum);
+        assertCoefficients(pb.add(pa), sum);
+        assertCoefficients(pa.sub(pb), diff);
+        assertCoefficients(pa.mul(scale), scaled);
+    }
+
+    @Test(description = "Test Horner evaluation against the naive sum")
+    public void evaluateTest() {
+        final P[] coeffs = values(50, 9);
+        final P[] points = values(10, 11);
+        final Polynomial<P> poly = new Polynomial<>(coeffs);
+
+        for(int i = 0; i < points.length; i++) {
+            final P actual = createEmpty();
+            final P aliased = points[i].clone();
+
+            poly.evaluate(points[i], actual);
+            poly.evaluate(aliased, aliased);
+
+            Assert.assertEquals(actual, naiveEvaluate(coeffs, points[i]));
+            Assert.assertEquals(aliased, actual);
+        }
+    }
+
+    @DataProvider(name = "multipoint")
+    public Object[][] multipointProvider() {
+        return new Object[][] {
+            new Object[] { 1, 1 },
+            new Object[] { 20, 5 },
+            new Object[] { 65, 64 },
+            new Object[] { 150, 100 },
+            new Object[] { 40, 300 },
+            new Object[] { 300, Polynomial.TREE_THRESHOLD }
+        };
+    }
+
+    @Test(dataProvider = "multipoint",
+          description = "Test multipoint and parallel evaluation " +
+          "against Horner's method")
+    public void multipointTest(final int len,
+                               final int npoints) {
+        final Polynomial<P> poly = new Polynomial<>(values(len, 13));
+        final P[] points = values(npoints, 17);
+        final P[] tree = values(npoints, 0);
+        final P[] parallel = values(npoints, 0);
+        final P expected = createEmpty();
+
+        poly.evaluate(points, tree);
+        poly.evaluateParallel(points, parallel);
+
+        for(int i = 0; i < npoints; i++) {
+            poly.evaluate(points[i], expected);
+            Assert.assertEquals(tree[i], expected);
+            Assert.assertEquals(parallel[i], expected);
+        }
+    }
+
+    @DataProvider(name = "interpolate")
+    public Object[][] interpolateProvider() {
+        return new Object[][] {
+            new Object[] { 1 },
+            new Object[] { 2 },
+            new Object[] { 17 },
+            new Object[] { 100 }
+        };
+    }
+
+    @Test(dataProvider = "interpolate",
+          description = "Test that interpolation recovers a polynomial " +
+          "from its values")
+    public void interpolateTest(final int len) {
+        final P[] coeffs = values(len, 19);
+        final P[] points = values(len, 23);
+        final P[] vals = values(len, 0);
+
+        new Polynomial<>(coeffs).evaluate(points, vals);
+
+        assertCoefficients(Polynomial.interpolate(points, vals), coeffs);
+    }
+
+    @Test(description = "Test that a polynomial from roots vanishes " +
+          "at them")
+    public void fromRootsTest() {
+        final P[] roots = values(37, 29);
+        final P[] out = values(37, 0);
+        final Polynomial<P> poly = Polynomial.fromRoots(roots);
+        final P one = createEmpty();
+
+        one.set(1);
+        poly.evaluate(roots, out);
+
+        Assert.assertEquals(poly.degree(), 37);
+
+        for(int i = 0; i < roots.length; i++) {
+            Assert.assertEquals(out[i].isZero(), 1);
+        }
+
+        poly.coefficient(37, out[0]);
+        Assert.assertEquals(out[0], one);
+    }
+
+    @Test(description = "Test the formal derivative")
+    public void derivativeTest() {
+        final P[] coeffs = values(6, 31);
+        final P[] expected = values(5, 0);
+
+        for(int i = 0; i < 5; i++) {
+            expected[i].set(coeffs[i + 1]);
+            expected[i].mul(i + 1);
+        }
+
+        assertCoefficients(new Polynomial<>(coeffs).derivative(), expected);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          description = "Test interpolation with mismatched arrays")
+    public void interpolateMismatchTest() {
+        Polynomial.interpolate(values(3, 1), values(2, 1));
+    }
+}
@@ -36,6 +36,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.math.BigInteger;
 import java.util.Arrays;
 
 import org.testng.Assert;
@@ -160,6 +162,341 @@ public abstract class PrimeFieldUnitTest<P extends PrimeField<P>> {
         Assert.assertEquals(b, zeromask);
     }
 
+    @Test(dataProvider = "or",
+          description = "Test conditional move functionality")
+    public void cmovTest(final P a, final P b) {
+        final P actual = a.clone();
+
+        actual.cmov(b, 0);
+
+        Assert.assertEquals(actual, a);
+
+        actual.cmov(b, 1);
+
+        Assert.assertEquals(actual, b);
+    }
+
+    @Test(dataProvider = "or",
+          description = "Test conditional swap functionality")
+    public void cswapTest(final P a, final P b) {
+        final P left = a.clone();
+        final P right = b.clone();
+
+        left.cswap(right, 0);
+
+        Assert.assertEquals(left, a);
+        Assert.assertEquals(right, b);
+
+        left.cswap(right, 1);
+
+        Assert.assertEquals(left, b);
+        Assert.assertEquals(right, a);
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test conditional negation functionality")
+    public void cnegTest(final P val) {
+        final P actual = val.clone();
+        final P expected = val.clone();
+
+        expected.neg();
+        actual.cneg(0);
+
+        Assert.assertEquals(actual, val);
+
+        actual.cneg(1);
+
+        Assert.assertEquals(actual, expected);
+
+        actual.cneg(1);
+
+        Assert.assertEquals(actual, val);
+    }
+
+    @Test(dataProvider = "or",
+          description = "Test lazy addition and subtraction")
+    public void lazyAddSubTest(final P a, final P b) {
+        final P lazy = a.clone();
+        final P expected = a.clone();
+        final P product = a.clone();
+        final P expectedProduct = a.clone();
+
+        lazy.addLazy(b);
+        lazy.subLazy(b);
+        lazy.addLazy(a);
+        expected.add(a);
+
+        Assert.assertTrue(lazy.checkBound());
+        Assert.assertTrue(lazy.bound() <= lazy.lazyBound());
+
+        product.set(lazy);
+        product.mul(lazy);
+        expectedProduct.set(expected);
+        expectedProduct.square();
+
+        Assert.assertEquals(product.bound(), 1);
+        Assert.assertEquals(product, expectedProduct);
+
+        lazy.carry();
+
+        Assert.assertEquals(lazy.bound(), 1);
+        Assert.assertEquals(lazy, expected);
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test mul and square on worst-case lazy digits")
+    public void lazyWorstCaseTest(final P val) {
+        final int k = val.lazyBound();
+        final long[] digits = val.digits;
+        final P pos = val.clone();
+        final P neg = val.clone();
+
+        for(int i = 0; i < digits.length; i++) {
+            pos.digits[i] = val.boundLimit(i, k) - 1;
+            neg.digits[i] = val.boundLimit(i, k) - 1;
+        }
+
+        neg.digits[digits.length - 1] = -neg.digits[digits.length - 1];
+        pos.bound = k;
+        neg.bound = k;
+
+        Assert.assertTrue(pos.checkBound());
+        Assert.assertTrue(neg.checkBound());
+
+        final P carriedPos = pos.clone();
+        final P carriedNeg = neg.clone();
+
+        carriedPos.carry();
+        carriedNeg.carry();
+
+        final P actual = pos.clone();
+        final P expected = carriedPos.clone();
+
+        actual.mul(neg);
+        expected.mul(carriedNeg);
+
+        Assert.assertEquals(actual, expected);
+
+        actual.set(pos);
+        actual.square();
+        expected.set(carriedPos);
+        expected.square();
+
+        Assert.assertEquals(actual, expected);
+
+        actual.set(neg);
+        actual.square();
+        expected.set(carriedNeg);
+        expected.square();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test neg, small add and sub, and mul by an " +
+                        "int on worst-case lazy digits")
+    public void lazySmallOpsTest(final P val) {
+        final int k = val.lazyBound();
+        final int[] multipliers = new int[] {
+            2, 121666, Integer.MAX_VALUE, -Integer.MAX_VALUE
+        };
+        final P lazy = val.clone();
+
+        for(int i = 0; i < lazy.digits.length; i++) {
+            lazy.digits[i] = (i & 1) == 0 ? val.boundLimit(i, k) - 1 :
+                                            1 - val.boundLimit(i, k);
+        }
+
+        lazy.bound = k;
+
+        final P carried = lazy.clone();
+
+        carried.carry();
+
+        final P actual = lazy.clone();
+        final P expected = carried.clone();
+
+        actual.neg();
+        expected.neg();
+
+        Assert.assertEquals(actual.bound(), 1);
+        Assert.assertTrue(actual.checkBound());
+        Assert.assertEquals(actual, expected);
+
+        actual.set(lazy);
+        actual.add((long)Integer.MAX_VALUE);
+        expected.set(carried);
+        expected.add((long)Integer.MAX_VALUE);
+
+        Assert.assertEquals(actual.bound(), 1);
+        Assert.assertTrue(actual.checkBound());
+        Assert.assertEquals(actual, expected);
+
+        actual.set(lazy);
+        actual.sub((long)Integer.MAX_VALUE);
+        expected.set(carried);
+        expected.sub((long)Integer.MAX_VALUE);
+
+        Assert.assertEquals(actual.bound(), 1);
+        Assert.assertTrue(actual.checkBound());
+        Assert.assertEquals(actual, expected);
+
+        for(final int b : multipliers) {
+            actual.set(lazy);
+            actual.mul(b);
+
+            Assert.assertEquals(actual.bound(), 1);
+            Assert.assertTrue(actual.checkBound());
+            Assert.assertEquals(actual.toBigInteger(),
+                                carried.toBigInteger()
+                                .multiply(BigInteger.valueOf(b))
+                                .mod(modulus()));
+        }
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test the lazy bound debug checker")
+    public void checkBoundTest(final P val) {
+        final P lazy = val.clone();
+
+        Assert.assertTrue(lazy.checkBound());
+
+        lazy.digits[0] = lazy.boundLimit(0, lazy.bound());
+
+        Assert.assertFalse(lazy.checkBound());
+    }
+
+    /**
+     * Get the offsets around the modulus to test normalization with:
+     * the small ones, and those around {@code 2^numBits - p}.
+     */
+    private long[] normalizeOffsets() {
+        final long[] modulus = createEmpty().modulusDigits();
+        final long c = modulus[1] + 1 - modulus[0];
+
+        return new long[] { 0, 1, 2, 3, 4, 5, c - 1, c, c + 1, 2 * c };
+    }
+
+    @Test(description = "Test normalizing values just below " +
+          "minus the modulus")
+    public void normalizeBelowModulusTest() {
+        final long[] modulus = createEmpty().modulusDigits();
+        final int high = modulus.length - 1;
+        final long c = modulus[1] + 1 - modulus[0];
+
+        for(final long i : normalizeOffsets()) {
+            final P above = createEmpty();
+            final P below = createEmpty();
+            final P actual = createEmpty();
+            final P expected = createEmpty();
+
+            expected.set((int)-i);
+
+            // The modulus plus i, as a multiplication may leave it.
+            above.set(modulus);
+            above.digits[0] += i;
+            actual.sub(above);
+            actual.normalize();
+
+            Assert.assertEquals(actual, expected);
+            Assert.assertEquals(actual.packed(), expected.packed());
+
+            // Minus the modulus minus i, with the high digit
+            // borrowing out, as a subtraction may leave it.
+            below.digits[0] = c - i;
+            below.digits[high] = -(modulus[high] + 1);
+            below.normalize();
+
+            Assert.assertEquals(below.digits, expected.digits);
+            Assert.assertEquals(below.packed(), expected.packed());
+        }
+    }
+
+    @Test(description = "Test normalizing values between the " +
+          "modulus and twice the modulus")
+    public void normalizeAboveModulusTest() {
+        for(final long i : normalizeOffsets()) {
+            final P actual = createEmpty();
+            final P expected = createEmpty();
+
+            actual.set(actual.modulusDigits());
+            actual.digits[0] += i;
+            actual.normalize();
+            expected.set((int)i);
+
+            Assert.assertEquals(actual.digits, expected.digits);
+            Assert.assertEquals(actual.packed(), expected.packed());
+        }
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test pow against repeated multiplication")
+    public void powSmallTest(final P val) {
+        final P expected = val.clone();
+
+        expected.set(1);
+
+        for(int i = 0; i < 40; i++) {
+            final P small = val.clone();
+            final P fixed = val.clone();
+            final P sliding = val.clone();
+            final byte[] exp = new byte[] { (byte)i, 0 };
+
+            small.pow(i);
+            fixed.pow(exp);
+            PublicOps.pow(sliding, exp);
+
+            Assert.assertEquals(small, expected);
+            Assert.assertEquals(fixed, expected);
+            Assert.assertEquals(sliding, expected);
+
+            expected.mul(val);
+        }
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test pow with exponents p - 1 and p - 2")
+    public void powFermatTest(final P val) {
+        final P mone = val.clone();
+        final P mtwo = val.clone();
+
+        mone.set(1);
+        mone.neg();
+        mtwo.set(2);
+        mtwo.neg();
+
+        final byte[] pm1 = mone.packed();
+        final byte[] pm2 = mtwo.packed();
+        final P one = val.clone();
+        final P inv = val.clone();
+        final P fixed = val.clone();
+        final P sliding = val.clone();
+
+        one.set(val.isZero() == 1 ? 0 : 1);
+        inv.inv();
+
+        fixed.pow(pm1);
+        PublicOps.pow(sliding, pm1);
+
+        Assert.assertEquals(fixed, one);
+        Assert.assertEquals(sliding, one);
+
+        fixed.set(val);
+        sliding.set(val);
+        fixed.pow(pm2);
+        PublicOps.pow(sliding, pm2);
+
+        Assert.assertEquals(fixed, inv);
+        Assert.assertEquals(sliding, inv);
+    }
+
+    @Test(dataProvider = "mask",
+          expectedExceptions = IllegalArgumentException.class,
+          description = "Test that pow rejects negative exponents")
+    public void powNegativeTest(final P val) {
+        val.clone().pow(-1L);
+    }
+
     @DataProvider(name = "unpackPack")
     public abstract Object[][] unpackPackProvider();
 
@@ -254,6 +591,133 @@ public abstract class PrimeFieldUnitTest<P extends PrimeField<P>> {
         Assert.assertEquals(stream.toByteArray(), expected.packed());
     }
 
+    private BigInteger modulus() {
+        final P mone = createEmpty();
+
+        mone.set(-1);
+
+        return mone.toBigInteger().add(BigInteger.ONE);
+    }
+
+    @Test(dataProvider = "unpackPack",
+          description = "Test conversion to BigInteger")
+    public void toBigIntegerTest(final byte[] testcase) {
+        final byte[] be = new byte[testcase.length];
+
+        for(int i = 0; i < testcase.length; i++) {
+            be[i] = testcase[testcase.length - 1 - i];
+        }
+
+        Assert.assertEquals(unpack(testcase).toBigInteger(),
+                            new BigInteger(1, be));
+    }
+
+    @Test(dataProvider = "unpackPack",
+          description = "Test conversion from BigInteger")
+    public void fromBigIntegerTest(final byte[] testcase) {
+        final P expected = unpack(testcase);
+        final P actual = createEmpty();
+
+        actual.fromBigInteger(expected.toBigInteger());
+
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(actual.packed(), testcase);
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test conversion from out-of-range BigIntegers")
+    public void fromBigIntegerWideTest(final P val) {
+        final BigInteger modulus = modulus();
+        final BigInteger x = val.toBigInteger();
+        final P neg = val.clone();
+        final P actual = createEmpty();
+
+        neg.neg();
+
+        final BigInteger[] same = new BigInteger[] {
+            x.add(modulus),
+            x.add(modulus.shiftLeft(val.numBits() + 3)),
+            x.add(modulus.multiply(modulus).multiply(modulus)),
+            x.subtract(modulus),
+            x.subtract(modulus.shiftLeft(100))
+        };
+
+        for(final BigInteger v : same) {
+            actual.fromBigInteger(v);
+            Assert.assertEquals(actual, val);
+        }
+
+        actual.fromBigInteger(x.negate());
+        Assert.assertEquals(actual, neg);
+        actual.fromBigInteger(x.negate().subtract(modulus));
+        Assert.assertEquals(actual, neg);
+    }
+
+    @Test(description = "Test conversion of values between the " +
+          "modulus and 2^numBits")
+    public void fromBigIntegerAboveModulusTest() {
+        final BigInteger modulus = modulus();
+        final P actual = createEmpty();
+        final P expected = createEmpty();
+        final BigInteger top =
+            BigInteger.ONE.shiftLeft(actual.numBits()).subtract(
+                BigInteger.ONE);
+
+        for(int i = 0; i < 4; i++) {
+            actual.fromBigInteger(modulus.add(BigInteger.valueOf(i)));
+            expected.set(i);
+            Assert.assertEquals(actual, expected);
+        }
+
+        actual.fromBigInteger(top);
+        Assert.assertEquals(actual.toBigInteger(), top.mod(modulus));
+    }
+
+    @Test(description = "Test batch conversion to and from BigInteger")
+    public void bigIntegerBatchTest() {
+        final Object[][] cases = maskProvider();
+        final P empty = createEmpty();
+        @SuppressWarnings("unchecked")
+        final P[] values = (P[])Array.newInstance(empty.getClass(),
+                                                  cases.length);
+        @SuppressWarnings("unchecked")
+        final P[] actual = (P[])Array.newInstance(empty.getClass(),
+                                                  cases.length);
+        final BigInteger modulus = modulus();
+
+        for(int i = 0; i < cases.length; i++) {
+            @SuppressWarnings("unchecked")
+            final P val = (P)cases[i][0];
+
+            values[i] = val.clone();
+            actual[i] = createEmpty();
+        }
+
+        final BigInteger[] bigs = PrimeField.toBigIntegers(values);
+
+        for(int i = 0; i < cases.length; i++) {
+            Assert.assertEquals(bigs[i], values[i].toBigInteger());
+            bigs[i] = bigs[i].add(modulus.multiply(BigInteger.valueOf(i)));
+        }
+
+        PrimeField.fromBigIntegers(bigs, actual);
+
+        for(int i = 0; i < cases.length; i++) {
+            Assert.assertEquals(actual[i], values[i]);
+        }
+    }
+
+    @Test(description = "Test that mismatched batches are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void bigIntegerBatchMismatchTest() {
+        final P empty = createEmpty();
+        @SuppressWarnings("unchecked")
+        final P[] out = (P[])Array.newInstance(empty.getClass(), 1);
+
+        out[0] = empty;
+        PrimeField.fromBigIntegers(new BigInteger[2], out);
+    }
+
     @DataProvider(name = "square")
     public abstract Object[][] squareProvider();
 
@@ -278,6 +742,217 @@ public abstract class PrimeFieldUnitTest<P extends PrimeField<P>> {
         Assert.assertEquals(a.legendre(), expected);
     }
 
+    @Test(dataProvider = "legendre",
+          description = "Test variable-time legendre symbol")
+    public void legendreVarTimeTest(final P a,
+                                    final int expected) {
+        Assert.assertEquals(PublicOps.legendre(a.clone()), expected);
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test variable-time legendre symbol")
+    public void legendreVarTimeMatchTest(final P val) {
+        Assert.assertEquals(PublicOps.legendre(val.clone()),
+                            val.clone().legendre());
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test variable-time inverse")
+    public void invVarTimeTest(final P val) {
+        final P expected = val.clone();
+        final P actual = val.clone();
+
+        expected.inv();
+        PublicOps.inv(actual);
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test halving")
+    public void halveTest(final P val) {
+        final P actual = val.clone();
+
+        actual.halve();
+        actual.add(actual);
+
+        Assert.assertEquals(actual, val);
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test division by powers of two")
+    public void divPow2Test(final P val) {
+        for(final int k : new int[] { 0, 1, 2, 7, 64, 300 }) {
+            final P actual = val.clone();
+            final P expected = val.clone();
+
+            actual.divPow2(k);
+
+            for(int i = 0; i < k; i++) {
+                actual.add(actual);
+            }
+
+            Assert.assertEquals(actual, expected, "k = " + k);
+        }
+    }
+
+    @Test(dataProvider = "mask",
+          description = "Test division by small integers")
+    public void divSmallTest(final P val) {
+        final P divisor = val.clone();
+
+        for(int b = -PrimeField.SMALL_DIVISORS - 2;
+            b <= PrimeField.SMALL_DIVISORS + 2; b++) {
+            if (b != 0) {
+                final P actual = val.clone();
+                final P expected = val.clone();
+
+                divisor.set(b);
+                expected.div(divisor);
+                actual.div(b);
+
+                Assert.assertEquals(actual, expected, "b = " + b);
+
+                actual.mul(b);
+
+                Assert.assertEquals(actual, val, "b = " + b);
+            }
+        }
+    }
+
+    @Test(dataProvider = "or",
+          description = "Test normalized views")
+    public void normalizedElementTest(final P a,
+                                      final P b) {
+        final P original = a.clone();
+        final NormalizedElement<P> na = new NormalizedElement<>(a);
+        final NormalizedElement<P> nb = new NormalizedElement<>(b);
+        final P out = createEmpty();
+
+        Assert.assertEquals(na.packed(), a.clone().packed());
+        Assert.assertEquals(na.sign(), a.clone().sign());
+        Assert.assertEquals(na.isZero(), a.clone().isZero());
+        Assert.assertEquals(na.bit(0), a.clone().bit(0));
+        Assert.assertEquals(na.toString(), a.clone().toString());
+        Assert.assertEquals(na.eq(nb), a.clone().eq(b.clone()));
+        Assert.assertEquals(na.equals(nb), a.clone().equals(b.clone()));
+        Assert.assertEquals(na.eq(na), 0);
+        Assert.assertTrue(na.equals(new NormalizedElement<>(a)));
+
+        na.get(out);
+        original.add(1);
+
+        Assert.assertEquals(out, a);
+        Assert.assertEquals(na.packed(), a.clone().packed());
+
+        na.set(original);
+
+        Assert.assertEquals(na.packed(), original.packed());
+    }
+
+    @SuppressWarnings("unchecked")
+    private P[] multiPowBases(final P a,
+                              final P b,
+                              final int len) {
+        final P[] out = (P[])Array.newInstance(a.getClass(), len);
+
+        for(int i = 0; i < len; i++) {
+            out[i] = (i % 2 == 0) ? a.clone() : b.clone();
+            out[i].add(i / 2);
+        }
+
+        return out;
+    }
+
+    private static byte[][] multiPowExponents(final int len) {
+        final byte[][] out = new byte[len][];
+
+        for(int i = 0; i < len; i++) {
+            out[i] = new byte[(i * 7) % 34];
+
+            for(int j = 0; j < out[i].length; j++) {
+                out[i][j] = (byte)((i * 31) + (j * 17) + 0x5a);
+            }
+        }
+
+        return out;
+    }
+
+    private P multiPowExpected(final P[] bases,
+                               final byte[][] exponents) {
+        final P out = bases[0].clone();
+        final P term = bases[0].clone();
+
+        out.set(1);
+
+        for(int i = 0; i < bases.length; i++) {
+            term.set(bases[i]);
+            term.pow(exponents[i]);
+            out.mul(term);
+        }
+
+        return out;
+    }
+
+    @Test(dataProvider = "or",
+          description = "Test multi-exponentiation")
+    public void multiPowTest(final P a,
+                             final P b) {
+        final P[] bases = multiPowBases(a, b, 5);
+        final byte[][] exponents = multiPowExponents(5);
+        final P expected = multiPowExpected(bases, exponents);
+        final P actual = a.clone();
+
+        PrimeField.multiPow(bases, exponents, actual);
+
+        Assert.assertEquals(actual, expected);
+
+        PrimeField.multiPow(bases, exponents, bases[2]);
+
+        Assert.assertEquals(bases[2], expected);
+    }
+
+    @Test(dataProvider = "or",
+          description = "Test variable-time multi-exponentiation")
+    public void multiPowVarTimeTest(final P a,
+                                    final P b) {
+        for(final int len : new int[] { 0, 1, 3, 40 }) {
+            final P[] bases = multiPowBases(a, b, Math.max(len, 1));
+            final P[] used = Arrays.copyOf(bases, len);
+            final byte[][] exponents = multiPowExponents(len);
+            final P expected = a.clone();
+            final P actual = a.clone();
+
+            expected.set(1);
+
+            if (len != 0) {
+                expected.set(multiPowExpected(used, exponents));
+            }
+
+            PublicOps.multiPow(used, exponents, actual);
+
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          description = "Test multi-exponentiation with mismatched arrays")
+    public void multiPowMismatchTest() {
+        final P val = createEmpty();
+        final P[] bases = multiPowBases(val, val, 2);
+
+        PrimeField.multiPow(bases, new byte[1][], val);
+    }
+
+    @Test(dataProvider = "or",
+          description = "Test variable-time equality")
+    public void equalsVarTimeTest(final P a,
+                                  final P b) {
+        Assert.assertEquals(PublicOps.equals(a.clone(), b.clone()),
+                            a.clone().equals(b.clone()));
+        Assert.assertTrue(PublicOps.equals(a.clone(), a.clone()));
+    }
+
     @DataProvider(name = "sqrt", parallel = true)
     public abstract Object[][] sqrtProvider();
 
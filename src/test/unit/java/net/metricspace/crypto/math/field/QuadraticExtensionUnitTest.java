@@ -0,0 +1,264 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public abstract class QuadraticExtensionUnitTest<P extends PrimeField<P>> {
+    protected abstract P createEmpty();
+
+    private QuadraticExtension<P> create(final int re,
+                                         final int im) {
+        final P a = createEmpty();
+        final P b = createEmpty();
+
+        a.set(re);
+        b.set(im);
+
+        return new QuadraticExtension<>(a, b);
+    }
+
+    private QuadraticExtension<P> createFrac(final int re,
+                                             final int im) {
+        final QuadraticExtension<P> out = create(re, im);
+
+        out.re().div(im + 7);
+        out.im().div(re - 3);
+
+        return out;
+    }
+
+    private QuadraticExtension<P> schoolbookMul(final QuadraticExtension<P> x,
+                                                final QuadraticExtension<P> y) {
+        final P ac = x.re().clone();
+        final P bd = x.im().clone();
+        final P ad = x.re().clone();
+        final P bc = x.im().clone();
+
+        ac.mul(y.re());
+        bd.mul(y.im());
+        ad.mul(y.im());
+        bc.mul(y.re());
+        ac.sub(bd);
+        ad.add(bc);
+
+        return new QuadraticExtension<>(ac, ad);
+    }
+
+    @DataProvider(name = "values")
+    public Object[][] valuesProvider() {
+        return new Object[][] {
+            new Object[] { create(0, 0) },
+            new Object[] { create(1, 0) },
+            new Object[] { create(0, 1) },
+            new Object[] { create(-1, -1) },
+            new Object[] { create(3, -5) },
+            new Object[] { createFrac(1, 2) },
+            new Object[] { createFrac(-11, 4) },
+            new Object[] { createFrac(100, -65) }
+        };
+    }
+
+    @DataProvider(name = "pairs")
+    public Object[][] pairsProvider() {
+        final Object[][] values = valuesProvider();
+        final Object[][] out = new Object[values.length * values.length][];
+
+        for(int i = 0; i < values.length; i++) {
+            for(int j = 0; j < values.length; j++) {
+                final QuadraticExtension<?> a =
+                    (QuadraticExtension<?>)values[i][0];
+                final QuadraticExtension<?> b =
+                    (QuadraticExtension<?>)values[j][0];
+
+                out[(i * values.length) + j] =
+                    new Object[] { a.clone(), b.clone() };
+            }
+        }
+
+        return out;
+    }
+
+    @Test(description = "Test that a base field which is 1 mod 4 " +
+          "is rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void oneMod4Test() {
+        new QuadraticExtension<>(new ModE255M19(0), new ModE255M19(0));
+    }
+
+    @Test(dataProvider = "pairs",
+          description = "Test Karatsuba multiplication against the " +
+          "schoolbook formula")
+    public void mulTest(final QuadraticExtension<P> a,
+                        final QuadraticExtension<P> b) {
+        final QuadraticExtension<P> expected = schoolbookMul(a, b);
+        final QuadraticExtension<P> actual = a.clone();
+
+        actual.mul(b);
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test(dataProvider = "values",
+          description = "Test complex squaring against the " +
+          "schoolbook formula")
+    public void squareTest(final QuadraticExtension<P> a) {
+        final QuadraticExtension<P> expected = schoolbookMul(a, a);
+        final QuadraticExtension<P> actual = a.clone();
+        final QuadraticExtension<P> aliased = a.clone();
+
+        actual.square();
+        aliased.mul(aliased);
+
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(aliased, expected);
+    }
+
+    @Test(dataProvider = "values",
+          description = "Test that inversion gives the reciprocal")
+    public void invTest(final QuadraticExtension<P> a) {
+        final QuadraticExtension<P> actual = a.clone();
+        final QuadraticExtension<P> one = create(1, 0);
+
+        actual.inv();
+
+        if (a.isZero() == 1) {
+            Assert.assertEquals(actual.isZero(), 1);
+        } else {
+            actual.mul(a);
+            Assert.assertEquals(actual, one);
+        }
+    }
+
+    @Test(dataProvider = "pairs",
+          description = "Test that division inverts multiplication")
+    public void divTest(final QuadraticExtension<P> a,
+                        final QuadraticExtension<P> b) {
+        final QuadraticExtension<P> actual = a.clone();
+        final QuadraticExtension<P> aliased = b.clone();
+        final QuadraticExtension<P> original = b.clone();
+
+        actual.div(b);
+        aliased.div(aliased);
+
+        Assert.assertEquals(b, original);
+
+        if (b.isZero() == 1) {
+            Assert.assertEquals(actual.isZero(), 1);
+            Assert.assertEquals(aliased.isZero(), 1);
+        } else {
+            actual.mul(b);
+            Assert.assertEquals(actual, a);
+            Assert.assertEquals(aliased, create(1, 0));
+        }
+    }
+
+    @Test(dataProvider = "values",
+          description = "Test that the Frobenius map is x^p")
+    public void frobeniusTest(final QuadraticExtension<P> a) {
+        final byte[] exp = create(-1, 0).re().packed();
+        final QuadraticExtension<P> expected = create(1, 0);
+        final QuadraticExtension<P> actual = a.clone();
+
+        // x^(p - 1) by square and multiply, then one more x.
+        for(int i = (exp.length * 8) - 1; i >= 0; i--) {
+            expected.square();
+
+            if (((exp[i / 8] >> (i % 8)) & 0x1) == 1) {
+                expected.mul(a);
+            }
+        }
+
+        expected.mul(a);
+        actual.frobenius();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test(dataProvider = "values",
+          description = "Test that the norm is the product with " +
+          "the conjugate")
+    public void normTest(final QuadraticExtension<P> a) {
+        final QuadraticExtension<P> expected = a.clone();
+        final QuadraticExtension<P> conj = a.clone();
+        final P norm = createEmpty();
+
+        conj.frobenius();
+        expected.mul(conj);
+        a.norm(norm);
+
+        Assert.assertEquals(norm, expected.re());
+        Assert.assertEquals(expected.im().isZero(), 1);
+    }
+
+    @Test(dataProvider = "values",
+          description = "Test that equal elements have the same " +
+                        "hash code")
+    public void hashCodeTest(final QuadraticExtension<P> a) {
+        final QuadraticExtension<P> expected = a.clone();
+        final QuadraticExtension<P> actual = a.clone();
+
+        // Move one unit from the second digit of each part into the
+        // first, which changes the digits but not the value.
+        actual.re().digits[0] += actual.re().boundLimit(0, 1);
+        actual.re().digits[1] -= 1;
+        actual.im().digits[0] += actual.im().boundLimit(0, 1);
+        actual.im().digits[1] -= 1;
+        actual.re().bound = 2;
+        actual.im().bound = 2;
+
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(actual.hashCode(), expected.hashCode());
+    }
+
+    @Test(dataProvider = "pairs",
+          description = "Test conditional move and swap")
+    public void cmovCswapTest(final QuadraticExtension<P> a,
+                              final QuadraticExtension<P> b) {
+        final QuadraticExtension<P> kept = a.clone();
+        final QuadraticExtension<P> moved = a.clone();
+        final QuadraticExtension<P> x = a.clone();
+        final QuadraticExtension<P> y = b.clone();
+
+        kept.cmov(b, 0);
+        moved.cmov(b, 1);
+        x.cswap(y, 1);
+
+        Assert.assertEquals(kept, a);
+        Assert.assertEquals(moved, b);
+        Assert.assertEquals(x, b);
+        Assert.assertEquals(y, a);
+    }
+}
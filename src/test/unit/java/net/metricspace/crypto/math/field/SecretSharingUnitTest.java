@@ -0,0 +1,258 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.math.field;
+
+import java.lang.reflect.Array;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public abstract class SecretSharingUnitTest<P extends PrimeField<P>> {
+    protected abstract P createEmpty();
+
+    @SuppressWarnings("unchecked")
+    private P[] values(final int len,
+                       final int seed) {
+        final P proto = createEmpty();
+        final P[] out = (P[])Array.newInstance(proto.getClass(), len);
+
+        for(int i = 0; i < len; i++) {
+            out[i] = createEmpty();
+            out[i].set((i * 7919) + seed);
+            out[i].div((i * 31) + seed + 1);
+        }
+
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private P[] indices(final int... idxs) {
+        final P proto = createEmpty();
+        final P[] out = (P[])Array.newInstance(proto.getClass(),
+                                               idxs.length);
+
+        for(int i = 0; i < idxs.length; i++) {
+            out[i] = createEmpty();
+            out[i].set(idxs[i]);
+        }
+
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private P[] select(final P[] arr,
+                       final int... idxs) {
+        final P[] out =
+            (P[])Array.newInstance(arr.getClass().getComponentType(),
+                                   idxs.length);
+
+        for(int i = 0; i < idxs.length; i++) {
+            out[i] = arr[idxs[i]];
+        }
+
+        return out;
+    }
+
+    @DataProvider(name = "thresholds")
+    public Object[][] thresholdsProvider() {
+        return new Object[][] {
+            new Object[] { 1, 1 },
+            new Object[] { 2, 3 },
+            new Object[] { 3, 5 },
+            new Object[] { 5, 5 },
+            new Object[] { 10, 20 }
+        };
+    }
+
+    @Test(dataProvider = "thresholds",
+          description = "Test that any t shares reconstruct the secret")
+    public void shareReconstructTest(final int t,
+                                     final int n) {
+        final int[] all = new int[n];
+
+        for(int i = 0; i < n; i++) {
+            all[i] = i + 1;
+        }
+
+        final P secret = values(1, 42)[0];
+        final P[] shares = values(n, 0);
+
+        try(final SecretSharing<P> dealer =
+            new SecretSharing<>(indices(all))) {
+            dealer.share(secret, values(t - 1, 5), shares);
+        }
+
+        // The first t, the last t, and every other one.
+        final int[][] subsets = new int[3][t];
+
+        for(int i = 0; i < t; i++) {
+            subsets[0][i] = i;
+            subsets[1][i] = n - t + i;
+            subsets[2][i] = (i * 2) % n;
+        }
+
+        for(final int[] subset : subsets) {
+            if (t > 1 && subset[t - 1] == subset[0]) {
+                continue;
+            }
+
+            final int[] idxs = new int[t];
+
+            for(int i = 0; i < t; i++) {
+                idxs[i] = all[subset[i]];
+            }
+
+            final P actual = createEmpty();
+
+            try(final SecretSharing<P> combiner =
+                new SecretSharing<>(indices(idxs))) {
+                combiner.reconstruct(select(shares, subset), actual);
+            }
+
+            Assert.assertEquals(actual, secret);
+        }
+    }
+
+    @Test(description = "Test that too few shares do not reveal the " +
+          "secret")
+    public void tooFewSharesTest() {
+        final P secret = values(1, 42)[0];
+        final P[] shares = values(3, 0);
+        final P actual = createEmpty();
+
+        try(final SecretSharing<P> dealer =
+            new SecretSharing<>(indices(1, 2, 3))) {
+            dealer.share(secret, values(2, 5), shares);
+        }
+
+        try(final SecretSharing<P> combiner =
+            new SecretSharing<>(indices(1, 2))) {
+            combiner.reconstruct(select(shares, 0, 1), actual);
+        }
+
+        Assert.assertNotEquals(actual, secret);
+    }
+
+    @Test(description = "Test the Lagrange coefficients against " +
+          "direct division")
+    public void coefficientTest() {
+        final P[] idxs = indices(3, 7, 8, 100);
+        final P actual = createEmpty();
+        final P diff = createEmpty();
+
+        try(final SecretSharing<P> sharing = new SecretSharing<>(idxs)) {
+            Assert.assertEquals(sharing.size(), idxs.length);
+
+            for(int i = 0; i < idxs.length; i++) {
+                final P expected = createEmpty();
+
+                expected.set(1);
+
+                for(int j = 0; j < idxs.length; j++) {
+                    if (j != i) {
+                        diff.set(idxs[j]);
+                        diff.sub(idxs[i]);
+                        expected.mul(idxs[j]);
+                        expected.div(diff);
+                    }
+                }
+
+                sharing.coefficient(i, actual);
+                Assert.assertEquals(actual, expected);
+                sharing.index(i, actual);
+                Assert.assertEquals(actual, idxs[i]);
+            }
+        }
+    }
+
+    @Test(description = "Test reconstructing many secrets at once")
+    public void reconstructManyTest() {
+        final int t = 4;
+        final int count = 9;
+        final P[] secrets = values(count, 11);
+        @SuppressWarnings("unchecked")
+        final P[][] shares =
+            (P[][])Array.newInstance(secrets.getClass(), t);
+        final P[] expected = values(count, 0);
+        final P[] actual = values(count, 0);
+
+        for(int i = 0; i < t; i++) {
+            shares[i] = values(count, 0);
+        }
+
+        try(final SecretSharing<P> sharing =
+            new SecretSharing<>(indices(2, 4, 6, 9))) {
+            final P[] row = values(t, 0);
+
+            for(int k = 0; k < count; k++) {
+                sharing.share(secrets[k], values(t - 1, k + 3), row);
+
+                for(int i = 0; i < t; i++) {
+                    shares[i][k].set(row[i]);
+                }
+
+                sharing.reconstruct(row, expected[k]);
+            }
+
+            sharing.reconstruct(shares, actual);
+        }
+
+        for(int k = 0; k < count; k++) {
+            Assert.assertEquals(expected[k], secrets[k]);
+            Assert.assertEquals(actual[k], secrets[k]);
+        }
+    }
+
+    @Test(description = "Test that bad share indices are rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void duplicateIndexTest() {
+        new SecretSharing<>(indices(1, 2, 1));
+    }
+
+    @Test(description = "Test that a zero share index is rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void zeroIndexTest() {
+        new SecretSharing<>(indices(0, 1));
+    }
+
+    @Test(description = "Test that the wrong number of shares is " +
+          "rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void shareCountTest() {
+        try(final SecretSharing<P> sharing =
+            new SecretSharing<>(indices(1, 2, 3))) {
+            sharing.reconstruct(values(2, 0), createEmpty());
+        }
+    }
+}
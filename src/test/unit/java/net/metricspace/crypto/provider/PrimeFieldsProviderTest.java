@@ -0,0 +1,309 @@
+/* Copyright (c) 2017, Eric McCorkle.  All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in
+ *   the documentation and/or other materials provided with the
+ *   distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived
+ *   from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.metricspace.crypto.provider;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.security.Security;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+
+import javax.crypto.KeyAgreement;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit")
+public class PrimeFieldsProviderTest {
+    private static final Provider PROVIDER = new PrimeFieldsProvider();
+
+    /**
+     * Get the JDK's provider for an algorithm, skipping the test if
+     * there is none (as on Java 8).
+     */
+    private static Provider jdk(final String service,
+                                final String algorithm) {
+        for(final Provider p : Security.getProviders()) {
+            if (p.getService(service, algorithm) != null) {
+                return p;
+            }
+        }
+
+        throw new SkipException("No JDK provider for " + algorithm);
+    }
+
+    /**
+     * Translate a key pair for use with a provider.  The JDK's
+     * implementations only accept their own key classes, so keys are
+     * passed to them through their encodings.
+     */
+    private static KeyPair translate(final KeyPair kp,
+                                     final String algorithm,
+                                     final Provider provider)
+        throws GeneralSecurityException {
+        if (provider == PROVIDER) {
+            return kp;
+        }
+
+        final KeyFactory kf = KeyFactory.getInstance(algorithm, provider);
+
+        return new KeyPair(kf.generatePublic(new X509EncodedKeySpec(
+                                                 kp.getPublic()
+                                                 .getEncoded())),
+                           kf.generatePrivate(new PKCS8EncodedKeySpec(
+                                                  kp.getPrivate()
+                                                  .getEncoded())));
+    }
+
+    private static byte[] agree(final Provider provider,
+                                final KeyPair ours,
+                                final KeyPair theirs)
+        throws GeneralSecurityException {
+        final KeyAgreement ka = KeyAgreement.getInstance("X25519", provider);
+
+        ka.init(translate(ours, "X25519", provider).getPrivate());
+        ka.doPhase(translate(theirs, "X25519", provider).getPublic(), true);
+
+        return ka.generateSecret();
+    }
+
+    @DataProvider(name = "curves")
+    public Object[][] curvesProvider() {
+        return new Object[][] {
+            new Object[] { "X25519", 32 },
+            new Object[] { "M-221", 28 },
+            new Object[] { "M-383", 48 },
+            new Object[] { "M-511", 64 }
+        };
+    }
+
+    @Test(dataProvider = "curves",
+          description = "Test key agreement within the provider")
+    public void agreementTest(final String curve,
+                              final int len)
+        throws GeneralSecurityException {
+        final KeyPairGenerator kpg =
+            KeyPairGenerator.getInstance(curve, PROVIDER);
+        final KeyPair a = kpg.generateKeyPair();
+        final KeyPair b = kpg.generateKeyPair();
+        final KeyAgreement ka = KeyAgreement.getInstance(curve, PROVIDER);
+
+        ka.init(a.getPrivate());
+        ka.doPhase(b.getPublic(), true);
+
+        final byte[] ab = ka.generateSecret();
+
+        ka.init(b.getPrivate());
+        ka.doPhase(a.getPublic(), true);
+
+        Assert.assertEquals(ab.length, len);
+        Assert.assertEquals(ka.generateSecret(), ab);
+    }
+
+    @Test(description = "Test rejection of small-order public keys")
+    public void smallOrderTest() throws GeneralSecurityException {
+        final KeyPair a = KeyPairGenerator.getInstance("XDH", PROVIDER)
+            .generateKeyPair();
+        final KeyAgreement ka = KeyAgreement.getInstance("XDH", PROVIDER);
+        final byte[] zero = new byte[32];
+
+        ka.init(a.getPrivate());
+
+        try {
+            ka.doPhase(new PrimeFieldsPublicKey(KeyType.X25519, zero), true);
+            Assert.fail("Small-order key accepted");
+        } catch(final InvalidKeyException e) {
+            // Expected.
+        }
+    }
+
+    @Test(description = "Test X25519 interoperability with the JDK")
+    public void x25519InteropTest() throws GeneralSecurityException {
+        final Provider jdk = jdk("KeyAgreement", "X25519");
+        final KeyPair ours = KeyPairGenerator.getInstance("X25519", PROVIDER)
+            .generateKeyPair();
+        final KeyPair theirs = KeyPairGenerator.getInstance("X25519", jdk)
+            .generateKeyPair();
+
+        Assert.assertEquals(agree(PROVIDER, ours, theirs),
+                            agree(jdk, theirs, ours));
+        // Each side also handles the other's keys.
+        Assert.assertEquals(agree(PROVIDER, theirs, ours),
+                            agree(jdk, ours, theirs));
+    }
+
+    @Test(description = "Test Ed25519 interoperability with the JDK")
+    public void ed25519InteropTest() throws GeneralSecurityException {
+        final Provider jdk = jdk("Signature", "Ed25519");
+        final byte[] msg = "The quick brown fox".getBytes();
+
+        for(final Provider signer : new Provider[] { PROVIDER, jdk }) {
+            final KeyPair kp = KeyPairGenerator.getInstance("Ed25519", signer)
+                .generateKeyPair();
+
+            for(final Provider p : new Provider[] { PROVIDER, jdk }) {
+                final Signature sign = Signature.getInstance("Ed25519", p);
+
+                sign.initSign(translate(kp, "Ed25519", p).getPrivate());
+                sign.update(msg, 0, 4);
+                sign.update(msg, 4, msg.length - 4);
+
+                final byte[] sig = sign.sign();
+
+                for(final Provider q : new Provider[] { PROVIDER, jdk }) {
+                    final Signature verify = Signature.getInstance("EdDSA", q);
+
+                    verify.initVerify(translate(kp, "Ed25519", q)
+                                      .getPublic());
+                    verify.update(msg);
+                    Assert.assertTrue(verify.verify(sig));
+
+                    verify.update(msg, 1, msg.length - 1);
+                    Assert.assertFalse(verify.verify(sig));
+                }
+            }
+        }
+    }
+
+    @Test(description = "Test key encodings and the key factories")
+    public void keyFactoryTest() throws GeneralSecurityException {
+        for(final String alg : new String[] { "X25519", "Ed25519" }) {
+            final KeyPair kp = KeyPairGenerator.getInstance(alg, PROVIDER)
+                .generateKeyPair();
+            final KeyFactory kf = KeyFactory.getInstance(alg, PROVIDER);
+
+            Assert.assertEquals(kp.getPublic().getFormat(), "X.509");
+            Assert.assertEquals(kp.getPrivate().getFormat(), "PKCS#8");
+            Assert.assertEquals(kf.generatePublic(new X509EncodedKeySpec(
+                                    kp.getPublic().getEncoded())),
+                                kp.getPublic());
+            Assert.assertEquals(kf.generatePrivate(new PKCS8EncodedKeySpec(
+                                    kp.getPrivate().getEncoded())),
+                                kp.getPrivate());
+            Assert.assertEquals(kf.getKeySpec(kp.getPublic(),
+                                              X509EncodedKeySpec.class)
+                                .getEncoded(),
+                                kp.getPublic().getEncoded());
+        }
+    }
+
+    @Test(description = "Test key pair generator initialization")
+    public void initializeTest() throws GeneralSecurityException {
+        final KeyPairGenerator kpg =
+            KeyPairGenerator.getInstance("XDH", PROVIDER);
+
+        kpg.initialize(255);
+        kpg.initialize(new ECGenParameterSpec("X25519"));
+
+        try {
+            kpg.initialize(new ECGenParameterSpec("X448"));
+            Assert.fail("Unsupported curve accepted");
+        } catch(final GeneralSecurityException e) {
+            // Expected.
+        }
+
+        Assert.assertEquals(kpg.generateKeyPair().getPublic().getAlgorithm(),
+                            "XDH");
+    }
+
+    @Test(description = "Test that XDH and EdDSA still work for X448 " +
+                        "and Ed448 with this provider installed first")
+    public void dropInTest() throws GeneralSecurityException {
+        jdk("KeyPairGenerator", "X448");
+        jdk("KeyPairGenerator", "Ed448");
+
+        Assert.assertEquals(Security.insertProviderAt(PROVIDER, 1), 1);
+
+        try {
+            final KeyPairGenerator x25519 = KeyPairGenerator.getInstance("XDH");
+
+            x25519.initialize(255);
+            x25519.generateKeyPair();
+            Assert.assertSame(x25519.getProvider(), PROVIDER);
+
+            final KeyPairGenerator xdh = KeyPairGenerator.getInstance("XDH");
+
+            xdh.initialize(448);
+
+            final KeyPair a = xdh.generateKeyPair();
+            final KeyPair b = xdh.generateKeyPair();
+            final KeyAgreement kaa = KeyAgreement.getInstance("XDH");
+            final KeyAgreement kab = KeyAgreement.getInstance("XDH");
+
+            Assert.assertNotSame(xdh.getProvider(), PROVIDER);
+            kaa.init(a.getPrivate());
+            kaa.doPhase(b.getPublic(), true);
+            kab.init(b.getPrivate());
+            kab.doPhase(a.getPublic(), true);
+            Assert.assertNotSame(kaa.getProvider(), PROVIDER);
+            Assert.assertEquals(kaa.generateSecret(), kab.generateSecret());
+
+            final KeyPairGenerator eddsa =
+                KeyPairGenerator.getInstance("EdDSA");
+
+            eddsa.initialize(448);
+
+            final KeyPair kp = eddsa.generateKeyPair();
+            final Signature sign = Signature.getInstance("EdDSA");
+            final Signature verify = Signature.getInstance("EdDSA");
+            final byte[] msg = "drop-in".getBytes();
+
+            Assert.assertNotSame(eddsa.getProvider(), PROVIDER);
+            sign.initSign(kp.getPrivate());
+            sign.update(msg);
+
+            final byte[] sig = sign.sign();
+
+            Assert.assertNotSame(sign.getProvider(), PROVIDER);
+            verify.initVerify(kp.getPublic());
+            verify.update(msg);
+            Assert.assertTrue(verify.verify(sig));
+        } finally {
+            Security.removeProvider(PROVIDER.getName());
+        }
+    }
+
+    @Test(expectedExceptions = NoSuchAlgorithmException.class,
+          description = "Test that unregistered services are absent")
+    public void absentTest() throws GeneralSecurityException {
+        KeyFactory.getInstance("M-383", PROVIDER);
+    }
+}